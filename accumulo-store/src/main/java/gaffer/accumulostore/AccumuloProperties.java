@@ -46,6 +46,16 @@ public class AccumuloProperties extends StoreProperties {
     public static final String SPLITS_FILE_PATH = "accumulo.splits.file.path";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
+    public static final String SHARED_BATCH_WRITER = "accumulo.sharedBatchWriter";
+    public static final String BATCH_WRITER_DURABILITY = "accumulo.batchWriterDurability";
+    public static final String GROUP_SEEDS_BY_TABLET = "accumulo.groupSeedsByTablet";
+    public static final String GROUP_SEEDS_BY_TABLET_WINDOW_BATCHES = "accumulo.groupSeedsByTablet.windowBatches";
+    public static final String INGEST_AGGREGATION_BUFFER_SIZE = "accumulo.ingestAggregationBufferSize";
+    public static final String INGEST_AGGREGATION_BUFFER_FLUSH_INTERVAL = "accumulo.ingestAggregationBufferFlushIntervalInMilliseconds";
+    public static final String SCHEMA_IN_TABLE_CONFIG = "accumulo.schemaInTableConfig";
+    public static final String SEED_CACHE_MAX_ELEMENTS = "accumulo.seedCache.maxElements";
+    public static final String SEED_CACHE_MAX_ELEMENTS_PER_SEED = "accumulo.seedCache.maxElementsPerSeed";
+    public static final String SEED_CACHE_TIME_TO_LIVE = "accumulo.seedCache.timeToLiveInSeconds";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
@@ -57,6 +67,15 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     private static final String SPLITS_FILE_PATH_DEFAULT = "/data/splits.txt";
+    private static final String SHARED_BATCH_WRITER_DEFAULT = "false";
+    private static final String GROUP_SEEDS_BY_TABLET_DEFAULT = "false";
+    private static final String GROUP_SEEDS_BY_TABLET_WINDOW_BATCHES_DEFAULT = "10";
+    private static final String INGEST_AGGREGATION_BUFFER_SIZE_DEFAULT = "0";
+    private static final String INGEST_AGGREGATION_BUFFER_FLUSH_INTERVAL_DEFAULT = "1000";
+    private static final String SCHEMA_IN_TABLE_CONFIG_DEFAULT = "false";
+    private static final String SEED_CACHE_MAX_ELEMENTS_DEFAULT = "0";
+    private static final String SEED_CACHE_MAX_ELEMENTS_PER_SEED_DEFAULT = "1000";
+    private static final String SEED_CACHE_TIME_TO_LIVE_DEFAULT = "60";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
 
     public AccumuloProperties() {
@@ -81,7 +100,7 @@ public class AccumuloProperties extends StoreProperties {
     }
 
     public void setMaxTimeOutForBatchWriterInMilliseconds(final String maxTimeOutForBatchWriterInMilliseconds) {
-        set(NUM_THREADS_FOR_BATCH_WRITER, MAX_TIME_OUT_FOR_BATCH_WRITER);
+        set(MAX_TIME_OUT_FOR_BATCH_WRITER, maxTimeOutForBatchWriterInMilliseconds);
     }
 
     public void setMaxBufferSizeForBatchWriterInBytes(final String maxBufferSizeForBatchWriterInBytes) {
@@ -391,4 +410,232 @@ public class AccumuloProperties extends StoreProperties {
     public void setEnableValidatorIterator(final boolean enableValidatorIterator) {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
+
+    /**
+     * Get the maximum number of distinct keys that will be held in the client
+     * side aggregation buffer when adding elements. A value of 0 or less
+     * disables the buffer.
+     *
+     * @return the maximum number of distinct keys to buffer before flushing
+     */
+    public int getIngestAggregationBufferSize() {
+        return Integer.parseInt(get(INGEST_AGGREGATION_BUFFER_SIZE, INGEST_AGGREGATION_BUFFER_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of distinct keys that will be held in the client
+     * side aggregation buffer when adding elements. A value of 0 or less
+     * disables the buffer.
+     *
+     * @param ingestAggregationBufferSize the maximum number of distinct keys to buffer before flushing
+     */
+    public void setIngestAggregationBufferSize(final String ingestAggregationBufferSize) {
+        set(INGEST_AGGREGATION_BUFFER_SIZE, ingestAggregationBufferSize);
+    }
+
+    /**
+     * Get the maximum time that elements will be held in the client side
+     * aggregation buffer before being flushed to the batch writer.
+     *
+     * @return the flush interval in milliseconds
+     */
+    public long getIngestAggregationBufferFlushIntervalInMilliseconds() {
+        return Long.parseLong(get(INGEST_AGGREGATION_BUFFER_FLUSH_INTERVAL, INGEST_AGGREGATION_BUFFER_FLUSH_INTERVAL_DEFAULT));
+    }
+
+    /**
+     * Set the maximum time that elements will be held in the client side
+     * aggregation buffer before being flushed to the batch writer.
+     *
+     * @param flushIntervalInMilliseconds the flush interval in milliseconds
+     */
+    public void setIngestAggregationBufferFlushIntervalInMilliseconds(final String flushIntervalInMilliseconds) {
+        set(INGEST_AGGREGATION_BUFFER_FLUSH_INTERVAL, flushIntervalInMilliseconds);
+    }
+
+    /**
+     * Get the flag determining whether a single, long lived batch writer
+     * should be shared by all add elements calls to the store rather than a
+     * new batch writer being created and closed for each call.
+     *
+     * @return true if a shared batch writer should be used
+     */
+    public boolean getSharedBatchWriter() {
+        return Boolean.parseBoolean(get(SHARED_BATCH_WRITER, SHARED_BATCH_WRITER_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether a single, long lived batch writer
+     * should be shared by all add elements calls to the store.
+     *
+     * @param sharedBatchWriter true if a shared batch writer should be used
+     */
+    public void setSharedBatchWriter(final boolean sharedBatchWriter) {
+        set(SHARED_BATCH_WRITER, Boolean.toString(sharedBatchWriter));
+    }
+
+    /**
+     * Get the durability that should be used for the accumulo batch writers,
+     * one of the values of {@link org.apache.accumulo.core.client.Durability}.
+     * If not set then the table's default durability is used.
+     *
+     * @return the durability to use in the batch writer
+     */
+    public String getBatchWriterDurability() {
+        return get(BATCH_WRITER_DURABILITY, null);
+    }
+
+    /**
+     * Set the durability that should be used for the accumulo batch writers,
+     * one of the values of {@link org.apache.accumulo.core.client.Durability}.
+     *
+     * @param batchWriterDurability the durability to use in the batch writer
+     */
+    public void setBatchWriterDurability(final String batchWriterDurability) {
+        set(BATCH_WRITER_DURABILITY, batchWriterDurability);
+    }
+
+    /**
+     * Get the flag determining whether seeds should be sorted and grouped by
+     * tablet before being queried in batches. The seeds are read in windows of
+     * {@link #getGroupSeedsByTabletWindowSize()} seeds, and only the seeds in
+     * each window are grouped, so the seeds of a query are not all held in
+     * memory client side.
+     *
+     * @return true if seeds should be grouped by tablet
+     */
+    public boolean getGroupSeedsByTablet() {
+        return Boolean.parseBoolean(get(GROUP_SEEDS_BY_TABLET, GROUP_SEEDS_BY_TABLET_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether seeds should be sorted and grouped by
+     * tablet before being queried in batches.
+     *
+     * @param groupSeedsByTablet true if seeds should be grouped by tablet
+     */
+    public void setGroupSeedsByTablet(final boolean groupSeedsByTablet) {
+        set(GROUP_SEEDS_BY_TABLET, Boolean.toString(groupSeedsByTablet));
+    }
+
+    /**
+     * Get the number of batch scanner batches of seeds that are read into
+     * memory and grouped by tablet at a time, when seeds are grouped by
+     * tablet. Larger windows group more seeds into each tablet, so fewer
+     * tablets are queried by each batch scanner, but hold more seeds in
+     * memory and delay the first results until the window has been read.
+     *
+     * @return the number of batches in each window
+     */
+    public int getGroupSeedsByTabletWindowBatches() {
+        return Integer.parseInt(get(GROUP_SEEDS_BY_TABLET_WINDOW_BATCHES, GROUP_SEEDS_BY_TABLET_WINDOW_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Set the number of batch scanner batches of seeds that are read into
+     * memory and grouped by tablet at a time, when seeds are grouped by
+     * tablet.
+     *
+     * @param windowBatches the number of batches in each window
+     */
+    public void setGroupSeedsByTabletWindowBatches(final String windowBatches) {
+        set(GROUP_SEEDS_BY_TABLET_WINDOW_BATCHES, windowBatches);
+    }
+
+    /**
+     * Get the maximum number of seeds that are read into memory and grouped by
+     * tablet at a time, which is the number of batches in each window
+     * multiplied by the maximum number of entries for a batch scanner.
+     *
+     * @return the number of seeds in each window
+     */
+    public int getGroupSeedsByTabletWindowSize() {
+        final long windowSize = (long) Math.max(1, getGroupSeedsByTabletWindowBatches())
+                * getMaxEntriesForBatchScanner();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, windowSize));
+    }
+
+    /**
+     * Get the flag determining whether the schema should be stored in the
+     * table configuration and referenced by id in iterator options, rather
+     * than passing the full schema to every iterator.
+     *
+     * @return true if the schema should be stored in the table configuration
+     */
+    public boolean getSchemaInTableConfig() {
+        return Boolean.parseBoolean(get(SCHEMA_IN_TABLE_CONFIG, SCHEMA_IN_TABLE_CONFIG_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether the schema should be stored in the
+     * table configuration and referenced by id in iterator options.
+     *
+     * @param schemaInTableConfig true if the schema should be stored in the table configuration
+     */
+    public void setSchemaInTableConfig(final boolean schemaInTableConfig) {
+        set(SCHEMA_IN_TABLE_CONFIG, Boolean.toString(schemaInTableConfig));
+    }
+
+    /**
+     * Get the maximum number of elements held in the seed cache, which caches
+     * the elements related to each entity seed in seeded queries. A value of
+     * 0 or less disables the cache. The cache is also disabled when a shared
+     * batch writer is used.
+     *
+     * @return the maximum number of elements in the seed cache
+     */
+    public long getSeedCacheMaxElements() {
+        return Long.parseLong(get(SEED_CACHE_MAX_ELEMENTS, SEED_CACHE_MAX_ELEMENTS_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of elements held in the seed cache. A value of 0
+     * or less disables the cache.
+     *
+     * @param maxElements the maximum number of elements in the seed cache
+     */
+    public void setSeedCacheMaxElements(final String maxElements) {
+        set(SEED_CACHE_MAX_ELEMENTS, maxElements);
+    }
+
+    /**
+     * Get the maximum number of elements related to a single seed for them to
+     * be held in the seed cache.
+     *
+     * @return the maximum number of elements cached for a seed
+     */
+    public int getSeedCacheMaxElementsPerSeed() {
+        return Integer.parseInt(get(SEED_CACHE_MAX_ELEMENTS_PER_SEED, SEED_CACHE_MAX_ELEMENTS_PER_SEED_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of elements related to a single seed for them to
+     * be held in the seed cache.
+     *
+     * @param maxElementsPerSeed the maximum number of elements cached for a seed
+     */
+    public void setSeedCacheMaxElementsPerSeed(final String maxElementsPerSeed) {
+        set(SEED_CACHE_MAX_ELEMENTS_PER_SEED, maxElementsPerSeed);
+    }
+
+    /**
+     * Get the number of seconds the elements for a seed are held in the seed
+     * cache. This bounds how long changes made by other clients can be
+     * missed.
+     *
+     * @return the time to live of the seed cache entries in seconds
+     */
+    public long getSeedCacheTimeToLiveInSeconds() {
+        return Long.parseLong(get(SEED_CACHE_TIME_TO_LIVE, SEED_CACHE_TIME_TO_LIVE_DEFAULT));
+    }
+
+    /**
+     * Set the number of seconds the elements for a seed are held in the seed
+     * cache.
+     *
+     * @param timeToLiveInSeconds the time to live of the seed cache entries in seconds
+     */
+    public void setSeedCacheTimeToLiveInSeconds(final String timeToLiveInSeconds) {
+        set(SEED_CACHE_TIME_TO_LIVE, timeToLiveInSeconds);
+    }
 }
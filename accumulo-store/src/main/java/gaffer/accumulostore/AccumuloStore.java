@@ -28,6 +28,8 @@ import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import gaffer.accumulostore.operation.handler.GetSampleOfElementsHandler;
+import gaffer.accumulostore.operation.handler.GetTopKHandler;
 import gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
@@ -48,7 +50,10 @@ import gaffer.accumulostore.operation.spark.handler.GetDataFrameOfElementsOperat
 import gaffer.accumulostore.operation.spark.handler.GetJavaRDDOfElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfAllElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfElementsOperationHandler;
+import gaffer.accumulostore.utils.IngestAggregationBuffer;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.SchemaRegistry;
+import gaffer.accumulostore.utils.SeedCache;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
@@ -61,6 +66,8 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.operation.impl.get.GetTopK;
 import gaffer.operation.simple.hdfs.operation.AddElementsFromHdfs;
 import gaffer.operation.simple.spark.GetDataFrameOfElements;
 import gaffer.operation.simple.spark.GetJavaRDDOfElements;
@@ -92,7 +99,9 @@ import org.slf4j.LoggerFactory;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static gaffer.store.StoreTrait.ORDERED;
 import static gaffer.store.StoreTrait.AGGREGATION;
@@ -117,11 +126,18 @@ public class AccumuloStore extends Store {
     private static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, PRE_AGGREGATION_FILTERING, POST_AGGREGATION_FILTERING, POST_TRANSFORMATION_FILTERING, TRANSFORMATION, STORE_VALIDATION, ORDERED));
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    // Read locked whilst the shared writer is used and write locked whilst it is replaced
+    private final ReentrantReadWriteLock sharedWriterLock = new ReentrantReadWriteLock();
+    private BatchWriter sharedWriter = null;
+    private String schemaId = null;
+    private SeedCache seedCache = null;
 
     @Override
     public void initialise(final Schema schema, final StoreProperties properties)
             throws StoreException {
         super.initialise(schema, properties);
+        // The schema may have changed, so its id must be worked out again
+        this.schemaId = null;
         final String keyPackageClass = getProperties().getKeyPackageClass();
         try {
             this.keyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
@@ -129,6 +145,7 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass);
         }
         this.keyPackage.setSchema(schema);
+        this.seedCache = createSeedCache();
         TableUtils.ensureTableExists(this);
     }
 
@@ -232,6 +249,8 @@ public class AccumuloStore extends Store {
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
         addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
+        addOperationHandler(GetTopK.class, new GetTopKHandler());
+        addOperationHandler(GetSampleOfElements.class, new GetSampleOfElementsHandler());
         addOperationHandler(GetJavaRDDOfElements.class, new GetJavaRDDOfElementsOperationHandler());
         addOperationHandler(GetRDDOfElements.class, new GetRDDOfElementsOperationHandler());
         addOperationHandler(GetRDDOfAllElements.class, new GetRDDOfAllElementsOperationHandler());
@@ -270,17 +289,135 @@ public class AccumuloStore extends Store {
      * @throws StoreException failure to insert the elements into a table
      */
     public void addElements(final Iterable<Element> elements) throws StoreException {
-        insertGraphElements(elements);
+        addElements(elements, false);
+    }
+
+    /**
+     * Method to add {@link Element}s into Accumulo. If the store is configured
+     * to use a shared batch writer then the elements may still be buffered
+     * when this method returns, unless a flush is requested.
+     *
+     * @param elements the elements to be added
+     * @param flush    true if the shared batch writer should be flushed before returning
+     * @throws StoreException failure to insert the elements into a table
+     */
+    public void addElements(final Iterable<Element> elements, final boolean flush) throws StoreException {
+        insertGraphElements(elements, flush);
+    }
+
+    /**
+     * Flushes the shared batch writer, if one is in use, blocking until all
+     * elements previously added have been written to Accumulo.
+     *
+     * @throws StoreException if the mutations could not be written
+     */
+    public void flush() throws StoreException {
+        MutationsRejectedException rejection = null;
+        sharedWriterLock.readLock().lock();
+        final BatchWriter writer = sharedWriter;
+        try {
+            if (null != writer) {
+                writer.flush();
+            }
+        } catch (final MutationsRejectedException e) {
+            rejection = e;
+        } finally {
+            sharedWriterLock.readLock().unlock();
+        }
+        if (null != rejection) {
+            closeSharedBatchWriter(writer);
+            throw new StoreException("Failed to flush the shared batch writer", rejection);
+        }
+    }
+
+    /**
+     * Flushes and closes the shared batch writer, if one is in use. A new
+     * shared batch writer will be created the next time elements are added.
+     * This waits for any elements currently being added with the shared
+     * batch writer.
+     */
+    public void closeSharedBatchWriter() {
+        sharedWriterLock.writeLock().lock();
+        try {
+            closeSharedBatchWriter(sharedWriter);
+        } finally {
+            sharedWriterLock.writeLock().unlock();
+        }
     }
 
     protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
-        // Create BatchWriter
-        final BatchWriter writer = TableUtils.createBatchWriter(this);
+        insertGraphElements(elements, false);
+    }
+
+    protected void insertGraphElements(final Iterable<Element> elements, final boolean flush) throws StoreException {
+        final SeedCache.Invalidation invalidation = null != seedCache ? seedCache.startInvalidation() : null;
+        // Either reuse the long lived shared BatchWriter or create a new one
+        // for this call.
+        if (getProperties().getSharedBatchWriter()) {
+            insertGraphElementsWithSharedWriter(elements, flush, invalidation);
+        } else {
+            final BatchWriter writer = TableUtils.createBatchWriter(this);
+            writeGraphElements(writer, elements, invalidation);
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
+        }
+        if (null != invalidation) {
+            invalidation.finish();
+        }
+    }
+
+    private void insertGraphElementsWithSharedWriter(final Iterable<Element> elements, final boolean flush,
+                                                     final SeedCache.Invalidation invalidation)
+            throws StoreException {
+        BatchWriter writer = null;
+        boolean rejected = false;
+        while (null == writer) {
+            // The read lock stops the writer being closed whilst it is in use
+            sharedWriterLock.readLock().lock();
+            try {
+                writer = sharedWriter;
+                if (null != writer) {
+                    rejected = !writeGraphElements(writer, elements, invalidation);
+                    if (!rejected && flush) {
+                        writer.flush();
+                    }
+                }
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to flush the shared batch writer", e);
+                rejected = true;
+            } finally {
+                sharedWriterLock.readLock().unlock();
+            }
+            if (null == writer) {
+                createSharedBatchWriterIfRequired();
+            }
+        }
+        if (rejected) {
+            // A BatchWriter cannot be used again once it has rejected
+            // mutations, so replace the shared writer.
+            closeSharedBatchWriter(writer);
+            throw new StoreException("The shared batch writer rejected mutations, so some elements may not have been added");
+        }
+    }
+
+    // Returns false if any of the mutations were rejected
+    private boolean writeGraphElements(final BatchWriter writer, final Iterable<Element> elements,
+                                       final SeedCache.Invalidation invalidation) {
+        // If enabled, elements sharing the same key are aggregated client side
+        // before being written to reduce the number of mutations sent.
+        final IngestAggregationBuffer buffer = createIngestAggregationBuffer();
+        boolean rejected = false;
         // Loop through elements, convert to mutations, and add to
         // BatchWriter.as
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
         for (final Element element : elements) {
+            if (null != invalidation) {
+                invalidation.add(element);
+            }
             final Pair<Key> keys;
             try {
                 keys = keyPackage.getKeyConverter().getKeysFromElement(element);
@@ -297,35 +434,114 @@ public class AccumuloStore extends Store {
                         + " when trying to insert elements");
                 continue;
             }
-            final Mutation m = new Mutation(keys.getFirst().getRow());
-            m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                    new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-            try {
-                writer.addMutation(m);
-            } catch (final MutationsRejectedException e) {
-                LOGGER.error("Failed to create an accumulo key mutation");
-                continue;
-            }
-            // If the GraphElement is a Vertex then there will only be 1 key,
-            // and the second will be null.
-            // If the GraphElement is an Edge then there will be 2 keys.
-            if (keys.getSecond() != null) {
-                final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                        new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                        value);
+            if (null == buffer) {
+                rejected |= !addMutations(writer, keys, value);
+            } else {
                 try {
-                    writer.addMutation(m2);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
+                    buffer.add(element.getGroup(), keys, value);
+                } catch (final AccumuloElementConversionException e) {
+                    LOGGER.error("Failed to aggregate an accumulo value from element of type " + element.getGroup()
+                            + " when trying to insert elements");
+                    continue;
+                }
+                if (buffer.isFlushRequired()) {
+                    rejected |= !flushIngestAggregationBuffer(writer, buffer);
                 }
             }
         }
+        if (null != buffer) {
+            rejected |= !flushIngestAggregationBuffer(writer, buffer);
+        }
+        return !rejected;
+    }
+
+    private void createSharedBatchWriterIfRequired() throws StoreException {
+        sharedWriterLock.writeLock().lock();
+        try {
+            if (null == sharedWriter) {
+                sharedWriter = TableUtils.createBatchWriter(this);
+            }
+        } finally {
+            sharedWriterLock.writeLock().unlock();
+        }
+    }
+
+    // Closes the shared writer if it has not already been replaced
+    private void closeSharedBatchWriter(final BatchWriter writer) {
+        sharedWriterLock.writeLock().lock();
         try {
-            writer.close();
+            if (null == writer || writer != sharedWriter) {
+                return;
+            }
+            sharedWriter = null;
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo shared batch writer failed to close", e);
+            }
+        } finally {
+            sharedWriterLock.writeLock().unlock();
+        }
+    }
+
+    private SeedCache createSeedCache() {
+        final long maxElements = getProperties().getSeedCacheMaxElements();
+        if (maxElements < 1) {
+            return null;
+        }
+        if (getProperties().getSharedBatchWriter()) {
+            // Elements added through the shared writer may be written after the add returns, so the cache could
+            // not be invalidated once they are visible to queries
+            LOGGER.warn("The seed cache cannot be used with a shared batch writer, so it has been disabled");
+            return null;
+        }
+        return new SeedCache(getSchema(), maxElements, getProperties().getSeedCacheMaxElementsPerSeed(),
+                getProperties().getSeedCacheTimeToLiveInSeconds());
+    }
+
+    private IngestAggregationBuffer createIngestAggregationBuffer() {
+        final int bufferSize = getProperties().getIngestAggregationBufferSize();
+        if (bufferSize < 1) {
+            return null;
+        }
+        return new IngestAggregationBuffer(getSchema(), keyPackage.getKeyConverter(), bufferSize,
+                getProperties().getIngestAggregationBufferFlushIntervalInMilliseconds());
+    }
+
+    private boolean flushIngestAggregationBuffer(final BatchWriter writer, final IngestAggregationBuffer buffer) {
+        boolean accepted = true;
+        for (final Map.Entry<Pair<Key>, Value> entry : buffer.flush()) {
+            accepted &= addMutations(writer, entry.getKey(), entry.getValue());
+        }
+        return accepted;
+    }
+
+    private boolean addMutations(final BatchWriter writer, final Pair<Key> keys, final Value value) {
+        final Mutation m = new Mutation(keys.getFirst().getRow());
+        m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
+                new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+        try {
+            writer.addMutation(m);
         } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            LOGGER.error("Failed to create an accumulo key mutation");
+            return false;
+        }
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (keys.getSecond() != null) {
+            final Mutation m2 = new Mutation(keys.getSecond().getRow());
+            m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
+                    new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
+                    value);
+            try {
+                writer.addMutation(m2);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -338,6 +554,29 @@ public class AccumuloStore extends Store {
         return keyPackage;
     }
 
+    /**
+     * Returns the id of the schema used to reference it in the table
+     * configuration, see {@link gaffer.accumulostore.utils.SchemaRegistry}.
+     *
+     * @return the schema id
+     */
+    public String getSchemaId() {
+        if (null == schemaId) {
+            schemaId = SchemaRegistry.getSchemaId(getSchema());
+        }
+        return schemaId;
+    }
+
+    /**
+     * Returns the cache of the elements retrieved for each seed, see
+     * {@link gaffer.accumulostore.utils.SeedCache}.
+     *
+     * @return the seed cache, or null if it is disabled
+     */
+    public SeedCache getSeedCache() {
+        return seedCache;
+    }
+
     @Override
     public boolean isValidationRequired() {
         return false;
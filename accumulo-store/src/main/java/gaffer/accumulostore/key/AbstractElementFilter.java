@@ -20,6 +20,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.ElementFilterException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorStats;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Element;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -41,13 +43,18 @@ import java.util.Map;
  * instructions given in the {@link View} that is passed to this iterator
  */
 public abstract class AbstractElementFilter extends Filter {
+    private IteratorEnvironment iteratorEnvironment;
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "validator is initialised in validateOptions method, which is always called first")
     protected ElementValidator validator;
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
     private AccumuloElementConverter elementConverter;
+    // Replaced in init, this is only used if the iterator is not initialised or is a deep copy
+    private IteratorStats stats = IteratorStats.register(getClass().getSimpleName(), null);
 
     @Override
     public boolean accept(final Key key, final Value value) {
+        final long startNanos = stats.startTimer();
+        stats.keyRead();
         final Element element;
         try {
             element = elementConverter.getFullElement(key, value);
@@ -55,13 +62,20 @@ public abstract class AbstractElementFilter extends Filter {
             throw new ElementFilterException(
                     "Element filter iterator failed to create an element from an accumulo key value pair", e);
         }
-        return validate(element);
+        final boolean accepted = validate(element);
+        if (!accepted) {
+            stats.keyRejected();
+        }
+        stats.stopTimer(startNanos);
+        return accepted;
     }
 
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
+        iteratorEnvironment = env;
+        stats = IteratorStats.register(getClass().getSimpleName(), env, options);
         validateOptions(options);
     }
 
@@ -73,18 +87,10 @@ public abstract class AbstractElementFilter extends Filter {
         if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         }
-        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
-            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
-        }
 
         validator = getElementValidator(options);
 
-        final Schema schema;
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema from JSON", e);
-        }
+        final Schema schema = SchemaRegistry.getSchema(options, iteratorEnvironment);
 
         try {
             final Class<?> elementConverterClass = Class
@@ -101,6 +107,10 @@ public abstract class AbstractElementFilter extends Filter {
 
     protected abstract boolean validate(final Element element);
 
+    protected IteratorEnvironment getIteratorEnvironment() {
+        return iteratorEnvironment;
+    }
+
     protected ElementValidator getElementValidator(final Map<String, String> options) {
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
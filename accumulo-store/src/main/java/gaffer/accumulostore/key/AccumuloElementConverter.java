@@ -101,6 +101,19 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException;
 
+    /**
+     * Aggregates two Accumulo {@link Value}s for the same group directly from their serialised form, without
+     * converting them to {@link gaffer.data.element.Properties}.
+     *
+     * @param group  the element group
+     * @param first  the first Value
+     * @param second the second Value
+     * @return the aggregated Value, or null if the properties of the group cannot be merged from their serialised form
+     * @throws AccumuloElementConversionException If the values fail to merge
+     */
+    Value mergeValues(final String group, final Value first, final Value second)
+            throws AccumuloElementConversionException;
+
     /**
      * Gets a new {@link Element} from an Accumulo {@link Key}.
      *
@@ -124,6 +124,36 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getRowIDAggregatorIteratorSetting(final AccumuloStore store, final String columnFamily) throws IteratorSettingException;
 
+    /**
+     * Returns an Iterator that will only return the k elements on each tablet with the highest value of
+     * the given property. The results from each tablet must be merged client side.
+     *
+     * @param store    the accumulo store
+     * @param property the name of the property to rank elements by
+     * @param k        the number of elements to return from each tablet
+     * @return A new {@link IteratorSetting} for an Iterator that will select the top k elements
+     */
+    IteratorSetting getTopKIteratorSetting(final AccumuloStore store, final String property, final int k);
+
+    /**
+     * Returns an Iterator that will return a random sample of the elements on each tablet. Exactly one of
+     * proportionToSample and sampleSize should be provided. When a sample size is used, each tablet returns
+     * up to that many elements and the results must be sampled again client side.
+     *
+     * @param proportionToSample the probability of each element being returned, or null
+     * @param sampleSize         the size of the reservoir sample to take from each tablet, or null
+     * @return A new {@link IteratorSetting} for an Iterator that will sample elements
+     */
+    IteratorSetting getSamplingIteratorSetting(final Float proportionToSample, final Integer sampleSize);
+
+    /**
+     * Returns an Iterator that returns the statistics of the Gaffer iterators in a scan to the client as stats
+     * entries. This must be the last iterator applied to the scan.
+     *
+     * @return A new {@link IteratorSetting} for an Iterator that will return iterator statistics
+     */
+    IteratorSetting getIteratorStatsIteratorSetting();
+
     /**
      * Returns an Iterator to be applied when doing range operations that will do any filtering of
      * Element properties that may have otherwise been done elsewhere e.g via
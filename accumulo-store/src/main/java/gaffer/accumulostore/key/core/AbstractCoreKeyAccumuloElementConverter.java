@@ -28,24 +28,24 @@ import gaffer.data.element.Entity;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
 import gaffer.serialisation.Serialisation;
-import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaElementDefinition;
-import gaffer.store.schema.TypeDefinition;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
     protected final Schema schema;
+    private final Map<String, GroupPropertiesCodec> codecs = new ConcurrentHashMap<>();
 
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
         this.schema = schema;
+        if (null != schema) {
+            compileCodecs(schema.getEntityGroups());
+            compileCodecs(schema.getEdgeGroups());
+        }
     }
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
@@ -96,45 +96,11 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Value getValueFromProperties(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
-        boolean hasValue = false;
-        String propertyName;
-        int length;
-        while (propertyNames.hasNext()) {
-            propertyName = propertyNames.next();
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (typeDefinition != null && isStoredInValue(propertyName, elementDefinition)) {
-                Object value = properties.get(propertyName);
-                try {
-                    if (null != value) {
-                        final byte[] bytes = typeDefinition.getSerialiser().serialise(value);
-                        length = bytes.length;
-                        if (length > 0) {
-                            hasValue = true;
-                            CompactRawSerialisationUtils.write(length, out);
-                            out.write(bytes);
-                        } else {
-                            CompactRawSerialisationUtils.write(0L, out);
-                        }
-                    } else {
-                        CompactRawSerialisationUtils.write(0L, out);
-                    }
-                } catch (final IOException e) {
-                    throw new AccumuloElementConversionException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
-                }
-            }
-
-        }
-
-        if (!hasValue) {
+        final byte[] bytes = getCodec(group).encodeValue(properties);
+        if (bytes.length == 0) {
             return new Value();
         }
-        return new Value(out.toByteArray());
+        return new Value(bytes, false);
     }
 
     @Override
@@ -145,44 +111,27 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value)
             throws AccumuloElementConversionException {
-        final Properties properties = new Properties();
+        final GroupPropertiesCodec codec = getCodec(group);
+        final Properties properties = codec.createProperties();
         if (value == null || value.getSize() == 0) {
             return properties;
         }
-        final byte[] bytes = value.get();
-        int lastDelimiter = 0;
-        final int arrayLength = bytes.length;
-        long currentPropLength;
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        codec.decodeValue(value.get(), properties);
+        return properties;
+    }
+
+    @Override
+    public Value mergeValues(final String group, final Value first, final Value second)
+            throws AccumuloElementConversionException {
+        final GroupPropertiesCodec codec = getCodec(group);
+        if (!codec.canMergeValues()) {
+            return null;
         }
-        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
-        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
-            final String propertyName = propertyNames.next();
-            TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (typeDefinition != null && isStoredInValue(propertyName, elementDefinition)) {
-                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
-                lastDelimiter += numBytesForLength;
-                if (currentPropLength > 0) {
-                    try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
-                    } catch (SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-                    }
-                }
-            }
+        final byte[] bytes = codec.mergeValues(getBytes(first), getBytes(second));
+        if (bytes.length == 0) {
+            return new Value();
         }
-
-        return properties;
+        return new Value(bytes, false);
     }
 
     @Override
@@ -234,179 +183,46 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public byte[] buildColumnVisibility(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-        if (null != schema.getVisibilityProperty()) {
-            final TypeDefinition propertyDef = elementDefinition.getPropertyTypeDef(schema.getVisibilityProperty());
-            if (null != propertyDef) {
-                final Object property = properties.get(schema.getVisibilityProperty());
-                if (property != null) {
-                    try {
-                        return propertyDef.getSerialiser().serialise(property);
-                    } catch (final SerialisationException e) {
-                        throw new AccumuloElementConversionException(e.getMessage(), e);
-                    }
-                }
-            }
-        }
-
-        return AccumuloStoreConstants.EMPTY_BYTES;
+        return getCodec(group).encodeColumnVisibility(properties);
     }
 
     @Override
     public Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility)
             throws AccumuloElementConversionException {
-        final Properties properties = new Properties();
         if (columnVisibility == null || columnVisibility.length == 0) {
-            return properties;
-        }
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+            return new Properties();
         }
-
-        if (null != schema.getVisibilityProperty()) {
-            final TypeDefinition propertyDef = elementDefinition.getPropertyTypeDef(schema.getVisibilityProperty());
-            if (null != propertyDef) {
-                final Serialisation serialiser = propertyDef.getSerialiser();
-                try {
-                    properties.put(schema.getVisibilityProperty(),
-                            serialiser.deserialise(columnVisibility));
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException(e.getMessage(), e);
-                }
-            }
-        }
-
+        final GroupPropertiesCodec codec = getCodec(group);
+        final Properties properties = codec.createProperties();
+        codec.decodeColumnVisibility(columnVisibility, properties);
         return properties;
     }
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-        final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
-        boolean hasValue = false;
-        while (propertyNames.hasNext()) {
-            String propertyName = propertyNames.next();
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (typeDefinition != null) {
-                Object value = properties.get(propertyName);
-                try {
-                    if (null != value) {
-                        final byte[] bytes = typeDefinition.getSerialiser().serialise(value);
-                        int length = bytes.length;
-                        if (length > 0) {
-                            hasValue = true;
-                            CompactRawSerialisationUtils.write(length, out);
-                            out.write(bytes);
-                        } else {
-                            CompactRawSerialisationUtils.write(0L, out);
-                        }
-                    } else {
-                        CompactRawSerialisationUtils.write(0L, out);
-                    }
-                } catch (final IOException e) {
-                    throw new AccumuloElementConversionException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
-                }
-            }
-
-        }
-
-        if (!hasValue) {
-            return AccumuloStoreConstants.EMPTY_BYTES;
-        }
-        return out.toByteArray();
+        return getCodec(group).encodeColumnQualifier(properties);
     }
 
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-
-        final Properties properties = new Properties();
+        final GroupPropertiesCodec codec = getCodec(group);
+        final Properties properties = codec.createProperties();
         if (bytes == null || bytes.length == 0) {
             return properties;
         }
-
-        int lastDelimiter = 0;
-        final int arrayLength = bytes.length;
-        long currentPropLength;
-        final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
-        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
-            final String propertyName = propertyNames.next();
-            TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (typeDefinition != null) {
-                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
-                lastDelimiter += numBytesForLength;
-                if (currentPropLength > 0) {
-                    try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
-                    } catch (SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-                    }
-                }
-            }
-        }
-
+        codec.decodeColumnQualifier(bytes, properties);
         return properties;
     }
 
     @Override
-    public byte[] getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes,  final int numProps)
+    public byte[] getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int numProps)
             throws AccumuloElementConversionException {
         if (numProps == 0 || bytes == null || bytes.length == 0) {
             return AccumuloStoreConstants.EMPTY_BYTES;
         }
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-        if (numProps == elementDefinition.getProperties().size()) {
-            return bytes;
-        }
-        int lastDelimiter = 0;
-        final int arrayLength = bytes.length;
-        long currentPropLength;
-        int propIndex = 0;
-        while (propIndex < numProps && lastDelimiter < arrayLength) {
-            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-            final byte[] length = new byte[numBytesForLength];
-            System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-            try {
-                currentPropLength = CompactRawSerialisationUtils.readLong(length);
-            } catch (final SerialisationException e) {
-                throw new AccumuloElementConversionException("Exception reading length of property");
-            }
-
-            lastDelimiter += numBytesForLength;
-            if (currentPropLength > 0) {
-                lastDelimiter += currentPropLength;
-            }
-
-            propIndex++;
-        }
-
-        final byte[] propertyBytes = new byte[lastDelimiter];
-        System.arraycopy(bytes, 0, propertyBytes, 0, lastDelimiter);
-        return propertyBytes;
+        return getCodec(group).truncateColumnQualifier(bytes, numProps);
     }
 
     @Override
@@ -435,16 +251,10 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromTimestamp(final String group, final long timestamp)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-
-        final Properties properties = new Properties();
+        final GroupPropertiesCodec codec = getCodec(group);
+        final Properties properties = codec.createProperties();
         // If the element group requires a timestamp property then add it.
-        if (null != schema.getTimestampProperty() && elementDefinition.containsProperty(schema.getTimestampProperty())) {
-            properties.put(schema.getTimestampProperty(), timestamp);
-        }
+        codec.decodeTimestamp(timestamp, properties);
         return properties;
     }
 
@@ -484,6 +294,49 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
     }
 
+    /**
+     * Creates empty {@link Properties} for an element of the given group, indexed by the group's properties in the
+     * schema so the element's property values are held compactly.
+     *
+     * @param group the element group
+     * @return new empty {@link Properties}
+     */
+    protected Properties createProperties(final String group) {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        return null != elementDefinition ? elementDefinition.createProperties() : new Properties();
+    }
+
+    private static byte[] getBytes(final Value value) {
+        return null == value || value.getSize() == 0 ? AccumuloStoreConstants.EMPTY_BYTES : value.get();
+    }
+
+    private void compileCodecs(final Iterable<String> groups) {
+        for (final String group : groups) {
+            try {
+                codecs.put(group, new GroupPropertiesCodec(schema, group));
+            } catch (final AccumuloElementConversionException e) {
+                throw new IllegalArgumentException("Unable to create codec for group " + group, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link GroupPropertiesCodec} for the given group. Codecs are compiled for all groups in the schema
+     * when the converter is created.
+     *
+     * @param group the element group
+     * @return the codec for the group
+     * @throws AccumuloElementConversionException if the group is not in the schema
+     */
+    protected GroupPropertiesCodec getCodec(final String group) throws AccumuloElementConversionException {
+        GroupPropertiesCodec codec = codecs.get(group);
+        if (null == codec) {
+            codec = new GroupPropertiesCodec(schema, group);
+            codecs.put(group, codec);
+        }
+        return codec;
+    }
+
     protected Serialisation getVertexSerialiser() {
         return schema.getVertexSerialiser();
     }
@@ -500,7 +353,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
         try {
             final Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]),
-                    getVertexSerialiser().deserialise(result[1]), directed);
+                    getVertexSerialiser().deserialise(result[1]), directed, createProperties(group));
             addPropertiesToElement(edge, key);
             return edge;
         } catch (final SerialisationException e) {
@@ -25,11 +25,15 @@ import gaffer.accumulostore.key.impl.AggregatorIterator;
 import gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import gaffer.accumulostore.key.impl.RowIDAggregator;
+import gaffer.accumulostore.key.impl.IteratorStatsIterator;
+import gaffer.accumulostore.key.impl.SamplingIterator;
+import gaffer.accumulostore.key.impl.TopKIterator;
 import gaffer.accumulostore.key.impl.ValidatorFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.store.schema.CompiledView;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEdgeDefinition;
 import gaffer.store.schema.SchemaEntityDefinition;
@@ -47,17 +51,29 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
     @Override
     public IteratorSetting getElementPreAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
-        return new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_PRIORITY,
-                AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME, ElementPreAggregationFilter.class).schema(store.getSchema())
-                .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+        final CompiledView compiledView = store.getCompiledView(view);
+        IteratorSetting setting = compiledView.getCompiledState(AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME);
+        if (null == setting) {
+            setting = compiledView.addCompiledState(AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME,
+                    new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_PRIORITY,
+                            AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME, ElementPreAggregationFilter.class).schema(store)
+                            .view(compiledView).keyConverter(store.getKeyPackage().getKeyConverter()).build());
+        }
+        return copy(setting);
     }
 
     @Override
     public IteratorSetting getElementPostAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
-        return new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY,
-                AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME, ElementPostAggregationFilter.class).schema(store.getSchema())
-                .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+        final CompiledView compiledView = store.getCompiledView(view);
+        IteratorSetting setting = compiledView.getCompiledState(AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME);
+        if (null == setting) {
+            setting = compiledView.addCompiledState(AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME,
+                    new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY,
+                            AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME, ElementPostAggregationFilter.class).schema(store)
+                            .view(compiledView).keyConverter(store.getKeyPackage().getKeyConverter()).build());
+        }
+        return copy(setting);
     }
 
     @Override
@@ -65,7 +81,7 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.AGGREGATOR_ITERATOR_NAME, AggregatorIterator.class)
                 .all()
-                .schema(store.getSchema())
+                .schema(store)
                 .keyConverter(store.getKeyPackage().getKeyConverter())
                 .build();
     }
@@ -76,7 +92,7 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 AccumuloStoreConstants.ROW_ID_AGGREGATOR_ITERATOR_NAME, RowIDAggregator.class)
                 .all()
                 .columnFamily(columnFamily)
-                .schema(store.getSchema())
+                .schema(store)
                 .keyConverter(store.getKeyPackage().getKeyConverter())
                 .build();
     }
@@ -86,24 +102,60 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return new IteratorSettingBuilder(AccumuloStoreConstants.VALIDATOR_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.VALIDATOR_ITERATOR_NAME, ValidatorFilter.class)
                 .all()
-                .schema(store.getSchema())
+                .schema(store)
                 .keyConverter(store.getKeyPackage().getKeyConverter())
                 .build();
     }
 
+    @Override
+    public IteratorSetting getTopKIteratorSetting(final AccumuloStore store, final String property, final int k) {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.TOP_K_ITERATOR_NAME, TopKIterator.class)
+                .option(AccumuloStoreConstants.TOP_K_PROPERTY, property)
+                .option(AccumuloStoreConstants.TOP_K, Integer.toString(k))
+                .schema(store)
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getIteratorStatsIteratorSetting() {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.ITERATOR_STATS_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ITERATOR_STATS_ITERATOR_NAME, IteratorStatsIterator.class).build();
+    }
+
+    @Override
+    public IteratorSetting getSamplingIteratorSetting(final Float proportionToSample, final Integer sampleSize) {
+        final IteratorSettingBuilder builder = new IteratorSettingBuilder(AccumuloStoreConstants.SAMPLING_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.SAMPLING_ITERATOR_NAME, SamplingIterator.class);
+        if (null != proportionToSample) {
+            builder.option(AccumuloStoreConstants.SAMPLE_PROPORTION, Float.toString(proportionToSample));
+        }
+        if (null != sampleSize) {
+            builder.option(AccumuloStoreConstants.SAMPLE_SIZE, Integer.toString(sampleSize));
+        }
+        return builder.build();
+    }
+
     @Override
     public IteratorSetting getQueryTimeAggregatorIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
         if (!queryTimeAggregatorRequired(view, store)) {
             return null;
         }
-        return new IteratorSettingBuilder(AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY,
-            AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME, CoreKeyGroupByAggregatorIterator.class)
-            .all()
-            .schema(store.getSchema())
-            .view(view)
-            .keyConverter(store.getKeyPackage().getKeyConverter())
-            .build();
+        final CompiledView compiledView = store.getCompiledView(view);
+        IteratorSetting setting = compiledView.getCompiledState(AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME);
+        if (null == setting) {
+            setting = compiledView.addCompiledState(AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME,
+                    new IteratorSettingBuilder(AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY,
+                            AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME, CoreKeyGroupByAggregatorIterator.class)
+                            .all()
+                            .schema(store)
+                            .view(compiledView)
+                            .keyConverter(store.getKeyPackage().getKeyConverter())
+                            .build());
+        }
+        return copy(setting);
     }
 
     public boolean queryTimeAggregatorRequired(final View view, final AccumuloStore store) {
@@ -136,6 +188,11 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return false;
     }
 
+    // Settings built from a view are cached on the compiled view, so a copy is returned in case the caller modifies it
+    private static IteratorSetting copy(final IteratorSetting setting) {
+        return new IteratorSetting(setting.getPriority(), setting.getName(), setting.getIteratorClass(), setting.getOptions());
+    }
+
     @Override
     public IteratorSetting getIteratorSetting(final AccumuloStore store, final String iteratorName) throws IteratorSettingException {
         switch (iteratorName) {
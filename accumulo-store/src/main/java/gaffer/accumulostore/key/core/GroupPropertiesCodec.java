@@ -0,0 +1,362 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunction;
+import gaffer.serialisation.DirectSerialisation;
+import gaffer.serialisation.MergeableSerialisation;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A <code>GroupPropertiesCodec</code> encodes and decodes the properties of a single group to and from the parts of an
+ * Accumulo key and value. It is compiled once from the {@link Schema}, so the property order, the serialisers and the
+ * properties stored in each part of the key and value are resolved up front rather than looked up by name for every
+ * element.
+ * <p>
+ * Properties are written as a sequence of compact variable length integer lengths each followed by the serialised
+ * property, which is the same format the {@link AbstractCoreKeyAccumuloElementConverter} has always used.
+ * <p>
+ * If every value property has a {@link MergeableSerialisation} that can merge for the property's aggregate function,
+ * two encoded values can be aggregated with {@link #mergeValues(byte[], byte[])} without deserialising them.
+ */
+public final class GroupPropertiesCodec {
+    private final String group;
+    private final SchemaElementDefinition elementDefinition;
+    private final int numProperties;
+
+    private final String[] groupByNames;
+    private final Serialisation[] groupBySerialisers;
+
+    private final String[] valueNames;
+    private final Serialisation[] valueSerialisers;
+    private final MergeableSerialisation[] valueMergers;
+
+    private final String visibilityProperty;
+    private final Serialisation visibilitySerialiser;
+
+    private final String timestampProperty;
+
+    public GroupPropertiesCodec(final Schema schema, final String group) throws AccumuloElementConversionException {
+        this.group = group;
+        elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+
+        numProperties = elementDefinition.getProperties().size();
+
+        final List<String> groupBy = new ArrayList<>();
+        final List<Serialisation> groupBySerialiserList = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getGroupBy()) {
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (null != typeDefinition) {
+                groupBy.add(propertyName);
+                groupBySerialiserList.add(typeDefinition.getSerialiser());
+            }
+        }
+        groupByNames = groupBy.toArray(new String[groupBy.size()]);
+        groupBySerialisers = groupBySerialiserList.toArray(new Serialisation[groupBySerialiserList.size()]);
+
+        final List<String> values = new ArrayList<>();
+        final List<Serialisation> valueSerialiserList = new ArrayList<>();
+        boolean canMergeValues = true;
+        for (final String propertyName : elementDefinition.getProperties()) {
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (null != typeDefinition
+                    && !elementDefinition.getGroupBy().contains(propertyName)
+                    && !propertyName.equals(schema.getVisibilityProperty())
+                    && !propertyName.equals(schema.getTimestampProperty())) {
+                values.add(propertyName);
+                valueSerialiserList.add(typeDefinition.getSerialiser());
+                canMergeValues = canMergeValues && canMerge(typeDefinition);
+            }
+        }
+        valueNames = values.toArray(new String[values.size()]);
+        valueSerialisers = valueSerialiserList.toArray(new Serialisation[valueSerialiserList.size()]);
+        if (canMergeValues && valueSerialisers.length > 0) {
+            valueMergers = new MergeableSerialisation[valueSerialisers.length];
+            for (int i = 0; i < valueSerialisers.length; i++) {
+                valueMergers[i] = (MergeableSerialisation) valueSerialisers[i];
+            }
+        } else {
+            valueMergers = null;
+        }
+
+        final TypeDefinition visibilityTypeDef = null != schema.getVisibilityProperty()
+                ? elementDefinition.getPropertyTypeDef(schema.getVisibilityProperty()) : null;
+        if (null != visibilityTypeDef) {
+            visibilityProperty = schema.getVisibilityProperty();
+            visibilitySerialiser = visibilityTypeDef.getSerialiser();
+        } else {
+            visibilityProperty = null;
+            visibilitySerialiser = null;
+        }
+
+        timestampProperty = null != schema.getTimestampProperty()
+                && elementDefinition.containsProperty(schema.getTimestampProperty())
+                ? schema.getTimestampProperty() : null;
+    }
+
+    /**
+     * @return new empty {@link Properties} for this group.
+     */
+    public Properties createProperties() {
+        return elementDefinition.createProperties();
+    }
+
+    public byte[] encodeColumnQualifier(final Properties properties) throws AccumuloElementConversionException {
+        return encode(groupByNames, groupBySerialisers, properties);
+    }
+
+    public void decodeColumnQualifier(final byte[] bytes, final Properties properties)
+            throws AccumuloElementConversionException {
+        decode(groupByNames, groupBySerialisers, bytes, properties);
+    }
+
+    /**
+     * Truncates the column qualifier so it only contains the first numProps group by properties.
+     *
+     * @param bytes    the column qualifier
+     * @param numProps the number of properties to keep
+     * @return the truncated column qualifier
+     */
+    public byte[] truncateColumnQualifier(final byte[] bytes, final int numProps) {
+        if (numProps == 0 || null == bytes || bytes.length == 0) {
+            return AccumuloStoreConstants.EMPTY_BYTES;
+        }
+        if (numProps == numProperties) {
+            return bytes;
+        }
+        int lastDelimiter = 0;
+        int propIndex = 0;
+        while (propIndex < numProps && lastDelimiter < bytes.length) {
+            final long currentPropLength = CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
+            lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+            if (currentPropLength > 0) {
+                lastDelimiter += currentPropLength;
+            }
+            propIndex++;
+        }
+
+        return Arrays.copyOf(bytes, lastDelimiter);
+    }
+
+    /**
+     * @param properties the properties to encode
+     * @return the encoded value properties or an empty array if none of them have a value.
+     * @throws AccumuloElementConversionException if a property could not be serialised
+     */
+    public byte[] encodeValue(final Properties properties) throws AccumuloElementConversionException {
+        return encode(valueNames, valueSerialisers, properties);
+    }
+
+    public void decodeValue(final byte[] bytes, final Properties properties) throws AccumuloElementConversionException {
+        decode(valueNames, valueSerialisers, bytes, properties);
+    }
+
+    /**
+     * @return true if encoded values for this group can be aggregated with {@link #mergeValues(byte[], byte[])}
+     */
+    public boolean canMergeValues() {
+        return null != valueMergers;
+    }
+
+    /**
+     * Aggregates two encoded values by merging each serialised value property with its
+     * {@link MergeableSerialisation}. The result is the same as decoding both values, aggregating the properties and
+     * encoding the result.
+     *
+     * @param first  the first encoded value
+     * @param second the second encoded value
+     * @return the encoded aggregated value
+     * @throws AccumuloElementConversionException if this group's values cannot be merged or a property fails to merge
+     */
+    public byte[] mergeValues(final byte[] first, final byte[] second) throws AccumuloElementConversionException {
+        if (null == valueMergers) {
+            throw new AccumuloElementConversionException("Values cannot be merged for group " + group);
+        }
+
+        final byte[][] merged = new byte[valueMergers.length][];
+        boolean hasValue = false;
+        int size = 0;
+        int firstPlace = 0;
+        int secondPlace = 0;
+        for (int i = 0; i < valueMergers.length; i++) {
+            final int firstLength = readLength(first, firstPlace);
+            firstPlace = skipLength(first, firstPlace);
+            final int secondLength = readLength(second, secondPlace);
+            secondPlace = skipLength(second, secondPlace);
+            if (0 == firstLength) {
+                merged[i] = Arrays.copyOfRange(second, secondPlace, secondPlace + secondLength);
+            } else if (0 == secondLength) {
+                merged[i] = Arrays.copyOfRange(first, firstPlace, firstPlace + firstLength);
+            } else {
+                try {
+                    merged[i] = valueMergers[i].merge(first, firstPlace, firstLength, second, secondPlace, secondLength);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to merge property " + valueNames[i], e);
+                }
+            }
+            firstPlace += firstLength;
+            secondPlace += secondLength;
+
+            final int length = merged[i].length;
+            if (length > 0) {
+                hasValue = true;
+                size += CompactRawSerialisationUtils.getVIntSize(length) + length;
+            } else {
+                size++;
+            }
+        }
+
+        if (!hasValue) {
+            return AccumuloStoreConstants.EMPTY_BYTES;
+        }
+        return write(merged, size);
+    }
+
+    public byte[] encodeColumnVisibility(final Properties properties) throws AccumuloElementConversionException {
+        if (null != visibilitySerialiser) {
+            final Object property = properties.get(visibilityProperty);
+            if (null != property) {
+                try {
+                    return visibilitySerialiser.serialise(property);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException(e.getMessage(), e);
+                }
+            }
+        }
+
+        return AccumuloStoreConstants.EMPTY_BYTES;
+    }
+
+    public void decodeColumnVisibility(final byte[] bytes, final Properties properties)
+            throws AccumuloElementConversionException {
+        if (null != visibilitySerialiser && null != bytes && bytes.length > 0) {
+            try {
+                properties.put(visibilityProperty, visibilitySerialiser.deserialise(bytes));
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException(e.getMessage(), e);
+            }
+        }
+    }
+
+    public void decodeTimestamp(final long timestamp, final Properties properties) {
+        if (null != timestampProperty) {
+            properties.put(timestampProperty, timestamp);
+        }
+    }
+
+    private static byte[] encode(final String[] names, final Serialisation[] serialisers,
+                                 final Properties properties) throws AccumuloElementConversionException {
+        // Serialise all properties first so the output can be allocated at exactly the right size.
+        final byte[][] serialised = new byte[names.length][];
+        boolean hasValue = false;
+        int size = 0;
+        for (int i = 0; i < names.length; i++) {
+            final Object value = properties.get(names[i]);
+            if (null != value) {
+                try {
+                    serialised[i] = serialisers[i].serialise(value);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to serialise property " + names[i], e);
+                }
+                final int length = serialised[i].length;
+                if (length > 0) {
+                    hasValue = true;
+                    size += CompactRawSerialisationUtils.getVIntSize(length) + length;
+                    continue;
+                }
+            }
+            size++;
+        }
+
+        if (!hasValue) {
+            return AccumuloStoreConstants.EMPTY_BYTES;
+        }
+        return write(serialised, size);
+    }
+
+    private static byte[] write(final byte[][] serialised, final int size) {
+        final byte[] bytes = new byte[size];
+        int offset = 0;
+        for (final byte[] propertyBytes : serialised) {
+            if (null != propertyBytes && propertyBytes.length > 0) {
+                offset = CompactRawSerialisationUtils.write(propertyBytes.length, bytes, offset);
+                System.arraycopy(propertyBytes, 0, bytes, offset, propertyBytes.length);
+                offset += propertyBytes.length;
+            } else {
+                offset = CompactRawSerialisationUtils.write(0L, bytes, offset);
+            }
+        }
+        return bytes;
+    }
+
+    private static void decode(final String[] names, final Serialisation[] serialisers, final byte[] bytes,
+                               final Properties properties) throws AccumuloElementConversionException {
+        if (null == bytes) {
+            return;
+        }
+        int lastDelimiter = 0;
+        for (int i = 0; i < names.length && lastDelimiter < bytes.length; i++) {
+            final int currentPropLength = (int) CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
+            lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+            if (currentPropLength > 0) {
+                try {
+                    properties.put(names[i], deserialise(serialisers[i], bytes, lastDelimiter, currentPropLength));
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + names[i], e);
+                }
+                lastDelimiter += currentPropLength;
+            }
+        }
+    }
+
+    // An encoded value stops early when its remaining properties are empty, so reading past the end gives 0
+    private static int readLength(final byte[] bytes, final int place) {
+        return place < bytes.length ? (int) CompactRawSerialisationUtils.readLong(bytes, place) : 0;
+    }
+
+    private static int skipLength(final byte[] bytes, final int place) {
+        return place < bytes.length ? place + CompactRawSerialisationUtils.decodeVIntSize(bytes[place]) : place;
+    }
+
+    private static boolean canMerge(final TypeDefinition typeDefinition) {
+        final AggregateFunction aggregateFunction = typeDefinition.getAggregateFunction();
+        return null != aggregateFunction
+                && typeDefinition.getSerialiser() instanceof MergeableSerialisation
+                && ((MergeableSerialisation) typeDefinition.getSerialiser()).canMerge(aggregateFunction.getClass());
+    }
+
+    private static Object deserialise(final Serialisation serialiser, final byte[] bytes, final int offset,
+                                      final int length) throws SerialisationException {
+        if (serialiser instanceof DirectSerialisation) {
+            return ((DirectSerialisation) serialiser).deserialise(bytes, offset, length);
+        }
+        return serialiser.deserialise(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+}
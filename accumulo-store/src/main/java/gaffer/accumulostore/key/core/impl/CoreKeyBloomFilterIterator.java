@@ -19,6 +19,7 @@ package gaffer.accumulostore.key.core.impl;
 import gaffer.accumulostore.key.exception.BloomFilterIteratorException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorStats;
 import gaffer.commonutil.ByteArrayEscapeUtils;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
@@ -42,9 +43,22 @@ import java.util.Map;
 public class CoreKeyBloomFilterIterator extends Filter {
 
     protected BloomFilter filter;
+    // Replaced in init, this is only used if the iterator is not initialised or is a deep copy
+    private IteratorStats stats = IteratorStats.register(getClass().getSimpleName(), null);
 
     @Override
     public boolean accept(final Key key, final Value value) {
+        final long startNanos = stats.startTimer();
+        stats.keyRead();
+        final boolean accepted = isMember(key);
+        if (!accepted) {
+            stats.keyRejected();
+        }
+        stats.stopTimer(startNanos);
+        return accepted;
+    }
+
+    private boolean isMember(final Key key) {
         byte[] vertices = key.getRowData().getBackingArray();
         int pos = -1;
         for (int i = vertices.length - 3; i > 0; --i) {
@@ -64,6 +78,7 @@ public class CoreKeyBloomFilterIterator extends Filter {
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
+        stats = IteratorStats.register(getClass().getSimpleName(), env, options);
         validateOptions(options);
     }
 
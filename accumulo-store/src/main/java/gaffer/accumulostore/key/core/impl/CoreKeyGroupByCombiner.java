@@ -21,6 +21,8 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.ByteUtils;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorStats;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -52,6 +54,7 @@ import java.util.NoSuchElementException;
  */
 public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         implements OptionDescriber {
+    private IteratorEnvironment iteratorEnvironment;
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "schema is initialised in validateOptions method, which is always called first")
     protected Schema schema;
 
@@ -61,6 +64,9 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called first")
     protected AccumuloElementConverter elementConverter;
 
+    // Replaced in init, this is only used if the iterator is not initialised or is a deep copy
+    private IteratorStats stats = IteratorStats.register(getClass().getSimpleName(), null);
+
     /**
      * A Java Iterator that iterates over the properties for a given row Key
      * and column family from a source {@link SortedKeyValueIterator}.
@@ -73,6 +79,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         private final LinkedHashSet<String> groupBy;
         private final LinkedHashSet<String> schemaGroupBy;
         private boolean hasNext;
+        private long count;
 
         /**
          * Constructs an iterator over {@link Value}s whose {@link Key}s are
@@ -136,6 +143,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
             final byte[] topColumnVisibility = source.getTopKey().getColumnVisibilityData().getBackingArray();
             final long topTimestamp = source.getTopKey().getTimestamp();
             final Value topValue = new Value(source.getTopValue());
+            count++;
 
             try {
                 source.next();
@@ -165,6 +173,13 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
             return properties;
         }
 
+        /**
+         * @return the number of values returned so far
+         */
+        public long getCount() {
+            return count;
+        }
+
         /**
          * unsupported
          *
@@ -262,7 +277,8 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 throw new RuntimeException(e);
             }
 
-            final Iterator<Properties> iter = new KeyValueIterator(
+            final long startNanos = stats.startTimer();
+            final KeyValueIterator iter = new KeyValueIterator(
                     getSource(), group, elementConverter, schema, view);
             final Properties aggregatedProperties = reduce(group, workKey, iter);
 
@@ -294,6 +310,13 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
             while (iter.hasNext()) {
                 iter.next();
             }
+
+            if (iter.getCount() > 1) {
+                stats.keysAggregated(iter.getCount());
+            } else {
+                stats.keyRead();
+            }
+            stats.stopTimer(startNanos);
         }
     }
 
@@ -347,18 +370,13 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
+        iteratorEnvironment = env;
+        stats = IteratorStats.register(getClass().getSimpleName(), env, options);
     }
 
     @Override
     public boolean validateOptions(final Map<String, String> options) {
-        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
-            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
-        }
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
+        schema = SchemaRegistry.getSchema(options, iteratorEnvironment);
 
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
@@ -119,9 +119,11 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser()
-                    .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0,
-                            (key.getRowData().getBackingArray().length) - 2))));
+            final String group = getGroupFromKey(key);
+            final Entity entity = new Entity(group, getVertexSerialiser()
+                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray(), 0,
+                            (key.getRowData().getBackingArray().length) - 2)),
+                    createProperties(group));
             addPropertiesToElement(entity, key);
             return entity;
         } catch (final SerialisationException e) {
@@ -188,12 +190,12 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
 
     private byte[] getDestBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
-                .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+                .unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2] - positionsOfDelimiters[1] - 1);
     }
 
     private byte[] getSourceBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
-                .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
+                .unEscape(rowKey, 0, positionsOfDelimiters[0]);
     }
 
     private boolean matchEdgeSource(final Map<String, String> options) {
@@ -21,10 +21,10 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
@@ -44,6 +44,7 @@ import java.util.Map;
  * therefore what the resulting {@link Value} will be.
  */
 public class AggregatorIterator extends Combiner {
+    private IteratorEnvironment iteratorEnvironment;
     private Schema schema;
     private AccumuloElementConverter elementConverter;
 
@@ -62,25 +63,26 @@ public class AggregatorIterator extends Combiner {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
 
-        Properties properties;
-        final ElementAggregator aggregator;
-        try {
-            properties = elementConverter.getPropertiesFromValue(group, value);
-        } catch (final AccumuloElementConversionException e) {
-            throw new AggregationException("Failed to recreate a graph element from a key and value", e);
+        // The source may reuse the Value it returned, so copy it before moving on to the next one
+        value = new Value(value.get());
+        final Value next = iter.next();
+
+        // If the group's properties can be merged from their serialised form then skip deserialising them
+        Value merged = mergeValues(group, value, next);
+        if (null != merged) {
+            while (iter.hasNext()) {
+                merged = mergeValues(group, merged, iter.next());
+            }
+            return merged;
         }
-        aggregator = schema.getElement(group).getAggregator();
-        aggregator.aggregate(properties);
+
+        final ElementAggregator aggregator = schema.getElement(group).getAggregator();
+        aggregator.aggregate(getPropertiesFromValue(group, value));
+        aggregator.aggregate(getPropertiesFromValue(group, next));
         while (iter.hasNext()) {
-            value = iter.next();
-            try {
-                properties = elementConverter.getPropertiesFromValue(group, value);
-            } catch (final AccumuloElementConversionException e) {
-                throw new AggregationException("Failed to recreate a graph element from a key and value", e);
-            }
-            aggregator.aggregate(properties);
+            aggregator.aggregate(getPropertiesFromValue(group, iter.next()));
         }
-        properties = new Properties();
+        final Properties properties = new Properties();
         aggregator.state(properties);
         try {
             return elementConverter.getValueFromProperties(group, properties);
@@ -93,6 +95,7 @@ public class AggregatorIterator extends Combiner {
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
+        iteratorEnvironment = env;
         validateOptions(options);
     }
 
@@ -104,15 +107,8 @@ public class AggregatorIterator extends Combiner {
         if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         }
-        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
-            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
-        }
 
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema from json", e);
-        }
+        schema = SchemaRegistry.getSchema(options, iteratorEnvironment);
 
         try {
             final Class<?> elementConverterClass = Class
@@ -137,4 +133,19 @@ public class AggregatorIterator extends Combiner {
                 .build();
     }
 
+    private Value mergeValues(final String group, final Value first, final Value second) {
+        try {
+            return elementConverter.mergeValues(group, first, second);
+        } catch (final AccumuloElementConversionException e) {
+            throw new AggregationException("Failed to merge accumulo values", e);
+        }
+    }
+
+    private Properties getPropertiesFromValue(final String group, final Value value) {
+        try {
+            return elementConverter.getPropertiesFromValue(group, value);
+        } catch (final AccumuloElementConversionException e) {
+            throw new AggregationException("Failed to recreate a graph element from a key and value", e);
+        }
+    }
 }
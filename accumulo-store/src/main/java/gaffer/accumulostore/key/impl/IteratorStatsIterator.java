@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorStats;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.hadoop.io.Text;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <code>IteratorStatsIterator</code> returns the {@link IteratorStats} of the Gaffer iterators below it in the
+ * scan to the client, as stats entries mixed in with the results.
+ * <p>
+ * It must be the last iterator applied to a scan. Stats entries are emitted at the end of each row once the
+ * iterators have read at least {@link AccumuloStoreConstants#ITERATOR_STATS_INTERVAL} keys since the last stats
+ * entry, and when the range being scanned is exhausted. Each stats entry is keyed by the row of the last entry
+ * returned, or the start of the range if nothing has been returned, with a column family that sorts after all
+ * elements, so the results remain sorted. Stats entries that would fall outside the range are not emitted.
+ */
+public class IteratorStatsIterator extends WrappingIterator implements OptionDescriber {
+    private List<IteratorStats> statsList = Collections.emptyList();
+    private long interval = Long.parseLong(AccumuloStoreConstants.ITERATOR_STATS_INTERVAL_DEFAULT);
+    private Range range;
+    private Text lastRow;
+    private Key statsKey;
+    private Value statsValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        statsList = IteratorStats.collect(env);
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (options.containsKey(AccumuloStoreConstants.ITERATOR_STATS_INTERVAL)) {
+            interval = Long.parseLong(options.get(AccumuloStoreConstants.ITERATOR_STATS_INTERVAL));
+        }
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ITERATOR_STATS_ITERATOR_NAME,
+                "Returns the stats of the Gaffer iterators in the scan as stats entries")
+                .addNamedOption(AccumuloStoreConstants.ITERATOR_STATS_INTERVAL,
+                        "Optional: The number of keys read by an iterator before stats are returned at the end of a row")
+                .build();
+    }
+
+    @Override
+    public Key getTopKey() {
+        return null != statsKey ? statsKey : super.getTopKey();
+    }
+
+    @Override
+    public Value getTopValue() {
+        return null != statsKey ? statsValue : super.getTopValue();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != statsKey || super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        if (null != statsKey) {
+            statsKey = null;
+            statsValue = null;
+        } else {
+            lastRow = super.getTopKey().getRow(null != lastRow ? lastRow : new Text());
+            super.next();
+        }
+        findStats();
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        this.range = range;
+        lastRow = null;
+        statsKey = null;
+        statsValue = null;
+        super.seek(range, columnFamilies, inclusive);
+        findStats();
+    }
+
+    private void findStats() {
+        if (null != statsKey || !IteratorStats.hasKeysRead(statsList)) {
+            return;
+        }
+
+        final Text row;
+        if (super.hasTop()) {
+            if (null == lastRow || 0 == super.getTopKey().compareRow(lastRow)
+                    || IteratorStats.getMaxKeysRead(statsList) < interval) {
+                return;
+            }
+            row = lastRow;
+        } else if (null != lastRow) {
+            row = lastRow;
+        } else if (null != range.getStartKey()) {
+            row = range.getStartKey().getRow();
+        } else {
+            return;
+        }
+
+        final Key key = IteratorStats.createStatsKey(row);
+        if (range.contains(key)) {
+            statsKey = key;
+            statsValue = new Value(IteratorStats.encodeAndReset(statsList));
+        }
+    }
+}
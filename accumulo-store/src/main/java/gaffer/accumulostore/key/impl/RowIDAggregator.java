@@ -21,10 +21,10 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
@@ -43,6 +43,7 @@ import java.util.Iterator;
 import java.util.Map;
 
 public class RowIDAggregator extends WrappingIterator implements OptionDescriber {
+    private IteratorEnvironment iteratorEnvironment;
 
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "schema is initialised in validateOptions method, which is always called first")
     protected Schema schema = null;
@@ -76,17 +77,10 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
 
     @Override
     public boolean validateOptions(final Map<String, String> options) {
-        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
-            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
-        }
         if (!options.containsKey(AccumuloStoreConstants.COLUMN_FAMILY)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.COLUMN_FAMILY);
         }
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
+        schema = SchemaRegistry.getSchema(options, iteratorEnvironment);
         try {
             final Class<?> elementConverterClass = Class
                     .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
@@ -119,6 +113,7 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
+        iteratorEnvironment = env;
         this.source = source;
         validateOptions(options);
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.ReservoirSampler;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.hadoop.io.Text;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * The <code>SamplingIterator</code> returns a random sample of the key value pairs in the range it is seeked to.
+ * It runs in one of two modes:
+ * <ul>
+ * <li>{@link AccumuloStoreConstants#SAMPLE_PROPORTION} - each key value pair is streamed through with the given probability.</li>
+ * <li>{@link AccumuloStoreConstants#SAMPLE_SIZE} - a reservoir sample of at most the given number of key value
+ * pairs is taken from the range, and then returned in key order followed by a sample count entry holding the number
+ * of key value pairs the sample was taken from.</li>
+ * </ul>
+ * As each tablet is sampled independently, a reservoir sample of size n will return up to n key value pairs per tablet
+ * and the client is required to sample the combined results again, weighting each tablet's sample by its count.
+ * The sample count entry is in the row of the last sampled key with a column family that sorts after all elements,
+ * so the entries of a tablet's sample are the entries that sort before its sample count entry.
+ */
+public class SamplingIterator extends WrappingIterator implements OptionDescriber {
+    // Starts with a byte that never occurs in the UTF-8 group names used as column families, so sample count entries
+    // sort after all the elements in a row
+    private static final Text SAMPLE_COUNT_COLUMN_FAMILY = new Text(createSampleCountColumnFamily());
+
+    private final Random random = new Random();
+    private Float proportion;
+    private Integer sampleSize;
+
+    private Iterator<Map.Entry<Key, Value>> sampleIterator;
+    private Map.Entry<Key, Value> top;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        final boolean hasProportion = options.containsKey(AccumuloStoreConstants.SAMPLE_PROPORTION);
+        final boolean hasSampleSize = options.containsKey(AccumuloStoreConstants.SAMPLE_SIZE);
+        if (hasProportion == hasSampleSize) {
+            throw new IllegalArgumentException("Must specify exactly one of " + AccumuloStoreConstants.SAMPLE_PROPORTION
+                    + " and " + AccumuloStoreConstants.SAMPLE_SIZE);
+        }
+
+        if (hasProportion) {
+            proportion = Float.parseFloat(options.get(AccumuloStoreConstants.SAMPLE_PROPORTION));
+            if (proportion < 0 || proportion > 1) {
+                throw new IllegalArgumentException(AccumuloStoreConstants.SAMPLE_PROPORTION + " must be between 0 and 1");
+            }
+        } else {
+            sampleSize = Integer.parseInt(options.get(AccumuloStoreConstants.SAMPLE_SIZE));
+            if (sampleSize < 1) {
+                throw new IllegalArgumentException(AccumuloStoreConstants.SAMPLE_SIZE + " must be greater than 0");
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final SamplingIterator copy = new SamplingIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.proportion = proportion;
+        copy.sampleSize = sampleSize;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        if (null != proportion) {
+            findNextSampled();
+        } else {
+            sampleRange(range);
+        }
+    }
+
+    @Override
+    public void next() throws IOException {
+        if (null != proportion) {
+            getSource().next();
+            findNextSampled();
+        } else {
+            top = sampleIterator.hasNext() ? sampleIterator.next() : null;
+        }
+    }
+
+    @Override
+    public boolean hasTop() {
+        if (null != proportion) {
+            return getSource().hasTop();
+        }
+        return null != top;
+    }
+
+    @Override
+    public Key getTopKey() {
+        if (null != proportion) {
+            return getSource().getTopKey();
+        }
+        return top.getKey();
+    }
+
+    @Override
+    public Value getTopValue() {
+        if (null != proportion) {
+            return getSource().getTopValue();
+        }
+        return top.getValue();
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.SAMPLING_ITERATOR_NAME,
+                "Returns a random sample of the key value pairs")
+                .addNamedOption(AccumuloStoreConstants.SAMPLE_PROPORTION, "Optional: The probability of each key value pair being returned")
+                .addNamedOption(AccumuloStoreConstants.SAMPLE_SIZE, "Optional: The size of the reservoir sample to take from each tablet")
+                .build();
+    }
+
+    private void findNextSampled() throws IOException {
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (source.hasTop() && random.nextFloat() >= proportion) {
+            source.next();
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return true if the key is the key of a sample count entry
+     */
+    public static boolean isSampleCountKey(final Key key) {
+        return 0 == key.compareColumnFamily(SAMPLE_COUNT_COLUMN_FAMILY);
+    }
+
+    /**
+     * @param value the value of a sample count entry
+     * @return the number of key value pairs the sample was taken from
+     */
+    public static long getSampleCount(final Value value) {
+        try {
+            return Long.parseLong(new String(value.get(), CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to decode the sample count", e);
+        }
+    }
+
+    private void sampleRange(final Range range) throws IOException {
+        final ReservoirSampler<Map.Entry<Key, Value>> sampler = new ReservoirSampler<>(sampleSize, random);
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (source.hasTop()) {
+            sampler.offer(new AbstractMap.SimpleImmutableEntry<>(new Key(source.getTopKey()), new Value(source.getTopValue())));
+            source.next();
+        }
+
+        final TreeMap<Key, Value> sample = new TreeMap<>();
+        for (final Map.Entry<Key, Value> entry : sampler.toList()) {
+            sample.put(entry.getKey(), entry.getValue());
+        }
+        if (!sample.isEmpty()) {
+            final Key countKey = new Key(sample.lastKey().getRow(), SAMPLE_COUNT_COLUMN_FAMILY);
+            if (range.contains(countKey)) {
+                sample.put(countKey, new Value(Long.toString(sampler.getCount()).getBytes(CommonConstants.UTF_8)));
+            }
+        }
+        sampleIterator = sample.entrySet().iterator();
+        top = sampleIterator.hasNext() ? sampleIterator.next() : null;
+    }
+
+    private static byte[] createSampleCountColumnFamily() {
+        try {
+            final byte[] suffix = "gaffer.sample.count".getBytes(CommonConstants.UTF_8);
+            final byte[] columnFamily = new byte[suffix.length + 1];
+            columnFamily[0] = (byte) 0xFF;
+            System.arraycopy(suffix, 0, columnFamily, 1, suffix.length);
+            return columnFamily;
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to create the sample count column family", e);
+        }
+    }
+}
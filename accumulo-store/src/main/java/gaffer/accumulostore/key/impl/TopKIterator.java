@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.SchemaRegistry;
+import gaffer.commonutil.TopKCollector;
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementPropertyComparator;
+import gaffer.data.element.Properties;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The <code>TopKIterator</code> reads all the key value pairs in the range it is seeked to and only
+ * returns the k pairs with the highest value of the configured property, using a bounded heap.
+ * The retained pairs are returned in key order. As each tablet returns its own top k pairs, the
+ * client is required to merge the partial results to get the overall top k.
+ * <p>
+ * Pairs without the property are skipped.
+ */
+public class TopKIterator extends WrappingIterator implements OptionDescriber {
+    private IteratorEnvironment iteratorEnvironment;
+    private static final Comparator<RankedEntry> RANKED_ENTRY_COMPARATOR = new Comparator<RankedEntry>() {
+        @Override
+        public int compare(final RankedEntry entry1, final RankedEntry entry2) {
+            final int result = ElementPropertyComparator.compareValues(entry1.rank, entry2.rank);
+            return 0 != result ? result : entry1.key.compareTo(entry2.key);
+        }
+    };
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "property is initialised in validateOptions method, which is always called first")
+    private String property;
+    private int k;
+
+    private Iterator<Map.Entry<Key, Value>> topIterator;
+    private Map.Entry<Key, Value> top;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        iteratorEnvironment = env;
+        validateOptions(options);
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.TOP_K_PROPERTY)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K_PROPERTY);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.TOP_K)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K);
+        }
+
+        final Schema schema = SchemaRegistry.getSchema(options, iteratorEnvironment);
+
+        try {
+            final Class<?> elementConverterClass = Class
+                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
+                    .newInstance(schema);
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+
+        property = options.get(AccumuloStoreConstants.TOP_K_PROPERTY);
+        k = Integer.parseInt(options.get(AccumuloStoreConstants.TOP_K));
+        if (k < 1) {
+            throw new IllegalArgumentException(AccumuloStoreConstants.TOP_K + " must be greater than 0");
+        }
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final TopKIterator copy = new TopKIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.property = property;
+        copy.k = k;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+
+        final TopKCollector<RankedEntry> collector = new TopKCollector<>(k, RANKED_ENTRY_COMPARATOR);
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        while (source.hasTop()) {
+            final Key key = source.getTopKey();
+            final Value value = source.getTopValue();
+            final Object rank = getRank(key, value);
+            if (null != rank) {
+                collector.offer(new RankedEntry(rank, new Key(key), new Value(value)));
+            }
+            source.next();
+        }
+
+        final TreeMap<Key, Value> topEntries = new TreeMap<>();
+        for (final RankedEntry entry : collector.toList()) {
+            topEntries.put(entry.key, entry.value);
+        }
+        topIterator = topEntries.entrySet().iterator();
+        top = topIterator.hasNext() ? topIterator.next() : null;
+    }
+
+    @Override
+    public void next() throws IOException {
+        top = topIterator.hasNext() ? topIterator.next() : null;
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != top;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return top.getKey();
+    }
+
+    @Override
+    public Value getTopValue() {
+        return top.getValue();
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_NAME,
+                "Only returns the k key value pairs with the highest value of the provided property")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.TOP_K_PROPERTY, "Required: The name of the property to rank by")
+                .addNamedOption(AccumuloStoreConstants.TOP_K, "Required: The number of key value pairs to return")
+                .build();
+    }
+
+    private Object getRank(final Key key, final Value value) {
+        try {
+            final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+            Properties properties = elementConverter.getPropertiesFromValue(group, value);
+            if (properties.containsKey(property)) {
+                return properties.get(property);
+            }
+
+            properties = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
+            if (properties.containsKey(property)) {
+                return properties.get(property);
+            }
+
+            final Element element = elementConverter.getFullElement(key, value);
+            return element.getProperty(property);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to extract the " + property + " property from an accumulo key value pair", e);
+        }
+    }
+
+    private static final class RankedEntry {
+        private final Object rank;
+        private final Key key;
+        private final Value value;
+
+        private RankedEntry(final Object rank, final Key key, final Value value) {
+            this.rank = rank;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
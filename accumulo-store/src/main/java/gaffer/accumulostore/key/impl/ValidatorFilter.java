@@ -18,18 +18,15 @@ package gaffer.accumulostore.key.impl;
 
 import gaffer.accumulostore.key.AbstractElementFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
-import gaffer.commonutil.CommonConstants;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.data.element.Element;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.ElementValidator;
-import gaffer.store.schema.Schema;
-import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * The ValidatorFilter will filter out {@link gaffer.data.element.Element}s
- * based on the validator functions given in the {@link Schema} that is passed to this iterator.
+ * based on the validator functions given in the {@link gaffer.store.schema.Schema} that is passed to this iterator.
  * <p>
  * If a {@link gaffer.function.FilterFunction} returns false then the Element is removed.
  */
@@ -38,6 +35,7 @@ public class ValidatorFilter extends AbstractElementFilter {
     public IteratorOptions describeOptions() {
         final Map<String, String> namedOptions = new HashMap<>();
         namedOptions.put(AccumuloStoreConstants.SCHEMA, "A serialised schema");
+        namedOptions.put(AccumuloStoreConstants.SCHEMA_ID, "The id of a schema stored in the table configuration");
         return new IteratorOptions(AccumuloStoreConstants.SCHEMA,
                 "Only returns elements that are valid",
                 namedOptions, null);
@@ -50,14 +48,6 @@ public class ValidatorFilter extends AbstractElementFilter {
 
     @Override
     protected ElementValidator getElementValidator(final Map<String, String> options) {
-        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
-            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
-        }
-
-        try {
-            return new ElementValidator(Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8)), false);
-        } catch (UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise schema from JSON", e);
-        }
+        return new ElementValidator(SchemaRegistry.getSchema(options, getIteratorEnvironment()), false);
     }
 }
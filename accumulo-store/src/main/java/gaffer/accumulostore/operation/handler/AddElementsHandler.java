@@ -17,6 +17,7 @@
 package gaffer.accumulostore.operation.handler;
 
 import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.store.Context;
@@ -36,7 +37,9 @@ public class AddElementsHandler implements OperationHandler<AddElements, Void> {
     private void addElements(final AddElements addElementsOperation, final AccumuloStore store)
             throws OperationException {
         try {
-            store.addElements(addElementsOperation.getElements());
+            final boolean flush = Boolean.parseBoolean(
+                    addElementsOperation.getOption(AccumuloStoreConstants.OPERATION_ADD_ELEMENTS_FLUSH));
+            store.addElements(addElementsOperation.getElements(), flush);
         } catch (final StoreException e) {
             throw new OperationException("Failed to add elements", e);
         }
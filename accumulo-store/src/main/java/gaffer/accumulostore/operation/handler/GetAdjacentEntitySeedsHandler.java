@@ -19,6 +19,7 @@ package gaffer.accumulostore.operation.handler;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.impl.AccumuloCachedSingleIDRetriever;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
@@ -33,22 +34,42 @@ import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.StoreException;
+import gaffer.store.operation.handler.ExplainableOperationHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.user.User;
+import java.util.Map;
 
-public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> {
+public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>>,
+        ExplainableOperationHandler<GetAdjacentEntitySeeds> {
 
     @Override
     public CloseableIterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation,
                                             final Context context, final Store store)
             throws OperationException {
-        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+        final AccumuloRetriever<?> retriever = createRetriever(operation, context.getUser(), (AccumuloStore) store);
+        retriever.setCancellationToken(context.getCancellationToken());
+        return new ExtractDestinationEntitySeed(retriever);
     }
 
     public CloseableIterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation,
                                             final User user,
                                             final AccumuloStore store)
             throws OperationException {
+        return new ExtractDestinationEntitySeed(createRetriever(operation, user, store));
+    }
+
+    @Override
+    public Map<String, Object> explain(final GetAdjacentEntitySeeds operation, final Context context, final Store store)
+            throws OperationException {
+        try {
+            return createRetriever(operation, context.getUser(), (AccumuloStore) store).explain();
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to explain get adjacent entity seeds", e);
+        }
+    }
+
+    private AccumuloRetriever<?> createRetriever(final GetAdjacentEntitySeeds operation, final User user,
+                                                 final AccumuloStore store) throws OperationException {
         operation.addOption(AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true");
 
         final AccumuloRetriever<?> edgeRetriever;
@@ -57,12 +78,16 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
             if (IncludeEdgeType.NONE == operation.getIncludeEdges()) {
                 operation.setIncludeEdges(IncludeEdgeType.ALL);
             }
-            edgeRetriever = new AccumuloSingleIDRetriever(store, operation, user);
+            if (null != store.getSeedCache()) {
+                edgeRetriever = new AccumuloCachedSingleIDRetriever(store, operation, user);
+            } else {
+                edgeRetriever = new AccumuloSingleIDRetriever(store, operation, user);
+            }
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
 
-        return new ExtractDestinationEntitySeed(edgeRetriever);
+        return edgeRetriever;
     }
 
     private static final class ExtractDestinationEntitySeed extends TransformIterable<Element, EntitySeed> {
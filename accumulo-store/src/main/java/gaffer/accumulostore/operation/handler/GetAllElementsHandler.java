@@ -27,17 +27,37 @@ import gaffer.operation.impl.get.GetAllElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.StoreException;
+import gaffer.store.operation.handler.ExplainableOperationHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.user.User;
+import java.util.Map;
 
-public class GetAllElementsHandler implements OperationHandler<GetAllElements<Element>, CloseableIterable<Element>> {
+public class GetAllElementsHandler implements OperationHandler<GetAllElements<Element>, CloseableIterable<Element>>,
+        ExplainableOperationHandler<GetAllElements<Element>> {
     @Override
     public CloseableIterable<Element> doOperation(final GetAllElements<Element> operation, final Context context, final Store store)
             throws OperationException {
-        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+        final AccumuloAllElementsRetriever retriever = createRetriever(operation, context.getUser(), (AccumuloStore) store);
+        retriever.setCancellationToken(context.getCancellationToken());
+        return retriever;
     }
 
     public CloseableIterable<Element> doOperation(final GetAllElements<Element> operation, final User user, final AccumuloStore store) throws OperationException {
+        return createRetriever(operation, user, store);
+    }
+
+    @Override
+    public Map<String, Object> explain(final GetAllElements<Element> operation, final Context context, final Store store)
+            throws OperationException {
+        try {
+            return createRetriever(operation, context.getUser(), (AccumuloStore) store).explain();
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to explain get all elements", e);
+        }
+    }
+
+    private AccumuloAllElementsRetriever createRetriever(final GetAllElements<Element> operation, final User user,
+                                                         final AccumuloStore store) throws OperationException {
         final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
         try {
             return new AccumuloAllElementsRetriever(store, operation, user, iteratorFactory.getElementPropertyRangeQueryFilter(operation),
@@ -19,6 +19,8 @@ package gaffer.accumulostore.operation.handler;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.impl.AccumuloCachedSingleIDRetriever;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Element;
@@ -28,27 +30,53 @@ import gaffer.operation.impl.get.GetElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.StoreException;
+import gaffer.store.operation.handler.ExplainableOperationHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+import java.util.Map;
 
-public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, CloseableIterable<Element>> {
+public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, CloseableIterable<Element>>,
+        ExplainableOperationHandler<GetElements<ElementSeed, Element>> {
     @Override
     public CloseableIterable<Element> doOperation(final GetElements<ElementSeed, Element> operation,
                                          final Context context, final Store store)
             throws OperationException {
-        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+        final AccumuloRetriever<?> retriever = createRetriever(operation, context.getUser(), (AccumuloStore) store);
+        retriever.setCancellationToken(context.getCancellationToken());
+        return retriever;
     }
 
     public CloseableIterable<Element> doOperation(final GetElements<ElementSeed, Element> operation,
                                          final User user,
                                          final AccumuloStore store) throws OperationException {
+        return createRetriever(operation, user, store);
+    }
+
+    @Override
+    public Map<String, Object> explain(final GetElements<ElementSeed, Element> operation, final Context context,
+                                       final Store store) throws OperationException {
+        try {
+            return createRetriever(operation, context.getUser(), (AccumuloStore) store).explain();
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to explain get elements", e);
+        }
+    }
+
+    private AccumuloRetriever<?> createRetriever(final GetElements<ElementSeed, Element> operation,
+                                                 final User user,
+                                                 final AccumuloStore store) throws OperationException {
         final IteratorSettingFactory itrFactory = store.getKeyPackage().getIteratorFactory();
         try {
-            return new AccumuloSingleIDRetriever(store, operation, user,
+            final IteratorSetting[] iteratorSettings = {
                     itrFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
-                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store)};
+            if (null != store.getSeedCache()) {
+                return new AccumuloCachedSingleIDRetriever(store, operation, user, iteratorSettings);
+            }
+            return new AccumuloSingleIDRetriever(store, operation, user, iteratorSettings);
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
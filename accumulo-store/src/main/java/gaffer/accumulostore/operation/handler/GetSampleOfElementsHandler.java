@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.IteratorSettingFactory;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import gaffer.accumulostore.retriever.impl.AccumuloSampleRetriever;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+
+/**
+ * Handles {@link GetSampleOfElements} operations by sampling the elements on the tablet servers with a
+ * {@link gaffer.accumulostore.key.impl.SamplingIterator}. When a sample size is requested the per tablet
+ * samples are combined into a single sample client side by an {@link AccumuloSampleRetriever}, weighting each
+ * tablet's sample by the number of entries it was taken from.
+ */
+public class GetSampleOfElementsHandler implements OperationHandler<GetSampleOfElements<Element>, CloseableIterable<Element>> {
+    @Override
+    public CloseableIterable<Element> doOperation(final GetSampleOfElements<Element> operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<Element> doOperation(final GetSampleOfElements<Element> operation, final User user, final AccumuloStore store) throws OperationException {
+        validateSampling(operation);
+
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        try {
+            final IteratorSetting[] iteratorSettings = {
+                    iteratorFactory.getElementPropertyRangeQueryFilter(operation),
+                    iteratorFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
+                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getSamplingIteratorSetting(operation.getProportionToSample(), operation.getSampleSize())};
+            if (null == operation.getSampleSize()) {
+                return new AccumuloAllElementsRetriever(store, operation, user, iteratorSettings);
+            }
+            return new AccumuloSampleRetriever(store, operation, user, iteratorSettings);
+        } catch (IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to get elements", e);
+        }
+    }
+
+    private void validateSampling(final GetSampleOfElements<Element> operation) throws OperationException {
+        if ((null == operation.getProportionToSample()) == (null == operation.getSampleSize())) {
+            throw new OperationException("Exactly one of proportionToSample and sampleSize must be set");
+        }
+        if (null != operation.getProportionToSample()
+                && (operation.getProportionToSample() < 0 || operation.getProportionToSample() > 1)) {
+            throw new OperationException("proportionToSample must be between 0 and 1");
+        }
+        if (null != operation.getSampleSize() && operation.getSampleSize() < 1) {
+            throw new OperationException("sampleSize must be greater than 0");
+        }
+    }
+}
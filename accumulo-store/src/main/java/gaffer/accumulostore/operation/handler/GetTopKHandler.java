@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.IteratorSettingFactory;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import gaffer.commonutil.TopKCollector;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementPropertyComparator;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetTopK;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.user.User;
+
+/**
+ * Handles {@link GetTopK} operations by selecting the top k elements on each tablet server with a
+ * {@link gaffer.accumulostore.key.impl.TopKIterator} and then merging the partial results client side.
+ */
+public class GetTopKHandler implements OperationHandler<GetTopK<Element>, CloseableIterable<Element>> {
+    @Override
+    public CloseableIterable<Element> doOperation(final GetTopK<Element> operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<Element> doOperation(final GetTopK<Element> operation, final User user, final AccumuloStore store) throws OperationException {
+        if (null == operation.getProperty()) {
+            throw new OperationException("A property to rank elements by is required");
+        }
+        if (null == operation.getK() || operation.getK() < 1) {
+            throw new OperationException("k must be greater than 0");
+        }
+
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        final AccumuloAllElementsRetriever retriever;
+        try {
+            retriever = new AccumuloAllElementsRetriever(store, operation, user, iteratorFactory.getElementPropertyRangeQueryFilter(operation),
+                    iteratorFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
+                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getTopKIteratorSetting(store, operation.getProperty(), operation.getK()));
+        } catch (IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to get elements", e);
+        }
+
+        final TopKCollector<Element> collector = new TopKCollector<>(operation.getK(), new ElementPropertyComparator(operation.getProperty()));
+        try {
+            for (final Element element : retriever) {
+                if (null != element && null != element.getProperty(operation.getProperty())) {
+                    collector.offer(element);
+                }
+            }
+        } finally {
+            retriever.close();
+        }
+
+        return new WrappedCloseableIterable<>(collector.toList());
+    }
+}
@@ -59,8 +59,15 @@ public class ImportElementsToAccumuloTool extends Configured implements Tool {
 
         // Import the files
         LOGGER.info("Importing files in {} to table {}", inputPath, store.getProperties().getTable());
-        store.getConnection().tableOperations().importDirectory(store.getProperties().getTable(), inputPath,
-                failurePath, false);
+        try {
+            store.getConnection().tableOperations().importDirectory(store.getProperties().getTable(), inputPath,
+                    failurePath, false);
+        } finally {
+            // The vertices of the imported elements are not known, so all cached seeds are invalidated
+            if (null != store.getSeedCache()) {
+                store.getSeedCache().invalidateAll();
+            }
+        }
 
         return SUCCESS_RESPONSE;
     }
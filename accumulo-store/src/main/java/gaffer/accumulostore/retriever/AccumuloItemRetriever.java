@@ -17,9 +17,11 @@
 package gaffer.accumulostore.retriever;
 
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.utils.TabletRangeGrouper;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Element;
@@ -32,10 +34,13 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -61,7 +66,15 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         }
 
         try {
-            iterator = new ElementIterator(idIterator);
+            if (store.getProperties().getGroupSeedsByTablet()) {
+                final TabletBatchIterator rangeBatches = new TabletBatchIterator(idIterator);
+                if (!rangeBatches.hasNext()) {
+                    return new EmptyCloseableIterator<>();
+                }
+                iterator = new ElementIterator(rangeBatches);
+            } else {
+                iterator = new ElementIterator(idIterator);
+            }
         } catch (final RetrieverException e) {
             LOGGER.error(e.getMessage() + " returning empty iterator", e);
             return new EmptyCloseableIterator<>();
@@ -72,25 +85,70 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
     protected abstract void addToRanges(final SEED_TYPE seed, final Set<Range> ranges) throws RangeFactoryException;
 
-    protected class ElementIterator implements CloseableIterator<Element> {
-        private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
-        private Element nextElm;
+    /**
+     * Creates the batches of ranges for the seeds, in the same way as the iterator. The seeds are read, so this
+     * should only be used when they can be read more than once.
+     *
+     * @return the batches of ranges, or null if the seeds will be supplied by a previous operation
+     * @throws RetrieverException if the splits of the table could not be retrieved
+     */
+    @Override
+    protected List<Set<Range>> getRangeBatches() throws RetrieverException {
+        if (null == ids) {
+            return null;
+        }
+        if (store.getProperties().getGroupSeedsByTablet()) {
+            return Lists.newArrayList(new TabletBatchIterator(ids.iterator()));
+        }
 
-        protected ElementIterator(final Iterator<? extends SEED_TYPE> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
+        final List<Set<Range>> rangeBatches = new ArrayList<>();
+        final Iterator<? extends SEED_TYPE> idIterator = ids.iterator();
+        while (idIterator.hasNext()) {
+            int count = 0;
             final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
                 count++;
                 try {
-                    addToRanges(idsIterator.next(), ranges);
+                    addToRanges(idIterator.next(), ranges);
                 } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
+                    LOGGER.error("Failed to create a range from given seed", e);
                 }
             }
+            rangeBatches.add(ranges);
+        }
+        return rangeBatches;
+    }
+
+    /**
+     * Creates an iterator that queries the seeds in batches, in the order the
+     * seeds are provided.
+     *
+     * @param idIterator the seeds
+     * @return the iterator of the elements for the seeds
+     * @throws RetrieverException if the first scanner could not be created
+     */
+    protected CloseableIterator<Element> createElementIterator(final Iterator<? extends SEED_TYPE> idIterator)
+            throws RetrieverException {
+        return new ElementIterator(idIterator);
+    }
+
+    protected class ElementIterator implements CloseableIterator<Element> {
+        private Iterator<Set<Range>> rangeBatches;
+        private BatchScanner scanner;
+        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private Element nextElm;
+
+        protected ElementIterator(final Iterator<? extends SEED_TYPE> idIterator) throws RetrieverException {
+            initialise(new SeedBatchIterator(idIterator));
+        }
+
+        protected ElementIterator(final TabletBatchIterator rangeBatches) throws RetrieverException {
+            initialise(rangeBatches);
+        }
+
+        private void initialise(final Iterator<Set<Range>> batches) throws RetrieverException {
+            rangeBatches = batches;
+            final Set<Range> ranges = rangeBatches.hasNext() ? rangeBatches.next() : new HashSet<Range>();
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
@@ -99,7 +157,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             } catch (TableNotFoundException | StoreException e) {
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = scan(scanner);
         }
 
         @Override
@@ -111,8 +169,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             while (scannerIterator.hasNext()) {
                 final Map.Entry<Key, Value> entry = scannerIterator.next();
                 try {
-                    nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                            operation.getOptions());
+                    nextElm = convert(entry);
                 } catch (final AccumuloElementConversionException e) {
                     LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
                             e);
@@ -129,17 +186,8 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+            while (rangeBatches.hasNext() && !scannerIterator.hasNext()) {
+                final Set<Range> ranges = rangeBatches.next();
                 scanner.close();
                 try {
                     scanner = getScanner(ranges);
@@ -147,7 +195,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
                     LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
                     return false;
                 }
-                scannerIterator = scanner.iterator();
+                scannerIterator = scan(scanner);
             }
             if (!scannerIterator.hasNext()) {
                 scanner.close();
@@ -181,4 +229,105 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             }
         }
     }
+
+    /**
+     * Lazily reads through the seeds, creating a batch of ranges for each
+     * batch of seeds in the order the seeds are provided.
+     */
+    private class SeedBatchIterator implements Iterator<Set<Range>> {
+        private final Iterator<? extends SEED_TYPE> idsIterator;
+
+        SeedBatchIterator(final Iterator<? extends SEED_TYPE> idsIterator) {
+            this.idsIterator = idsIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return idsIterator.hasNext();
+        }
+
+        @Override
+        public Set<Range> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            recordSeedsPerBatch(count);
+            return ranges;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove seeds from this iterator");
+        }
+    }
+
+    /**
+     * Lazily reads through the seeds in windows of
+     * {@link gaffer.accumulostore.AccumuloProperties#getGroupSeedsByTabletWindowSize()}
+     * seeds. The ranges for the seeds in each window are merged and grouped
+     * into batches by the tablet they fall in, so only one window of seeds is
+     * held in memory. Seeds in different windows are not grouped together, so
+     * a tablet may be queried once for each window.
+     */
+    protected class TabletBatchIterator implements Iterator<Set<Range>> {
+        private final Iterator<? extends SEED_TYPE> idsIterator;
+        private final List<Text> splits;
+        private Iterator<Set<Range>> windowBatches = Iterators.emptyIterator();
+
+        protected TabletBatchIterator(final Iterator<? extends SEED_TYPE> idsIterator) throws RetrieverException {
+            this.idsIterator = idsIterator;
+            try {
+                splits = TabletRangeGrouper.getSplits(store);
+            } catch (final StoreException e) {
+                throw new RetrieverException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!windowBatches.hasNext() && idsIterator.hasNext()) {
+                windowBatches = readWindow().iterator();
+            }
+            return windowBatches.hasNext();
+        }
+
+        @Override
+        public Set<Range> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return windowBatches.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove seeds from this iterator");
+        }
+
+        private List<Set<Range>> readWindow() {
+            final int windowSize = store.getProperties().getGroupSeedsByTabletWindowSize();
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < windowSize) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return TabletRangeGrouper.groupByTablet(ranges, splits,
+                    store.getProperties().getMaxEntriesForBatchScanner());
+        }
+    }
 }
@@ -20,6 +20,11 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.RangeFactory;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorStats;
+import gaffer.accumulostore.utils.TabletRangeGrouper;
+import gaffer.commonutil.CancellationToken;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.data.element.Element;
@@ -28,17 +33,63 @@ import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.operation.GetOperation;
 import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.impl.explain.OperationExplanation;
 import gaffer.store.StoreException;
+import gaffer.store.metrics.MetricsRegistry;
 import gaffer.user.User;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.admin.TableOperations;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The base class for retrievers that query the Accumulo table for an operation.
+ * <p>
+ * When the store's metrics are enabled, retrievers record the number of scanner batches, the number of seeds and
+ * ranges in each batch, the time spent waiting for the scanners, converting entries to elements, applying the view
+ * transformations and applying the post filters, and the number of key value bytes decoded. The statistics of the Gaffer
+ * iterators on the tablet servers are also returned with the results and added to the metrics with the prefix
+ * {@link #ITERATOR_STATS_PREFIX}.
+ * <p>
+ * If a {@link CancellationToken} is set, no new scanners are created once it is cancelled and each scanner times out
+ * at the deadline of the token, so a scanner blocked waiting for a tablet server cannot outlive the operation chain.
+ */
 public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> implements CloseableIterable<Element> {
+    public static final String SCANNER_BATCHES = "accumulo.scan.batches";
+    public static final String SEEDS_PER_BATCH = "accumulo.scan.seedsPerBatch";
+    public static final String RANGES_PER_BATCH = "accumulo.scan.rangesPerBatch";
+    public static final String SCAN_NANOS = "accumulo.scan.nanos";
+    public static final String CONVERSION_NANOS = "accumulo.conversion.nanos";
+    public static final String BYTES_DECODED = "accumulo.conversion.bytes";
+    public static final String TRANSFORM_NANOS = "accumulo.transform.nanos";
+    public static final String FILTER_NANOS = "accumulo.filter.nanos";
+    public static final String BLOOM_FILTER_FALSE_POSITIVES = "accumulo.bloomFilter.falsePositives";
+    public static final String ITERATOR_STATS_PREFIX = "accumulo.iterator.";
+    private static final String[] TIMED_TABLE_ITERATORS = {
+            AccumuloStoreConstants.AGGREGATOR_ITERATOR_NAME,
+            AccumuloStoreConstants.VALIDATOR_ITERATOR_NAME
+    };
+
     protected CloseableIterator<Element> iterator;
     protected final AccumuloStore store;
     protected final Authorizations authorisations;
@@ -48,6 +99,8 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected final OP_TYPE operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final MetricsRegistry metrics;
+    protected CancellationToken cancellationToken;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP_TYPE operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -58,6 +111,7 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
+        this.metrics = store.getMetrics();
         this.user = user;
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
@@ -75,7 +129,11 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     public void doTransformation(final Element element) {
         final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
         if (viewDef != null) {
+            final long startNanos = null != metrics ? System.nanoTime() : 0;
             transform(element, viewDef.getTransformer());
+            if (null != metrics) {
+                metrics.add(TRANSFORM_NANOS, System.nanoTime() - startNanos);
+            }
         }
     }
 
@@ -88,11 +146,75 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     public boolean doPostFilter(final Element element) {
         final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
         if (viewDef != null) {
-            return postFilter(element, viewDef.getPostTransformFilter());
+            final long startNanos = null != metrics ? System.nanoTime() : 0;
+            final boolean result = postFilter(element, viewDef.getPostTransformFilter());
+            if (null != metrics) {
+                metrics.add(FILTER_NANOS, System.nanoTime() - startNanos);
+            }
+            return result;
         }
         return true;
     }
 
+    /**
+     * Converts a key value entry to an element.
+     *
+     * @param entry the entry read from a scanner
+     * @return the element
+     * @throws AccumuloElementConversionException if the entry could not be converted
+     */
+    protected Element convert(final Map.Entry<Key, Value> entry) throws AccumuloElementConversionException {
+        if (null == metrics) {
+            return elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+        }
+
+        final long startNanos = System.nanoTime();
+        try {
+            return elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+        } finally {
+            metrics.add(CONVERSION_NANOS, System.nanoTime() - startNanos);
+            metrics.add(BYTES_DECODED, entry.getKey().getSize() + entry.getValue().getSize());
+        }
+    }
+
+    /**
+     * @param scanner the scanner
+     * @return the iterator of the scanner. If metrics are enabled this records the time spent waiting for entries
+     * and removes the iterator stats entries from the results, adding them to the metrics.
+     */
+    protected Iterator<Map.Entry<Key, Value>> scan(final BatchScanner scanner) {
+        final Iterator<Map.Entry<Key, Value>> scannerIterator = scanner.iterator();
+        return null != metrics ? new MeasuredScanIterator(scannerIterator, metrics) : scannerIterator;
+    }
+
+    /**
+     * Records the number of seeds in a batch, if metrics are enabled.
+     *
+     * @param seeds the number of seeds in the batch
+     */
+    protected void recordSeedsPerBatch(final int seeds) {
+        if (null != metrics) {
+            metrics.record(SEEDS_PER_BATCH, seeds);
+        }
+    }
+
+    /**
+     * Records an element that passed the Bloom filter but failed the exact check on the client, if metrics are
+     * enabled.
+     */
+    protected void recordBloomFilterFalsePositive() {
+        if (null != metrics) {
+            metrics.increment(BLOOM_FILTER_FALSE_POSITIVES);
+        }
+    }
+
+    /**
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     */
+    public void setCancellationToken(final CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
     @Override
     public void close() {
         if (iterator != null) {
@@ -111,6 +233,9 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        if (null != cancellationToken) {
+            cancellationToken.throwIfCancelled();
+        }
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
                 authorisations, store.getProperties().getThreadsForBatchScanner());
         if (iteratorSettings != null) {
@@ -120,20 +245,146 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
                 }
             }
         }
-        scanner.setRanges(ranges);
+        if (null != metrics) {
+            metrics.increment(SCANNER_BATCHES);
+            metrics.record(RANGES_PER_BATCH, ranges.size());
+            scanner.addScanIterator(iteratorSettingFactory.getIteratorStatsIteratorSetting());
+            enableIteratorTiming(scanner);
+        }
+        if (store.getProperties().getGroupSeedsByTablet()) {
+            scanner.setRanges(Range.mergeOverlapping(ranges));
+        } else {
+            scanner.setRanges(ranges);
+        }
 
+        for (final String col : getColumnFamilies()) {
+            scanner.fetchColumnFamily(new Text(col));
+        }
+        if (null != cancellationToken && cancellationToken.hasDeadline()) {
+            scanner.setTimeout(Math.max(1, cancellationToken.getRemainingMillis()), TimeUnit.MILLISECONDS);
+        }
+        return scanner;
+    }
+
+    // Times the Gaffer iterators added for this scan and those configured on the table, by overriding their options
+    private void enableIteratorTiming(final BatchScanner scanner) {
+        for (final String name : TIMED_TABLE_ITERATORS) {
+            scanner.updateScanIteratorOption(name, AccumuloStoreConstants.ITERATOR_STATS_TIMED, "true");
+        }
+        if (null != iteratorSettings) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (null != iteratorSetting) {
+                    scanner.updateScanIteratorOption(iteratorSetting.getName(),
+                            AccumuloStoreConstants.ITERATOR_STATS_TIMED, "true");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the column families fetched by the scanners, in sorted order
+     */
+    protected Set<String> getColumnFamilies() {
         // Currently hard links element class to column family position.
+        final Set<String> columnFamilies = new TreeSet<>();
         if (IncludeEdgeType.NONE != operation.getIncludeEdges()) {
-            for (final String col : operation.getView().getEdgeGroups()) {
-                scanner.fetchColumnFamily(new Text(col));
-            }
+            columnFamilies.addAll(operation.getView().getEdgeGroups());
         }
         if (operation.isIncludeEntities()) {
-            for (final String col : operation.getView().getEntityGroups()) {
-                scanner.fetchColumnFamily(new Text(col));
+            columnFamilies.addAll(operation.getView().getEntityGroups());
+        }
+        return columnFamilies;
+    }
+
+    /**
+     * Gets the batches of ranges this retriever would scan, one {@link BatchScanner} per batch. This must not consume
+     * the seeds of the operation if they can only be read once.
+     *
+     * @return the batches of ranges, or null if they cannot be determined without executing the query
+     * @throws RetrieverException if the ranges could not be created
+     */
+    protected List<Set<Range>> getRangeBatches() throws RetrieverException {
+        return null;
+    }
+
+    /**
+     * Describes how this retriever would query the Accumulo table, without running any scans. The explanation
+     * contains the batches of ranges and an estimate of the number of tablets they touch, the table and scan
+     * iterators that would be applied in priority order and the column families fetched.
+     *
+     * @return the details of the query
+     * @throws StoreException if the ranges, table splits or table iterators could not be read
+     */
+    public Map<String, Object> explain() throws StoreException {
+        final Map<String, Object> details = new LinkedHashMap<>();
+        details.put(OperationExplanation.EXECUTION, OperationExplanation.EXECUTION_SERVER);
+        details.put("retriever", getClass().getSimpleName());
+
+        final List<Set<Range>> rangeBatches;
+        try {
+            rangeBatches = getRangeBatches();
+        } catch (final RetrieverException e) {
+            throw new StoreException("Failed to create the ranges to explain", e);
+        }
+        if (null != rangeBatches) {
+            final List<Range> allRanges = new ArrayList<>();
+            final List<List<String>> batchDetails = new ArrayList<>(rangeBatches.size());
+            for (final Set<Range> batch : rangeBatches) {
+                final List<Range> ranges = Range.mergeOverlapping(batch);
+                final List<String> rangeStrings = new ArrayList<>(ranges.size());
+                for (final Range range : ranges) {
+                    rangeStrings.add(range.toString());
+                }
+                allRanges.addAll(ranges);
+                batchDetails.add(rangeStrings);
             }
+            details.put("rangeBatches", batchDetails);
+            details.put("estimatedTablets", TabletRangeGrouper.countTablets(allRanges, TabletRangeGrouper.getSplits(store)));
         }
-        return scanner;
+
+        details.put("iterators", explainIterators());
+        details.put("columnFamilies", new ArrayList<>(getColumnFamilies()));
+        return details;
+    }
+
+    private List<String> explainIterators() throws StoreException {
+        final List<IteratorSetting> tableSettings = new ArrayList<>();
+        final String table = store.getProperties().getTable();
+        final TableOperations tableOperations = store.getConnection().tableOperations();
+        try {
+            for (final Map.Entry<String, EnumSet<IteratorScope>> entry : tableOperations.listIterators(table).entrySet()) {
+                if (entry.getValue().contains(IteratorScope.scan)) {
+                    tableSettings.add(tableOperations.getIteratorSetting(table, entry.getKey(), IteratorScope.scan));
+                }
+            }
+        } catch (final AccumuloSecurityException | AccumuloException | TableNotFoundException e) {
+            throw new StoreException("Failed to list the iterators of table " + table, e);
+        }
+
+        final List<IteratorSetting> settings = new ArrayList<>(tableSettings);
+        if (null != iteratorSettings) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (null != iteratorSetting) {
+                    settings.add(iteratorSetting);
+                }
+            }
+        }
+        if (null != metrics) {
+            settings.add(iteratorSettingFactory.getIteratorStatsIteratorSetting());
+        }
+        Collections.sort(settings, new Comparator<IteratorSetting>() {
+            @Override
+            public int compare(final IteratorSetting setting1, final IteratorSetting setting2) {
+                return Integer.compare(setting1.getPriority(), setting2.getPriority());
+            }
+        });
+
+        final List<String> iterators = new ArrayList<>(settings.size());
+        for (final IteratorSetting setting : settings) {
+            iterators.add(setting.getPriority() + " " + setting.getName() + " " + setting.getIteratorClass()
+                    + (tableSettings.contains(setting) ? " (table)" : " (scan)"));
+        }
+        return iterators;
     }
 
     protected void transform(final Element element, final ElementTransformer transformer) {
@@ -145,4 +396,68 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected boolean postFilter(final Element element, final ElementFilter postFilter) {
         return postFilter != null ? postFilter.filter(element) : true;
     }
+
+    /**
+     * Adds the time spent in the wrapped iterator to {@link #SCAN_NANOS}. The time is accumulated locally and
+     * recorded periodically and when the iterator is exhausted. Iterator stats entries are removed and added to the
+     * metrics.
+     */
+    private static final class MeasuredScanIterator implements Iterator<Map.Entry<Key, Value>> {
+        private static final int RECORD_INTERVAL = 1024;
+
+        private final Iterator<Map.Entry<Key, Value>> iterator;
+        private final MetricsRegistry metrics;
+        private Map.Entry<Key, Value> nextEntry;
+        private long nanos;
+        private int calls;
+
+        private MeasuredScanIterator(final Iterator<Map.Entry<Key, Value>> iterator, final MetricsRegistry metrics) {
+            this.iterator = iterator;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextEntry) {
+                final long startNanos = System.nanoTime();
+                while (iterator.hasNext()) {
+                    final Map.Entry<Key, Value> entry = iterator.next();
+                    if (IteratorStats.isStatsKey(entry.getKey())) {
+                        for (final Map.Entry<String, Long> stat : IteratorStats.decode(entry.getValue().get()).entrySet()) {
+                            metrics.add(ITERATOR_STATS_PREFIX + stat.getKey(), stat.getValue());
+                        }
+                    } else {
+                        nextEntry = entry;
+                        break;
+                    }
+                }
+                addTime(startNanos, null == nextEntry);
+            }
+            return null != nextEntry;
+        }
+
+        @Override
+        public Map.Entry<Key, Value> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<Key, Value> next = nextEntry;
+            nextEntry = null;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void addTime(final long startNanos, final boolean finished) {
+            nanos += System.nanoTime() - startNanos;
+            if (finished || ++calls >= RECORD_INTERVAL) {
+                metrics.add(SCAN_NANOS, nanos);
+                nanos = 0;
+                calls = 0;
+            }
+        }
+    }
 }
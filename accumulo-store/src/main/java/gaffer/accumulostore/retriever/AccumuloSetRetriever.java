@@ -16,6 +16,7 @@
 
 package gaffer.accumulostore.retriever;
 
+import com.google.common.collect.Iterators;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
@@ -40,8 +41,14 @@ import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -110,6 +117,39 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract AbstractElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException;
 
+    /**
+     * If the store is configured to group seeds by tablet then the seeds are
+     * read in windows of
+     * {@link gaffer.accumulostore.AccumuloProperties#getGroupSeedsByTabletWindowSize()}
+     * seeds and the seeds in each window are sorted by the start of their
+     * ranges, so that each batch of seeds is queried against as few tablets
+     * as possible whilst only one window of seeds is held in memory.
+     * Otherwise the seeds are returned unchanged.
+     *
+     * @param seeds the seeds to order
+     * @return the seeds, sorted by tablet within each window if required
+     */
+    protected Iterator<EntitySeed> orderSeedsByTablet(final Iterator<EntitySeed> seeds) {
+        if (!store.getProperties().getGroupSeedsByTablet()) {
+            return seeds;
+        }
+        return new TabletOrderedSeedIterator(seeds);
+    }
+
+    private Key getStartKey(final EntitySeed seed) {
+        Key startKey = null;
+        try {
+            for (final Range range : rangeFactory.getRange(seed, operation)) {
+                if (null == startKey || (null != range.getStartKey() && range.getStartKey().compareTo(startKey) < 0)) {
+                    startKey = range.getStartKey();
+                }
+            }
+        } catch (final RangeFactoryException e) {
+            LOGGER.error("Failed to create a range from given seed", e);
+        }
+        return startKey;
+    }
+
     protected Set<Object> extractVertices(final Iterator<EntitySeed> seeds) {
         final Set<Object> vertices = new HashSet<>();
         while (seeds.hasNext()) {
@@ -199,6 +239,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 if (checkIfBothEndsInSet(nextElm)) {
                     return true;
                 }
+                recordBloomFilterFalsePositive();
             }
             return false;
         }
@@ -284,8 +325,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 while (_hasNext()) {
                     final Map.Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                                operation.getOptions());
+                        nextElm = convert(entry);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
@@ -295,6 +335,8 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                         if (doPostFilter(nextElm)) {
                             return true;
                         }
+                    } else {
+                        recordBloomFilterFalsePositive();
                     }
                 }
             } catch (final RetrieverException e) {
@@ -350,6 +392,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 }
                 updateBloomFilterIfRequired(seed);
             }
+            recordSeedsPerBatch(count);
 
             try {
                 scanner = getScanner(ranges);
@@ -382,7 +425,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             if (elementFilterSetting != null) {
                 scanner.addScanIterator(elementFilterSetting);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = scan(scanner);
         }
 
         /**
@@ -414,4 +457,73 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             return scannerIterator.hasNext();
         }
     }
+
+    /**
+     * Orders seeds by the start key of their ranges, with seeds that have no
+     * start key last.
+     */
+    private static class StartKeyComparator implements Comparator<Map.Entry<Key, EntitySeed>>, Serializable {
+        private static final long serialVersionUID = -2497016287245187262L;
+
+        @Override
+        public int compare(final Map.Entry<Key, EntitySeed> entry1, final Map.Entry<Key, EntitySeed> entry2) {
+            if (null == entry1.getKey()) {
+                return null == entry2.getKey() ? 0 : 1;
+            }
+            if (null == entry2.getKey()) {
+                return -1;
+            }
+            return entry1.getKey().compareTo(entry2.getKey());
+        }
+    }
+
+    /**
+     * Lazily reads the seeds a window at a time, returning the seeds in each
+     * window sorted by the start of their ranges.
+     */
+    private class TabletOrderedSeedIterator implements Iterator<EntitySeed> {
+        private final Iterator<EntitySeed> seeds;
+        private Iterator<EntitySeed> windowSeeds = Iterators.emptyIterator();
+
+        TabletOrderedSeedIterator(final Iterator<EntitySeed> seeds) {
+            this.seeds = seeds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!windowSeeds.hasNext() && seeds.hasNext()) {
+                windowSeeds = readWindow();
+            }
+            return windowSeeds.hasNext();
+        }
+
+        @Override
+        public EntitySeed next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return windowSeeds.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove seeds from this iterator");
+        }
+
+        private Iterator<EntitySeed> readWindow() {
+            final int windowSize = store.getProperties().getGroupSeedsByTabletWindowSize();
+            final List<Map.Entry<Key, EntitySeed>> keyedSeeds = new ArrayList<>();
+            while (seeds.hasNext() && keyedSeeds.size() < windowSize) {
+                final EntitySeed seed = seeds.next();
+                keyedSeeds.add(new AbstractMap.SimpleImmutableEntry<>(getStartKey(seed), seed));
+            }
+            Collections.sort(keyedSeeds, new StartKeyComparator());
+
+            final List<EntitySeed> sortedSeeds = new ArrayList<>(keyedSeeds.size());
+            for (final Map.Entry<Key, EntitySeed> entry : keyedSeeds) {
+                sortedSeeds.add(entry.getValue());
+            }
+            return sortedSeeds.iterator();
+        }
+    }
 }
@@ -35,7 +35,9 @@ import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -85,6 +87,11 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         return iterator;
     }
 
+    @Override
+    protected List<Set<Range>> getRangeBatches() {
+        return Collections.<Set<Range>>singletonList(Sets.newHashSet(new Range()));
+    }
+
     protected class AllElementsIterator implements CloseableIterator<Element> {
         private BatchScanner scanner;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
@@ -96,7 +103,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
             } catch (TableNotFoundException | StoreException e) {
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = scan(scanner);
         }
 
         @Override
@@ -113,8 +120,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         public Element next() {
             final Map.Entry<Key, Value> entry = scannerIterator.next();
             try {
-                final Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                        operation.getOptions());
+                final Element elm = convert(entry);
                 doTransformation(elm);
                 return elm;
             } catch (final AccumuloElementConversionException e) {
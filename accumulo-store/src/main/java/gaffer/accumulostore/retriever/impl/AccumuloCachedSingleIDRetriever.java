@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.retriever.impl;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.accumulostore.utils.SeedCache;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyCloseableIterator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.store.StoreException;
+import gaffer.store.schema.CompiledView;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An <code>AccumuloCachedSingleIDRetriever</code> is an {@link AccumuloSingleIDRetriever} that uses the store's
+ * {@link SeedCache} for {@link EntitySeed}s.
+ * <p>
+ * The seeds are read in batches. The cached elements for each seed in a batch are returned, then the remaining seeds
+ * are queried together. The elements scanned for each entity seed are then added to the cache, provided all the
+ * elements were read and each element can be attributed to a single seed. An edge between two seeds that are both
+ * queried in the same batch could have been found from either seed, so those seeds are not cached.
+ * Batches that include other types of seed are not cached.
+ * <p>
+ * Cached elements are shared between queries, so they must not be modified.
+ * Seeds are not grouped by tablet when the cache is used.
+ */
+public class AccumuloCachedSingleIDRetriever extends AccumuloSingleIDRetriever {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloCachedSingleIDRetriever.class);
+
+    private final SeedCache seedCache;
+    private final String fingerprint;
+
+    public AccumuloCachedSingleIDRetriever(final AccumuloStore store, final GetOperation<? extends ElementSeed, ?> operation,
+                                           final User user)
+            throws IteratorSettingException, StoreException {
+        this(store, operation, user,
+                store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation));
+    }
+
+    /**
+     * The iterator settings must only depend on the operation, as they are not part of the fingerprint used to
+     * identify the cached elements.
+     *
+     * @param store            the accumulo store, which must have a seed cache
+     * @param operation        the get operation
+     * @param user             the user executing the operation
+     * @param iteratorSettings the iterator settings
+     * @throws StoreException if any store issues occur
+     */
+    public AccumuloCachedSingleIDRetriever(final AccumuloStore store, final GetOperation<? extends ElementSeed, ?> operation,
+                                           final User user,
+                                           final IteratorSetting... iteratorSettings) throws StoreException {
+        super(store, operation, user, iteratorSettings);
+        this.seedCache = store.getSeedCache();
+        if (null == seedCache) {
+            throw new StoreException("The seed cache is not enabled");
+        }
+        this.fingerprint = createFingerprint();
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        if (null == operation.getSeeds()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        iterator = new CachedElementIterator(operation.getSeeds().iterator());
+        return iterator;
+    }
+
+    private String createFingerprint() {
+        final CompiledView compiledView = store.getCompiledView(operation.getView());
+        final StringBuilder fingerprintBuilder = new StringBuilder(operation.getClass().getName())
+                .append('|').append(null != compiledView ? compiledView.getJson() : null)
+                .append('|').append(operation.isIncludeEntities())
+                .append('|').append(operation.getIncludeEdges())
+                .append('|').append(operation.getIncludeIncomingOutGoing())
+                .append('|').append(operation.getSeedMatching())
+                .append('|').append(operation.isPopulateProperties())
+                .append('|').append(null != operation.getOptions() ? new TreeMap<>(operation.getOptions()) : null)
+                .append('|').append(null != user && null != user.getDataAuths() ? new TreeSet<>(user.getDataAuths()) : null);
+        return fingerprintBuilder.toString();
+    }
+
+    private final class CachedElementIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends ElementSeed> seeds;
+        private Iterator<Element> cachedElements = Collections.<Element>emptyIterator();
+        private CloseableIterator<Element> scannedElements;
+        private Map<Object, List<Element>> elementsByVertex;
+        private Set<Object> ambiguousVertices;
+        private boolean cacheBatch;
+        private long generation;
+        private Element nextElement;
+
+        private CachedElementIterator(final Iterator<? extends ElementSeed> seeds) {
+            this.seeds = seeds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElement) {
+                if (cachedElements.hasNext()) {
+                    nextElement = cachedElements.next();
+                } else if (null != scannedElements) {
+                    if (scannedElements.hasNext()) {
+                        nextElement = scannedElements.next();
+                        addScannedElement(nextElement);
+                    } else {
+                        scannedElements.close();
+                        scannedElements = null;
+                        cacheScannedElements();
+                    }
+                } else if (seeds.hasNext()) {
+                    nextBatch();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            if (null != scannedElements) {
+                scannedElements.close();
+                scannedElements = null;
+            }
+        }
+
+        private void nextBatch() {
+            final List<Element> cached = new ArrayList<>();
+            final Set<Object> cachedVertices = new HashSet<>();
+            final List<ElementSeed> uncachedSeeds = new ArrayList<>();
+            elementsByVertex = new HashMap<>();
+            ambiguousVertices = new HashSet<>();
+            cacheBatch = true;
+            generation = seedCache.getGeneration();
+
+            final int batchSize = store.getProperties().getMaxEntriesForBatchScanner();
+            int count = 0;
+            while (seeds.hasNext() && count < batchSize) {
+                count++;
+                final ElementSeed seed = seeds.next();
+                if (seed instanceof EntitySeed) {
+                    final Object vertex = ((EntitySeed) seed).getVertex();
+                    if (cachedVertices.contains(vertex)) {
+                        continue;
+                    }
+                    final List<Element> elements = seedCache.get(vertex, fingerprint);
+                    if (null != elements) {
+                        cachedVertices.add(vertex);
+                        cached.addAll(elements);
+                        continue;
+                    }
+                    if (!elementsByVertex.containsKey(vertex)) {
+                        elementsByVertex.put(vertex, new ArrayList<Element>());
+                    }
+                } else {
+                    cacheBatch = false;
+                }
+                uncachedSeeds.add(seed);
+            }
+
+            cachedElements = cached.iterator();
+            if (!uncachedSeeds.isEmpty()) {
+                try {
+                    scannedElements = createElementIterator(uncachedSeeds.iterator());
+                } catch (final RetrieverException e) {
+                    LOGGER.error(e.getMessage() + " skipping the uncached seeds in this batch", e);
+                }
+            }
+        }
+
+        private void addScannedElement(final Element element) {
+            if (!cacheBatch) {
+                return;
+            }
+
+            if (element instanceof Entity) {
+                addScannedElement(((Entity) element).getVertex(), element);
+            } else if (element instanceof Edge) {
+                final Object source = ((Edge) element).getSource();
+                final Object destination = ((Edge) element).getDestination();
+                final boolean sourceQueried = elementsByVertex.containsKey(source);
+                final boolean destinationQueried = elementsByVertex.containsKey(destination);
+                if (sourceQueried && destinationQueried && !source.equals(destination)) {
+                    ambiguousVertices.add(source);
+                    ambiguousVertices.add(destination);
+                } else if (sourceQueried) {
+                    addScannedElement(source, element);
+                } else {
+                    addScannedElement(destination, element);
+                }
+            }
+        }
+
+        private void addScannedElement(final Object vertex, final Element element) {
+            final List<Element> elements = elementsByVertex.get(vertex);
+            if (null != elements) {
+                elements.add(element);
+            }
+        }
+
+        private void cacheScannedElements() {
+            if (cacheBatch) {
+                for (final Map.Entry<Object, List<Element>> entry : elementsByVertex.entrySet()) {
+                    if (!ambiguousVertices.contains(entry.getKey())) {
+                        seedCache.put(entry.getKey(), fingerprint, entry.getValue(), generation);
+                    }
+                }
+            }
+            elementsByVertex = null;
+            ambiguousVertices = null;
+        }
+    }
+}
@@ -142,7 +142,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
             addToBloomFilter(seedSetBIter, filter, clientSideFilter);
-            idsAIterator = seedSetAIter;
+            idsAIterator = orderSeedsByTablet(seedSetAIter);
             updateScanner();
         }
 
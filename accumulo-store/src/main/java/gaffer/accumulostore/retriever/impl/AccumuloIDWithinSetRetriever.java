@@ -135,7 +135,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
-            idsAIterator = seedsIter;
+            idsAIterator = orderSeedsByTablet(seedsIter);
             updateScanner();
         }
 
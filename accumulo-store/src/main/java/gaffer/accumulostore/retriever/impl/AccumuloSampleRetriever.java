@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Sets;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.impl.SamplingIterator;
+import gaffer.commonutil.ReservoirSampler;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyCloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Element;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.store.StoreException;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Retrieves a sample of a given size of all the elements. The iterator settings must include a
+ * {@link SamplingIterator} taking a sample of the same size from each tablet. The tablet samples are combined
+ * client side, weighting each by the number of entries in its tablet, so the result is a uniform sample of the
+ * whole table.
+ */
+public class AccumuloSampleRetriever extends AccumuloAllElementsRetriever {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloSampleRetriever.class);
+
+    private final int sampleSize;
+    private final Random random = new Random();
+
+    public AccumuloSampleRetriever(final AccumuloStore store, final GetSampleOfElements<?> operation,
+                                   final User user, final IteratorSetting... iteratorSettings) throws StoreException {
+        super(store, operation, user, iteratorSettings);
+        this.sampleSize = operation.getSampleSize();
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        final List<List<Map.Entry<Key, Value>>> samples = new ArrayList<>();
+        final List<Long> counts = new ArrayList<>();
+        try {
+            readTabletSamples(samples, counts);
+        } catch (final TableNotFoundException | StoreException e) {
+            LOGGER.error(e.getMessage() + " returning empty iterator", e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        final List<Element> elements = new ArrayList<>();
+        for (final Map.Entry<Key, Value> entry : ReservoirSampler.merge(samples, counts, sampleSize, random)) {
+            try {
+                final Element element = convert(entry);
+                doTransformation(element);
+                elements.add(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set, skipping the element", e);
+            }
+        }
+        return new WrappedCloseableIterator<>(elements.iterator());
+    }
+
+    private void readTabletSamples(final List<List<Map.Entry<Key, Value>>> samples, final List<Long> counts)
+            throws TableNotFoundException, StoreException {
+        // The entries are sorted so each sample count entry follows the entries of its tablet's sample
+        final TreeMap<Key, Value> entries = new TreeMap<>();
+        final BatchScanner scanner = getScanner(Sets.newHashSet(new Range()));
+        try {
+            final Iterator<Map.Entry<Key, Value>> scannerIterator = scan(scanner);
+            while (scannerIterator.hasNext()) {
+                final Map.Entry<Key, Value> entry = scannerIterator.next();
+                entries.put(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            scanner.close();
+        }
+
+        List<Map.Entry<Key, Value>> sample = new ArrayList<>();
+        for (final Map.Entry<Key, Value> entry : entries.entrySet()) {
+            if (SamplingIterator.isSampleCountKey(entry.getKey())) {
+                samples.add(sample);
+                counts.add(SamplingIterator.getSampleCount(entry.getValue()));
+                sample = new ArrayList<>();
+            } else {
+                sample.add(entry);
+            }
+        }
+        // Entries without a sample count are weighted as if they were all the entries in their tablet
+        if (!sample.isEmpty()) {
+            samples.add(sample);
+            counts.add((long) sample.size());
+        }
+    }
+}
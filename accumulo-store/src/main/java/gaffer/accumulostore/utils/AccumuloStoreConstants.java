@@ -30,6 +30,9 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String TOP_K_ITERATOR_NAME = "Top_K";
+    public static final String SAMPLING_ITERATOR_NAME = "Sampling";
+    public static final String ITERATOR_STATS_ITERATOR_NAME = "Iterator_Stats";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -38,6 +41,7 @@ public final class AccumuloStoreConstants {
     // Iterator options
     public static final String VIEW = "View";
     public static final String SCHEMA = "Schema";
+    public static final String SCHEMA_ID = "SchemaId";
     public static final String INCLUDE_ENTITIES = "Include_All_Entities";
     public static final String INCLUDE_ALL_EDGES = "Include_All_Edges";
     public static final String NO_EDGES = "No_Edges";
@@ -49,6 +53,13 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String TOP_K_PROPERTY = "Top_K_Property";
+    public static final String TOP_K = "Top_K";
+    public static final String SAMPLE_PROPORTION = "Sample_Proportion";
+    public static final String SAMPLE_SIZE = "Sample_Size";
+    public static final String ITERATOR_STATS_INTERVAL = "Iterator_Stats_Interval";
+    public static final String ITERATOR_STATS_INTERVAL_DEFAULT = "10000";
+    public static final String ITERATOR_STATS_TIMED = "Iterator_Stats_Timed";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -70,7 +81,13 @@ public final class AccumuloStoreConstants {
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
     // Applied only during scans.
+    public static final int TOP_K_ITERATOR_PRIORITY = 38;
+    // Applied only during scans.
+    public static final int SAMPLING_ITERATOR_PRIORITY = 39;
+    // Applied only during scans.
     public static final int TRANSFORM_PRIORITY = 50;
+    // Applied only during scans, when metrics are enabled. Must be the last iterator.
+    public static final int ITERATOR_STATS_ITERATOR_PRIORITY = 60;
 
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
@@ -78,6 +95,7 @@ public final class AccumuloStoreConstants {
     public static final String OPERATION_BULK_IMPORT_MAX_REDUCERS = "accumulostore.operation.bulk_import.max_reducers";
     public static final String OPERATION_BULK_IMPORT_MIN_REDUCERS = "accumulostore.operation.bulk_import.min_reducers";
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    public static final String OPERATION_ADD_ELEMENTS_FLUSH = "accumulostore.operation.add_elements.flush";
     public static final String OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE = "accumulostore.operation.return_matched_id_as_edge_source";
 
     // Store factory constants
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, client side buffer used when adding elements to Accumulo.
+ * Elements that share the same row, column family, column qualifier and
+ * column visibility are merged using the schema aggregator before they are
+ * written, mirroring what the {@link gaffer.accumulostore.key.impl.AggregatorIterator}
+ * would do at compaction time. When keys are merged the most recent timestamp
+ * is kept.
+ * <p>
+ * The buffer reports that a flush is required once it holds the
+ * configured number of distinct keys or once the flush interval has elapsed
+ * since the last flush.
+ * <p>
+ * Aggregated values are serialised when the buffer is flushed. If the
+ * value for a key cannot be serialised the error is logged and only that
+ * key is dropped, the other buffered keys are still returned.
+ */
+public class IngestAggregationBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestAggregationBuffer.class);
+
+    private final Schema schema;
+    private final AccumuloElementConverter elementConverter;
+    private final int maxSize;
+    private final long flushIntervalInMilliseconds;
+    private final Map<Key, BufferedEntry> buffer = new LinkedHashMap<>();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private long lastFlushTime = System.currentTimeMillis();
+
+    public IngestAggregationBuffer(final Schema schema, final AccumuloElementConverter elementConverter,
+                                   final int maxSize, final long flushIntervalInMilliseconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the buffer must be at least 1");
+        }
+        this.schema = schema;
+        this.elementConverter = elementConverter;
+        this.maxSize = maxSize;
+        this.flushIntervalInMilliseconds = flushIntervalInMilliseconds;
+    }
+
+    /**
+     * Adds the keys and value of an element to the buffer, aggregating the
+     * value with any value already buffered for the same key.
+     *
+     * @param group the group of the element the keys were created from
+     * @param keys  the keys created from the element, the second key may be null
+     * @param value the value created from the element
+     * @throws AccumuloElementConversionException if the values could not be converted to and from properties
+     */
+    public void add(final String group, final Pair<Key> keys, final Value value)
+            throws AccumuloElementConversionException {
+        final Key first = keys.getFirst();
+        final Key bufferKey = new Key(first.getRow(), first.getColumnFamily(), first.getColumnQualifier(),
+                first.getColumnVisibility());
+        final BufferedEntry existing = buffer.get(bufferKey);
+        if (null == existing) {
+            buffer.put(bufferKey, new BufferedEntry(group, keys, value));
+        } else {
+            existing.merge(value, first.getTimestamp());
+        }
+    }
+
+    /**
+     * @return true if the buffer is full or the flush interval has elapsed.
+     */
+    public boolean isFlushRequired() {
+        return buffer.size() >= maxSize
+                || System.currentTimeMillis() - lastFlushTime >= flushIntervalInMilliseconds;
+    }
+
+    /**
+     * @return the number of distinct keys currently held in the buffer.
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Empties the buffer, returning the aggregated keys and values in the
+     * order they were first added. Keys whose aggregated value could not be
+     * serialised are logged and left out.
+     *
+     * @return the buffered keys and their aggregated values
+     */
+    public List<Map.Entry<Pair<Key>, Value>> flush() {
+        final List<Map.Entry<Pair<Key>, Value>> entries = new ArrayList<>(buffer.size());
+        for (final BufferedEntry entry : buffer.values()) {
+            try {
+                entries.add(entry.toEntry());
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to create an accumulo value from the aggregated elements of type "
+                        + entry.group + " when trying to insert elements", e);
+            }
+        }
+        buffer.clear();
+        lastFlushTime = System.currentTimeMillis();
+        return entries;
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (null == elementDef) {
+                throw new IllegalArgumentException("Received group " + group + " which was not found in the schema");
+            }
+            aggregator = elementDef.getAggregator();
+            aggregators.put(group, aggregator);
+        }
+        return aggregator;
+    }
+
+    private final class BufferedEntry {
+        private final String group;
+        private final Pair<Key> keys;
+        private Value value;
+        private Properties properties;
+        private long timestamp;
+
+        private BufferedEntry(final String group, final Pair<Key> keys, final Value value) {
+            this.group = group;
+            this.keys = keys;
+            this.value = value;
+            this.timestamp = keys.getFirst().getTimestamp();
+        }
+
+        private void merge(final Value newValue, final long newTimestamp) throws AccumuloElementConversionException {
+            if (null == properties) {
+                properties = elementConverter.getPropertiesFromValue(group, value);
+                value = null;
+            }
+
+            final ElementAggregator aggregator = getAggregator(group);
+            aggregator.initFunctions();
+            aggregator.aggregate(properties);
+            aggregator.aggregate(elementConverter.getPropertiesFromValue(group, newValue));
+            properties = new Properties();
+            aggregator.state(properties);
+
+            timestamp = Math.max(timestamp, newTimestamp);
+        }
+
+        private Map.Entry<Pair<Key>, Value> toEntry() throws AccumuloElementConversionException {
+            if (null != properties) {
+                value = elementConverter.getValueFromProperties(group, properties);
+                properties = null;
+            }
+
+            keys.getFirst().setTimestamp(timestamp);
+            if (null != keys.getSecond()) {
+                keys.getSecond().setTimestamp(timestamp);
+            }
+
+            return new AbstractMap.SimpleImmutableEntry<>(keys, value);
+        }
+    }
+}
@@ -23,7 +23,8 @@ import java.util.Map;
 public class IteratorOptionsBuilder {
 
     private static final String VIEW_DESCRIPTION = "Required: The json serialised form of a view";
-    private static final String SCHEMA_DESCRIPTION = "Required: The json serialised form of the schema";
+    private static final String SCHEMA_DESCRIPTION = "Required unless the schema id is set: The json serialised form of the schema";
+    private static final String SCHEMA_ID_DESCRIPTION = "Optional: The id of a schema stored in the table configuration";
     private static final String ACCUMULO_ELEMENT_CONVERTER_CLASS_DESCRIPTION = "Required: The element coverter class to be used for key/value conversion";
 
     public IteratorOptions options;
@@ -48,7 +49,8 @@ public class IteratorOptionsBuilder {
     }
 
     public IteratorOptionsBuilder addSchemaNamedOption() {
-        return addNamedOption(AccumuloStoreConstants.SCHEMA, SCHEMA_DESCRIPTION);
+        return addNamedOption(AccumuloStoreConstants.SCHEMA, SCHEMA_DESCRIPTION)
+                .addNamedOption(AccumuloStoreConstants.SCHEMA_ID, SCHEMA_ID_DESCRIPTION);
     }
 
     public IteratorOptionsBuilder addElementConverterClassNamedOption() {
@@ -16,12 +16,14 @@
 
 package gaffer.accumulostore.utils;
 
+import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.GetOperation;
+import gaffer.store.schema.CompiledView;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.data.Key;
@@ -127,6 +129,25 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder schemaId(final String schemaId) {
+        setting.addOption(AccumuloStoreConstants.SCHEMA_ID, schemaId);
+        return this;
+    }
+
+    /**
+     * Adds the schema of the store. If the store keeps its schema in the table configuration only the schema id is
+     * added, otherwise the full schema is added.
+     *
+     * @param store the accumulo store
+     * @return this builder
+     */
+    public IteratorSettingBuilder schema(final AccumuloStore store) {
+        if (store.getProperties().getSchemaInTableConfig()) {
+            return schemaId(store.getSchemaId());
+        }
+        return schema(store.getSchema());
+    }
+
     public IteratorSettingBuilder view(final View view) {
         try {
             setting.addOption(AccumuloStoreConstants.VIEW, new String(view.toJson(false), CommonConstants.UTF_8));
@@ -136,6 +157,11 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder view(final CompiledView view) {
+        setting.addOption(AccumuloStoreConstants.VIEW, view.getJson());
+        return this;
+    }
+
     public IteratorSettingBuilder keyConverter(final Class<? extends AccumuloElementConverter> converter) {
         setting.addOption(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, converter.getName());
         return this;
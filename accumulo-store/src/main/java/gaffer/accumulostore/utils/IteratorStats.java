@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import gaffer.commonutil.CommonConstants;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
+import org.apache.hadoop.io.Text;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An <code>IteratorStats</code> counts the keys read, rejected and aggregated by a Gaffer iterator on a tablet server
+ * and the time spent processing them, so they can be returned to the client with the results of a scan.
+ * <p>
+ * Iterators create their stats with {@link #register(String, IteratorEnvironment, Map)}. Stats are only registered
+ * for scans, as compactions have no client to report to. Timing every key is not free, so stats are only timed when
+ * the iterator has the {@link AccumuloStoreConstants#ITERATOR_STATS_TIMED} option set to true. The client sets this
+ * option on the Gaffer iterators of a scan when it adds the {@link gaffer.accumulostore.key.impl.IteratorStatsIterator}. Accumulo initialises all the iterators for a
+ * scan on the same thread with the same {@link IteratorEnvironment}, so registered stats are held per thread and the
+ * {@link gaffer.accumulostore.key.impl.IteratorStatsIterator} at the top of the stack collects the stats registered
+ * with its environment. The stats are then periodically encoded into stats entries, which the client removes from
+ * the results and adds to its metrics. Counts that have not been sent when Accumulo tears down the iterators
+ * between batches of results are lost, so the stats are a lower bound.
+ * <p>
+ * Instances are not thread safe, as each iterator is only used by a single thread.
+ */
+public final class IteratorStats {
+    // Starts with a byte that never occurs in the UTF-8 group names used as column families, so stats entries sort
+    // after all the elements in a row
+    private static final Text STATS_COLUMN_FAMILY = new Text(createStatsColumnFamily());
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String FIELD_SEPARATOR = ",";
+    private static final ThreadLocal<List<IteratorStats>> REGISTERED = new ThreadLocal<List<IteratorStats>>() {
+        @Override
+        protected List<IteratorStats> initialValue() {
+            return new ArrayList<>();
+        }
+    };
+
+    private final String name;
+    private final IteratorEnvironment env;
+    private final boolean timed;
+    private long keysRead;
+    private long keysRejected;
+    private long keysAggregated;
+    private long nanos;
+
+    private IteratorStats(final String name, final IteratorEnvironment env, final boolean timed) {
+        this.name = name;
+        this.env = env;
+        this.timed = timed;
+    }
+
+    /**
+     * Creates untimed stats for an iterator, registering them if the iterator is being used for a scan.
+     *
+     * @param name the name to report the stats with
+     * @param env  the iterator environment, may be null
+     * @return the stats
+     */
+    public static IteratorStats register(final String name, final IteratorEnvironment env) {
+        return register(name, env, null);
+    }
+
+    /**
+     * Creates the stats for an iterator, registering them if the iterator is being used for a scan.
+     *
+     * @param name    the name to report the stats with
+     * @param env     the iterator environment, may be null
+     * @param options the iterator options, the stats are timed if {@link AccumuloStoreConstants#ITERATOR_STATS_TIMED}
+     *                is true. May be null.
+     * @return the stats
+     */
+    public static IteratorStats register(final String name, final IteratorEnvironment env,
+                                         final Map<String, String> options) {
+        final boolean scan = null != env && IteratorScope.scan == env.getIteratorScope();
+        final boolean timed = scan && null != options
+                && Boolean.parseBoolean(options.get(AccumuloStoreConstants.ITERATOR_STATS_TIMED));
+        final IteratorStats stats = new IteratorStats(name, env, timed);
+        if (scan) {
+            final List<IteratorStats> registered = REGISTERED.get();
+            // Stats for a different environment are from a previous scan on this thread that did not collect them
+            if (!registered.isEmpty() && registered.get(0).env != env) {
+                registered.clear();
+            }
+            registered.add(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Removes and returns the stats registered on this thread for an iterator environment.
+     *
+     * @param env the iterator environment
+     * @return the registered stats
+     */
+    public static List<IteratorStats> collect(final IteratorEnvironment env) {
+        final List<IteratorStats> registered = REGISTERED.get();
+        final List<IteratorStats> collected = new ArrayList<>();
+        for (final IteratorStats stats : registered) {
+            if (stats.env == env) {
+                collected.add(stats);
+            }
+        }
+        registered.clear();
+        return collected;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} if the stats are timed, otherwise 0
+     */
+    public long startTimer() {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param startNanos the value returned from {@link #startTimer()}
+     */
+    public void stopTimer(final long startNanos) {
+        if (timed) {
+            nanos += System.nanoTime() - startNanos;
+        }
+    }
+
+    public void keyRead() {
+        keysRead++;
+    }
+
+    public void keyRejected() {
+        keysRejected++;
+    }
+
+    /**
+     * @param keys the number of keys aggregated into a single key, which are also counted as read
+     */
+    public void keysAggregated(final long keys) {
+        keysRead += keys;
+        keysAggregated += keys;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getKeysRead() {
+        return keysRead;
+    }
+
+    public long getKeysRejected() {
+        return keysRejected;
+    }
+
+    public long getKeysAggregated() {
+        return keysAggregated;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Encodes the counts of each of the stats and resets them to 0.
+     *
+     * @param statsList the stats to encode
+     * @return the encoded stats
+     */
+    public static byte[] encodeAndReset(final List<IteratorStats> statsList) {
+        final StringBuilder builder = new StringBuilder();
+        for (final IteratorStats stats : statsList) {
+            if (builder.length() > 0) {
+                builder.append(ENTRY_SEPARATOR);
+            }
+            builder.append(stats.name)
+                    .append(FIELD_SEPARATOR).append(stats.keysRead)
+                    .append(FIELD_SEPARATOR).append(stats.keysRejected)
+                    .append(FIELD_SEPARATOR).append(stats.keysAggregated)
+                    .append(FIELD_SEPARATOR).append(stats.nanos);
+            stats.keysRead = 0;
+            stats.keysRejected = 0;
+            stats.keysAggregated = 0;
+            stats.nanos = 0;
+        }
+        try {
+            return builder.toString().getBytes(CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to encode iterator stats", e);
+        }
+    }
+
+    /**
+     * Decodes stats encoded by {@link #encodeAndReset(List)}.
+     *
+     * @param bytes the encoded stats
+     * @return the metric values, keyed by the iterator name followed by a dot and the metric name. The values of
+     * iterators with the same name are summed.
+     */
+    public static Map<String, Long> decode(final byte[] bytes) {
+        final String encoded;
+        try {
+            encoded = new String(bytes, CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to decode iterator stats", e);
+        }
+        if (encoded.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        for (final String entry : encoded.split(ENTRY_SEPARATOR)) {
+            final String[] fields = entry.split(FIELD_SEPARATOR);
+            add(metrics, fields[0] + ".keysRead", fields[1]);
+            add(metrics, fields[0] + ".keysRejected", fields[2]);
+            add(metrics, fields[0] + ".keysAggregated", fields[3]);
+            add(metrics, fields[0] + ".nanos", fields[4]);
+        }
+        return metrics;
+    }
+
+    /**
+     * @param row the row
+     * @return the key of a stats entry in the row, which sorts after all the elements in the row
+     */
+    public static Key createStatsKey(final Text row) {
+        return new Key(row, STATS_COLUMN_FAMILY);
+    }
+
+    /**
+     * @param key the key
+     * @return true if the key is the key of a stats entry
+     */
+    public static boolean isStatsKey(final Key key) {
+        return 0 == key.compareColumnFamily(STATS_COLUMN_FAMILY);
+    }
+
+    /**
+     * @param statsList the stats
+     * @return true if any of the stats have read a key since they were last encoded
+     */
+    public static boolean hasKeysRead(final List<IteratorStats> statsList) {
+        for (final IteratorStats stats : statsList) {
+            if (stats.keysRead > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param statsList the stats
+     * @return the maximum number of keys read by any of the stats since they were last encoded
+     */
+    public static long getMaxKeysRead(final List<IteratorStats> statsList) {
+        long max = 0;
+        for (final IteratorStats stats : statsList) {
+            max = Math.max(max, stats.keysRead);
+        }
+        return max;
+    }
+
+    private static void add(final Map<String, Long> metrics, final String name, final String value) {
+        final Long current = metrics.get(name);
+        metrics.put(name, null != current ? current + Long.parseLong(value) : Long.parseLong(value));
+    }
+
+    private static byte[] createStatsColumnFamily() {
+        try {
+            final byte[] suffix = "gaffer.iterator.stats".getBytes(CommonConstants.UTF_8);
+            final byte[] columnFamily = new byte[suffix.length + 1];
+            columnFamily[0] = (byte) 0xFF;
+            System.arraycopy(suffix, 0, columnFamily, 1, suffix.length);
+            return columnFamily;
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to create the iterator stats column family", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Static utilities to store the {@link Schema} once in the Accumulo table configuration, so that iterators can refer
+ * to it by id rather than having the full schema JSON passed to them as an option on every scan.
+ * <p>
+ * Each schema is stored in a custom table property named with the prefix {@link #SCHEMA_PROPERTY_PREFIX} followed
+ * by its id, which is the SHA-256 hash of its compact JSON. Schemas are never removed, so iterators created with
+ * an older version of the schema can still find it. Iterators read the schema from the table configuration in their
+ * {@link IteratorEnvironment} and cache the parsed schema by id, so each tablet server only parses each schema
+ * version once.
+ * <p>
+ * This is enabled with {@link gaffer.accumulostore.AccumuloProperties#SCHEMA_IN_TABLE_CONFIG}. It requires a real
+ * Accumulo instance as the mock instance does not give iterators access to the table configuration.
+ */
+public final class SchemaRegistry {
+    public static final String SCHEMA_PROPERTY_PREFIX = Property.TABLE_ARBITRARY_PROP_PREFIX.getKey() + "gaffer.schema.";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaRegistry.class);
+    private static final int MAX_CACHED_SCHEMAS = 16;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final Map<String, Schema> SCHEMA_CACHE = Collections.synchronizedMap(new SchemaCache());
+
+    private SchemaRegistry() {
+    }
+
+    /**
+     * @param schema the schema
+     * @return the id of the schema, the hex encoded SHA-256 hash of its compact JSON.
+     */
+    public static String getSchemaId(final Schema schema) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new SchemaException("Unable to create a schema id", e);
+        }
+        final byte[] hash = digest.digest(schema.toJson(false));
+        final char[] id = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            id[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            id[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(id);
+    }
+
+    /**
+     * Stores the schema of the store in its table configuration, if it is not already there.
+     *
+     * @param store the accumulo store
+     * @throws StoreException if the table configuration could not be read or updated
+     */
+    public static void registerSchema(final AccumuloStore store) throws StoreException {
+        final Connector connector = store.getConnection();
+        final String tableName = store.getProperties().getTable();
+        final String propertyName = SCHEMA_PROPERTY_PREFIX + store.getSchemaId();
+        try {
+            for (final Entry<String, String> property : connector.tableOperations().getProperties(tableName)) {
+                if (propertyName.equals(property.getKey())) {
+                    return;
+                }
+            }
+            LOGGER.info("Adding schema {} to the configuration of table {}", store.getSchemaId(), tableName);
+            connector.tableOperations().setProperty(tableName, propertyName,
+                    new String(store.getSchema().toJson(false), CommonConstants.UTF_8));
+        } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException | UnsupportedEncodingException e) {
+            throw new StoreException("Failed to add the schema to the configuration of table " + tableName, e);
+        }
+    }
+
+    /**
+     * Gets the schema for an iterator. If the options contain the schema JSON it is deserialised, otherwise the
+     * schema with the id in the options is read from the table configuration.
+     *
+     * @param options the iterator options
+     * @param env     the iterator environment, this may be null if the options contain the schema JSON
+     * @return the schema
+     * @throws IllegalArgumentException if the options contain neither the schema nor a schema id
+     * @throws SchemaException          if the schema could not be found or deserialised
+     */
+    public static Schema getSchema(final Map<String, String> options, final IteratorEnvironment env) {
+        final String schemaJson = options.get(AccumuloStoreConstants.SCHEMA);
+        if (null != schemaJson) {
+            return deserialise(schemaJson);
+        }
+
+        final String schemaId = options.get(AccumuloStoreConstants.SCHEMA_ID);
+        if (null == schemaId) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA
+                    + " or the " + AccumuloStoreConstants.SCHEMA_ID);
+        }
+
+        Schema schema = SCHEMA_CACHE.get(schemaId);
+        if (null == schema) {
+            final String tableSchemaJson = null != env && null != env.getConfig()
+                    ? env.getConfig().get(SCHEMA_PROPERTY_PREFIX + schemaId) : null;
+            if (null == tableSchemaJson) {
+                throw new SchemaException("Schema " + schemaId + " was not found in the table configuration");
+            }
+            schema = deserialise(tableSchemaJson);
+            SCHEMA_CACHE.put(schemaId, schema);
+        }
+        return schema;
+    }
+
+    private static Schema deserialise(final String schemaJson) {
+        try {
+            return Schema.fromJson(schemaJson.getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema from json", e);
+        }
+    }
+
+    private static final class SchemaCache extends LinkedHashMap<String, Schema> {
+        private static final long serialVersionUID = 2826587539718562478L;
+
+        private SchemaCache() {
+            super(MAX_CACHED_SCHEMAS, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Schema> eldest) {
+            return size() > MAX_CACHED_SCHEMAS;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>SeedCache</code> caches the elements retrieved for each vertex by seeded queries, so that vertices that are
+ * queried repeatedly, such as popular vertices in traversals, do not have to be scanned each time.
+ * <p>
+ * The elements for a vertex are held for each query fingerprint, which must identify everything that affects the
+ * elements returned for a seed, such as the view, the data authorisations and the operation flags.
+ * The cache is bounded by the total number of elements it holds and entries expire after a time to live, which
+ * bounds how long changes made by other clients can be missed.
+ * <p>
+ * Adding elements invalidates the cached elements for all their vertices. Each invalidation records a write stamp
+ * for the vertex. Queries record the {@link #getGeneration()} before they scan and the elements for a vertex are
+ * only cached if that vertex has not been invalidated since, so results that may have missed an addition are never
+ * cached and writes to other vertices do not stop caching.
+ * <p>
+ * Elements are copied when they are cached and when they are returned, so callers may modify them and their property
+ * values. Property values that are not immutable are copied by serialising and deserialising them with the
+ * serialiser for their type in the schema, and elements with property values that cannot be copied are not cached.
+ * The identifiers of the elements are not copied, as they are the vertices the elements are cached against.
+ */
+public class SeedCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeedCache.class);
+    // Above this number of distinct vertices in a single write the whole cache is invalidated instead
+    private static final int MAX_TRACKED_VERTICES = 10000;
+    // The number of vertex write stamps held, older stamps are forgotten by raising the minimum generation
+    private static final int MAX_WRITE_STAMPS = 100000;
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class));
+
+    private final Schema schema;
+
+    private final Cache<Object, VertexResults> cache;
+    private final Cache<Object, Long> writeStamps;
+    private final int maxElementsPerSeed;
+    private final AtomicLong generation = new AtomicLong();
+    // Elements queried before this generation are not cached, as their vertices may have been invalidated since
+    private final AtomicLong minGeneration = new AtomicLong();
+
+    /**
+     * @param schema              the schema of the elements, used to copy their property values
+     * @param maxElements         the maximum number of elements to hold in the cache
+     * @param maxElementsPerSeed  the maximum number of elements for a single seed for them to be cached
+     * @param timeToLiveInSeconds the number of seconds the elements for a seed are cached for
+     */
+    public SeedCache(final Schema schema, final long maxElements, final int maxElementsPerSeed,
+                     final long timeToLiveInSeconds) {
+        this.schema = schema;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxElements)
+                .weigher(new VertexResultsWeigher())
+                .expireAfterWrite(timeToLiveInSeconds, TimeUnit.SECONDS)
+                .build();
+        this.writeStamps = CacheBuilder.newBuilder()
+                .maximumSize(MAX_WRITE_STAMPS)
+                .removalListener(new WriteStampRemovalListener())
+                .build();
+        this.maxElementsPerSeed = maxElementsPerSeed;
+    }
+
+    /**
+     * @param vertex      the seed vertex
+     * @param fingerprint the query fingerprint
+     * @return copies of the cached elements for the vertex, or null if they are not cached
+     */
+    public List<Element> get(final Object vertex, final String fingerprint) {
+        final VertexResults results = cache.getIfPresent(vertex);
+        final List<Element> elements = null != results ? results.get(fingerprint) : null;
+        if (null == elements) {
+            return null;
+        }
+        try {
+            return copy(elements);
+        } catch (final SerialisationException e) {
+            // The elements were copied when they were cached, so this should not happen
+            LOGGER.warn("Unable to copy the cached elements for a seed, so they have been removed from the cache", e);
+            cache.invalidate(vertex);
+            return null;
+        }
+    }
+
+    /**
+     * @return the current generation, which changes whenever a vertex is invalidated and is recorded as the write
+     * stamp of that vertex
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches copies of the elements for a vertex, unless there are too many or the vertex has been invalidated since
+     * the elements were queried.
+     *
+     * @param vertex      the seed vertex
+     * @param fingerprint the query fingerprint
+     * @param elements    all the elements retrieved for the vertex
+     * @param generation  the generation recorded before the elements were queried
+     */
+    public void put(final Object vertex, final String fingerprint, final List<Element> elements, final long generation) {
+        if (elements.size() > maxElementsPerSeed || isInvalidatedSince(vertex, generation)) {
+            return;
+        }
+
+        final List<Element> copies;
+        try {
+            copies = Collections.unmodifiableList(copy(elements));
+        } catch (final SerialisationException e) {
+            LOGGER.debug("Unable to copy the elements for a seed, so they will not be cached", e);
+            return;
+        }
+        final VertexResults existing = cache.getIfPresent(vertex);
+        cache.put(vertex, null != existing ? existing.with(fingerprint, copies) : new VertexResults(fingerprint, copies));
+
+        // The vertex may have been invalidated whilst it was being added
+        if (isInvalidatedSince(vertex, generation)) {
+            cache.invalidate(vertex);
+        }
+    }
+
+    /**
+     * Removes the cached elements for a vertex.
+     *
+     * @param vertex the vertex
+     */
+    public void invalidate(final Object vertex) {
+        // The write stamp is recorded before the elements are removed so a concurrent put will see it
+        writeStamps.put(vertex, generation.incrementAndGet());
+        cache.invalidate(vertex);
+    }
+
+    /**
+     * Removes all cached elements.
+     */
+    public void invalidateAll() {
+        raiseMinGeneration(generation.incrementAndGet());
+        writeStamps.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return a new {@link Invalidation} to invalidate the vertices of elements as they are added
+     */
+    public Invalidation startInvalidation() {
+        return new Invalidation();
+    }
+
+    /**
+     * @return the number of vertices with cached elements
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * An <code>Invalidation</code> invalidates the vertices of the elements being added, once when each element is
+     * added and again when the write has finished, as queries that run whilst the elements are being written may
+     * not see them.
+     */
+    public final class Invalidation {
+        private final Set<Object> vertices = new HashSet<>();
+        private boolean tooManyVertices;
+
+        private Invalidation() {
+        }
+
+        public void add(final Element element) {
+            if (element instanceof Entity) {
+                add(((Entity) element).getVertex());
+            } else if (element instanceof Edge) {
+                add(((Edge) element).getSource());
+                add(((Edge) element).getDestination());
+            }
+        }
+
+        public void finish() {
+            if (tooManyVertices) {
+                invalidateAll();
+            } else {
+                for (final Object vertex : vertices) {
+                    invalidate(vertex);
+                }
+            }
+            vertices.clear();
+        }
+
+        private void add(final Object vertex) {
+            if (!tooManyVertices && vertices.add(vertex)) {
+                invalidate(vertex);
+                if (vertices.size() > MAX_TRACKED_VERTICES) {
+                    tooManyVertices = true;
+                    vertices.clear();
+                    invalidateAll();
+                }
+            }
+        }
+    }
+
+    private boolean isInvalidatedSince(final Object vertex, final long queryGeneration) {
+        if (queryGeneration < minGeneration.get()) {
+            return true;
+        }
+        final Long writeStamp = writeStamps.getIfPresent(vertex);
+        return null != writeStamp && writeStamp > queryGeneration;
+    }
+
+    private void raiseMinGeneration(final long newMinGeneration) {
+        long current = minGeneration.get();
+        while (current < newMinGeneration && !minGeneration.compareAndSet(current, newMinGeneration)) {
+            current = minGeneration.get();
+        }
+    }
+
+    private List<Element> copy(final List<Element> elements) throws SerialisationException {
+        final List<Element> copies = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            final Element copy = element.emptyClone();
+            final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+            for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+                copy.putProperty(entry.getKey(), copyValue(elementDef, entry.getKey(), entry.getValue()));
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static Object copyValue(final SchemaElementDefinition elementDef, final String propertyName,
+                                    final Object value) throws SerialisationException {
+        if (null == value || IMMUTABLE_CLASSES.contains(value.getClass())) {
+            return value;
+        }
+
+        final TypeDefinition typeDef = null != elementDef ? elementDef.getPropertyTypeDef(propertyName) : null;
+        final Serialisation serialiser = null != typeDef ? typeDef.getSerialiser() : null;
+        if (null == serialiser) {
+            throw new SerialisationException("No serialiser found to copy property " + propertyName);
+        }
+        return serialiser.deserialise(serialiser.serialise(value));
+    }
+
+    private final class WriteStampRemovalListener implements RemovalListener<Object, Long> {
+        @Override
+        public void onRemoval(final RemovalNotification<Object, Long> notification) {
+            // Queries that started before a forgotten write stamp can no longer be checked, so are not cached
+            if (notification.wasEvicted() && null != notification.getValue()) {
+                raiseMinGeneration(notification.getValue());
+            }
+        }
+    }
+
+    // Immutable, so its weight does not change once it is in the cache
+    private static final class VertexResults {
+        private final Map<String, List<Element>> resultsByFingerprint;
+        private final int size;
+
+        private VertexResults(final String fingerprint, final List<Element> elements) {
+            this(Collections.singletonMap(fingerprint, elements), elements.size());
+        }
+
+        private VertexResults(final Map<String, List<Element>> resultsByFingerprint, final int size) {
+            this.resultsByFingerprint = resultsByFingerprint;
+            this.size = size;
+        }
+
+        private List<Element> get(final String fingerprint) {
+            return resultsByFingerprint.get(fingerprint);
+        }
+
+        private VertexResults with(final String fingerprint, final List<Element> elements) {
+            final Map<String, List<Element>> newResults = new HashMap<>(resultsByFingerprint);
+            final List<Element> replaced = newResults.put(fingerprint, elements);
+            final int newSize = size + elements.size() - (null != replaced ? replaced.size() : 0);
+            return new VertexResults(Collections.unmodifiableMap(newResults), newSize);
+        }
+    }
+
+    private static final class VertexResultsWeigher implements Weigher<Object, VertexResults> {
+        @Override
+        public int weigh(final Object vertex, final VertexResults results) {
+            return results.size + 1;
+        }
+    }
+}
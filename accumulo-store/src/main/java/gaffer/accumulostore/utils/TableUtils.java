@@ -30,6 +30,7 @@ import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.BatchWriterConfig;
 import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.Durability;
 import org.apache.accumulo.core.client.Instance;
 import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.TableExistsException;
@@ -61,6 +62,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -92,6 +94,9 @@ public final class TableUtils {
                 // Someone else got there first, never mind...
             }
         }
+        if (store.getProperties().getSchemaInTableConfig()) {
+            SchemaRegistry.registerSchema(store);
+        }
     }
 
     /**
@@ -116,6 +121,9 @@ public final class TableUtils {
         try {
             LOGGER.info("Creating table {} as user {}", tableName, connector.whoami());
             connector.tableOperations().create(tableName);
+            if (store.getProperties().getSchemaInTableConfig()) {
+                SchemaRegistry.registerSchema(store);
+            }
             final String repFactor = store.getProperties().getTableFileReplicationFactor();
             if (null != repFactor) {
                 LOGGER.info("Table file replication set to {} on table {}", repFactor, tableName);
@@ -310,6 +318,14 @@ public final class TableUtils {
         batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
                 TimeUnit.MILLISECONDS);
         batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
+        final String durability = store.getProperties().getBatchWriterDurability();
+        if (null != durability) {
+            try {
+                batchConfig.setDurability(Durability.valueOf(durability.toUpperCase(Locale.ENGLISH)));
+            } catch (final IllegalArgumentException e) {
+                throw new StoreException("Unknown batch writer durability: " + durability, e);
+            }
+        }
         try {
             return store.getConnection().createBatchWriter(tableName, batchConfig);
         } catch (final TableNotFoundException e) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilities for grouping {@link Range}s by the tablet they fall in, so that
+ * each {@link org.apache.accumulo.core.client.BatchScanner} created by a
+ * retriever touches as few tablets as possible.
+ * <p>
+ * Ranges are merged where they overlap or are adjacent, sorted and then
+ * binned by the tablet containing their start key using the table's split
+ * points. Batches are filled tablet by tablet up to the maximum batch size,
+ * so a batch only spans multiple tablets when they each contribute few
+ * ranges.
+ */
+public final class TabletRangeGrouper {
+    private TabletRangeGrouper() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Gets the split points of the store's table in sorted order.
+     *
+     * @param store the accumulo store
+     * @return the sorted split points of the table
+     * @throws StoreException if the split points could not be retrieved
+     */
+    public static List<Text> getSplits(final AccumuloStore store) throws StoreException {
+        try {
+            final List<Text> splits = new ArrayList<>(store.getConnection().tableOperations()
+                    .listSplits(store.getProperties().getTable()));
+            Collections.sort(splits);
+            return splits;
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new StoreException("Failed to get the splits for table " + store.getProperties().getTable(), e);
+        }
+    }
+
+    /**
+     * Merges the provided ranges and groups them into batches by tablet.
+     *
+     * @param ranges         the ranges to group
+     * @param sortedSplits   the split points of the table, in sorted order
+     * @param maxBatchSize   the maximum number of ranges in each batch
+     * @return the batches of ranges, in tablet order
+     */
+    public static List<Set<Range>> groupByTablet(final Collection<Range> ranges, final List<Text> sortedSplits,
+                                                 final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be at least 1");
+        }
+        final List<Set<Range>> batches = new ArrayList<>();
+        if (ranges.isEmpty()) {
+            return batches;
+        }
+
+        // Range.mergeOverlapping returns the merged ranges in sorted order
+        final List<Range> mergedRanges = Range.mergeOverlapping(ranges);
+
+        Set<Range> batch = new HashSet<>();
+        List<Range> tabletRanges = new ArrayList<>();
+        int currentTablet = getTablet(mergedRanges.get(0), sortedSplits);
+        for (final Range range : mergedRanges) {
+            final int tablet = getTablet(range, sortedSplits);
+            if (tablet != currentTablet) {
+                batch = addTabletRanges(tabletRanges, batch, batches, maxBatchSize);
+                tabletRanges = new ArrayList<>();
+                currentTablet = tablet;
+            }
+            tabletRanges.add(range);
+        }
+        batch = addTabletRanges(tabletRanges, batch, batches, maxBatchSize);
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Gets the index of the tablet containing the start of the range. Tablet
+     * i contains rows greater than split i - 1 and less than or equal to
+     * split i.
+     *
+     * @param range        the range
+     * @param sortedSplits the split points of the table, in sorted order
+     * @return the index of the tablet containing the start of the range
+     */
+    public static int getTablet(final Range range, final List<Text> sortedSplits) {
+        final Key startKey = range.getStartKey();
+        if (null == startKey) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(sortedSplits, startKey.getRow());
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * Counts the tablets that the ranges overlap.
+     *
+     * @param ranges       the ranges
+     * @param sortedSplits the split points of the table, in sorted order
+     * @return the number of tablets the ranges overlap
+     */
+    public static int countTablets(final Collection<Range> ranges, final List<Text> sortedSplits) {
+        final BitSet tablets = new BitSet(sortedSplits.size() + 1);
+        for (final Range range : ranges) {
+            int tablet = getTablet(range, sortedSplits);
+            tablets.set(tablet);
+            // The first row of the next tablet is the row after the split point
+            while (tablet < sortedSplits.size()
+                    && !range.afterEndKey(new Key(sortedSplits.get(tablet)).followingKey(PartialKey.ROW))) {
+                tablet++;
+                tablets.set(tablet);
+            }
+        }
+        return tablets.cardinality();
+    }
+
+    private static Set<Range> addTabletRanges(final List<Range> tabletRanges, final Set<Range> currentBatch,
+                                              final List<Set<Range>> batches, final int maxBatchSize) {
+        Set<Range> batch = currentBatch;
+        if (!batch.isEmpty() && batch.size() + tabletRanges.size() > maxBatchSize) {
+            batches.add(batch);
+            batch = new HashSet<>();
+        }
+        for (final Range range : tabletRanges) {
+            if (batch.size() >= maxBatchSize) {
+                batches.add(batch);
+                batch = new HashSet<>();
+            }
+            batch.add(range);
+        }
+        return batch;
+    }
+}
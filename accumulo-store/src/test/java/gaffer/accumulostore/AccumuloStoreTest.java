@@ -18,6 +18,7 @@ package gaffer.accumulostore;
 
 import static gaffer.store.StoreTrait.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -41,6 +42,8 @@ import gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import gaffer.accumulostore.operation.impl.GetEntitiesInRanges;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.SchemaRegistry;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
@@ -57,6 +60,7 @@ import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsBySeed;
 import gaffer.operation.impl.get.GetRelatedElements;
@@ -67,6 +71,7 @@ import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import gaffer.store.operation.handler.generate.GenerateObjectsHandler;
 import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -77,6 +82,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class AccumuloStoreTest {
@@ -102,6 +108,26 @@ public class AccumuloStoreTest {
         gaffer1KeyStore = null;
     }
 
+    @Test
+    public void shouldUpdateSchemaIdWhenReinitialisedWithADifferentSchema() throws StoreException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, PROPERTIES);
+        final String originalSchemaId = store.getSchemaId();
+        final Schema newSchema = new Schema.Builder(schema)
+                .entity("newEntityGroup", new SchemaEntityDefinition.Builder()
+                        .vertex(String.class)
+                        .build())
+                .build();
+
+        // When
+        store.initialise(newSchema, PROPERTIES);
+
+        // Then
+        assertNotEquals(originalSchemaId, store.getSchemaId());
+        assertEquals(SchemaRegistry.getSchemaId(store.getSchema()), store.getSchemaId());
+    }
+
     @Test
     public void shouldBeAnOrderedStore() {
         assertTrue(byteEntityStore.hasTrait(StoreTrait.ORDERED));
@@ -245,4 +271,101 @@ public class AccumuloStoreTest {
         assertTrue("Collection should contain ORDERED trait", traits.contains(ORDERED));
     }
 
+    @Test
+    public void shouldAggregateElementsClientSideWhenIngestAggregationBufferEnabledByteEntity() throws StoreException, OperationException {
+        shouldAggregateElementsClientSideWhenIngestAggregationBufferEnabled(PROPERTIES);
+    }
+
+    @Test
+    public void shouldAggregateElementsClientSideWhenIngestAggregationBufferEnabledGaffer1() throws StoreException, OperationException {
+        shouldAggregateElementsClientSideWhenIngestAggregationBufferEnabled(CLASSIC_PROPERTIES);
+    }
+
+    public void shouldAggregateElementsClientSideWhenIngestAggregationBufferEnabled(final AccumuloProperties properties) throws StoreException, OperationException {
+        // Given
+        final AccumuloProperties bufferedProperties = properties.clone();
+        bufferedProperties.setIngestAggregationBufferSize("2");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, bufferedProperties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + (i % 3));
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+        final User user = new User();
+
+        // When
+        store.execute(new AddElements.Builder()
+                .elements(elements)
+                .build(), user);
+        final CloseableIterable<Element> results = store.execute(new GetAllElements.Builder<>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), user);
+
+        // Then
+        int totalCount = 0;
+        for (final Element element : results) {
+            totalCount += (Integer) element.getProperty(TestPropertyNames.COUNT);
+        }
+        results.close();
+        assertEquals(3, Iterables.size(results));
+        assertEquals(10, totalCount);
+    }
+
+    @Test
+    public void shouldReuseSharedBatchWriterAndFlushWhenRequestedByteEntity() throws StoreException, OperationException {
+        shouldReuseSharedBatchWriterAndFlushWhenRequested(PROPERTIES);
+    }
+
+    @Test
+    public void shouldReuseSharedBatchWriterAndFlushWhenRequestedGaffer1() throws StoreException, OperationException {
+        shouldReuseSharedBatchWriterAndFlushWhenRequested(CLASSIC_PROPERTIES);
+    }
+
+    public void shouldReuseSharedBatchWriterAndFlushWhenRequested(final AccumuloProperties properties) throws StoreException, OperationException {
+        // Given
+        final AccumuloProperties sharedProperties = properties.clone();
+        sharedProperties.setSharedBatchWriter(true);
+        sharedProperties.setBatchWriterDurability("sync");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, sharedProperties);
+        final User user = new User();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            final AddElements add = new AddElements.Builder()
+                    .elements(Collections.<Element>singletonList(entity))
+                    .option(AccumuloStoreConstants.OPERATION_ADD_ELEMENTS_FLUSH, "true")
+                    .build();
+            store.execute(add, user);
+        }
+        final CloseableIterable<Element> results = store.execute(new GetAllElements.Builder<>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), user);
+
+        // Then
+        assertEquals(3, Iterables.size(results));
+        results.close();
+        store.closeSharedBatchWriter();
+    }
+
+    @Test(expected = StoreException.class)
+    public void shouldThrowExceptionForUnknownBatchWriterDurability() throws StoreException {
+        // Given
+        final AccumuloProperties invalidProperties = PROPERTIES.clone();
+        invalidProperties.setBatchWriterDurability("unknown");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, invalidProperties);
+
+        // When
+        store.addElements(Collections.<Element>emptyList());
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.function.simple.aggregate.LongFreqMapAggregator;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.simple.LongFreqMapSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.TypeDefinition;
+import gaffer.types.simple.LongFreqMap;
+import org.junit.Test;
+
+public class GroupPropertiesCodecTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GroupPropertiesCodecTest.class));
+    private static final String FREQ_MAP_1 = "freqMap1";
+    private static final String FREQ_MAP_2 = "freqMap2";
+
+    @Test
+    public void shouldEncodeAndDecodeValueProperties() throws AccumuloElementConversionException {
+        // Given
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(SCHEMA, TestGroups.EDGE);
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 1);
+        properties.put(AccumuloPropertyNames.PROP_3, 300);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 5);
+
+        // When
+        final byte[] bytes = codec.encodeValue(properties);
+        final Properties result = codec.createProperties();
+        codec.decodeValue(bytes, result);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(AccumuloPropertyNames.PROP_1));
+        assertEquals(300, result.get(AccumuloPropertyNames.PROP_3));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeColumnQualifierProperties() throws AccumuloElementConversionException {
+        // Given
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(SCHEMA, TestGroups.EDGE);
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 3);
+        properties.put(AccumuloPropertyNames.PROP_1, 100);
+
+        // When
+        final byte[] bytes = codec.encodeColumnQualifier(properties);
+        final Properties result = codec.createProperties();
+        codec.decodeColumnQualifier(bytes, result);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(3, result.get(AccumuloPropertyNames.COLUMN_QUALIFIER_3));
+    }
+
+    @Test
+    public void shouldEncodeEmptyBytesWhenNoPropertiesHaveValues() throws AccumuloElementConversionException {
+        // Given
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(SCHEMA, TestGroups.EDGE);
+
+        // When / Then
+        assertArrayEquals(AccumuloStoreConstants.EMPTY_BYTES, codec.encodeValue(new Properties()));
+        assertArrayEquals(AccumuloStoreConstants.EMPTY_BYTES, codec.encodeColumnQualifier(new Properties()));
+    }
+
+    @Test
+    public void shouldTruncateColumnQualifier() throws AccumuloElementConversionException {
+        // Given
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(SCHEMA, TestGroups.EDGE);
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 2);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 3);
+        final byte[] bytes = codec.encodeColumnQualifier(properties);
+
+        // When
+        final byte[] truncated = codec.truncateColumnQualifier(bytes, 2);
+        final Properties result = codec.createProperties();
+        codec.decodeColumnQualifier(truncated, result);
+
+        // Then
+        assertTrue(truncated.length < bytes.length);
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(2, result.get(AccumuloPropertyNames.COLUMN_QUALIFIER_2));
+    }
+
+    @Test(expected = AccumuloElementConversionException.class)
+    public void shouldThrowExceptionForUnknownGroup() throws AccumuloElementConversionException {
+        new GroupPropertiesCodec(SCHEMA, "unknownGroup");
+    }
+
+    @Test
+    public void shouldNotMergeValuesWhenSerialisersCannotMerge() throws AccumuloElementConversionException {
+        // When
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(SCHEMA, TestGroups.EDGE);
+
+        // Then
+        assertFalse(codec.canMergeValues());
+    }
+
+    @Test
+    public void shouldMergeValuesToSameBytesAsAggregatingProperties() throws AccumuloElementConversionException {
+        // Given
+        final Schema schema = getLongFreqMapSchema();
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(schema, TestGroups.EDGE);
+
+        final Properties properties1 = new Properties();
+        properties1.put(FREQ_MAP_1, createFreqMap("a", 1L, "c", 3L));
+        final Properties properties2 = new Properties();
+        properties2.put(FREQ_MAP_1, createFreqMap("b", 2L, "c", 4L));
+        properties2.put(FREQ_MAP_2, createFreqMap("d", 5L, "e", 6L));
+
+        final ElementAggregator aggregator = schema.getElement(TestGroups.EDGE).getAggregator();
+        aggregator.aggregate(properties1);
+        aggregator.aggregate(properties2);
+        final Properties aggregated = new Properties();
+        aggregator.state(aggregated);
+
+        // When
+        final byte[] merged = codec.mergeValues(codec.encodeValue(properties1), codec.encodeValue(properties2));
+
+        // Then
+        assertTrue(codec.canMergeValues());
+        assertArrayEquals(codec.encodeValue(aggregated), merged);
+        final Properties result = codec.createProperties();
+        codec.decodeValue(merged, result);
+        assertEquals(createFreqMap("a", 1L, "b", 2L, "c", 7L), result.get(FREQ_MAP_1));
+        assertEquals(createFreqMap("d", 5L, "e", 6L), result.get(FREQ_MAP_2));
+    }
+
+    @Test
+    public void shouldMergeEmptyValues() throws AccumuloElementConversionException {
+        // Given
+        final GroupPropertiesCodec codec = new GroupPropertiesCodec(getLongFreqMapSchema(), TestGroups.EDGE);
+
+        // When / Then
+        assertArrayEquals(AccumuloStoreConstants.EMPTY_BYTES,
+                codec.mergeValues(AccumuloStoreConstants.EMPTY_BYTES, AccumuloStoreConstants.EMPTY_BYTES));
+    }
+
+    private static Schema getLongFreqMapSchema() {
+        final TypeDefinition freqMapType = new TypeDefinition.Builder()
+                .clazz(LongFreqMap.class)
+                .serialiser(new LongFreqMapSerialiser())
+                .aggregateFunction(new LongFreqMapAggregator())
+                .build();
+        return new Schema.Builder()
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(String.class)
+                        .destination(String.class)
+                        .directed(Boolean.class)
+                        .property(FREQ_MAP_1, "freqMap", freqMapType)
+                        .property(FREQ_MAP_2, "freqMap")
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    private static LongFreqMap createFreqMap(final Object... keysAndValues) {
+        final LongFreqMap freqMap = new LongFreqMap();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            freqMap.upsert((String) keysAndValues[i], (Long) keysAndValues[i + 1]);
+        }
+        return freqMap;
+    }
+}
@@ -28,12 +28,18 @@ import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.function.simple.aggregate.LongFreqMapAggregator;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.simple.LongFreqMapSerialiser;
 import gaffer.store.StoreException;
 import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.TypeDefinition;
+import gaffer.types.simple.LongFreqMap;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -86,6 +92,59 @@ public class AggregatorIteratorTest {
         test(gaffer1KeyStore);
     }
 
+    @Test
+    public void shouldAggregateLongFreqMapsByMergingSerialisedValues() throws OperationException, StoreException {
+        final Schema freqMapSchema = new Schema.Builder()
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(String.class)
+                        .destination(String.class)
+                        .directed(Boolean.class)
+                        .property(AccumuloPropertyNames.PROP_1, "freqMap", new TypeDefinition.Builder()
+                                .clazz(LongFreqMap.class)
+                                .serialiser(new LongFreqMapSerialiser())
+                                .aggregateFunction(new LongFreqMapAggregator())
+                                .build())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(freqMapSchema, PROPERTIES);
+        shouldAggregateLongFreqMapsByMergingSerialisedValues(store);
+        store.initialise(freqMapSchema, CLASSIC_PROPERTIES);
+        shouldAggregateLongFreqMapsByMergingSerialisedValues(store);
+    }
+
+    private void shouldAggregateLongFreqMapsByMergingSerialisedValues(final AccumuloStore store) throws OperationException {
+        // Given
+        final User user = new User();
+        for (int i = 0; i < 3; i++) {
+            final LongFreqMap freqMap = new LongFreqMap();
+            freqMap.upsert("shared", i);
+            freqMap.upsert("key" + i);
+            final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+            edge.putProperty(AccumuloPropertyNames.PROP_1, freqMap);
+            store.execute(new AddElements(Arrays.asList((Element) edge)), user);
+        }
+
+        final GetRelatedEdges<EntitySeed> get = new GetRelatedEdges.Builder<EntitySeed>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .addSeed(new EntitySeed("1"))
+                .build();
+
+        // When
+        final List<Edge> results = Lists.newArrayList(store.execute(get, user));
+
+        // Then
+        assertEquals(1, results.size());
+        final LongFreqMap expected = new LongFreqMap();
+        expected.upsert("shared", 3L);
+        expected.upsert("key0");
+        expected.upsert("key1");
+        expected.upsert("key2");
+        assertEquals(expected, results.get(0).getProperty(AccumuloPropertyNames.PROP_1));
+    }
+
     private void test(final AccumuloStore store) throws OperationException {
         // Given
         final Edge expectedResult = new Edge(TestGroups.EDGE);
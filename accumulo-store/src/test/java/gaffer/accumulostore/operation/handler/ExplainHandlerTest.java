@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
+import gaffer.operation.impl.explain.OperationExplanation;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ExplainHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ExplainHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ExplainHandlerTest.class));
+
+    private final User user = new User();
+    private AccumuloStore store;
+
+    @Before
+    public void setup() throws StoreException {
+        store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, PROPERTIES);
+    }
+
+    @Test
+    public void shouldExplainSeededQueryWithClientSideLimitAndDeduplicate() throws OperationException {
+        // Given
+        final GetRelatedElements<EntitySeed, Element> getRelatedElements = new GetRelatedElements.Builder<EntitySeed, Element>()
+                .seeds(Arrays.asList(new EntitySeed("A"), new EntitySeed("B")))
+                .view(new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build())
+                .limitResults(10)
+                .deduplicate(true)
+                .build();
+
+        // When
+        final Explanation explanation = store.execute(new Explain(new OperationChain<>(getRelatedElements)), user);
+
+        // Then
+        assertEquals(3, explanation.getOperations().size());
+        assertTrue(explanation.getOperationChain().getOperations().get(1) instanceof Limit);
+        assertTrue(explanation.getOperationChain().getOperations().get(2) instanceof Deduplicate);
+
+        final Map<String, Object> details = explanation.getOperations().get(0).getDetails();
+        assertEquals(OperationExplanation.EXECUTION_SERVER, details.get(OperationExplanation.EXECUTION));
+        final List<?> rangeBatches = (List<?>) details.get("rangeBatches");
+        assertEquals(1, rangeBatches.size());
+        assertEquals(2, ((List<?>) rangeBatches.get(0)).size());
+        assertEquals(1, details.get("estimatedTablets"));
+        assertEquals(Arrays.asList(TestGroups.EDGE, TestGroups.ENTITY), details.get("columnFamilies"));
+        assertContainsIterator(details, AccumuloStoreConstants.AGGREGATOR_ITERATOR_NAME, "(table)");
+        assertContainsIterator(details, AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME, "(scan)");
+
+        assertEquals(OperationExplanation.EXECUTION_CLIENT,
+                explanation.getOperations().get(1).getDetails().get(OperationExplanation.EXECUTION));
+        assertEquals(OperationExplanation.EXECUTION_CLIENT,
+                explanation.getOperations().get(2).getDetails().get(OperationExplanation.EXECUTION));
+    }
+
+    @Test
+    public void shouldExplainGetAllElementsAsFullTableScan() throws OperationException {
+        // Given
+        final GetAllElements<Element> getAllElements = new GetAllElements.Builder<>()
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build();
+
+        // When
+        final Explanation explanation = store.execute(new Explain(new OperationChain<>(getAllElements)), user);
+
+        // Then
+        final Map<String, Object> details = explanation.getOperations().get(0).getDetails();
+        final List<?> rangeBatches = (List<?>) details.get("rangeBatches");
+        assertEquals(1, rangeBatches.size());
+        assertEquals(1, ((List<?>) rangeBatches.get(0)).size());
+        assertEquals(Arrays.asList(TestGroups.ENTITY), details.get("columnFamilies"));
+    }
+
+    private static void assertContainsIterator(final Map<String, Object> details, final String name, final String source) {
+        for (final Object iterator : (List<?>) details.get("iterators")) {
+            if (iterator.toString().contains(" " + name + " ") && iterator.toString().endsWith(source)) {
+                return;
+            }
+        }
+        throw new AssertionError("Iterator " + name + " " + source + " not found in " + details.get("iterators"));
+    }
+}
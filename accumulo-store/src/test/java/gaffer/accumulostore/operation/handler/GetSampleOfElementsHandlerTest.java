@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Iterables;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class GetSampleOfElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetSampleOfElementsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetSampleOfElementsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetSampleOfElementsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final int NUM_EDGES = 200;
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldReturnSampleOfRequestedSizeByteEntityStore() throws OperationException {
+        shouldReturnSampleOfRequestedSize(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnSampleOfRequestedSizeGaffer1Store() throws OperationException {
+        shouldReturnSampleOfRequestedSize(gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldReturnAllOrNoElementsForExtremeProportionsByteEntityStore() throws OperationException {
+        shouldReturnAllOrNoElementsForExtremeProportions(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnAllOrNoElementsForExtremeProportionsGaffer1Store() throws OperationException {
+        shouldReturnAllOrNoElementsForExtremeProportions(gaffer1KeyStore);
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldThrowExceptionWhenProportionAndSampleSizeAreBothSet() throws OperationException {
+        // Given
+        final GetSampleOfElements<Element> operation = new GetSampleOfElements.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .proportionToSample(0.5f)
+                .sampleSize(10)
+                .build();
+
+        // When
+        new GetSampleOfElementsHandler().doOperation(operation, user, byteEntityStore);
+    }
+
+    private void shouldReturnSampleOfRequestedSize(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetSampleOfElements<Element> operation = new GetSampleOfElements.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .sampleSize(10)
+                .build();
+
+        // When
+        final CloseableIterable<Element> results = new GetSampleOfElementsHandler().doOperation(operation, user, store);
+
+        // Then
+        final List<Element> sample = new ArrayList<>();
+        for (final Element element : results) {
+            assertEquals(TestGroups.EDGE, element.getGroup());
+            sample.add(element);
+        }
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+    }
+
+    private void shouldReturnAllOrNoElementsForExtremeProportions(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetSampleOfElements<Element> allOperation = new GetSampleOfElements.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .proportionToSample(1f)
+                .build();
+        final GetSampleOfElements<Element> noneOperation = new GetSampleOfElements.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .proportionToSample(0f)
+                .build();
+
+        // When
+        final CloseableIterable<Element> all = new GetSampleOfElementsHandler().doOperation(allOperation, user, store);
+        final CloseableIterable<Element> none = new GetSampleOfElementsHandler().doOperation(noneOperation, user, store);
+
+        // Then
+        assertEquals(NUM_EDGES, Iterables.size(all));
+        assertEquals(0, Iterables.size(none));
+        all.close();
+        none.close();
+    }
+
+    private void setupGraph(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_EDGES; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE, "A" + i, "B" + i, true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            elements.add(edge);
+
+            final Entity entity = new Entity(TestGroups.ENTITY, "A" + i);
+            entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            elements.add(entity);
+        }
+
+        store.execute(new AddElements(elements), user);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetTopK;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GetTopKHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetTopKHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetTopKHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetTopKHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final int NUM_EDGES = 100;
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldReturnTopKEdgesByteEntityStore() throws OperationException {
+        shouldReturnTopKEdges(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnTopKEdgesGaffer1Store() throws OperationException {
+        shouldReturnTopKEdges(gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldReturnAllEdgesWhenKIsLargerThanNumberOfEdgesByteEntityStore() throws OperationException {
+        shouldReturnAllEdgesWhenKIsLargerThanNumberOfEdges(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnAllEdgesWhenKIsLargerThanNumberOfEdgesGaffer1Store() throws OperationException {
+        shouldReturnAllEdgesWhenKIsLargerThanNumberOfEdges(gaffer1KeyStore);
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldThrowExceptionWhenPropertyIsNotSet() throws OperationException {
+        // Given
+        final GetTopK<Element> operation = new GetTopK.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .k(5)
+                .build();
+
+        // When
+        new GetTopKHandler().doOperation(operation, user, byteEntityStore);
+    }
+
+    private void shouldReturnTopKEdges(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopK<Element> operation = new GetTopK.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .property(TestPropertyNames.COUNT)
+                .k(5)
+                .build();
+
+        // When
+        final CloseableIterable<Element> results = new GetTopKHandler().doOperation(operation, user, store);
+
+        // Then
+        final List<Integer> counts = new ArrayList<>();
+        for (final Element element : results) {
+            assertEquals(TestGroups.EDGE, element.getGroup());
+            counts.add((Integer) element.getProperty(TestPropertyNames.COUNT));
+        }
+        assertEquals(5, counts.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(NUM_EDGES - 1 - i), counts.get(i));
+        }
+    }
+
+    private void shouldReturnAllEdgesWhenKIsLargerThanNumberOfEdges(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopK<Element> operation = new GetTopK.Builder<>()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .property(TestPropertyNames.COUNT)
+                .k(NUM_EDGES * 2)
+                .build();
+
+        // When
+        final CloseableIterable<Element> results = new GetTopKHandler().doOperation(operation, user, store);
+
+        // Then
+        int count = 0;
+        Integer previous = Integer.MAX_VALUE;
+        for (final Element element : results) {
+            final Integer current = (Integer) element.getProperty(TestPropertyNames.COUNT);
+            assertEquals(true, current <= previous);
+            previous = current;
+            count++;
+        }
+        assertEquals(NUM_EDGES, count);
+    }
+
+    private void setupGraph(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_EDGES; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE, "A" + i, "B" + i, true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            edge.putProperty(TestPropertyNames.COUNT, i);
+            elements.add(edge);
+
+            final Entity entity = new Entity(TestGroups.ENTITY, "A" + i);
+            entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            entity.putProperty(TestPropertyNames.COUNT, NUM_EDGES + i);
+            elements.add(entity);
+        }
+
+        store.execute(new AddElements(elements), user);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.retriever.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Iterables;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class AccumuloCachedSingleIDRetrieverTest {
+    private static final int NUM_ENTRIES = 10;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloCachedSingleIDRetrieverTest.class));
+
+    private AccumuloStore store;
+
+    @Before
+    public void setUp() throws StoreException, OperationException {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloCachedSingleIDRetrieverTest.class));
+        properties.setSeedCacheMaxElements("1000");
+        store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, properties);
+        store.execute(new AddElements(createElements()), new User());
+    }
+
+    @Test
+    public void shouldReturnTheSameElementsFromTheCache() throws IteratorSettingException, StoreException {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation("0", "1", "2");
+
+        // When
+        final List<Element> scanned = toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+        final List<Element> cached = toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+
+        // Then
+        assertEquals(9, scanned.size());
+        assertEquals(3, store.getSeedCache().size());
+        assertEquals(new HashSet<>(scanned), new HashSet<>(cached));
+    }
+
+    @Test
+    public void shouldCombineCachedAndScannedElements() throws IteratorSettingException, StoreException {
+        // Given
+        toList(new AccumuloCachedSingleIDRetriever(store, createOperation("0"), new User()));
+
+        // When
+        final List<Element> results = toList(new AccumuloCachedSingleIDRetriever(store, createOperation("0", "1", "0"), new User()));
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals(2, store.getSeedCache().size());
+    }
+
+    @Test
+    public void shouldNotCacheSeedsConnectedByAnEdgeInTheSameBatch() throws IteratorSettingException, StoreException {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation("0", "B");
+
+        // When
+        final List<Element> results = toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+
+        // Then
+        assertEquals(3 + NUM_ENTRIES, results.size());
+        assertEquals(0, store.getSeedCache().size());
+    }
+
+    @Test
+    public void shouldNotCreateASeedCacheWhenASharedBatchWriterIsUsed() throws StoreException {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloCachedSingleIDRetrieverTest.class));
+        properties.setSeedCacheMaxElements("1000");
+        properties.setSharedBatchWriter(true);
+        final AccumuloStore sharedWriterStore = new SingleUseMockAccumuloStore();
+
+        // When
+        sharedWriterStore.initialise(SCHEMA, properties);
+
+        // Then
+        assertNull(sharedWriterStore.getSeedCache());
+    }
+
+    @Test
+    public void shouldNotReturnStaleElementsAfterElementsAreAdded() throws IteratorSettingException, StoreException, OperationException {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation("0");
+        toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+
+        // When
+        store.execute(new AddElements(Collections.<Element>singletonList(new Edge(TestGroups.EDGE, "0", "D", true))), new User());
+        final List<Element> results = toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+
+        // Then
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    public void shouldNotUseCachedElementsForADifferentView() throws IteratorSettingException, StoreException {
+        // Given
+        toList(new AccumuloCachedSingleIDRetriever(store, createOperation("0"), new User()));
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(
+                new View.Builder().entity(TestGroups.ENTITY).build(),
+                Collections.<ElementSeed>singletonList(new EntitySeed("0")));
+
+        // When
+        final List<Element> results = toList(new AccumuloCachedSingleIDRetriever(store, operation, new User()));
+
+        // Then
+        assertEquals(1, results.size());
+    }
+
+    private static GetElements<ElementSeed, ?> createOperation(final String... vertices) {
+        final List<ElementSeed> seeds = new ArrayList<>();
+        for (final String vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(
+                new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build(), seeds);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        return operation;
+    }
+
+    private static List<Element> toList(final AccumuloCachedSingleIDRetriever retriever) {
+        try {
+            return new ArrayList<>(Arrays.asList(Iterables.toArray(retriever, Element.class)));
+        } finally {
+            retriever.close();
+        }
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "" + i));
+            elements.add(new Edge(TestGroups.EDGE, "" + i, "B", false));
+            elements.add(new Edge(TestGroups.EDGE, "" + i, "C", true));
+        }
+        return elements;
+    }
+}
@@ -17,13 +17,17 @@
 package gaffer.accumulostore.retriever.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
 import gaffer.accumulostore.AccumuloProperties;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.SingleUseMockAccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.commonutil.CancellationToken;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
@@ -40,18 +44,25 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.store.StoreException;
+import gaffer.store.metrics.MetricsRegistry;
 import gaffer.store.schema.Schema;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.hadoop.io.Text;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AccumuloSingleIDRetrieverTest {
 
@@ -312,6 +323,135 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries * 2, count);
     }
 
+    @Test
+    public void testEntitySeedQueryWithSeedsGroupedByTabletByteEntityStore() throws Exception {
+        testEntitySeedQueryWithSeedsGroupedByTablet(PROPERTIES);
+    }
+
+    @Test
+    public void testEntitySeedQueryWithSeedsGroupedByTabletGaffer1Store() throws Exception {
+        testEntitySeedQueryWithSeedsGroupedByTablet(CLASSIC_PROPERTIES);
+    }
+
+    private void testEntitySeedQueryWithSeedsGroupedByTablet(final AccumuloProperties properties) throws Exception {
+        // Given
+        final AccumuloProperties groupedProperties = properties.clone();
+        groupedProperties.setGroupSeedsByTablet(true);
+        groupedProperties.setMaxEntriesForBatchScanner("50");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, groupedProperties);
+        final SortedSet<Text> splits = new TreeSet<>();
+        for (int i = 1; i < 10; i++) {
+            splits.add(new Text(String.valueOf(i)));
+        }
+        store.getConnection().tableOperations().addSplits(groupedProperties.getTable(), splits);
+        setupGraph(store, numEntries);
+
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        //Should find both i-B and i-C edges and entities i
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+    }
+
+    @Test
+    public void shouldReadSeedsGroupedByTabletInWindows() throws Exception {
+        // Given
+        final AccumuloProperties groupedProperties = PROPERTIES.clone();
+        groupedProperties.setGroupSeedsByTablet(true);
+        groupedProperties.setMaxEntriesForBatchScanner("50");
+        groupedProperties.setGroupSeedsByTabletWindowBatches("2");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, groupedProperties);
+        setupGraph(store, numEntries);
+
+        final List<ElementSeed> seeds = new ArrayList<>();
+        for (int i = 0; i < numEntries; i++) {
+            seeds.add(new EntitySeed("" + i));
+        }
+        final AtomicInteger seedsRead = new AtomicInteger();
+        final Iterable<ElementSeed> ids = Iterables.transform(seeds, new Function<ElementSeed, ElementSeed>() {
+            @Override
+            public ElementSeed apply(final ElementSeed seed) {
+                seedsRead.incrementAndGet();
+                return seed;
+            }
+        });
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // When
+        retriever.iterator().next();
+
+        // Then
+        assertEquals(100, seedsRead.get());
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+    }
+
+    @Test
+    public void shouldRecordScanMetricsWhenEnabled() throws IteratorSettingException, StoreException {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloSingleIDRetrieverTest.class));
+        properties.setMetricsEnabled(true);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store, 10);
+        final MetricsRegistry metrics = store.getMetrics();
+        final long batches = metrics.getCounter(AccumuloRetriever.SCANNER_BATCHES);
+        final long bytes = metrics.getCounter(AccumuloRetriever.BYTES_DECODED);
+        final long keysRead = metrics.getCounter(AccumuloRetriever.ITERATOR_STATS_PREFIX + "ValidatorFilter.keysRead");
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(
+                new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build(),
+                Collections.<ElementSeed>singletonList(new EntitySeed("0")));
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        final int size = Iterables.size(retriever);
+
+        // Then
+        assertEquals(3, size);
+        assertEquals(batches + 1, metrics.getCounter(AccumuloRetriever.SCANNER_BATCHES));
+        assertTrue(metrics.getCounter(AccumuloRetriever.BYTES_DECODED) > bytes);
+        assertTrue(metrics.getCounter(AccumuloRetriever.ITERATOR_STATS_PREFIX + "ValidatorFilter.keysRead") > keysRead);
+        assertTrue(metrics.getMetrics().containsKey(AccumuloRetriever.TRANSFORM_NANOS));
+        assertTrue(metrics.getMetrics().containsKey(AccumuloRetriever.FILTER_NANOS));
+    }
+
+    @Test
+    public void shouldNotScanWhenCancellationTokenIsCancelled() throws IteratorSettingException, StoreException {
+        // Given
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(
+                new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build(),
+                Collections.<ElementSeed>singletonList(new EntitySeed("0")));
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(byteEntityStore, operation, new User());
+        final CancellationToken token = new CancellationToken();
+        retriever.setCancellationToken(token);
+
+        // When
+        token.cancel();
+
+        // Then
+        try {
+            retriever.iterator();
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            assertTrue(e.getMessage().contains("cancelled"));
+        }
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
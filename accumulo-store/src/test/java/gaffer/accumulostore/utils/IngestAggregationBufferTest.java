@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+import java.util.List;
+import java.util.Map;
+
+public class IngestAggregationBufferTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(IngestAggregationBufferTest.class));
+
+    private final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldAggregateElementsWithTheSameKey() throws AccumuloElementConversionException {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, converter, 10, Long.MAX_VALUE);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            add(buffer, createEdge("A", "B", 1, 2));
+        }
+        final List<Map.Entry<Pair<Key>, Value>> entries = buffer.flush();
+
+        // Then
+        assertEquals(1, entries.size());
+        final Pair<Key> keys = entries.get(0).getKey();
+        assertNotNull(keys.getSecond());
+        final Element element = converter.getFullElement(keys.getFirst(), entries.get(0).getValue());
+        assertEquals(5, element.getProperty(AccumuloPropertyNames.COUNT));
+        assertEquals(10, element.getProperty(AccumuloPropertyNames.PROP_1));
+        assertEquals(1, element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void shouldNotAggregateElementsWithDifferentKeys() throws AccumuloElementConversionException {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, converter, 10, Long.MAX_VALUE);
+
+        // When
+        add(buffer, createEdge("A", "B", 1, 1));
+        add(buffer, createEdge("A", "B", 2, 1));
+        add(buffer, createEdge("A", "C", 1, 1));
+        add(buffer, new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .build());
+        final List<Map.Entry<Pair<Key>, Value>> entries = buffer.flush();
+
+        // Then
+        assertEquals(4, entries.size());
+        for (final Map.Entry<Pair<Key>, Value> entry : entries) {
+            final Element element = converter.getFullElement(entry.getKey().getFirst(), entry.getValue());
+            assertEquals(1, element.getProperty(AccumuloPropertyNames.COUNT));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheLatestTimestampWhenAggregating() throws AccumuloElementConversionException {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, converter, 10, Long.MAX_VALUE);
+        final Pair<Key> keys1 = converter.getKeysFromElement(createEdge("A", "B", 1, 1));
+        final Pair<Key> keys2 = converter.getKeysFromElement(createEdge("A", "B", 1, 1));
+        keys1.getFirst().setTimestamp(200L);
+        keys2.getFirst().setTimestamp(100L);
+
+        // When
+        buffer.add(TestGroups.EDGE, keys1, converter.getValueFromElement(createEdge("A", "B", 1, 1)));
+        buffer.add(TestGroups.EDGE, keys2, converter.getValueFromElement(createEdge("A", "B", 1, 1)));
+        final List<Map.Entry<Pair<Key>, Value>> entries = buffer.flush();
+
+        // Then
+        assertEquals(1, entries.size());
+        assertEquals(200L, entries.get(0).getKey().getFirst().getTimestamp());
+        assertEquals(200L, entries.get(0).getKey().getSecond().getTimestamp());
+    }
+
+    @Test
+    public void shouldRequireFlushWhenBufferIsFull() throws AccumuloElementConversionException {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, converter, 2, Long.MAX_VALUE);
+
+        // When / Then
+        add(buffer, createEdge("A", "B", 1, 1));
+        assertFalse(buffer.isFlushRequired());
+        add(buffer, createEdge("A", "B", 1, 1));
+        assertFalse(buffer.isFlushRequired());
+        add(buffer, createEdge("A", "C", 1, 1));
+        assertTrue(buffer.isFlushRequired());
+        buffer.flush();
+        assertFalse(buffer.isFlushRequired());
+    }
+
+    @Test
+    public void shouldRequireFlushWhenIntervalHasElapsed() throws AccumuloElementConversionException {
+        // Given
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, converter, 10, 0L);
+
+        // When
+        add(buffer, createEdge("A", "B", 1, 1));
+
+        // Then
+        assertTrue(buffer.isFlushRequired());
+    }
+
+    @Test
+    public void shouldOnlyDropKeysWhoseAggregatedValueCannotBeSerialised() throws AccumuloElementConversionException {
+        // Given
+        final AccumuloElementConverter failingConverter = new ByteEntityAccumuloElementConverter(SCHEMA) {
+            @Override
+            public Value getValueFromProperties(final String group, final Properties properties)
+                    throws AccumuloElementConversionException {
+                if (TestGroups.EDGE.equals(group)) {
+                    throw new AccumuloElementConversionException("Failed to serialise " + group);
+                }
+                return super.getValueFromProperties(group, properties);
+            }
+        };
+        final IngestAggregationBuffer buffer = new IngestAggregationBuffer(SCHEMA, failingConverter, 10, Long.MAX_VALUE);
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .build();
+
+        // When
+        add(buffer, createEdge("A", "B", 1, 1));
+        add(buffer, createEdge("A", "B", 1, 1));
+        add(buffer, entity);
+        add(buffer, entity);
+        final List<Map.Entry<Pair<Key>, Value>> entries = buffer.flush();
+
+        // Then
+        assertEquals(1, entries.size());
+        final Element element = converter.getFullElement(entries.get(0).getKey().getFirst(), entries.get(0).getValue());
+        assertEquals(TestGroups.ENTITY, element.getGroup());
+        assertEquals(2, element.getProperty(AccumuloPropertyNames.COUNT));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBufferSizeLessThanOne() {
+        new IngestAggregationBuffer(SCHEMA, converter, 0, 1000L);
+    }
+
+    private void add(final IngestAggregationBuffer buffer, final Element element)
+            throws AccumuloElementConversionException {
+        buffer.add(element.getGroup(), converter.getKeysFromElement(element), converter.getValueFromElement(element));
+    }
+
+    private Edge createEdge(final String source, final String destination, final int columnQualifier,
+                            final int property) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier)
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .property(AccumuloPropertyNames.PROP_1, property)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class IteratorStatsTest {
+
+    @Test
+    public void shouldEncodeAndDecodeStats() {
+        // Given
+        final IteratorStats filterStats = IteratorStats.register("Filter", createEnv(IteratorScope.scan));
+        filterStats.keyRead();
+        filterStats.keyRead();
+        filterStats.keyRejected();
+        final IteratorStats combinerStats = IteratorStats.register("Combiner", createEnv(IteratorScope.scan));
+        combinerStats.keysAggregated(3);
+
+        // When
+        final Map<String, Long> decoded = IteratorStats.decode(
+                IteratorStats.encodeAndReset(Arrays.asList(filterStats, combinerStats)));
+
+        // Then
+        assertEquals(2L, (long) decoded.get("Filter.keysRead"));
+        assertEquals(1L, (long) decoded.get("Filter.keysRejected"));
+        assertEquals(0L, (long) decoded.get("Filter.keysAggregated"));
+        assertEquals(3L, (long) decoded.get("Combiner.keysRead"));
+        assertEquals(3L, (long) decoded.get("Combiner.keysAggregated"));
+        assertEquals(0, filterStats.getKeysRead());
+        assertEquals(0, combinerStats.getKeysAggregated());
+    }
+
+    @Test
+    public void shouldSumStatsOfIteratorsWithTheSameName() {
+        // Given
+        final IteratorStats stats1 = IteratorStats.register("Filter", null);
+        stats1.keyRead();
+        final IteratorStats stats2 = IteratorStats.register("Filter", null);
+        stats2.keyRead();
+        stats2.keyRead();
+
+        // When
+        final Map<String, Long> decoded = IteratorStats.decode(IteratorStats.encodeAndReset(Arrays.asList(stats1, stats2)));
+
+        // Then
+        assertEquals(3L, (long) decoded.get("Filter.keysRead"));
+    }
+
+    @Test
+    public void shouldOnlyCollectStatsRegisteredForScansWithTheSameEnvironment() {
+        // Given
+        final IteratorEnvironment previousScan = createEnv(IteratorScope.scan);
+        final IteratorEnvironment scan = createEnv(IteratorScope.scan);
+        IteratorStats.register("Previous", previousScan);
+        final IteratorStats scanStats = IteratorStats.register("Scan", scan);
+        IteratorStats.register("Compaction", createEnv(IteratorScope.majc));
+
+        // When
+        final List<IteratorStats> collected = IteratorStats.collect(scan);
+
+        // Then
+        assertEquals(Collections.singletonList(scanStats), collected);
+        assertTrue(IteratorStats.collect(scan).isEmpty());
+    }
+
+    @Test
+    public void shouldOnlyTimeScanStatsWhenTimedOptionIsSet() {
+        // Given
+        final Map<String, String> timedOptions = Collections.singletonMap(AccumuloStoreConstants.ITERATOR_STATS_TIMED, "true");
+        final IteratorStats timed = IteratorStats.register("Timed", createEnv(IteratorScope.scan), timedOptions);
+        final IteratorStats untimed = IteratorStats.register("Untimed", createEnv(IteratorScope.scan),
+                Collections.<String, String>emptyMap());
+        final IteratorStats compaction = IteratorStats.register("Compaction", createEnv(IteratorScope.majc), timedOptions);
+
+        // When
+        timed.stopTimer(timed.startTimer() - 1000);
+        untimed.stopTimer(untimed.startTimer() - 1000);
+        compaction.stopTimer(compaction.startTimer() - 1000);
+
+        // Then
+        assertTrue(timed.getNanos() >= 1000);
+        assertEquals(0, untimed.getNanos());
+        assertEquals(0, compaction.getNanos());
+    }
+
+    @Test
+    public void shouldIdentifyStatsKeys() {
+        // Given
+        final Key statsKey = IteratorStats.createStatsKey(new Text("row"));
+
+        // Then
+        assertTrue(IteratorStats.isStatsKey(statsKey));
+        assertFalse(IteratorStats.isStatsKey(new Key("row", "BasicEntity")));
+        assertTrue(statsKey.compareTo(new Key("row", "BasicEntity")) > 0);
+    }
+
+    private static IteratorEnvironment createEnv(final IteratorScope scope) {
+        final IteratorEnvironment env = mock(IteratorEnvironment.class);
+        given(env.getIteratorScope()).willReturn(scope);
+        return env;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.Map;
+
+public class SchemaRegistryTest {
+
+    @Test
+    public void shouldCreateSameSchemaIdForSameSchema() {
+        // When
+        final String id1 = SchemaRegistry.getSchemaId(getSchema(String.class));
+        final String id2 = SchemaRegistry.getSchemaId(getSchema(String.class));
+        final String id3 = SchemaRegistry.getSchemaId(getSchema(Integer.class));
+
+        // Then
+        assertEquals(id1, id2);
+        assertNotEquals(id1, id3);
+        assertEquals(64, id1.length());
+        assertTrue(id1.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    public void shouldGetSchemaFromSchemaOption() throws Exception {
+        // Given
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(getSchema(String.class).toJson(false), CommonConstants.UTF_8));
+
+        // When
+        final Schema schema = SchemaRegistry.getSchema(options, null);
+
+        // Then
+        assertNotNull(schema.getEdge(TestGroups.EDGE));
+    }
+
+    @Test
+    public void shouldGetSchemaFromTableConfigurationUsingSchemaId() throws Exception {
+        // Given
+        final Schema original = getSchema(Long.class);
+        final String schemaId = SchemaRegistry.getSchemaId(original);
+        final AccumuloConfiguration config = mock(AccumuloConfiguration.class);
+        given(config.get(SchemaRegistry.SCHEMA_PROPERTY_PREFIX + schemaId))
+                .willReturn(new String(original.toJson(false), CommonConstants.UTF_8));
+        final IteratorEnvironment env = mock(IteratorEnvironment.class);
+        given(env.getConfig()).willReturn(config);
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA_ID, schemaId);
+
+        // When
+        final Schema schema = SchemaRegistry.getSchema(options, env);
+
+        // Then
+        assertNotNull(schema.getEdge(TestGroups.EDGE));
+        assertEquals(Long.class, schema.getType("vertex").getClazz());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSchemaIdIsNotInTableConfiguration() {
+        // Given
+        final IteratorEnvironment env = mock(IteratorEnvironment.class);
+        given(env.getConfig()).willReturn(mock(AccumuloConfiguration.class));
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA_ID, "unknownSchemaId");
+
+        // When / Then
+        try {
+            SchemaRegistry.getSchema(options, env);
+            fail("Exception expected");
+        } catch (final SchemaException e) {
+            assertTrue(e.getMessage().contains("unknownSchemaId"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNoSchemaOrSchemaId() {
+        try {
+            SchemaRegistry.getSchema(new HashMap<String, String>(), null);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.SCHEMA));
+        }
+    }
+
+    private Schema getSchema(final Class<?> vertexClass) {
+        return new Schema.Builder()
+                .type("vertex", vertexClass)
+                .type("directed", Boolean.class)
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("vertex")
+                        .destination("vertex")
+                        .directed("directed")
+                        .build())
+                .build();
+    }
+}
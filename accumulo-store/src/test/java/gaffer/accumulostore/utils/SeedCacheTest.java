@@ -0,0 +1,217 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.simple.FreqMapSerialiser;
+import gaffer.serialisation.simple.IntegerSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import gaffer.types.simple.FreqMap;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SeedCacheTest {
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String PROPERTY = "property";
+    private static final String FREQ_MAP = "freqMap";
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new IntegerSerialiser())
+                    .build())
+            .type("freqMap", new TypeDefinition.Builder()
+                    .clazz(FreqMap.class)
+                    .serialiser(new FreqMapSerialiser())
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(PROPERTY, "int")
+                    .property(FREQ_MAP, "freqMap")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed(Boolean.class)
+                    .build())
+            .vertexSerialiser(new JavaSerialiser())
+            .build();
+
+    @Test
+    public void shouldCacheElementsForEachVertexAndFingerprint() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final List<Element> elements = Collections.<Element>singletonList(createEntity("A"));
+
+        // When
+        cache.put("A", FINGERPRINT, elements, cache.getGeneration());
+
+        // Then
+        assertEquals(elements, cache.get("A", FINGERPRINT));
+        assertNull(cache.get("A", "otherFingerprint"));
+        assertNull(cache.get("B", FINGERPRINT));
+    }
+
+    @Test
+    public void shouldNotCacheElementsIfAVertexWasInvalidatedSinceTheQueryStarted() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final long generation = cache.getGeneration();
+        cache.invalidate("A");
+
+        // When
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(createEntity("A")), generation);
+
+        // Then
+        assertNull(cache.get("A", FINGERPRINT));
+    }
+
+    @Test
+    public void shouldCacheElementsIfOnlyOtherVerticesWereInvalidatedSinceTheQueryStarted() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final long generation = cache.getGeneration();
+        cache.invalidate("B");
+
+        // When
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(createEntity("A")), generation);
+
+        // Then
+        assertEquals(1, cache.get("A", FINGERPRINT).size());
+    }
+
+    @Test
+    public void shouldNotShareCachedElementsWithCallers() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final Entity entity = createEntity("A");
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(entity), cache.getGeneration());
+
+        // When
+        entity.putProperty(PROPERTY, 1);
+        cache.get("A", FINGERPRINT).get(0).putProperty(PROPERTY, 2);
+
+        // Then
+        final Element cached = cache.get("A", FINGERPRINT).get(0);
+        assertNotSame(entity, cached);
+        assertNull(cached.getProperty(PROPERTY));
+    }
+
+    @Test
+    public void shouldNotSharePropertyValuesWithCallers() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert("a", 1L);
+        final Entity entity = createEntity("A");
+        entity.putProperty(FREQ_MAP, freqMap);
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(entity), cache.getGeneration());
+
+        // When
+        freqMap.upsert("a", 10L);
+        ((FreqMap) cache.get("A", FINGERPRINT).get(0).getProperty(FREQ_MAP)).upsert("b", 2L);
+
+        // Then
+        final FreqMap cached = (FreqMap) cache.get("A", FINGERPRINT).get(0).getProperty(FREQ_MAP);
+        assertNotSame(freqMap, cached);
+        assertEquals(1, cached.size());
+        assertEquals((Long) 1L, cached.get("a"));
+    }
+
+    @Test
+    public void shouldNotCacheElementsWithPropertiesThatCannotBeCopied() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        final Entity entity = createEntity("A");
+        entity.putProperty("unknownProperty", new FreqMap());
+
+        // When
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(entity), cache.getGeneration());
+
+        // Then
+        assertNull(cache.get("A", FINGERPRINT));
+    }
+
+    @Test
+    public void shouldNotCacheMoreThanTheMaxElementsPerSeed() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 1, 60);
+
+        // When
+        cache.put("A", FINGERPRINT, Arrays.<Element>asList(createEntity("A"), createEdge("A", "B")), cache.getGeneration());
+
+        // Then
+        assertNull(cache.get("A", FINGERPRINT));
+    }
+
+    @Test
+    public void shouldInvalidateTheVerticesOfAddedElements() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        for (final String vertex : Arrays.asList("A", "B", "C")) {
+            cache.put(vertex, FINGERPRINT, Collections.<Element>singletonList(createEntity(vertex)), cache.getGeneration());
+        }
+
+        // When
+        final SeedCache.Invalidation invalidation = cache.startInvalidation();
+        invalidation.add(createEdge("A", "B"));
+        invalidation.finish();
+
+        // Then
+        assertNull(cache.get("A", FINGERPRINT));
+        assertNull(cache.get("B", FINGERPRINT));
+        assertEquals(1, cache.get("C", FINGERPRINT).size());
+    }
+
+    @Test
+    public void shouldInvalidateAllElements() {
+        // Given
+        final SeedCache cache = new SeedCache(SCHEMA, 100, 10, 60);
+        cache.put("A", FINGERPRINT, Collections.<Element>singletonList(createEntity("A")), cache.getGeneration());
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.size());
+        assertNull(cache.get("A", FINGERPRINT));
+    }
+
+    private static Entity createEntity(final String vertex) {
+        return new Entity(TestGroups.ENTITY, vertex);
+    }
+
+    private static Edge createEdge(final String source, final String destination) {
+        return new Edge(TestGroups.EDGE, source, destination, true);
+    }
+}
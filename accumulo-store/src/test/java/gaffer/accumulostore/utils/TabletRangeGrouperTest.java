@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class TabletRangeGrouperTest {
+    private static final List<Text> SPLITS = Arrays.asList(new Text("c"), new Text("f"));
+
+    @Test
+    public void shouldGroupRangesByTablet() {
+        // Given
+        final List<Range> ranges = Arrays.asList(
+                Range.exact("g"), Range.exact("a"), Range.exact("d"), Range.exact("b"), Range.exact("h"));
+
+        // When
+        final List<Set<Range>> batches = TabletRangeGrouper.groupByTablet(ranges, SPLITS, 2);
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertTrue(batches.get(0).contains(Range.exact("a")));
+        assertTrue(batches.get(0).contains(Range.exact("b")));
+        assertEquals(Collections.singleton(Range.exact("d")), batches.get(1));
+        assertEquals(2, batches.get(2).size());
+        assertTrue(batches.get(2).contains(Range.exact("g")));
+        assertTrue(batches.get(2).contains(Range.exact("h")));
+    }
+
+    @Test
+    public void shouldCombineSmallTabletsIntoOneBatch() {
+        // Given
+        final List<Range> ranges = Arrays.asList(Range.exact("a"), Range.exact("d"), Range.exact("g"));
+
+        // When
+        final List<Set<Range>> batches = TabletRangeGrouper.groupByTablet(ranges, SPLITS, 10);
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+    }
+
+    @Test
+    public void shouldSplitLargeTabletsIntoMultipleBatches() {
+        // Given
+        final List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ranges.add(Range.exact("a" + i));
+        }
+
+        // When
+        final List<Set<Range>> batches = TabletRangeGrouper.groupByTablet(ranges, SPLITS, 2);
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(2, batches.get(1).size());
+        assertEquals(1, batches.get(2).size());
+    }
+
+    @Test
+    public void shouldMergeOverlappingRanges() {
+        // Given
+        final List<Range> ranges = Arrays.asList(
+                new Range("a", "b"), new Range("a1", "b1"), Range.exact("a2"), Range.exact("d"));
+
+        // When
+        final List<Set<Range>> batches = TabletRangeGrouper.groupByTablet(ranges, SPLITS, 10);
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertTrue(batches.get(0).contains(new Range("a", "b1")));
+        assertTrue(batches.get(0).contains(Range.exact("d")));
+    }
+
+    @Test
+    public void shouldCountTabletsOverlappedByRanges() {
+        // Given
+        final List<Range> ranges = Arrays.asList(Range.exact("a"), Range.exact("c"), new Range("g", "z"));
+
+        // When
+        final int tablets = TabletRangeGrouper.countTablets(ranges, SPLITS);
+
+        // Then
+        assertEquals(2, tablets);
+        assertEquals(3, TabletRangeGrouper.countTablets(Collections.singletonList(new Range()), SPLITS));
+        assertEquals(2, TabletRangeGrouper.countTablets(Collections.singletonList(new Range("b", "d")), SPLITS));
+    }
+
+    @Test
+    public void shouldReturnNoBatchesForNoRanges() {
+        // When
+        final List<Set<Range>> batches = TabletRangeGrouper.groupByTablet(
+                Collections.<Range>emptyList(), SPLITS, 10);
+
+        // Then
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void shouldGetTabletContainingStartOfRange() {
+        assertEquals(0, TabletRangeGrouper.getTablet(Range.exact("a"), SPLITS));
+        assertEquals(0, TabletRangeGrouper.getTablet(Range.exact("c"), SPLITS));
+        assertEquals(1, TabletRangeGrouper.getTablet(Range.exact("d"), SPLITS));
+        assertEquals(2, TabletRangeGrouper.getTablet(Range.exact("z"), SPLITS));
+        assertEquals(0, TabletRangeGrouper.getTablet(new Range(), SPLITS));
+    }
+}
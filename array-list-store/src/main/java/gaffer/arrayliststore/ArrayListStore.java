@@ -22,6 +22,8 @@ import gaffer.arrayliststore.operation.handler.AddElementsHandler;
 import gaffer.arrayliststore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.arrayliststore.operation.handler.GetAllElementsHandler;
 import gaffer.arrayliststore.operation.handler.GetElementsHandler;
+import gaffer.arrayliststore.operation.handler.GetSampleOfElementsHandler;
+import gaffer.arrayliststore.operation.handler.GetTopKHandler;
 import gaffer.arrayliststore.operation.handler.InitialiseArrayListStoreExport;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Edge;
@@ -34,6 +36,8 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.operation.impl.get.GetTopK;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.StoreTrait;
@@ -89,11 +93,13 @@ public class ArrayListStore extends Store {
     }
 
     /**
-     * This store does not support any other optional operations.
+     * This store only supports the export, top k and sampling optional operations.
      */
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(InitialiseArrayListStoreExport.class, new InitialiseExportHandler());
+        addOperationHandler(GetTopK.class, new GetTopKHandler());
+        addOperationHandler(GetSampleOfElements.class, new GetSampleOfElementsHandler());
     }
 
     @Override
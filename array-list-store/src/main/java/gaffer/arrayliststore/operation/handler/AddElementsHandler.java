@@ -18,7 +18,10 @@ package gaffer.arrayliststore.operation.handler;
 
 import gaffer.arrayliststore.ArrayListStore;
 import gaffer.data.TransformIterable;
+import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.store.Context;
@@ -49,13 +52,23 @@ public class AddElementsHandler implements OperationHandler<AddElements, Void> {
 
         @Override
         protected Element transform(final Element element) {
-            final Element cleanElement = element.emptyClone();
             final SchemaElementDefinition elementDefinition = store.getSchema().getElement(element.getGroup());
+            final Element cleanElement = createElement(element, elementDefinition.createProperties());
             for (String property : elementDefinition.getProperties()) {
                 cleanElement.putProperty(property, element.getProperty(property));
             }
 
             return cleanElement;
         }
+
+        private Element createElement(final Element element, final Properties properties) {
+            if (element instanceof Entity) {
+                final Entity entity = (Entity) element;
+                return new Entity(entity.getGroup(), entity.getVertex(), properties);
+            }
+
+            final Edge edge = (Edge) element;
+            return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), properties);
+        }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.arrayliststore.operation.handler;
+
+import static gaffer.operation.GetOperation.IncludeEdgeType;
+
+import gaffer.arrayliststore.ArrayListStore;
+import gaffer.commonutil.ReservoirSampler;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetSampleOfElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GetSampleOfElementsHandler implements OperationHandler<GetSampleOfElements<Element>, CloseableIterable<Element>> {
+    private final Random random = new Random();
+
+    @Override
+    public CloseableIterable<Element> doOperation(final GetSampleOfElements<Element> operation,
+                                                  final Context context, final Store store) throws OperationException {
+        if ((null == operation.getProportionToSample()) == (null == operation.getSampleSize())) {
+            throw new OperationException("Exactly one of proportionToSample and sampleSize must be set");
+        }
+        if (null != operation.getProportionToSample()
+                && (operation.getProportionToSample() < 0 || operation.getProportionToSample() > 1)) {
+            throw new OperationException("proportionToSample must be between 0 and 1");
+        }
+        if (null != operation.getSampleSize() && operation.getSampleSize() < 1) {
+            throw new OperationException("sampleSize must be greater than 0");
+        }
+
+        return new WrappedCloseableIterable<>(doOperation(operation, (ArrayListStore) store));
+    }
+
+    private List<Element> doOperation(final GetSampleOfElements<Element> operation,
+                                      final ArrayListStore store) {
+        final List<Element> result = new ArrayList<>();
+        if (operation.isIncludeEntities()) {
+            for (final Entity entity : store.getEntities()) {
+                if (operation.validateFlags(entity) && operation.validate(entity)) {
+                    result.add(entity);
+                }
+            }
+        }
+        if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+            for (final Edge edge : store.getEdges()) {
+                if (operation.validateFlags(edge) && operation.validate(edge)) {
+                    result.add(edge);
+                }
+            }
+        }
+
+        if (null != operation.getSampleSize()) {
+            final ReservoirSampler<Element> sampler = new ReservoirSampler<>(operation.getSampleSize(), random);
+            sampler.offerAll(result);
+            return sampler.toList();
+        }
+
+        final List<Element> sample = new ArrayList<>();
+        for (final Element element : result) {
+            if (random.nextFloat() < operation.getProportionToSample()) {
+                sample.add(element);
+            }
+        }
+        return sample;
+    }
+}
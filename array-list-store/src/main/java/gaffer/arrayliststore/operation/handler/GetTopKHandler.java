@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.arrayliststore.operation.handler;
+
+import static gaffer.operation.GetOperation.IncludeEdgeType;
+
+import gaffer.arrayliststore.ArrayListStore;
+import gaffer.commonutil.TopKCollector;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementPropertyComparator;
+import gaffer.data.element.Entity;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetTopK;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+public class GetTopKHandler implements OperationHandler<GetTopK<Element>, CloseableIterable<Element>> {
+    @Override
+    public CloseableIterable<Element> doOperation(final GetTopK<Element> operation,
+                                                  final Context context, final Store store) throws OperationException {
+        if (null == operation.getProperty()) {
+            throw new OperationException("A property to rank elements by is required");
+        }
+        if (null == operation.getK() || operation.getK() < 1) {
+            throw new OperationException("k must be greater than 0");
+        }
+
+        return new WrappedCloseableIterable<>(doOperation(operation, (ArrayListStore) store).toList());
+    }
+
+    private TopKCollector<Element> doOperation(final GetTopK<Element> operation,
+                                               final ArrayListStore store) {
+        final TopKCollector<Element> collector = new TopKCollector<>(operation.getK(), new ElementPropertyComparator(operation.getProperty()));
+        if (operation.isIncludeEntities()) {
+            for (final Entity entity : store.getEntities()) {
+                if (operation.validateFlags(entity) && isRanked(entity, operation)) {
+                    collector.offer(entity);
+                }
+            }
+        }
+        if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+            for (final Edge edge : store.getEdges()) {
+                if (operation.validateFlags(edge) && isRanked(edge, operation)) {
+                    collector.offer(edge);
+                }
+            }
+        }
+
+        return collector;
+    }
+
+    private boolean isRanked(final Element element, final GetTopK<Element> operation) {
+        return null != element.getProperty(operation.getProperty()) && operation.validate(element);
+    }
+}
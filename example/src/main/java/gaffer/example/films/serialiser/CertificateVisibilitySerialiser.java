@@ -19,10 +19,10 @@ package gaffer.example.films.serialiser;
 import gaffer.commonutil.CommonConstants;
 import gaffer.example.films.data.Certificate;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import java.io.UnsupportedEncodingException;
 
-public class CertificateVisibilitySerialiser implements Serialisation {
+public class CertificateVisibilitySerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = -1726585921080420988L;
 
     @Override
@@ -18,10 +18,10 @@ package gaffer.example.gettingstarted.serialiser;
 
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import java.io.UnsupportedEncodingException;
 
-public class VisibilitySerialiser implements Serialisation {
+public class VisibilitySerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = -8830741085664334048L;
 
     public boolean canHandle(final Class clazz) {
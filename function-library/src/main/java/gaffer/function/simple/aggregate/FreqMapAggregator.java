@@ -19,7 +19,6 @@ import gaffer.function.SimpleAggregateFunction;
 import gaffer.function.annotation.Inputs;
 import gaffer.function.annotation.Outputs;
 import gaffer.types.simple.FreqMap;
-import java.util.Map.Entry;
 
 /**
  * An <code>FreqMapAggregator</code> is a {@link SimpleAggregateFunction} that takes in
@@ -36,13 +35,7 @@ public class FreqMapAggregator extends SimpleAggregateFunction<FreqMap> {
             if (null == frequencyMap) {
                 frequencyMap = new FreqMap(input);
             } else {
-                for (Entry<String, Long> entry : input.entrySet()) {
-                    if (frequencyMap.containsKey(entry.getKey())) {
-                        frequencyMap.put(entry.getKey(), frequencyMap.get(entry.getKey()) + entry.getValue());
-                    } else {
-                        frequencyMap.put(entry.getKey(), entry.getValue());
-                    }
-                }
+                frequencyMap.upsertAll(input);
             }
         }
     }
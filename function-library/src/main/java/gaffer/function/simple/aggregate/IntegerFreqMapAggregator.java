@@ -19,7 +19,6 @@ import gaffer.function.SimpleAggregateFunction;
 import gaffer.function.annotation.Inputs;
 import gaffer.function.annotation.Outputs;
 import gaffer.types.simple.IntegerFreqMap;
-import java.util.Map.Entry;
 
 /**
  * An <code>FreqMapAggregator</code> is a {@link SimpleAggregateFunction} that takes in
@@ -39,13 +38,7 @@ public class IntegerFreqMapAggregator extends SimpleAggregateFunction<IntegerFre
             if (null == frequencyMap) {
                 frequencyMap = new IntegerFreqMap(input);
             } else {
-                for (Entry<String, Integer> entry : input.entrySet()) {
-                    if (frequencyMap.containsKey(entry.getKey())) {
-                        frequencyMap.put(entry.getKey(), frequencyMap.get(entry.getKey()) + entry.getValue());
-                    } else {
-                        frequencyMap.put(entry.getKey(), entry.getValue());
-                    }
-                }
+                frequencyMap.upsertAll(input);
             }
         }
     }
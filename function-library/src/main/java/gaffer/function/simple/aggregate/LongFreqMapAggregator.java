@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.simple.aggregate;
+
+import gaffer.function.SimpleAggregateFunction;
+import gaffer.function.annotation.Inputs;
+import gaffer.function.annotation.Outputs;
+import gaffer.types.simple.LongFreqMap;
+
+/**
+ * A <code>LongFreqMapAggregator</code> is a {@link SimpleAggregateFunction} that takes in
+ * {@link gaffer.types.simple.LongFreqMap}s and merges the frequencies together in place.
+ */
+@Inputs(LongFreqMap.class)
+@Outputs(LongFreqMap.class)
+public class LongFreqMapAggregator extends SimpleAggregateFunction<LongFreqMap> {
+    private LongFreqMap frequencyMap;
+
+    @Override
+    protected void _aggregate(final LongFreqMap input) {
+        if (null != input) {
+            if (null == frequencyMap) {
+                frequencyMap = new LongFreqMap(input);
+            } else {
+                frequencyMap.upsertAll(input);
+            }
+        }
+    }
+
+    @Override
+    public void init() {
+        frequencyMap = null;
+    }
+
+    @Override
+    protected LongFreqMap _state() {
+        return frequencyMap;
+    }
+
+    @Override
+    public LongFreqMapAggregator statelessClone() {
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        aggregator.init();
+        return aggregator;
+    }
+}
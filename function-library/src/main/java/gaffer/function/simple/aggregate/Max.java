@@ -30,24 +30,23 @@ import gaffer.function.annotation.Outputs;
 @Outputs(Number.class)
 public class Max extends NumericAggregateFunction {
     @Override
-    protected void aggregateInt(final Integer input) {
-        if (input > (Integer) aggregate) {
-            aggregate = input;
-        }
+    protected int aggregateInt(final int aggregate, final int input) {
+        return input > aggregate ? input : aggregate;
     }
 
     @Override
-    protected void aggregateLong(final Long input) {
-        if (input > (Long) aggregate) {
-            aggregate = input;
-        }
+    protected long aggregateLong(final long aggregate, final long input) {
+        return input > aggregate ? input : aggregate;
     }
 
     @Override
-    protected void aggregateDouble(final Double input) {
-        if (input > (Double) aggregate) {
-            aggregate = input;
-        }
+    protected double aggregateDouble(final double aggregate, final double input) {
+        return input > aggregate ? input : aggregate;
+    }
+
+    @Override
+    protected float aggregateFloat(final float aggregate, final float input) {
+        return input > aggregate ? input : aggregate;
     }
 
     public Max statelessClone() {
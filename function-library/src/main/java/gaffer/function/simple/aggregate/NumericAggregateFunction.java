@@ -21,9 +21,15 @@ import gaffer.function.SimpleAggregateFunction;
 /**
  * An <code>NumericAggregateFunction</code> is a {@link SimpleAggregateFunction} that takes in
  * {@link java.lang.Number}s of the same type and processes the number in some way. To implement this class just
- * implement the init methods and aggregate methods for the different number types.
+ * implement the aggregate methods for the different number types, which combine the current aggregate with an input.
  * If you know the type of number that will be used then this can be set by calling setMode(NumberType),
  * otherwise it will be automatically set for you using the class of the first number passed in.
+ * <p>
+ * The aggregate is held as a primitive, so aggregating an input does not allocate. It is only boxed when the state is
+ * requested.
+ * <p>
+ * Subclasses written against the boxed aggregate methods and the {@link #aggregate} field still work, through the
+ * deprecated adapters below, but they box the aggregate for every input.
  *
  * @see gaffer.function.simple.aggregate.NumericAggregateFunction
  */
@@ -31,8 +37,19 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
 
     private NumberType mode = NumberType.AUTO;
 
+    /**
+     * The boxed aggregate. It is only kept up to date while one of the deprecated boxed aggregate methods is being
+     * called and when the state is requested.
+     *
+     * @deprecated override the primitive aggregate methods instead, which are passed the current aggregate.
+     */
+    @Deprecated
     protected Number aggregate = null;
 
+    private boolean hasAggregate;
+    private long longAggregate;
+    private double doubleAggregate;
+
     /**
      * Sets the number type mode. If this is not set, then this will be set automatically based on the class of the
      * first number that is passed to the aggregator.
@@ -53,6 +70,9 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
     @Override
     public void init() {
         aggregate = null;
+        hasAggregate = false;
+        longAggregate = 0;
+        doubleAggregate = 0;
     }
 
     @Override
@@ -69,50 +89,148 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
                     setMode(NumberType.LONG);
                 } else if (input instanceof Double) {
                     setMode(NumberType.DOUBLE);
+                } else if (input instanceof Float) {
+                    setMode(NumberType.FLOAT);
                 } else {
                     break;
                 }
                 _aggregate(input);
                 break;
             case INT:
-                if (null == aggregate) {
-                    aggregate = (Integer) input;
-                } else {
-                    aggregateInt((Integer) input);
-                }
+                final int intInput = (Integer) input;
+                longAggregate = hasAggregate ? aggregateInt((int) longAggregate, intInput) : intInput;
+                hasAggregate = true;
                 break;
             case LONG:
-                if (null == aggregate) {
-                    aggregate = (Long) input;
-                } else {
-                    aggregateLong((Long) input);
-                }
+                final long longInput = (Long) input;
+                longAggregate = hasAggregate ? aggregateLong(longAggregate, longInput) : longInput;
+                hasAggregate = true;
                 break;
             case DOUBLE:
-                if (null == aggregate) {
-                    aggregate = (Double) input;
-                } else {
-                    aggregateDouble((Double) input);
-                }
+                final double doubleInput = (Double) input;
+                doubleAggregate = hasAggregate ? aggregateDouble(doubleAggregate, doubleInput) : doubleInput;
+                hasAggregate = true;
+                break;
+            case FLOAT:
+                final float floatInput = (Float) input;
+                doubleAggregate = hasAggregate ? aggregateFloat((float) doubleAggregate, floatInput) : floatInput;
+                hasAggregate = true;
                 break;
             default:
                 break;
         }
     }
 
-    protected abstract void aggregateInt(final Integer input);
+    /**
+     * By default this adapts to the deprecated {@link #aggregateInt(Integer)} method, so it should be overridden.
+     *
+     * @param aggregate the current aggregate
+     * @param input     the input to aggregate
+     * @return the new aggregate
+     */
+    protected int aggregateInt(final int aggregate, final int input) {
+        this.aggregate = aggregate;
+        aggregateInt(Integer.valueOf(input));
+        return this.aggregate.intValue();
+    }
 
-    protected abstract void aggregateLong(final Long input);
+    /**
+     * By default this adapts to the deprecated {@link #aggregateLong(Long)} method, so it should be overridden.
+     *
+     * @param aggregate the current aggregate
+     * @param input     the input to aggregate
+     * @return the new aggregate
+     */
+    protected long aggregateLong(final long aggregate, final long input) {
+        this.aggregate = aggregate;
+        aggregateLong(Long.valueOf(input));
+        return this.aggregate.longValue();
+    }
 
-    protected abstract void aggregateDouble(final Double input);
+    /**
+     * By default this adapts to the deprecated {@link #aggregateDouble(Double)} method, so it should be overridden.
+     *
+     * @param aggregate the current aggregate
+     * @param input     the input to aggregate
+     * @return the new aggregate
+     */
+    protected double aggregateDouble(final double aggregate, final double input) {
+        this.aggregate = aggregate;
+        aggregateDouble(Double.valueOf(input));
+        return this.aggregate.doubleValue();
+    }
+
+    /**
+     * By default this aggregates the float values as doubles, using {@link #aggregateDouble(double, double)}.
+     *
+     * @param aggregate the current aggregate
+     * @param input     the input to aggregate
+     * @return the new aggregate
+     */
+    protected float aggregateFloat(final float aggregate, final float input) {
+        return (float) aggregateDouble(aggregate, input);
+    }
+
+    /**
+     * Combines the input with the boxed {@link #aggregate}, replacing it.
+     *
+     * @param input the input to aggregate
+     * @deprecated override {@link #aggregateInt(int, int)} instead.
+     */
+    @Deprecated
+    protected void aggregateInt(final Integer input) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not aggregate integers");
+    }
+
+    /**
+     * Combines the input with the boxed {@link #aggregate}, replacing it.
+     *
+     * @param input the input to aggregate
+     * @deprecated override {@link #aggregateLong(long, long)} instead.
+     */
+    @Deprecated
+    protected void aggregateLong(final Long input) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not aggregate longs");
+    }
+
+    /**
+     * Combines the input with the boxed {@link #aggregate}, replacing it.
+     *
+     * @param input the input to aggregate
+     * @deprecated override {@link #aggregateDouble(double, double)} instead.
+     */
+    @Deprecated
+    protected void aggregateDouble(final Double input) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not aggregate doubles");
+    }
 
     @Override
     public Number _state() {
+        aggregate = boxAggregate();
         return aggregate;
     }
 
+    private Number boxAggregate() {
+        if (!hasAggregate) {
+            return null;
+        }
+
+        switch (mode) {
+            case INT:
+                return (int) longAggregate;
+            case LONG:
+                return longAggregate;
+            case DOUBLE:
+                return doubleAggregate;
+            case FLOAT:
+                return (float) doubleAggregate;
+            default:
+                return null;
+        }
+    }
+
     public enum NumberType {
-        AUTO, INT, LONG, DOUBLE
+        AUTO, INT, LONG, DOUBLE, FLOAT
     }
 
     public abstract AggregateFunction statelessClone();
@@ -30,18 +30,23 @@ import gaffer.function.annotation.Outputs;
 @Outputs(Number.class)
 public class Product extends NumericAggregateFunction {
     @Override
-    protected void aggregateInt(final Integer input) {
-        aggregate = (Integer) aggregate * input;
+    protected int aggregateInt(final int aggregate, final int input) {
+        return aggregate * input;
     }
 
     @Override
-    protected void aggregateLong(final Long input) {
-        aggregate = (Long) aggregate * input;
+    protected long aggregateLong(final long aggregate, final long input) {
+        return aggregate * input;
     }
 
     @Override
-    protected void aggregateDouble(final Double input) {
-        aggregate = (Double) aggregate * input;
+    protected double aggregateDouble(final double aggregate, final double input) {
+        return aggregate * input;
+    }
+
+    @Override
+    protected float aggregateFloat(final float aggregate, final float input) {
+        return aggregate * input;
     }
 
     public Product statelessClone() {
@@ -38,6 +38,34 @@ public class FreqMapAggregatorTest extends AggregateFunctionTest {
         assertEquals((Long) 5L, mergedFreqMap.get("3"));
     }
 
+    @Test
+    public void shouldMergeLargeFreqMaps() {
+        // Given
+        final FreqMapAggregator aggregator = new FreqMapAggregator();
+        aggregator.init();
+
+        final FreqMap freqMap1 = new FreqMap();
+        final FreqMap freqMap2 = new FreqMap();
+        for (int i = 0; i < 1000; i++) {
+            freqMap1.upsert("key" + i, i);
+            freqMap2.upsert("key" + (i + 500), 1L);
+        }
+        freqMap2.remove("key600");
+
+        // When
+        aggregator._aggregate(freqMap1);
+        aggregator._aggregate(freqMap2);
+
+        // Then
+        final FreqMap mergedFreqMap = ((FreqMap) aggregator.state()[0]);
+        assertEquals(1500, mergedFreqMap.size());
+        assertEquals((Long) 1L, mergedFreqMap.get("key1"));
+        assertEquals((Long) 600L, mergedFreqMap.get("key600"));
+        assertEquals((Long) 700L, mergedFreqMap.get("key699"));
+        assertEquals((Long) 1L, mergedFreqMap.get("key1499"));
+        assertEquals(999, freqMap2.size());
+    }
+
     @Test
     public void shouldCloneAggregator() {
         // Given
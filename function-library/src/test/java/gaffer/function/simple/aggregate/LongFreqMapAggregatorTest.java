@@ -0,0 +1,137 @@
+package gaffer.function.simple.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import gaffer.commonutil.JsonUtil;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunctionTest;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.types.simple.LongFreqMap;
+import org.junit.Test;
+
+public class LongFreqMapAggregatorTest extends AggregateFunctionTest {
+    @Test
+    public void shouldMergeLongFreqMaps() {
+        // Given
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        aggregator.init();
+
+        final LongFreqMap freqMap1 = new LongFreqMap();
+        freqMap1.put("1", 2L);
+        freqMap1.put("2", 3L);
+
+        final LongFreqMap freqMap2 = new LongFreqMap();
+        freqMap2.put("2", 4L);
+        freqMap2.put("3", 5L);
+
+        // When
+        aggregator._aggregate(freqMap1);
+        aggregator._aggregate(freqMap2);
+
+        // Then
+        final LongFreqMap mergedLongFreqMap = ((LongFreqMap) aggregator.state()[0]);
+        assertEquals((Long) 2L, mergedLongFreqMap.get("1"));
+        assertEquals((Long) 7L, mergedLongFreqMap.get("2"));
+        assertEquals((Long) 5L, mergedLongFreqMap.get("3"));
+    }
+
+    @Test
+    public void shouldMergeLargeLongFreqMaps() {
+        // Given
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        aggregator.init();
+
+        final LongFreqMap freqMap1 = new LongFreqMap();
+        final LongFreqMap freqMap2 = new LongFreqMap();
+        for (int i = 0; i < 1000; i++) {
+            freqMap1.upsert("key" + i, i);
+            freqMap2.upsert("key" + (i + 500), 1L);
+        }
+        freqMap2.remove("key600");
+
+        // When
+        aggregator._aggregate(freqMap1);
+        aggregator._aggregate(freqMap2);
+
+        // Then
+        final LongFreqMap mergedLongFreqMap = ((LongFreqMap) aggregator.state()[0]);
+        assertEquals(1500, mergedLongFreqMap.size());
+        assertEquals((Long) 1L, mergedLongFreqMap.get("key1"));
+        assertEquals((Long) 600L, mergedLongFreqMap.get("key600"));
+        assertEquals((Long) 700L, mergedLongFreqMap.get("key699"));
+        assertEquals((Long) 1L, mergedLongFreqMap.get("key1499"));
+        assertEquals(999, freqMap2.size());
+    }
+
+    @Test
+    public void shouldMergeFreqMapsWithoutModifyingInputs() {
+        // Given
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        aggregator.init();
+
+        final LongFreqMap freqMap1 = new LongFreqMap();
+        freqMap1.upsert("1", 2L);
+        final LongFreqMap freqMap2 = new LongFreqMap();
+        freqMap2.upsert("1", 3L);
+
+        // When
+        aggregator._aggregate(freqMap1);
+        aggregator._aggregate(freqMap2);
+
+        // Then
+        assertEquals(5L, ((LongFreqMap) aggregator.state()[0]).getFrequency("1"));
+        assertEquals(2L, freqMap1.getFrequency("1"));
+        assertEquals(3L, freqMap2.getFrequency("1"));
+    }
+
+    @Test
+    public void shouldCloneAggregator() {
+        // Given
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        final LongFreqMap freqMap1 = new LongFreqMap();
+        freqMap1.put("1", 2L);
+        freqMap1.put("2", 3L);
+        aggregator._aggregate(freqMap1);
+
+        // When
+        final LongFreqMapAggregator clone = aggregator.statelessClone();
+
+        // Then
+        assertNotSame(aggregator, clone);
+        assertNull((clone.state()[0]));
+    }
+
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(aggregator, true));
+
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"gaffer.function.simple.aggregate.LongFreqMapAggregator\"%n" +
+                "}"), json);
+
+        // When 2
+        final LongFreqMapAggregator deserialisedAggregator = new JSONSerialiser().deserialise(json.getBytes(), getFunctionClass());
+
+        // Then 2
+        assertNotNull(deserialisedAggregator);
+    }
+
+    @Override
+    protected LongFreqMapAggregator getInstance() {
+        return new LongFreqMapAggregator();
+    }
+
+    @Override
+    protected Class<LongFreqMapAggregator> getFunctionClass() {
+        return LongFreqMapAggregator.class;
+    }
+}
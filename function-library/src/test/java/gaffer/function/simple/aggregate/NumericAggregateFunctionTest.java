@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.simple.aggregate;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.function.AggregateFunction;
+import org.junit.Test;
+
+public class NumericAggregateFunctionTest {
+
+    @Test
+    public void shouldAggregateUsingDeprecatedBoxedMethods() {
+        // Given
+        final LegacyMax max = new LegacyMax();
+        max.init();
+
+        // When
+        max._aggregate(2L);
+        max._aggregate(5L);
+        max._aggregate(3L);
+
+        // Then
+        assertEquals(5L, max.state()[0]);
+        assertEquals(5L, max.aggregate);
+    }
+
+    @Test
+    public void shouldAggregateFloatsAsDoublesUsingDeprecatedBoxedMethods() {
+        // Given
+        final LegacyMax max = new LegacyMax();
+        max.init();
+
+        // When
+        max._aggregate(2.5f);
+        max._aggregate(1.5f);
+
+        // Then
+        assertEquals(2.5f, max.state()[0]);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final class LegacyMax extends NumericAggregateFunction {
+        @Override
+        protected void aggregateInt(final Integer input) {
+            if (input > (Integer) aggregate) {
+                aggregate = input;
+            }
+        }
+
+        @Override
+        protected void aggregateLong(final Long input) {
+            if (input > (Long) aggregate) {
+                aggregate = input;
+            }
+        }
+
+        @Override
+        protected void aggregateDouble(final Double input) {
+            if (input > (Double) aggregate) {
+                aggregate = input;
+            }
+        }
+
+        @Override
+        public AggregateFunction statelessClone() {
+            return new LegacyMax();
+        }
+    }
+}
@@ -241,6 +241,55 @@ public class SumTest extends AggregateFunctionTest {
         assertEquals(2.1d, doubleSum.state()[0]);
     }
 
+    @Test
+    public void testAggregateInFloatMode() {
+        // Given
+        final Sum floatSum = new Sum();
+        floatSum.setMode(NumericAggregateFunction.NumberType.FLOAT);
+
+        floatSum.init();
+
+        // When 1
+        floatSum._aggregate(1.5f);
+
+        // Then 1
+        assertTrue(floatSum.state()[0] instanceof Float);
+        assertEquals(1.5f, floatSum.state()[0]);
+
+        // When 2
+        floatSum._aggregate(2.25f);
+
+        // Then 2
+        assertTrue(floatSum.state()[0] instanceof Float);
+        assertEquals(3.75f, floatSum.state()[0]);
+
+        // When 3
+        try {
+            floatSum._aggregate(1.5d);
+            fail();
+        } catch (ClassCastException cce) {
+        }
+
+        // Then 3
+        assertEquals(3.75f, floatSum.state()[0]);
+    }
+
+    @Test
+    public void testAggregateInAutoModeFloatInputFirst() {
+        // Given
+        final Sum sum = new Sum();
+
+        sum.init();
+
+        // When
+        sum._aggregate(1.5f);
+        sum._aggregate(0.5f);
+
+        // Then
+        assertEquals(NumericAggregateFunction.NumberType.FLOAT, sum.getMode());
+        assertEquals(2.0f, sum.state()[0]);
+    }
+
     @Test
     public void testAggregateInAutoModeIntInputFirst() {
         // Given
@@ -480,6 +529,27 @@ public class SumTest extends AggregateFunctionTest {
         assertEquals(firstValue, sum.state()[0]);
     }
 
+    @Test
+    public void shouldMergePartialStates() {
+        // Given
+        final Sum sum = new Sum();
+        sum.init();
+        sum._aggregate(1L);
+        sum._aggregate(2L);
+
+        final Sum other = sum.statelessClone();
+        other._aggregate(3L);
+
+        final Sum empty = sum.statelessClone();
+
+        // When
+        sum.merge(other);
+        sum.merge(empty);
+
+        // Then
+        assertEquals(6L, sum.state()[0]);
+    }
+
     @Test
     public void testCloneInAutoMode() {
         // Given
@@ -37,10 +37,16 @@ import gaffer.function.context.ConsumerFunctionContext;
 import gaffer.jsonserialisation.JSONSerialiser;
 import org.junit.Test;
 import org.mockito.Mockito;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.InputMismatchException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class AndTest extends FilterFunctionTest {
 
@@ -61,8 +67,8 @@ public class AndTest extends FilterFunctionTest {
         given(funcContext1.getFunction()).willReturn(func1);
         given(funcContext2.getFunction()).willReturn(func2);
 
-        given(funcContext1.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test1a, test1b});
-        given(funcContext2.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test2a});
+        given(funcContext1.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test1a, test1b});
+        given(funcContext2.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test2a});
 
 
         given(func1.isValid(new String[]{test, test1a, test1b})).willReturn(true);
@@ -121,9 +127,9 @@ public class AndTest extends FilterFunctionTest {
         given(funcContext2.getFunction()).willReturn(func2);
         given(funcContext3.getFunction()).willReturn(func3);
 
-        given(funcContext1.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test1a, test1b});
-        given(funcContext2.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test2a});
-        given(funcContext3.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test});
+        given(funcContext1.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test1a, test1b});
+        given(funcContext2.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test2a});
+        given(funcContext3.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test});
 
         given(func1.isValid(new String[]{test, test1a, test1b})).willReturn(true);
         given(func2.isValid(new String[]{test, test2a})).willReturn(false);
@@ -139,6 +145,42 @@ public class AndTest extends FilterFunctionTest {
         verify(func3, never()).isValid(new String[]{test, test2a});
     }
 
+    @Test
+    public void shouldFilterConcurrentlyWhenSharedBetweenThreads() throws Exception {
+        // Given
+        final And and = new And(Arrays.asList(
+                new ConsumerFunctionContext<Integer, FilterFunction>(new IsMoreThan(0), Collections.singletonList(0)),
+                new ConsumerFunctionContext<Integer, FilterFunction>(new IsLessThan(10), Collections.singletonList(1))));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 4; i++) {
+                final int offset = i;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int j = 0; j < 10000; j++) {
+                            final int value = (j + offset) % 20;
+                            if (and.isValid(new Object[]{value, value}) != (value > 0 && value < 10)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+
+            // Then
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldConstructInputTypesCorrectly() {
         // Given
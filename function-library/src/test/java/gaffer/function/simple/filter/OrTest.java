@@ -58,8 +58,8 @@ public class OrTest extends FilterFunctionTest {
         given(funcContext1.getFunction()).willReturn(func1);
         given(funcContext2.getFunction()).willReturn(func2);
 
-        given(funcContext1.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test1a, test1b});
-        given(funcContext2.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test2a});
+        given(funcContext1.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test1a, test1b});
+        given(funcContext2.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test2a});
 
         given(func1.isValid(new String[]{test, test1a, test1b})).willReturn(true);
         given(func2.isValid(new String[]{test, test2a})).willReturn(false);
@@ -119,9 +119,9 @@ public class OrTest extends FilterFunctionTest {
         given(funcContext2.getFunction()).willReturn(func2);
         given(funcContext3.getFunction()).willReturn(func3);
 
-        given(funcContext1.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test1a, test1b});
-        given(funcContext2.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test, test2a});
-        given(funcContext3.select(Mockito.any(ArrayTuple.class))).willReturn(new Object[]{test});
+        given(funcContext1.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test1a, test1b});
+        given(funcContext2.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test, test2a});
+        given(funcContext3.select(Mockito.any(ArrayTuple.class), Mockito.any(Object[].class))).willReturn(new Object[]{test});
 
         given(func1.isValid(new String[]{test, test1a, test1b})).willReturn(false);
         given(func2.isValid(new String[]{test, test2a})).willReturn(false);
@@ -67,10 +67,27 @@ public final class ByteArrayEscapeUtils {
      * @return the unescaped byte array
      */
     public static byte[] unEscape(final byte[] bytes) {
-        final byte[] temp = new byte[bytes.length];
+        return unEscape(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Unescapes a region of the provided byte array - this should only be
+     * called on regions that have been through the <code>escape</code> method.
+     *
+     * @param bytes
+     *            the byte array containing the region to unescape
+     * @param offset
+     *            the position of the start of the region
+     * @param length
+     *            the length of the region
+     * @return the unescaped byte array
+     */
+    public static byte[] unEscape(final byte[] bytes, final int offset, final int length) {
+        final byte[] temp = new byte[length];
         int currentPosition = 0;
         boolean isEscaped = false;
-        for (final byte b : bytes) {
+        for (int i = offset; i < offset + length; i++) {
+            final byte b = bytes[i];
             if (isEscaped) {
                 if (b == REPLACEMENT_CHAR) {
                     temp[currentPosition++] = ESCAPE_CHAR;
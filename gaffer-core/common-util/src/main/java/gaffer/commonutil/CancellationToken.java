@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>CancellationToken</code> is used to cancel the execution of an operation chain, either explicitly with
+ * {@link #cancel()} or automatically when its deadline passes.
+ * <p>
+ * Code executing the chain should call {@link #throwIfCancelled()} between units of work, and can register
+ * listeners with {@link #addListener(Runnable)} to release resources, such as scanners, as soon as the token is
+ * cancelled. When a deadline is set the token is cancelled by a shared daemon thread at the deadline, so listeners
+ * are run even if the thread executing the chain is blocked. Once the chain has completed, {@link #complete()} should
+ * be called to cancel the scheduled deadline and release the listeners.
+ * <p>
+ * This class is thread safe.
+ */
+public class CancellationToken {
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "gaffer-cancellation");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final List<Runnable> listeners = new ArrayList<>();
+    private volatile boolean cancelled;
+    private boolean completed;
+    private volatile long deadlineNanos;
+    private volatile boolean hasDeadline;
+    private ScheduledFuture<?> scheduledCancel;
+
+    /**
+     * Cancels this token and runs its listeners. Cancelling a token more than once has no effect.
+     */
+    public void cancel() {
+        final List<Runnable> listenersToRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (null != scheduledCancel) {
+                scheduledCancel.cancel(false);
+                scheduledCancel = null;
+            }
+            listenersToRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (final Runnable listener : listenersToRun) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Marks the operation chain as complete. The scheduled deadline is cancelled and the listeners are removed
+     * without being run, so they can be garbage collected. Listeners added after this are ignored and the deadline
+     * can no longer be changed. The token can still be cancelled explicitly.
+     */
+    public synchronized void complete() {
+        completed = true;
+        if (null != scheduledCancel) {
+            scheduledCancel.cancel(false);
+            scheduledCancel = null;
+        }
+        listeners.clear();
+    }
+
+    public synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Sets the deadline to the given timeout from now, unless the token already has an earlier deadline.
+     *
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     */
+    public synchronized void limitDeadline(final long timeout, final TimeUnit unit) {
+        if (cancelled || completed) {
+            return;
+        }
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long newDeadlineNanos = System.nanoTime() + timeoutNanos;
+        if (hasDeadline && deadlineNanos - newDeadlineNanos <= 0) {
+            return;
+        }
+        deadlineNanos = newDeadlineNanos;
+        hasDeadline = true;
+        if (null != scheduledCancel) {
+            scheduledCancel.cancel(false);
+        }
+        scheduledCancel = SCHEDULER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                cancel();
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return true if the token has been cancelled or its deadline has passed
+     */
+    public boolean isCancelled() {
+        return cancelled || isDeadlinePassed();
+    }
+
+    private boolean isDeadlinePassed() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @throws CancellationException if the token has been cancelled or its deadline has passed
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(isDeadlinePassed()
+                    ? "The operation chain exceeded its deadline" : "The operation chain was cancelled");
+        }
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * @return the milliseconds remaining until the deadline, 0 if it has passed or {@link Long#MAX_VALUE} if the
+     * token has no deadline
+     */
+    public long getRemainingMillis() {
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Adds a listener to run when the token is cancelled. If the token has already been cancelled the listener is
+     * run immediately. If the token has been completed the listener is ignored.
+     *
+     * @param listener the listener
+     */
+    public void addListener(final Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                if (!completed) {
+                    listeners.add(listener);
+                }
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Removes a listener, for example when the resource it releases has been closed.
+     *
+     * @param listener the listener
+     */
+    public synchronized void removeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A <code>ReservoirSampler</code> maintains a uniform random sample of at most sampleSize of the items
+ * it is offered, using reservoir sampling (Algorithm R). Memory use is proportional to the sample size
+ * rather than to the number of items offered.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of item to sample
+ */
+public class ReservoirSampler<T> {
+    private final int sampleSize;
+    private final Random random;
+    private final List<T> reservoir;
+    private long count;
+
+    public ReservoirSampler(final int sampleSize) {
+        this(sampleSize, new Random());
+    }
+
+    public ReservoirSampler(final int sampleSize, final Random random) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sample size must be greater than 0");
+        }
+
+        this.sampleSize = sampleSize;
+        this.random = random;
+        this.reservoir = new ArrayList<>(Math.min(sampleSize, 1024));
+    }
+
+    public void offer(final T item) {
+        count++;
+        if (reservoir.size() < sampleSize) {
+            reservoir.add(item);
+        } else {
+            final long index = (long) (random.nextDouble() * count);
+            if (index < sampleSize) {
+                reservoir.set((int) index, item);
+            }
+        }
+    }
+
+    public void offerAll(final Iterable<? extends T> items) {
+        if (null != items) {
+            for (final T item : items) {
+                offer(item);
+            }
+        }
+    }
+
+    /**
+     * @return the number of items that have been offered to this sampler.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * @return a new list containing the sampled items.
+     */
+    public List<T> toList() {
+        return new ArrayList<>(reservoir);
+    }
+
+    /**
+     * Combines uniform samples taken independently from disjoint sets of items into a uniform sample of at most
+     * sampleSize of all the items. The number of items taken from each sample is drawn in proportion to the number
+     * of items it was taken from, so samples from small sets are not over represented. Each sample must contain
+     * at least the smaller of sampleSize and its count items.
+     *
+     * @param samples    the samples
+     * @param counts     the number of items each sample was taken from
+     * @param sampleSize the maximum size of the combined sample
+     * @param random     the random number generator
+     * @param <T>        the type of item
+     * @return the combined sample
+     */
+    public static <T> List<T> merge(final List<List<T>> samples, final List<Long> counts, final int sampleSize,
+                                    final Random random) {
+        if (samples.size() != counts.size()) {
+            throw new IllegalArgumentException("There must be a count for each sample");
+        }
+
+        // Draw the number of items to take from each sample as if drawing items from all the sets without replacement
+        final long[] remaining = new long[counts.size()];
+        long total = 0;
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = counts.get(i);
+            total += remaining[i];
+        }
+        final int[] taken = new int[remaining.length];
+        for (int drawn = 0; drawn < sampleSize && total > 0; drawn++) {
+            long index = (long) (random.nextDouble() * total);
+            int sample = 0;
+            while (index >= remaining[sample]) {
+                index -= remaining[sample];
+                sample++;
+            }
+            remaining[sample]--;
+            total--;
+            taken[sample]++;
+        }
+
+        final List<T> merged = new ArrayList<>();
+        for (int i = 0; i < taken.length; i++) {
+            final List<T> sample = new ArrayList<>(samples.get(i));
+            Collections.shuffle(sample, random);
+            merged.addAll(sample.subList(0, Math.min(taken[i], sample.size())));
+        }
+        return merged;
+    }
+}
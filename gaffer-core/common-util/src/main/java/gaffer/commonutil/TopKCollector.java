@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A <code>TopKCollector</code> retains the k largest items it is offered, according to the provided
+ * {@link Comparator}, using a bounded min-heap. Memory use is therefore proportional to k rather than
+ * to the number of items offered.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of item to collect
+ */
+public class TopKCollector<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopKCollector(final int k, final Comparator<? super T> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        if (null == comparator) {
+            throw new IllegalArgumentException("A comparator is required");
+        }
+
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024), comparator);
+    }
+
+    /**
+     * @param item the item to offer
+     * @return true if the item was retained.
+     */
+    public boolean offer(final T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+            return true;
+        }
+
+        if (comparator.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+            return true;
+        }
+
+        return false;
+    }
+
+    public void offerAll(final Iterable<? extends T> items) {
+        if (null != items) {
+            for (final T item : items) {
+                offer(item);
+            }
+        }
+    }
+
+    /**
+     * @return true if k items have been collected, so any new item must beat the current minimum to be retained.
+     */
+    public boolean isFull() {
+        return heap.size() >= k;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return a new list containing the collected items in descending order.
+     */
+    public List<T> toList() {
+        final List<T> items = new ArrayList<>(heap);
+        Collections.sort(items, Collections.reverseOrder(comparator));
+        return items;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.exception;
+
+/**
+ * An <code>OverloadedException</code> is a {@link RuntimeException} that
+ * will be thrown when an action is rejected because the system does not have
+ * the capacity to execute it. The action can be retried later.
+ */
+public class OverloadedException extends RuntimeException {
+    public OverloadedException(final String message) {
+        super(message);
+    }
+
+    public OverloadedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
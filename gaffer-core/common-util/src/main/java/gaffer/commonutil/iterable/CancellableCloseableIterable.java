@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.iterable;
+
+import gaffer.commonutil.CancellationToken;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>CancellableCloseableIterable</code> stops iterating another {@link CloseableIterable} when a
+ * {@link CancellationToken} is cancelled.
+ * <p>
+ * Each iterator checks the token before returning each item and throws a
+ * {@link java.util.concurrent.CancellationException} once it has been cancelled. It also registers a listener on the
+ * token that closes the wrapped iterator, so resources such as scanner threads are released as soon as the token is
+ * cancelled, even if the consumer is not currently reading from the iterator.
+ * <p>
+ * If the iterable wraps the final result of an operation chain it can be created with <code>completeWhenRead</code>
+ * set, in which case the token is completed once an iterator has been read to the end or closed, or the iterable
+ * has been closed.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class CancellableCloseableIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final CancellationToken token;
+    private final boolean completeWhenRead;
+
+    public CancellableCloseableIterable(final CloseableIterable<T> iterable, final CancellationToken token) {
+        this(iterable, token, false);
+    }
+
+    public CancellableCloseableIterable(final CloseableIterable<T> iterable, final CancellationToken token, final boolean completeWhenRead) {
+        this.iterable = iterable;
+        this.token = token;
+        this.completeWhenRead = completeWhenRead;
+    }
+
+    @Override
+    public void close() {
+        try {
+            iterable.close();
+        } finally {
+            completeToken();
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        token.throwIfCancelled();
+        return new CancellableIterator(iterable.iterator());
+    }
+
+    public CloseableIterable<T> getIterable() {
+        return iterable;
+    }
+
+    public boolean isCompleteWhenRead() {
+        return completeWhenRead;
+    }
+
+    private void completeToken() {
+        if (completeWhenRead) {
+            token.complete();
+        }
+    }
+
+    private final class CancellableIterator implements CloseableIterator<T>, Runnable {
+        private final CloseableIterator<T> iterator;
+        private volatile boolean closed;
+
+        private CancellableIterator(final CloseableIterator<T> iterator) {
+            this.iterator = iterator;
+            token.addListener(this);
+        }
+
+        @Override
+        public boolean hasNext() {
+            token.throwIfCancelled();
+            final boolean hasNext = !closed && iterator.hasNext();
+            if (!hasNext) {
+                completeToken();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot call remove on a " + CancellableCloseableIterable.class.getSimpleName() + " iterator");
+        }
+
+        @Override
+        public void close() {
+            token.removeListener(this);
+            try {
+                closeIterator();
+            } finally {
+                completeToken();
+            }
+        }
+
+        // Called by the token when it is cancelled.
+        @Override
+        public void run() {
+            closeIterator();
+        }
+
+        private void closeIterator() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            iterator.close();
+        }
+    }
+}
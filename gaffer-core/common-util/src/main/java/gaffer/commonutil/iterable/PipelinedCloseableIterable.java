@@ -0,0 +1,257 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.iterable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>PipelinedCloseableIterable</code> reads another {@link CloseableIterable} on a separate thread, so the
+ * work done to produce the items overlaps with the work done to consume them.
+ * <p>
+ * Each iterator submits a producer task to the executor. The producer reads the wrapped iterable into batches
+ * and puts them on a bounded queue, blocking when the queue is full so it cannot run too far ahead of the
+ * consumer. Exceptions thrown by the wrapped iterable are rethrown from the iterator. Closing the iterator stops
+ * the producer, which then closes the wrapped iterator on its own thread.
+ * <p>
+ * Closing the iterable closes all its open iterators. The wrapped iterable is closed once none of the producers are
+ * reading it, by the last producer to stop, so it is never closed whilst another thread is using it.
+ * <p>
+ * Each open iterator occupies a thread until it is exhausted or closed, so the executor should not have a fixed
+ * number of threads and iterators should always be closed.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedCloseableIterable<T> implements CloseableIterable<T> {
+    private static final Object END = new Object();
+    private static final long PUBLISH_WAIT_MILLIS = 100;
+
+    private final CloseableIterable<T> iterable;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxQueuedBatches;
+    // Iterators whose producers are still running
+    private final Set<PipelinedIterator> liveIterators = new HashSet<>();
+    private boolean closed;
+    private boolean iterableClosed;
+
+    public PipelinedCloseableIterable(final CloseableIterable<T> iterable, final ExecutorService executor,
+                                      final int batchSize, final int maxQueuedBatches) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1 but was " + batchSize);
+        }
+        if (maxQueuedBatches < 1) {
+            throw new IllegalArgumentException("Max queued batches must be at least 1 but was " + maxQueuedBatches);
+        }
+        this.iterable = iterable;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxQueuedBatches = maxQueuedBatches;
+    }
+
+    @Override
+    public void close() {
+        final List<PipelinedIterator> openIterators;
+        synchronized (this) {
+            closed = true;
+            openIterators = new ArrayList<>(liveIterators);
+        }
+        // The producers close their own iterators as they stop
+        for (final PipelinedIterator itr : openIterators) {
+            itr.close();
+        }
+        closeIterableIfUnused();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final PipelinedIterator itr = new PipelinedIterator();
+        synchronized (this) {
+            liveIterators.add(itr);
+        }
+        try {
+            executor.execute(itr.producer);
+        } catch (final RuntimeException e) {
+            producerStopped(itr);
+            throw e;
+        }
+        return itr;
+    }
+
+    public CloseableIterable<T> getIterable() {
+        return iterable;
+    }
+
+    private void producerStopped(final PipelinedIterator itr) {
+        synchronized (this) {
+            liveIterators.remove(itr);
+        }
+        closeIterableIfUnused();
+    }
+
+    private void closeIterableIfUnused() {
+        synchronized (this) {
+            if (!closed || iterableClosed || !liveIterators.isEmpty()) {
+                return;
+            }
+            iterableClosed = true;
+        }
+        iterable.close();
+    }
+
+    private final class PipelinedIterator implements CloseableIterator<T> {
+        // Holds batches of items, then END or a Failure
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(maxQueuedBatches);
+        private final Producer producer = new Producer(this);
+        private volatile boolean closed;
+        private Iterator<T> batchItr = Collections.<T>emptyIterator();
+        private boolean finished;
+
+        @Override
+        public boolean hasNext() {
+            while (!batchItr.hasNext()) {
+                if (finished || closed) {
+                    return false;
+                }
+                final Object next = take();
+                if (END == next) {
+                    finished = true;
+                } else if (next instanceof Failure) {
+                    close();
+                    final Throwable cause = ((Failure) next).cause;
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new RuntimeException(cause);
+                } else {
+                    batchItr = ((List<T>) next).iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            return batchItr.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot call remove on a " + PipelinedCloseableIterable.class.getSimpleName() + " iterator");
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                batchItr = Collections.<T>emptyIterator();
+                // Release any queued batches, the producer will stop the next time it checks the closed flag
+                queue.clear();
+            }
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (final InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted whilst waiting for the next batch of items", e);
+            }
+        }
+    }
+
+    private final class Producer implements Runnable {
+        private final PipelinedIterator consumer;
+
+        private Producer(final PipelinedIterator consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            Iterator<T> itr = null;
+            try {
+                itr = iterable.iterator();
+                List<T> batch = new ArrayList<>(batchSize);
+                while (!consumer.closed && itr.hasNext()) {
+                    batch.add(itr.next());
+                    if (batch.size() == batchSize) {
+                        publish(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    publish(batch);
+                }
+                publish(END);
+            } catch (final InterruptedException e) {
+                publishFailure(new RuntimeException("Interrupted whilst producing items", e));
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException | Error e) {
+                publishFailure(e);
+            } finally {
+                try {
+                    if (itr instanceof CloseableIterator) {
+                        ((CloseableIterator) itr).close();
+                    }
+                } finally {
+                    producerStopped(consumer);
+                }
+            }
+        }
+
+        private void publishFailure(final Throwable cause) {
+            try {
+                publish(new Failure(cause));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Blocks until there is room on the queue, giving up if the consumer is closed.
+        private void publish(final Object item) throws InterruptedException {
+            while (!consumer.closed) {
+                if (consumer.queue.offer(item, PUBLISH_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CancellationTokenTest {
+    @Test
+    public void shouldRunListenersOnceWhenCancelled() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final AtomicInteger count = new AtomicInteger();
+        final Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        };
+        token.addListener(listener);
+
+        // When
+        token.cancel();
+        token.cancel();
+
+        // Then
+        assertTrue(token.isCancelled());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void shouldRunListenerImmediatelyIfAlreadyCancelled() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final AtomicInteger count = new AtomicInteger();
+        token.cancel();
+
+        // When
+        token.addListener(new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void shouldNotRunRemovedListener() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final AtomicInteger count = new AtomicInteger();
+        final Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        };
+        token.addListener(listener);
+        token.removeListener(listener);
+
+        // When
+        token.cancel();
+
+        // Then
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void shouldCancelAndRunListenersWhenDeadlinePasses() throws InterruptedException {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final CountDownLatch latch = new CountDownLatch(1);
+        token.addListener(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+
+        // When
+        token.limitDeadline(50, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertTrue(token.hasDeadline());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(token.isCancelled());
+        assertEquals(0, token.getRemainingMillis());
+        try {
+            token.throwIfCancelled();
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            assertTrue(e.getMessage().contains("deadline"));
+        }
+    }
+
+    @Test
+    public void shouldCancelScheduledDeadlineAndClearListenersWhenCompleted() throws InterruptedException {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final AtomicInteger count = new AtomicInteger();
+        token.addListener(new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        });
+        token.limitDeadline(50, TimeUnit.MILLISECONDS);
+
+        // When
+        token.complete();
+        Thread.sleep(200);
+
+        // Then
+        assertTrue(token.isCompleted());
+        assertEquals(0, count.get());
+        token.cancel();
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void shouldKeepEarliestDeadline() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+
+        // When
+        token.limitDeadline(1, TimeUnit.MINUTES);
+        token.limitDeadline(1, TimeUnit.HOURS);
+
+        // Then
+        assertFalse(token.isCancelled());
+        assertTrue(token.getRemainingMillis() <= TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    public void shouldHaveNoDeadlineByDefault() {
+        // When
+        final CancellationToken token = new CancellationToken();
+
+        // Then
+        assertFalse(token.hasDeadline());
+        assertFalse(token.isCancelled());
+        assertEquals(Long.MAX_VALUE, token.getRemainingMillis());
+        token.throwIfCancelled();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ReservoirSamplerTest {
+
+    @Test
+    public void shouldReturnAllItemsWhenFewerThanSampleSize() {
+        // Given
+        final ReservoirSampler<Integer> sampler = new ReservoirSampler<>(10);
+
+        // When
+        sampler.offerAll(Arrays.asList(1, 2, 3));
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), sampler.toList());
+        assertEquals(3, sampler.getCount());
+    }
+
+    @Test
+    public void shouldReturnSampleOfRequestedSizeFromOfferedItems() {
+        // Given
+        final ReservoirSampler<Integer> sampler = new ReservoirSampler<>(10, new Random(1L));
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(i);
+        }
+
+        // When
+        sampler.offerAll(items);
+
+        // Then
+        final List<Integer> sample = sampler.toList();
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+        assertTrue(items.containsAll(sample));
+        assertEquals(1000, sampler.getCount());
+    }
+
+    @Test
+    public void shouldSampleItemsFromAcrossTheInput() {
+        // Given
+        final Set<Integer> sampled = new HashSet<>();
+
+        // When
+        for (int run = 0; run < 50; run++) {
+            final ReservoirSampler<Integer> sampler = new ReservoirSampler<>(5, new Random(run));
+            for (int i = 0; i < 100; i++) {
+                sampler.offer(i);
+            }
+            sampled.addAll(sampler.toList());
+        }
+
+        // Then
+        boolean foundLateItem = false;
+        for (final Integer item : sampled) {
+            if (item >= 50) {
+                foundLateItem = true;
+            }
+        }
+        assertTrue(foundLateItem);
+    }
+
+    @Test
+    public void shouldWeightMergedSamplesByTheirCounts() {
+        // Given
+        final List<Integer> largeSample = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        final List<Integer> smallSample = Arrays.asList(100, 101);
+        int fromSmallSample = 0;
+
+        // When
+        for (int run = 0; run < 100; run++) {
+            final List<Integer> merged = ReservoirSampler.merge(Arrays.asList(largeSample, smallSample),
+                    Arrays.asList(1000L, 2L), 10, new Random(run));
+            assertEquals(10, merged.size());
+            assertEquals(10, new HashSet<>(merged).size());
+            for (final Integer item : merged) {
+                if (item >= 100) {
+                    fromSmallSample++;
+                }
+            }
+        }
+
+        // Then - about 2 in 1000 items should come from the small sample, rather than 1 in 2
+        assertTrue("Too many items from the small sample: " + fromSmallSample, fromSmallSample < 50);
+    }
+
+    @Test
+    public void shouldReturnAllItemsWhenMergedSamplesAreSmallerThanSampleSize() {
+        // When
+        final List<Integer> merged = ReservoirSampler.merge(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)),
+                Arrays.asList(2L, 1L), 10, new Random(1L));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), new HashSet<>(merged));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenSampleSizeIsLessThanOne() {
+        new ReservoirSampler<>(0);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Ordering;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TopKCollectorTest {
+
+    @Test
+    public void shouldRetainTheLargestItemsInDescendingOrder() {
+        // Given
+        final TopKCollector<Integer> collector = new TopKCollector<>(3, Ordering.<Integer>natural());
+
+        // When
+        collector.offerAll(Arrays.asList(5, 1, 9, 3, 7, 2, 8));
+
+        // Then
+        assertEquals(Arrays.asList(9, 8, 7), collector.toList());
+        assertTrue(collector.isFull());
+    }
+
+    @Test
+    public void shouldReturnAllItemsWhenFewerThanK() {
+        // Given
+        final TopKCollector<Integer> collector = new TopKCollector<>(10, Ordering.<Integer>natural());
+
+        // When
+        collector.offerAll(Arrays.asList(2, 3, 1));
+
+        // Then
+        assertEquals(Arrays.asList(3, 2, 1), collector.toList());
+        assertFalse(collector.isFull());
+    }
+
+    @Test
+    public void shouldNotRetainItemSmallerThanCurrentMinimumWhenFull() {
+        // Given
+        final TopKCollector<Integer> collector = new TopKCollector<>(2, Ordering.<Integer>natural());
+        collector.offerAll(Arrays.asList(5, 6));
+
+        // When
+        final boolean retained = collector.offer(4);
+
+        // Then
+        assertFalse(retained);
+        assertEquals(Arrays.asList(6, 5), collector.toList());
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenNoItemsOffered() {
+        // Given
+        final TopKCollector<Integer> collector = new TopKCollector<>(2, Ordering.<Integer>natural());
+
+        // When / Then
+        assertEquals(Collections.<Integer>emptyList(), collector.toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenKIsLessThanOne() {
+        new TopKCollector<>(0, Ordering.<Integer>natural());
+    }
+}
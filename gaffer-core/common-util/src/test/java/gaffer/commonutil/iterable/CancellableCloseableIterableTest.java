@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.CancellationToken;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CancellableCloseableIterableTest {
+    @Test
+    public void shouldReturnAllItemsWhenNotCancelled() {
+        // Given
+        final CancellableCloseableIterable<Integer> iterable = new CancellableCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)), new CancellationToken());
+
+        // When
+        int sum = 0;
+        for (final Integer item : iterable) {
+            sum += item;
+        }
+
+        // Then
+        assertEquals(6, sum);
+    }
+
+    @Test
+    public void shouldCloseWrappedIteratorAndThrowExceptionWhenCancelled() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final AtomicInteger closeCount = new AtomicInteger();
+        final CloseableIterable<Integer> wrapped = new WrappedCloseableIterable<Integer>(Arrays.asList(1, 2, 3)) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                return new WrappedCloseableIterator<Integer>(Arrays.asList(1, 2, 3).iterator()) {
+                    @Override
+                    public void close() {
+                        closeCount.incrementAndGet();
+                    }
+                };
+            }
+        };
+        final CloseableIterator<Integer> itr = new CancellableCloseableIterable<>(wrapped, token).iterator();
+        assertEquals((Integer) 1, itr.next());
+
+        // When
+        token.cancel();
+
+        // Then
+        assertEquals(1, closeCount.get());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            assertTrue(e.getMessage().contains("cancelled"));
+        }
+        itr.close();
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void shouldCompleteTokenWhenReadToEnd() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final CloseableIterator<Integer> itr = new CancellableCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList(1, 2)), token, true).iterator();
+
+        // When
+        itr.next();
+        itr.next();
+
+        // Then
+        assertFalse(token.isCompleted());
+        assertFalse(itr.hasNext());
+        assertTrue(token.isCompleted());
+    }
+
+    @Test
+    public void shouldCompleteTokenWhenClosed() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final CancellableCloseableIterable<Integer> iterable = new CancellableCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList(1, 2)), token, true);
+        iterable.iterator().next();
+
+        // When
+        iterable.close();
+
+        // Then
+        assertTrue(token.isCompleted());
+    }
+
+    @Test
+    public void shouldNotCompleteTokenByDefault() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        final CancellableCloseableIterable<Integer> iterable = new CancellableCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList(1, 2)), token);
+
+        // When
+        for (final Integer ignored : iterable) {
+            // read every item
+        }
+        iterable.close();
+
+        // Then
+        assertFalse(token.isCompleted());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfAlreadyCancelled() {
+        // Given
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        // When / Then
+        try {
+            new CancellableCloseableIterable<>(new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)), token).iterator();
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            assertTrue(e.getMessage().contains("cancelled"));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PipelinedCloseableIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAllItemsInOrder() {
+        // Given
+        final List<Integer> values = createValues(1003);
+
+        // When
+        final CloseableIterable<Integer> pipelined = new PipelinedCloseableIterable<>(
+                new WrappedCloseableIterable<>(values), executor, 10, 2);
+
+        // Then
+        assertEquals(values, Lists.newArrayList(pipelined));
+        assertEquals(values, Lists.newArrayList(pipelined));
+    }
+
+    @Test
+    public void shouldReturnNoItemsForEmptyIterable() {
+        // When
+        final CloseableIterator<Integer> itr = new PipelinedCloseableIterable<>(
+                new WrappedCloseableIterable<>(new ArrayList<Integer>()), executor, 10, 2).iterator();
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromProducer() {
+        // Given
+        final CloseableIterable<Integer> failing = new WrappedCloseableIterable<>(new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    private int count;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (count == 25) {
+                            throw new IllegalStateException("Producer failed");
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return count++;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        });
+        final CloseableIterator<Integer> itr = new PipelinedCloseableIterable<>(failing, executor, 10, 2).iterator();
+
+        // When
+        int count = 0;
+        try {
+            while (itr.hasNext()) {
+                itr.next();
+                count++;
+            }
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            // Then
+            assertEquals(20, count);
+            assertEquals("Producer failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopProducerAndCloseWrappedIteratorWhenClosed() throws InterruptedException {
+        // Given
+        final CountDownLatch closedLatch = new CountDownLatch(1);
+        final CloseableIterable<Integer> infinite = new WrappedCloseableIterable<Integer>(new ArrayList<Integer>()) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                return new CloseableIterator<Integer>() {
+                    private int count;
+
+                    @Override
+                    public void close() {
+                        closedLatch.countDown();
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return count++;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        final CloseableIterator<Integer> itr = new PipelinedCloseableIterable<>(infinite, executor, 10, 1).iterator();
+
+        // When
+        assertEquals((Integer) 0, itr.next());
+        itr.close();
+
+        // Then
+        assertTrue(closedLatch.await(5, TimeUnit.SECONDS));
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldCloseWrappedIterableAfterItsIteratorsWhenClosed() throws InterruptedException {
+        // Given
+        final CountDownLatch iteratorClosed = new CountDownLatch(1);
+        final CountDownLatch iterableClosed = new CountDownLatch(1);
+        final AtomicBoolean closedInOrder = new AtomicBoolean();
+        final CloseableIterable<Integer> infinite = new WrappedCloseableIterable<Integer>(new ArrayList<Integer>()) {
+            @Override
+            public void close() {
+                closedInOrder.set(0 == iteratorClosed.getCount());
+                iterableClosed.countDown();
+            }
+
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                return new CloseableIterator<Integer>() {
+                    private int count;
+
+                    @Override
+                    public void close() {
+                        iteratorClosed.countDown();
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return count++;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        final PipelinedCloseableIterable<Integer> pipelined = new PipelinedCloseableIterable<>(infinite, executor, 10, 1);
+        final CloseableIterator<Integer> itr = pipelined.iterator();
+
+        // When
+        assertEquals((Integer) 0, itr.next());
+        pipelined.close();
+
+        // Then
+        assertTrue(iterableClosed.await(5, TimeUnit.SECONDS));
+        assertTrue(closedInOrder.get());
+        assertFalse(itr.hasNext());
+    }
+
+    private static List<Integer> createValues(final int size) {
+        final List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+}
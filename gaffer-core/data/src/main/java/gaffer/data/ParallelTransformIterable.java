@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.data;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A <code>ParallelTransformIterable</code> transforms an {@link java.lang.Iterable} in batches using an
+ * {@link java.util.concurrent.ExecutorService}, so expensive transformations can use more than one thread.
+ * <p>
+ * The input is read on the consuming thread and split into batches, which are transformed concurrently. At most
+ * maxInFlightBatches batches are queued or being transformed at any time, so only a bounded amount of the input is
+ * held in memory. If preserveOrder is true the output is in the same order as the sequential transformation would
+ * be, otherwise batches are returned as soon as they are complete.
+ * <p>
+ * The transform method is called from multiple threads at once so it must be thread safe. Any exception thrown by
+ * the transform is rethrown from the iterator.
+ *
+ * @param <INPUT>  The input iterable type.
+ * @param <OUTPUT> the output iterable type.
+ */
+public abstract class ParallelTransformIterable<INPUT, OUTPUT> implements CloseableIterable<OUTPUT> {
+    private final Iterable<INPUT> input;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final boolean preserveOrder;
+
+    /**
+     * Constructs a <code>ParallelTransformIterable</code>.
+     *
+     * @param input              the input {@link java.lang.Iterable}
+     * @param executor           the {@link java.util.concurrent.ExecutorService} to transform the batches with
+     * @param batchSize          the number of input items in each batch
+     * @param maxInFlightBatches the maximum number of batches that can be queued or transformed at once
+     * @param preserveOrder      if true the output will be in the order of the input
+     */
+    public ParallelTransformIterable(final Iterable<INPUT> input, final ExecutorService executor,
+                                     final int batchSize, final int maxInFlightBatches, final boolean preserveOrder) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1 but was " + batchSize);
+        }
+        if (maxInFlightBatches < 1) {
+            throw new IllegalArgumentException("Max in flight batches must be at least 1 but was " + maxInFlightBatches);
+        }
+        this.input = input;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.preserveOrder = preserveOrder;
+    }
+
+    /**
+     * @return an {@link java.util.Iterator} that transforms the INPUT items to OUTPUT items in parallel batches
+     */
+    public CloseableIterator<OUTPUT> iterator() {
+        return new ParallelTransformIterator();
+    }
+
+    /**
+     * Should be overridden and to close any resources used in the creation of the transform iterable.
+     * This can include the input.
+     */
+    public void close() {
+
+    }
+
+    /**
+     * Transforms a batch of INPUT items into OUTPUT items. This is called concurrently from the executor threads.
+     *
+     * @param batch the batch of INPUT items to be transformed
+     * @return the transformed OUTPUT items
+     */
+    protected abstract Iterable<OUTPUT> transform(final List<INPUT> batch);
+
+    protected Iterable<INPUT> getInput() {
+        return input;
+    }
+
+    private final class ParallelTransformIterator implements CloseableIterator<OUTPUT> {
+        private final Iterator<INPUT> inputItr = input.iterator();
+        // Only used when the order does not need to be preserved, otherwise completed batches would build up in its queue
+        private final CompletionService<List<OUTPUT>> completionService = preserveOrder ? null : new ExecutorCompletionService<List<OUTPUT>>(executor);
+        private final Deque<Future<List<OUTPUT>>> inFlight = new ArrayDeque<>(maxInFlightBatches);
+        private Iterator<OUTPUT> batchItr = Collections.<OUTPUT>emptyIterator();
+        private boolean closed;
+
+        @Override
+        public boolean hasNext() {
+            while (!batchItr.hasNext()) {
+                if (closed) {
+                    return false;
+                }
+                submitBatches();
+                if (inFlight.isEmpty()) {
+                    close();
+                    return false;
+                }
+                batchItr = takeBatch().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public OUTPUT next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            return batchItr.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot call remove on a " + ParallelTransformIterable.this.getClass().getSimpleName() + " iterator");
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                batchItr = Collections.<OUTPUT>emptyIterator();
+                for (final Future<List<OUTPUT>> future : inFlight) {
+                    future.cancel(true);
+                }
+                inFlight.clear();
+                if (inputItr instanceof CloseableIterator) {
+                    ((CloseableIterator) inputItr).close();
+                }
+            }
+        }
+
+        private void submitBatches() {
+            while (inFlight.size() < maxInFlightBatches && inputItr.hasNext()) {
+                final List<INPUT> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && inputItr.hasNext()) {
+                    batch.add(inputItr.next());
+                }
+                final TransformBatch task = new TransformBatch(batch);
+                inFlight.add(preserveOrder ? executor.submit(task) : completionService.submit(task));
+            }
+        }
+
+        private List<OUTPUT> takeBatch() {
+            try {
+                final Future<List<OUTPUT>> future;
+                if (preserveOrder) {
+                    future = inFlight.remove();
+                } else {
+                    future = completionService.take();
+                    inFlight.remove(future);
+                }
+                return future.get();
+            } catch (final InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted whilst waiting for a batch to be transformed", e);
+            } catch (final ExecutionException e) {
+                close();
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Failed to transform a batch", cause);
+            }
+        }
+    }
+
+    private final class TransformBatch implements Callable<List<OUTPUT>> {
+        private final List<INPUT> batch;
+
+        private TransformBatch(final List<INPUT> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public List<OUTPUT> call() {
+            final List<OUTPUT> output = new ArrayList<>(batch.size());
+            for (final OUTPUT item : transform(batch)) {
+                output.add(item);
+            }
+            return output;
+        }
+    }
+}
@@ -49,7 +49,22 @@ public class Edge extends Element {
     }
 
     public Edge(final String group, final Object source, final Object destination, final boolean directed) {
-        super(group);
+        this(group, source, destination, directed, null);
+    }
+
+    /**
+     * Constructs an edge that uses the provided {@link Properties}, e.g. {@link Properties} indexed by the group's
+     * {@link PropertyIndex}.
+     *
+     * @param group       the edge group
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param directed    true if the edge is directed
+     * @param properties  the properties to use, if null then new empty properties are created
+     */
+    public Edge(final String group, final Object source, final Object destination, final boolean directed,
+                final Properties properties) {
+        super(group, properties);
         this.source = source;
         this.destination = destination;
         this.directed = directed;
@@ -160,7 +175,8 @@ public class Edge extends Element {
                 this.getGroup(),
                 this.getSource(),
                 this.getDestination(),
-                this.isDirected()
+                this.isDirected(),
+                new Properties(getProperties().getIndex())
         );
     }
 
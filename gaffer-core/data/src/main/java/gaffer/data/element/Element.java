@@ -54,8 +54,12 @@ public abstract class Element implements Serializable {
     }
 
     Element(final String group) {
+        this(group, null);
+    }
+
+    Element(final String group, final Properties properties) {
         this.group = group;
-        properties = new Properties();
+        this.properties = null != properties ? properties : new Properties();
     }
 
     public void putProperty(final String name, final Object value) {
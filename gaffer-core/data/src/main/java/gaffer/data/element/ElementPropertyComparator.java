@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data.element;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * An <code>ElementPropertyComparator</code> compares {@link Element}s using the natural ordering of
+ * a single property. The property values must be {@link Comparable} with each other.
+ * Elements without the property, or with a null value, are ordered before all other elements.
+ */
+public class ElementPropertyComparator implements Comparator<Element>, Serializable {
+    private static final long serialVersionUID = 4506632406532781385L;
+    private final String propertyName;
+
+    public ElementPropertyComparator(final String propertyName) {
+        if (null == propertyName) {
+            throw new IllegalArgumentException("Property name is required");
+        }
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public int compare(final Element element1, final Element element2) {
+        return compareValues(element1.getProperty(propertyName), element2.getProperty(propertyName));
+    }
+
+    /**
+     * Compares two property values using their natural ordering, with nulls first.
+     *
+     * @param value1 the first property value
+     * @param value2 the second property value
+     * @return the result of comparing the values
+     * @throws IllegalArgumentException if the values are not comparable
+     */
+    @SuppressWarnings("unchecked")
+    public static int compareValues(final Object value1, final Object value2) {
+        if (null == value1) {
+            return null == value2 ? 0 : -1;
+        }
+        if (null == value2) {
+            return 1;
+        }
+        if (!(value1 instanceof Comparable)) {
+            throw new IllegalArgumentException("Property value of type " + value1.getClass().getName() + " is not comparable");
+        }
+        return ((Comparable<Object>) value1).compareTo(value2);
+    }
+}
@@ -47,7 +47,19 @@ public class Entity extends Element {
     }
 
     public Entity(final String group, final Object vertex) {
-        super(group);
+        this(group, vertex, null);
+    }
+
+    /**
+     * Constructs an entity that uses the provided {@link Properties}, e.g. {@link Properties} indexed by the group's
+     * {@link PropertyIndex}.
+     *
+     * @param group      the entity group
+     * @param vertex     the vertex
+     * @param properties the properties to use, if null then new empty properties are created
+     */
+    public Entity(final String group, final Object vertex, final Properties properties) {
+        super(group, properties);
         this.vertex = vertex;
     }
 
@@ -107,7 +119,7 @@ public class Entity extends Element {
 
     @Override
     public Entity emptyClone() {
-        return new Entity(this.getGroup(), this.getVertex());
+        return new Entity(this.getGroup(), this.getVertex(), new Properties(getProperties().getIndex()));
     }
 
     @Override
@@ -16,23 +16,55 @@
 
 package gaffer.data.element;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
- * <code>Properties</code> simply extends {@link java.util.HashMap} with property names (String) as keys and property value (Object) as values.
+ * <code>Properties</code> is a {@link java.util.Map} with property names (String) as keys and property value (Object) as values.
+ * <p>
+ * If <code>Properties</code> are constructed with a {@link PropertyIndex}, e.g. the property names of a group in a
+ * schema, then the values of the indexed properties are held in an array rather than in map entries, which greatly
+ * reduces the memory used per element. Any properties not in the index are held in a {@link java.util.HashMap}.
+ * <code>Properties</code> extends {@link AbstractMap} rather than {@link HashMap}, so all the {@link java.util.Map}
+ * methods, including those added in later Java versions, are implemented in terms of the methods here and account
+ * for both.
  */
-public class Properties extends HashMap<String, Object> {
-    private static final long serialVersionUID = -5412533432398907359L;
+@SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "The fields are copied by the clone method")
+public class Properties extends AbstractMap<String, Object> implements Cloneable, Serializable {
+    private static final long serialVersionUID = 2947640683282454823L;
+
+    /**
+     * Marker held in the values array for properties that are set to null, to distinguish them from absent properties.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private final PropertyIndex index;
+    // Holds the properties that are not in the index
+    private final HashMap<String, Object> nonIndexed;
+    private transient Object[] values;
+    private transient int indexedSize;
 
     public Properties() {
-        super();
+        index = null;
+        nonIndexed = new HashMap<>();
     }
 
     public Properties(final Map<String, Object> properties) {
-        super(properties);
+        index = null;
+        nonIndexed = new HashMap<>(properties);
     }
 
     public Properties(final String name, final Object property) {
@@ -40,9 +72,137 @@ public class Properties extends HashMap<String, Object> {
         put(name, property);
     }
 
+    /**
+     * Constructs an empty <code>Properties</code> that holds the values of the properties in the provided index in an
+     * array.
+     *
+     * @param index the index of property names, usually shared by all properties of the same group.
+     */
+    public Properties(final PropertyIndex index) {
+        this.index = index;
+        this.nonIndexed = new HashMap<>(0);
+        if (null != index) {
+            values = new Object[index.size()];
+        }
+    }
+
+    /**
+     * @return the {@link PropertyIndex} used by these properties or null if the properties are not indexed.
+     */
+    public PropertyIndex getIndex() {
+        return index;
+    }
+
     @Override
     public Properties clone() {
-        return new Properties((Map<String, Object>) super.clone());
+        if (null == index) {
+            return new Properties(nonIndexed);
+        }
+
+        final Properties clone = new Properties(index);
+        System.arraycopy(values, 0, clone.values, 0, values.length);
+        clone.indexedSize = indexedSize;
+        clone.nonIndexed.putAll(nonIndexed);
+        return clone;
+    }
+
+    @Override
+    public int size() {
+        return nonIndexed.size() + indexedSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    @Override
+    public Object get(final Object name) {
+        final int ordinal = getOrdinal(name);
+        return ordinal < 0 ? nonIndexed.get(name) : unmask(values[ordinal]);
+    }
+
+    @Override
+    public boolean containsKey(final Object name) {
+        final int ordinal = getOrdinal(name);
+        return ordinal < 0 ? nonIndexed.containsKey(name) : null != values[ordinal];
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        if (null != index) {
+            for (final Object indexedValue : values) {
+                if (null != indexedValue && equal(value, unmask(indexedValue))) {
+                    return true;
+                }
+            }
+        }
+        return nonIndexed.containsValue(value);
+    }
+
+    @Override
+    public Object put(final String name, final Object value) {
+        final int ordinal = getOrdinal(name);
+        if (ordinal < 0) {
+            return nonIndexed.put(name, value);
+        }
+
+        final Object previous = values[ordinal];
+        values[ordinal] = null == value ? NULL_VALUE : value;
+        if (null == previous) {
+            indexedSize++;
+        }
+        return unmask(previous);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ?> properties) {
+        if (null == index) {
+            nonIndexed.putAll(properties);
+        } else {
+            for (final Map.Entry<? extends String, ?> entry : properties.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        final int ordinal = getOrdinal(name);
+        if (ordinal < 0) {
+            return nonIndexed.remove(name);
+        }
+
+        final Object previous = values[ordinal];
+        if (null != previous) {
+            values[ordinal] = null;
+            indexedSize--;
+        }
+        return unmask(previous);
+    }
+
+    @Override
+    public void clear() {
+        nonIndexed.clear();
+        if (null != index) {
+            Arrays.fill(values, null);
+            indexedSize = 0;
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return null == index ? nonIndexed.keySet() : new KeySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return null == index ? nonIndexed.values() : new Values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return null == index ? nonIndexed.entrySet() : new EntrySet();
     }
 
     /**
@@ -89,4 +249,240 @@ public class Properties extends HashMap<String, Object> {
         }
         return sb.append('}').toString();
     }
+
+    private int getOrdinal(final Object name) {
+        return null == index ? -1 : index.getOrdinal(name);
+    }
+
+    private static Object unmask(final Object value) {
+        return NULL_VALUE == value ? null : value;
+    }
+
+    private static boolean equal(final Object value1, final Object value2) {
+        return null == value1 ? null == value2 : value1.equals(value2);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        if (null != index) {
+            for (final Object value : values) {
+                out.writeBoolean(null != value);
+                if (null != value) {
+                    out.writeObject(unmask(value));
+                }
+            }
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (null != index) {
+            values = new Object[index.size()];
+            for (int i = 0; i < values.length; i++) {
+                if (in.readBoolean()) {
+                    final Object value = in.readObject();
+                    values[i] = null == value ? NULL_VALUE : value;
+                    indexedSize++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates over the indexed properties, in index order, followed by any properties held in the underlying map.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final Iterator<Map.Entry<String, Object>> nonIndexedIterator = nonIndexed.entrySet().iterator();
+        private int nextOrdinal = -1;
+        private int currentOrdinal = -1;
+        private boolean inNonIndexed;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextOrdinal < values.length || nonIndexedIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (nextOrdinal < values.length) {
+                currentOrdinal = nextOrdinal;
+                advance();
+                return new IndexedEntry(currentOrdinal);
+            }
+            if (!nonIndexedIterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            inNonIndexed = true;
+            currentOrdinal = -1;
+            return nonIndexedIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inNonIndexed) {
+                nonIndexedIterator.remove();
+            } else if (currentOrdinal >= 0 && null != values[currentOrdinal]) {
+                values[currentOrdinal] = null;
+                indexedSize--;
+                currentOrdinal = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private void advance() {
+            do {
+                nextOrdinal++;
+            } while (nextOrdinal < values.length && null == values[nextOrdinal]);
+        }
+    }
+
+    private final class IndexedEntry implements Map.Entry<String, Object> {
+        private final int ordinal;
+
+        private IndexedEntry(final int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getKey() {
+            return index.getName(ordinal);
+        }
+
+        @Override
+        public Object getValue() {
+            return unmask(values[ordinal]);
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            return put(getKey(), value);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            return equal(getKey(), entry.getKey()) && equal(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            final Object value = getValue();
+            return getKey().hashCode() ^ (null == value ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<Map.Entry<String, Object>> entries = new EntryIterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object name) {
+            return containsKey(name);
+        }
+
+        @Override
+        public boolean remove(final Object name) {
+            if (containsKey(name)) {
+                Properties.this.remove(name);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<Object> {
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<Map.Entry<String, Object>> entries = new EntryIterator();
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return entries.next().getValue();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Properties.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object value) {
+            return containsValue(value);
+        }
+
+        @Override
+        public void clear() {
+            Properties.this.clear();
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data.element;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A <code>PropertyIndex</code> assigns a fixed ordinal to each of a known set of property names, e.g. the properties
+ * of a group in a schema. It is shared between all {@link Properties} created for that group so that property values
+ * can be held in an array rather than as map entries.
+ */
+public class PropertyIndex implements Serializable {
+    private static final long serialVersionUID = 3262540343429185424L;
+    private final String[] names;
+    private final Map<String, Integer> ordinals;
+
+    public PropertyIndex(final Collection<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+        this.ordinals = new HashMap<>(this.names.length * 2);
+        for (int i = 0; i < this.names.length; i++) {
+            ordinals.put(this.names[i], i);
+        }
+    }
+
+    /**
+     * @param name the property name
+     * @return the ordinal of the property or -1 if the property is not in this index
+     */
+    public int getOrdinal(final Object name) {
+        final Integer ordinal = ordinals.get(name);
+        return null != ordinal ? ordinal : -1;
+    }
+
+    public String getName(final int ordinal) {
+        return names[ordinal];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param propertyNames the property names
+     * @return true if this index contains exactly the property names, in the same order
+     */
+    public boolean hasNames(final Collection<String> propertyNames) {
+        if (propertyNames.size() != names.length) {
+            return false;
+        }
+        int i = 0;
+        for (final String name : propertyNames) {
+            if (!names[i++].equals(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj
+                || null != obj && getClass() == obj.getClass() && Arrays.equals(names, ((PropertyIndex) obj).names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyIndex" + Arrays.toString(names);
+    }
+}
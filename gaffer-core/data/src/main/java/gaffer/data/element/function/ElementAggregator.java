@@ -23,6 +23,9 @@ import gaffer.data.element.Properties;
 import gaffer.data.element.PropertiesTuple;
 import gaffer.function.AggregateFunction;
 import gaffer.function.processor.Aggregator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Element Aggregator - for aggregating {@link gaffer.data.element.Element}s.
@@ -39,11 +42,18 @@ import gaffer.function.processor.Aggregator;
  * <li>for each element in the group call aggregate(element)</li>
  * <li>create a new element then call state(newElement) to populate the new element with the aggregated properties</li>
  * </ul>
+ * Alternatively, a large group of elements can be aggregated in parallel by calling aggregate(elements, pool) in
+ * place of aggregating each element.
  *
  * @see gaffer.data.element.function.ElementAggregator.Builder
  * @see gaffer.function.processor.Aggregator
  */
 public class ElementAggregator extends Aggregator<ElementComponentKey> {
+    /**
+     * The maximum number of elements aggregated sequentially by each task when aggregating in parallel.
+     */
+    public static final int PARALLEL_PARTITION_SIZE = 1000;
+
     private final PropertiesTuple propertiesTuple = new PropertiesTuple();
 
     /**
@@ -61,6 +71,21 @@ public class ElementAggregator extends Aggregator<ElementComponentKey> {
         super.aggregate(propertiesTuple);
     }
 
+    /**
+     * Aggregates the properties of all the elements in parallel and merges the result into this aggregator. The
+     * elements are recursively split into partitions, each partition is aggregated by a clone of this aggregator in the
+     * given {@link ForkJoinPool} and then the partial states are merged, preserving the order of the elements.
+     * Aggregation requires elements to have the same identifiers and group.
+     *
+     * @param elements the elements to be aggregated.
+     * @param pool     the pool to aggregate the partitions in.
+     */
+    public void aggregate(final List<? extends Element> elements, final ForkJoinPool pool) {
+        if (!elements.isEmpty()) {
+            merge(pool.invoke(new AggregateTask(this, elements)));
+        }
+    }
+
     /**
      * Calls state on the element. Note - state is actually only called on the element properties.
      * Aggregation requires elements to have the same identifiers and group.
@@ -86,6 +111,39 @@ public class ElementAggregator extends Aggregator<ElementComponentKey> {
         return clone;
     }
 
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Tasks are only executed in a local fork join pool and are never serialised")
+    private static final class AggregateTask extends RecursiveTask<ElementAggregator> {
+        private static final long serialVersionUID = -1887962457298722519L;
+        private final ElementAggregator template;
+        private final List<? extends Element> elements;
+
+        private AggregateTask(final ElementAggregator template, final List<? extends Element> elements) {
+            this.template = template;
+            this.elements = elements;
+        }
+
+        @Override
+        protected ElementAggregator compute() {
+            if (elements.size() <= PARALLEL_PARTITION_SIZE) {
+                final ElementAggregator aggregator = template.clone();
+                aggregator.initFunctions();
+                for (final Element element : elements) {
+                    aggregator.aggregate(element);
+                }
+                return aggregator;
+            }
+
+            final int middle = elements.size() / 2;
+            final AggregateTask first = new AggregateTask(template, elements.subList(0, middle));
+            final AggregateTask second = new AggregateTask(template, elements.subList(middle, elements.size()));
+            first.fork();
+            final ElementAggregator secondAggregator = second.compute();
+            final ElementAggregator firstAggregator = first.join();
+            firstAggregator.merge(secondAggregator);
+            return firstAggregator;
+        }
+    }
+
     /**
      * Builder for {@link ElementAggregator}.
      */
@@ -34,12 +34,31 @@ import gaffer.function.processor.Filter;
  */
 public class ElementFilter extends Filter<ElementComponentKey> {
     private final ElementTuple elementTuple = new ElementTuple();
+    private final ThreadLocal<ElementTuple> threadElementTuple = new ThreadLocalElementTuple();
 
     public boolean filter(final Element element) {
         elementTuple.setElement(element);
         return super.filter(elementTuple);
     }
 
+    /**
+     * Thread safe version of {@link #filter(Element)}, so a single <code>ElementFilter</code> can be used to filter
+     * elements from multiple threads concurrently.
+     *
+     * @param element the element to filter
+     * @return true if the element passes all the filter functions
+     * @see Filter#threadSafeFilter(gaffer.function.Tuple)
+     */
+    public boolean threadSafeFilter(final Element element) {
+        final ElementTuple tuple = threadElementTuple.get();
+        tuple.setElement(element);
+        try {
+            return super.threadSafeFilter(tuple);
+        } finally {
+            tuple.setElement(null);
+        }
+    }
+
     @SuppressWarnings("CloneDoesntCallSuperClone")
     @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Uses super.cloneFunctions instead for better performance")
     @Override
@@ -50,6 +69,13 @@ public class ElementFilter extends Filter<ElementComponentKey> {
         return clone;
     }
 
+    private static final class ThreadLocalElementTuple extends ThreadLocal<ElementTuple> {
+        @Override
+        protected ElementTuple initialValue() {
+            return new ElementTuple();
+        }
+    }
+
     /**
      * Builder for {@link ElementFilter}.
      */
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.iterable.CloseableIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelTransformIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldTransformAllItemsInOrder() {
+        // Given
+        final List<Integer> items = createItems(1005);
+        final ParallelTransformIterable<Integer, String> iterable = new ToStringIterable(items, executor, 10, 8, true);
+
+        // When
+        final List<String> results = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(items.size(), results.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(Integer.toString(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void shouldTransformAllItemsWithoutPreservingOrder() {
+        // Given
+        final List<Integer> items = createItems(1005);
+        final ParallelTransformIterable<Integer, String> iterable = new ToStringIterable(items, executor, 10, 8, false);
+
+        // When
+        final List<String> results = Lists.newArrayList(iterable);
+
+        // Then
+        final List<String> expected = new ArrayList<>();
+        for (final Integer item : items) {
+            expected.add(item.toString());
+        }
+        Collections.sort(results);
+        Collections.sort(expected);
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldReturnNoItemsForEmptyInput() {
+        // Given
+        final ParallelTransformIterable<Integer, String> iterable = new ToStringIterable(new ArrayList<Integer>(), executor, 10, 8, true);
+
+        // When
+        final CloseableIterator<String> itr = iterable.iterator();
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldNotReadMoreThanMaxInFlightBatchesAhead() {
+        // Given
+        final AtomicInteger itemsRead = new AtomicInteger();
+        final List<Integer> items = createItems(1000);
+        final Iterable<Integer> countingItems = new TransformIterable<Integer, Integer>(items) {
+            @Override
+            protected Integer transform(final Integer item) {
+                itemsRead.incrementAndGet();
+                return item;
+            }
+        };
+        final ParallelTransformIterable<Integer, String> iterable = new ToStringIterable(countingItems, executor, 10, 3, true);
+
+        // When
+        final CloseableIterator<String> itr = iterable.iterator();
+        final String first = itr.next();
+
+        // Then
+        assertEquals("0", first);
+        assertEquals(30, itemsRead.get());
+        itr.close();
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromTransform() {
+        // Given
+        final ParallelTransformIterable<Integer, String> iterable = new ToStringIterable(createItems(100), executor, 10, 2, true) {
+            @Override
+            protected Iterable<String> transform(final List<Integer> batch) {
+                if (batch.contains(55)) {
+                    throw new IllegalArgumentException("Invalid item");
+                }
+                return super.transform(batch);
+            }
+        };
+
+        // When
+        final CloseableIterator<String> itr = iterable.iterator();
+        int count = 0;
+        try {
+            while (itr.hasNext()) {
+                itr.next();
+                count++;
+            }
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Then
+            assertEquals(50, count);
+            assertTrue(e.getMessage().contains("Invalid item"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidBatchSize() {
+        try {
+            new ToStringIterable(createItems(1), executor, 0, 1, true);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Batch size"));
+        }
+    }
+
+    private static List<Integer> createItems(final int size) {
+        final List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    private static class ToStringIterable extends ParallelTransformIterable<Integer, String> {
+        ToStringIterable(final Iterable<Integer> input, final ExecutorService executor, final int batchSize,
+                         final int maxInFlightBatches, final boolean preserveOrder) {
+            super(input, executor, batchSize, maxInFlightBatches, preserveOrder);
+        }
+
+        @Override
+        protected Iterable<String> transform(final List<Integer> batch) {
+            final List<String> results = new ArrayList<>(batch.size());
+            for (final Integer item : batch) {
+                results.add(item.toString());
+            }
+            return results;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package gaffer.data.element;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -27,6 +28,7 @@ import gaffer.jsonserialisation.JSONSerialiser;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
 
@@ -271,6 +273,24 @@ public class EdgeTest extends ElementTest {
         assertEquals(edge, deserialisedElement);
     }
 
+    @Test
+    public void shouldSerialiseIndexedPropertiesAsProperties() throws SerialisationException {
+        // Given
+        final Edge indexedEdge = new Edge("group", 1L, 2L, true, new Properties(new PropertyIndex(Arrays.asList("count"))));
+        indexedEdge.putProperty("count", 1);
+        final Edge edge = new Edge("group", 1L, 2L, true);
+        edge.putProperty("count", 1);
+        final JSONSerialiser serialiser = new JSONSerialiser();
+
+        // When
+        final byte[] serialisedIndexedEdge = serialiser.serialise(indexedEdge);
+        final Edge deserialisedElement = serialiser.deserialise(serialisedIndexedEdge, Edge.class);
+
+        // Then
+        assertArrayEquals(serialiser.serialise(edge), serialisedIndexedEdge);
+        assertEquals(indexedEdge, deserialisedElement);
+    }
+
     @Override
     protected Edge newElement(final String group) {
         return new Edge(group);
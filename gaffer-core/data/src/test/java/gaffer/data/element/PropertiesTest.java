@@ -16,16 +16,26 @@
 
 package gaffer.data.element;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -142,4 +152,144 @@ public class PropertiesTest {
         assertEquals(propertyValue1, clone.get(property1));
         assertEquals(propertyValue2, clone.get(property2));
     }
+
+    @Test
+    public void shouldPutAndGetIndexedAndNonIndexedProperties() {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b", "c")));
+
+        // When
+        properties.put("a", 1);
+        properties.put("c", null);
+        properties.put("other", "value");
+
+        // Then
+        assertEquals(3, properties.size());
+        assertEquals(1, properties.get("a"));
+        assertNull(properties.get("b"));
+        assertFalse(properties.containsKey("b"));
+        assertNull(properties.get("c"));
+        assertTrue(properties.containsKey("c"));
+        assertEquals("value", properties.get("other"));
+        assertTrue(properties.containsValue(1));
+        assertTrue(properties.containsValue("value"));
+        assertEquals(new HashSet<>(Arrays.asList("a", "c", "other")), properties.keySet());
+    }
+
+    @Test
+    public void shouldRemoveIndexedProperties() {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b")));
+        properties.put("a", 1);
+        properties.put("b", 2);
+        properties.put("other", 3);
+
+        // When
+        final Object removed = properties.remove("a");
+        properties.keepOnly(Arrays.asList("b"));
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(1, properties.size());
+        assertEquals(2, properties.get("b"));
+        assertFalse(properties.containsKey("other"));
+    }
+
+    @Test
+    public void shouldRemoveIndexedPropertiesUsingIterator() {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b")));
+        properties.put("a", 1);
+        properties.put("b", 2);
+
+        // When
+        final Iterator<Map.Entry<String, Object>> itr = properties.entrySet().iterator();
+        itr.next();
+        itr.remove();
+
+        // Then
+        assertEquals(1, properties.size());
+        assertFalse(properties.containsKey("a"));
+        assertEquals(2, properties.get("b"));
+    }
+
+    @Test
+    public void shouldUpdateIndexedPropertiesUsingEntries() {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b")));
+        properties.put("a", 1);
+        properties.put("other", 2);
+
+        // When
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            entry.setValue((Integer) entry.getValue() * 10);
+        }
+
+        // Then
+        assertEquals(10, properties.get("a"));
+        assertEquals(20, properties.get("other"));
+        assertEquals(2, properties.size());
+    }
+
+    @Test
+    public void shouldBeEqualToNonIndexedPropertiesWithSameValues() {
+        // Given
+        final Properties indexed = new Properties(new PropertyIndex(Arrays.asList("a", "b")));
+        indexed.put("a", 1);
+        indexed.put("other", "value");
+        final Properties nonIndexed = new Properties();
+        nonIndexed.put("a", 1);
+        nonIndexed.put("other", "value");
+
+        // Then
+        assertEquals(nonIndexed, indexed);
+        assertEquals(indexed, nonIndexed);
+        assertEquals(nonIndexed.hashCode(), indexed.hashCode());
+    }
+
+    @Test
+    public void shouldCloneIndexedProperties() {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b")));
+        properties.put("a", 1);
+        properties.put("other", "value");
+
+        // When
+        final Properties clone = properties.clone();
+        clone.put("a", 2);
+        clone.put("b", 3);
+
+        // Then
+        assertNotSame(properties, clone);
+        assertSame(properties.getIndex(), clone.getIndex());
+        assertEquals(1, properties.get("a"));
+        assertFalse(properties.containsKey("b"));
+        assertEquals(3, clone.size());
+        assertEquals("value", clone.get("other"));
+    }
+
+    @Test
+    public void shouldJavaSerialiseAndDeserialiseIndexedProperties() throws IOException, ClassNotFoundException {
+        // Given
+        final Properties properties = new Properties(new PropertyIndex(Arrays.asList("a", "b", "c")));
+        properties.put("a", 1);
+        properties.put("b", null);
+        properties.put("other", "value");
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(properties);
+        }
+        final Properties deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = (Properties) in.readObject();
+        }
+
+        // Then
+        assertEquals(properties, deserialised);
+        assertEquals(properties.getIndex(), deserialised.getIndex());
+        assertTrue(deserialised.containsKey("b"));
+        assertFalse(deserialised.containsKey("c"));
+    }
 }
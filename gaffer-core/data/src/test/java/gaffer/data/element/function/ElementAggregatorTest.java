@@ -30,14 +30,18 @@ import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.Properties;
 import gaffer.data.element.PropertiesTuple;
 import gaffer.function.AggregateFunction;
+import gaffer.function.ExampleAggregateFunction;
+import gaffer.function.SimpleAggregateFunction;
 import gaffer.function.context.PassThroughFunctionContext;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ElementAggregatorTest {
@@ -196,6 +200,39 @@ public class ElementAggregatorTest {
         assertSame(clonedFunction, resultClonedFunction.getFunction());
     }
 
+    @Test
+    public void shouldAggregateElementsInParallel() {
+        // Given
+        final String property = "count";
+        final String lastProperty = "last";
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(property)
+                .execute(new LongSum())
+                .select(lastProperty)
+                .execute(new ExampleAggregateFunction())
+                .build();
+
+        final int numElements = ElementAggregator.PARALLEL_PARTITION_SIZE * 10 + 1;
+        final List<Edge> edges = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            final Edge edge = new Edge("group");
+            edge.putProperty(property, (long) i);
+            edge.putProperty(lastProperty, i);
+            edges.add(edge);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // When
+        aggregator.aggregate(edges, pool);
+        final Edge aggregatedEdge = new Edge("group");
+        aggregator.state(aggregatedEdge);
+        pool.shutdown();
+
+        // Then
+        assertEquals((long) numElements * (numElements - 1) / 2, aggregatedEdge.getProperty(property));
+        assertEquals(numElements - 1, aggregatedEdge.getProperty(lastProperty));
+    }
+
     @Test
     public void shouldBuildAggregator() {
         // Given
@@ -250,4 +287,28 @@ public class ElementAggregatorTest {
 
         assertEquals(i, aggregator.getFunctions().size());
     }
+
+    private static final class LongSum extends SimpleAggregateFunction<Long> {
+        private long sum;
+
+        @Override
+        public void init() {
+            sum = 0;
+        }
+
+        @Override
+        protected void _aggregate(final Long input) {
+            sum += input;
+        }
+
+        @Override
+        protected Long _state() {
+            return sum;
+        }
+
+        @Override
+        public LongSum statelessClone() {
+            return new LongSum();
+        }
+    }
 }
@@ -16,13 +16,22 @@
 
 package gaffer.data.element.function;
 
+import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.ElementTuple;
 import gaffer.data.element.IdentifierType;
 import gaffer.function.FilterFunction;
+import gaffer.function.IsA;
 import gaffer.function.context.ConsumerFunctionContext;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -38,6 +47,52 @@ import static org.mockito.Mockito.verify;
 @RunWith(MockitoJUnitRunner.class)
 public class ElementFilterTest {
 
+    @Test
+    public void shouldFilterElementsConcurrentlyWithThreadSafeFilter() throws InterruptedException, ExecutionException {
+        // Given
+        final String property1 = "property1";
+        final String property2 = "property2";
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(property1)
+                .execute(new IsA(String.class))
+                .select(property2)
+                .execute(new IsA(Integer.class))
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Edge edge = new Edge("group");
+            edge.putProperty(property1, i % 2 == 0 ? "value" : i);
+            edge.putProperty(property2, i % 3 == 0 ? "value" : i);
+            elements.add(edge);
+        }
+
+        final Callable<Integer> countValid = new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                int count = 0;
+                for (int i = 0; i < 100; i++) {
+                    for (final Element element : elements) {
+                        if (filter.threadSafeFilter(element)) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        final List<Future<Integer>> results = executor.invokeAll(Collections.nCopies(4, countValid));
+        executor.shutdown();
+
+        // Then
+        for (final Future<Integer> result : results) {
+            assertEquals(333 * 100, (int) result.get());
+        }
+    }
+
     @Test
     public void shouldWrapElementInElementTupleAndCallSuper() {
         // Given
@@ -46,6 +46,30 @@ public abstract class AggregateFunction extends ConsumerProducerFunction impleme
      */
     public abstract Object[] state();
 
+    /**
+     * Merges the partial state of another <code>AggregateFunction</code> of the same type into this function. The other
+     * function will have aggregated a different set of input records, e.g. another partition of the records being
+     * aggregated in parallel. After merging, the state of this function is as if it had aggregated both sets of
+     * records. The other function must not be used again once it has been merged.
+     * <p>
+     * As the output of an <code>AggregateFunction</code> is the same record type as its input, by default the state of
+     * the other function is simply aggregated as an input record. Functions that cannot merge their state this way
+     * should override this method.
+     *
+     * @param other the function to merge into this function.
+     */
+    public void merge(final AggregateFunction other) {
+        final Object[] otherState = other.state();
+        if (null != otherState) {
+            for (final Object item : otherState) {
+                if (null != item) {
+                    aggregate(otherState);
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Create a deep copy of this <code>AggregateFunction</code>, with it's internal state initialised.
      *
@@ -17,6 +17,7 @@
 package gaffer.function;
 
 import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.function.context.ThreadLocalSelections;
 import gaffer.function.processor.Filter;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
@@ -31,6 +32,7 @@ import java.util.TreeMap;
  */
 public abstract class MultiFilterFunction extends FilterFunction {
     private final Filter<Integer> filter;
+    private final ThreadLocalSelections threadSelections = new ThreadLocalSelections();
 
     public MultiFilterFunction() {
         this(new ArrayList<ConsumerFunctionContext<Integer, FilterFunction>>());
@@ -80,7 +82,11 @@ public abstract class MultiFilterFunction extends FilterFunction {
             @Override
             public Iterator<Boolean> iterator() {
                 final Iterator<ConsumerFunctionContext<Integer, FilterFunction>> funcItr = getFunctions().iterator();
+                final Object[][] selections = threadSelections.get(getFunctions());
+                final ArrayTuple tuple = new ArrayTuple(input);
                 return new Iterator<Boolean>() {
+                    private int index = 0;
+
                     @Override
                     public boolean hasNext() {
                         return funcItr.hasNext();
@@ -88,7 +94,7 @@ public abstract class MultiFilterFunction extends FilterFunction {
 
                     @Override
                     public Boolean next() {
-                        return executeFunction(input, funcItr.next());
+                        return executeFunction(funcItr.next(), selections[index++]);
                     }
 
                     @Override
@@ -96,15 +102,13 @@ public abstract class MultiFilterFunction extends FilterFunction {
                         throw new UnsupportedOperationException("Cannot remove from items from this iterator");
                     }
 
-                    private boolean executeFunction(final Object[] input, final ConsumerFunctionContext<Integer, FilterFunction> function) {
-                        final Object[] selection;
+                    private boolean executeFunction(final ConsumerFunctionContext<Integer, FilterFunction> function, final Object[] selection) {
                         if (null == function.getSelection()) {
-                            selection = input;
-                        } else {
-                            selection = function.select(new ArrayTuple(input));
+                            return function.getFunction().isValid(input);
                         }
 
-                        return function.getFunction().isValid(selection);
+                        // Select into a container held by this thread, so this function can be shared between threads.
+                        return function.getFunction().isValid(function.select(tuple, selection));
                     }
                 };
             }
@@ -70,12 +70,25 @@ public class ConsumerFunctionContext<R, F extends ConsumerFunction> extends Func
     /**
      * Select data from an input {@link gaffer.function.Tuple}.
      * <p>
-     * <b>Note</b>: due to re-use of the container used to return input data, this method is not thread safe.
+     * <b>Note</b>: due to re-use of the container used to return input data, this method is not thread safe, see
+     * {@link #select(Tuple, Object[])}.
      *
      * @param tuple Input tuple to select from.
      * @return Selected values.
      */
     public Object[] select(final Tuple<R> tuple) {
+        return select(tuple, selected);
+    }
+
+    /**
+     * Select data from an input {@link gaffer.function.Tuple} into a container provided by the caller. This method is
+     * thread safe provided each thread uses its own container.
+     *
+     * @param tuple    Input tuple to select from.
+     * @param selected Container to return the selected values in, this must be the same size as the selection.
+     * @return Selected values.
+     */
+    public Object[] select(final Tuple<R> tuple, final Object[] selected) {
         int i = 0;
         for (R reference : selection) {
             selected[i++] = tuple.get(reference);
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.context;
+
+import java.util.List;
+
+/**
+ * <code>ThreadLocalSelections</code> holds, for each thread, the containers that a list of
+ * {@link ConsumerFunctionContext}s select their input data into. This allows a processor or function that executes
+ * those contexts to be shared between threads without allocating a new container for every selection.
+ */
+public class ThreadLocalSelections {
+    private final ThreadLocal<Object[][]> threadSelections = new ThreadLocal<>();
+
+    /**
+     * Gets the current thread's selection containers, one for each function context and each sized to hold that
+     * context's selection. The containers are resized if the function contexts have changed.
+     *
+     * @param functions the function contexts that will select into the containers.
+     * @return the selection containers for the current thread.
+     */
+    public Object[][] get(final List<? extends ConsumerFunctionContext<?, ?>> functions) {
+        Object[][] selections = threadSelections.get();
+        if (null == selections || selections.length != functions.size()) {
+            selections = new Object[functions.size()][];
+            threadSelections.set(selections);
+        }
+
+        int i = 0;
+        for (final ConsumerFunctionContext<?, ?> function : functions) {
+            final int size = null != function.getSelection() ? function.getSelection().size() : 0;
+            if (null == selections[i] || selections[i].length != size) {
+                selections[i] = new Object[size];
+            }
+            i++;
+        }
+
+        return selections;
+    }
+}
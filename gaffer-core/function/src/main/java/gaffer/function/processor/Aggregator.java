@@ -21,6 +21,7 @@ import gaffer.function.AggregateFunction;
 import gaffer.function.Tuple;
 import gaffer.function.context.PassThroughFunctionContext;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -66,6 +67,31 @@ public class Aggregator<R> extends Processor<R, PassThroughFunctionContext<R, Ag
         }
     }
 
+    /**
+     * Merge the partial states of another <code>Aggregator</code> into this <code>Aggregator</code>. The other
+     * <code>Aggregator</code> must have the same functions as this one, e.g. it is a clone of this
+     * <code>Aggregator</code>, and will have aggregated a different set of input {@link gaffer.function.Tuple}s.
+     *
+     * @param other the <code>Aggregator</code> to merge into this <code>Aggregator</code>.
+     * @see gaffer.function.AggregateFunction#merge(AggregateFunction)
+     */
+    public void merge(final Aggregator<R> other) {
+        if (functions == null) {
+            return;
+        }
+        if (null == other.functions || functions.size() != other.functions.size()) {
+            throw new IllegalArgumentException("Only aggregators with the same functions can be merged");
+        }
+        if (!initialised) {
+            safeInitFunctions();
+            initialised = true;
+        }
+        final Iterator<PassThroughFunctionContext<R, AggregateFunction>> otherFunctions = other.functions.iterator();
+        for (PassThroughFunctionContext<R, AggregateFunction> functionContext : functions) {
+            functionContext.getFunction().merge(otherFunctions.next().getFunction());
+        }
+    }
+
     /**
      * Write the current aggregated results into an output {@link gaffer.function.Tuple}.
      *
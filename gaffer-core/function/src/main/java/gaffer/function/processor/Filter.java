@@ -20,6 +20,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.function.FilterFunction;
 import gaffer.function.Tuple;
 import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.function.context.ThreadLocalSelections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
@@ -35,11 +36,16 @@ import java.util.List;
  * <p>
  * If performance is a concern then simple, faster filters or those with a higher probability of failure should be
  * configured to run first.
+ * <p>
+ * {@link #filter(Tuple)} re-uses the containers its function contexts select input data into, so it is not thread
+ * safe. To share a single <code>Filter</code> between threads use {@link #threadSafeFilter(Tuple)}, which selects
+ * input data into containers held per thread. This requires the filter functions to be thread safe.
  *
  * @param <R> The type of reference used by tuples.
  */
 public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFunction>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(Filter.class);
+    private final ThreadLocalSelections threadSelections = new ThreadLocalSelections();
 
     /**
      * Default constructor - used for serialisation.
@@ -107,6 +113,34 @@ public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFun
         return functionClones;
     }
 
+    /**
+     * Thread safe version of {@link #filter(Tuple)}. The input data for each function is selected into containers that
+     * are held per thread, so this <code>Filter</code> can test tuples from multiple threads concurrently without
+     * allocating.
+     *
+     * @param tuple {@link gaffer.function.Tuple} to be filtered.
+     * @return Logical AND of filter function results.
+     */
+    public boolean threadSafeFilter(final Tuple<R> tuple) {
+        if (functions == null) {
+            return true;
+        }
+
+        final Object[][] selections = threadSelections.get(functions);
+        int i = 0;
+        for (ConsumerFunctionContext<R, FilterFunction> functionContext : functions) {
+            final FilterFunction function = functionContext.getFunction();
+            final Object[] selection = functionContext.select(tuple, selections[i++]);
+            if (!function.isValid(selection)) {
+                LOGGER.debug(function.getClass().getName() + " filtered out "
+                        + Arrays.toString(selection) + " from input: " + tuple);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Test an input {@link gaffer.function.Tuple} against {@link gaffer.function.FilterFunction}s, performing a
      * logical AND.
@@ -25,6 +25,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
@@ -53,6 +54,30 @@ public class ConsumerFunctionContextTest {
         assertSame(func1, context.getFunction());
     }
 
+    @Test
+    public void shouldSelectIntoProvidedContainer() {
+        // Given
+        final String reference1 = "reference 1";
+        final String reference2 = "reference 2";
+        final ConsumerFunctionContext<String, ConsumerFunction> context =
+                new ConsumerFunctionContext.Builder<String, ConsumerFunction>()
+                        .select(reference1, reference2)
+                        .execute(mock(ConsumerFunction.class))
+                        .build();
+        final Tuple<String> tuple = mock(Tuple.class);
+        given(tuple.get(reference1)).willReturn("value 1");
+        given(tuple.get(reference2)).willReturn("value 2");
+        final Object[] container = new Object[2];
+
+        // When
+        final Object[] selection = context.select(tuple, container);
+
+        // Then
+        assertSame(container, selection);
+        assertArrayEquals(new Object[]{"value 1", "value 2"}, selection);
+        assertNotSame(container, context.select(tuple));
+    }
+
     @Test
     public void shouldThrowExceptionWhenBuildContextWhenSelectCalledTwice() {
         // Given
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.function.context;
+
+import gaffer.function.FilterFunction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class ThreadLocalSelectionsTest {
+    @Test
+    public void shouldCreateSelectionsSizedForEachFunction() {
+        // Given
+        final ThreadLocalSelections threadSelections = new ThreadLocalSelections();
+        final List<ConsumerFunctionContext<String, FilterFunction>> functions = Arrays.asList(
+                new ConsumerFunctionContext<>(mock(FilterFunction.class), Arrays.asList("a", "b")),
+                new ConsumerFunctionContext<String, FilterFunction>(mock(FilterFunction.class), null));
+
+        // When
+        final Object[][] selections = threadSelections.get(functions);
+
+        // Then
+        assertEquals(2, selections.length);
+        assertEquals(2, selections[0].length);
+        assertEquals(0, selections[1].length);
+        assertSame(selections, threadSelections.get(functions));
+    }
+
+    @Test
+    public void shouldResizeSelectionsWhenFunctionsChange() {
+        // Given
+        final ThreadLocalSelections threadSelections = new ThreadLocalSelections();
+        final ConsumerFunctionContext<String, FilterFunction> function =
+                new ConsumerFunctionContext<>(mock(FilterFunction.class), Arrays.asList("a"));
+        final List<ConsumerFunctionContext<String, FilterFunction>> functions = Arrays.asList(function);
+        final Object[] original = threadSelections.get(functions)[0];
+
+        // When
+        function.setSelection(Arrays.asList("a", "b", "c"));
+        final Object[][] selections = threadSelections.get(functions);
+
+        // Then
+        assertNotSame(original, selections[0]);
+        assertEquals(3, selections[0].length);
+    }
+
+    @Test
+    public void shouldHoldSeparateSelectionsForEachThread() throws InterruptedException, ExecutionException {
+        // Given
+        final ThreadLocalSelections threadSelections = new ThreadLocalSelections();
+        final List<ConsumerFunctionContext<String, FilterFunction>> functions = Arrays.asList(
+                new ConsumerFunctionContext<>(mock(FilterFunction.class), Arrays.asList("a")));
+        final Object[][] selections = threadSelections.get(functions);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        final Object[][] otherThreadSelections;
+        try {
+            otherThreadSelections = executor.submit(new Callable<Object[][]>() {
+                @Override
+                public Object[][] call() {
+                    return threadSelections.get(functions);
+                }
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertNotSame(selections, otherThreadSelections);
+        assertNotSame(selections[0], otherThreadSelections[0]);
+    }
+}
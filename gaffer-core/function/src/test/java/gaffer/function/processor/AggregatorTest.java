@@ -221,6 +221,39 @@ public class AggregatorTest {
         verify(functionContext1).project(tuple, state);
     }
 
+    @Test
+    public void shouldMergeAggregatorFunctions() {
+        // Given
+        final Aggregator<String> aggregator = new Aggregator<>();
+        final PassThroughFunctionContext<String, AggregateFunction> functionContext1 = mock(PassThroughFunctionContext.class);
+        given(functionContext1.getFunction()).willReturn(function1);
+        aggregator.addFunction(functionContext1);
+
+        final Aggregator<String> other = new Aggregator<>();
+        final PassThroughFunctionContext<String, AggregateFunction> functionContext2 = mock(PassThroughFunctionContext.class);
+        given(functionContext2.getFunction()).willReturn(function2);
+        other.addFunction(functionContext2);
+
+        // When
+        aggregator.merge(other);
+
+        // Then
+        verify(function1).init();
+        verify(function1).merge(function2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotMergeAggregatorsWithDifferentFunctions() {
+        // Given
+        final Aggregator<String> aggregator = new Aggregator<>();
+        final PassThroughFunctionContext<String, AggregateFunction> functionContext1 = mock(PassThroughFunctionContext.class);
+        given(functionContext1.getFunction()).willReturn(function1);
+        aggregator.addFunction(functionContext1);
+
+        // When
+        aggregator.merge(new Aggregator<String>());
+    }
+
     @Test
     public void shouldCloneAggregator() {
         // Given
@@ -17,12 +17,20 @@
 package gaffer.graph;
 
 
+import gaffer.commonutil.CancellationToken;
+import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.graph.hook.ExecutionHook;
+import gaffer.graph.hook.ExecutionHook.Executor;
+import gaffer.graph.hook.ExecutionHook.StoreExecutor;
+import gaffer.graph.hook.ExplainHook;
 import gaffer.graph.hook.GraphHook;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
 import gaffer.store.Store;
 import gaffer.store.StoreException;
 import gaffer.store.StoreProperties;
@@ -71,6 +79,11 @@ public final class Graph {
      */
     private List<GraphHook> graphHooks;
 
+    /**
+     * Executes operation chains on the store through the {@link ExecutionHook}s in the graph hooks.
+     */
+    private final Executor executor;
+
     /**
      * Constructs a <code>Graph</code> with the given {@link gaffer.store.Store} and
      * {@link gaffer.data.elementdefinition.view.View}.
@@ -83,6 +96,7 @@ public final class Graph {
         this.store = store;
         this.view = view;
         this.graphHooks = graphHooks;
+        this.executor = createExecutor(store, graphHooks);
     }
 
     /**
@@ -112,7 +126,77 @@ public final class Graph {
      * @throws OperationException if an operation fails
      */
     public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user) throws OperationException {
-        // Update the view
+        return execute(operationChain, user, null);
+    }
+
+    /**
+     * Performs the given operation chain on the store. The operation chain is stopped if the cancellation token
+     * is cancelled or its deadline passes.
+     * The chain is executed through the {@link ExecutionHook}s, in the order they were added, after the preExecute
+     * method of every {@link GraphHook} has been called.
+     * If the operation does not have a view then the graph view is used.
+     * NOTE the operationChain may be modified/optimised by the store.
+     *
+     * @param operationChain    the operation chain to be executed.
+     * @param user              the user executing the operation chain.
+     * @param cancellationToken the token used to cancel the operation chain, this may be null.
+     * @param <OUTPUT>          the operation chain output type.
+     * @return the operation result.
+     * @throws OperationException if an operation fails
+     */
+    public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user,
+                                   final CancellationToken cancellationToken) throws OperationException {
+        updateView(operationChain);
+
+        // Chains that are explained are checked by the explain hooks, so a chain that would be rejected is not explained
+        for (final Operation operation : operationChain.getOperations()) {
+            if (operation instanceof Explain && null != ((Explain) operation).getOperationChain()) {
+                final OperationChain<?> explainedChain = ((Explain) operation).getOperationChain();
+                updateView(explainedChain);
+                for (final GraphHook graphHook : graphHooks) {
+                    if (graphHook instanceof ExplainHook) {
+                        ((ExplainHook) graphHook).preExplain(explainedChain, user);
+                    }
+                }
+            }
+        }
+
+        for (final GraphHook graphHook : graphHooks) {
+            graphHook.preExecute(operationChain, user);
+        }
+
+        final OUTPUT result = executor.execute(operationChain, user, cancellationToken);
+        try {
+            for (final GraphHook graphHook : graphHooks) {
+                graphHook.postExecute(result, operationChain, user);
+            }
+        } catch (final RuntimeException e) {
+            // The result is not returned, so release the resources held until it is read
+            if (result instanceof CloseableIterable) {
+                ((CloseableIterable) result).close();
+            }
+            throw e;
+        }
+
+        return result;
+    }
+
+    /**
+     * Explains how the store would execute the given operation chain, without executing it.
+     * The chain is prepared as it would be for {@link #execute(OperationChain, User)}: operations without a view use
+     * the graph view and the chain is passed to the preExplain method of each {@link ExplainHook}, so a chain that
+     * the authorisation hooks would reject for execution is also rejected for explanation.
+     *
+     * @param operationChain the operation chain to explain.
+     * @param user           the user who would execute the operation chain.
+     * @return the explanation.
+     * @throws OperationException if the operation chain could not be explained
+     */
+    public Explanation explain(final OperationChain<?> operationChain, final User user) throws OperationException {
+        return execute(new OperationChain<>(new Explain(operationChain)), user);
+    }
+
+    private void updateView(final OperationChain<?> operationChain) {
         for (final Operation operation : operationChain.getOperations()) {
             if (null == operation.getView()) {
                 operation.setView(view);
@@ -123,18 +207,33 @@ public final class Graph {
                 operation.getView().merge(view);
             }
         }
+    }
 
-        for (final GraphHook graphHook : graphHooks) {
-            graphHook.preExecute(operationChain, user);
+    // The first execution hook added is the outermost, so it is called first
+    private static Executor createExecutor(final Store store, final List<GraphHook> graphHooks) {
+        Executor executor = new StoreExecutor(store);
+        for (int i = graphHooks.size() - 1; i >= 0; i--) {
+            if (graphHooks.get(i) instanceof ExecutionHook) {
+                executor = new HookExecutor((ExecutionHook) graphHooks.get(i), executor);
+            }
         }
+        return executor;
+    }
 
-        OUTPUT result = store.execute(operationChain, user);
+    private static final class HookExecutor implements Executor {
+        private final ExecutionHook hook;
+        private final Executor next;
 
-        for (final GraphHook graphHook : graphHooks) {
-            graphHook.postExecute(result, operationChain, user);
+        private HookExecutor(final ExecutionHook hook, final Executor next) {
+            this.hook = hook;
+            this.next = next;
         }
 
-        return result;
+        @Override
+        public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                                       final CancellationToken cancellationToken) throws OperationException {
+            return hook.execute(opChain, user, cancellationToken, next);
+        }
     }
 
     /**
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import gaffer.commonutil.CancellationToken;
+import gaffer.commonutil.exception.OverloadedException;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An <code>AdmissionController</code> is an {@link ExecutionHook} that bounds the total cost of the operation chains
+ * running concurrently on a graph, using the operation scores configured in an {@link OperationChainLimiter}.
+ * <p>
+ * The score of a chain is the sum of the scores of its operations. The total score of all running chains is limited
+ * by the global budget, and the total score of each user's running chains by the user budget. A chain that does not
+ * fit within the budgets waits until enough running chains complete. Waiting chains are admitted in the order they
+ * arrived, so a chain is not admitted before an earlier chain that is waiting for the global budget, or before an
+ * earlier chain from the same user. Chains waiting only for their own user's budget do not hold up other users.
+ * A chain is rejected with an
+ * {@link OverloadedException} if the maximum number of chains are already waiting, if it waits for longer than the
+ * queue timeout, or if its score is larger than either budget.
+ * <p>
+ * Operation chains returning an iterable hold their score until the result has been read to the end or closed, so
+ * lazily executed queries are included. Results are not always read, so each score is released after the maximum
+ * hold time at the latest.
+ * <p>
+ * The {@link gaffer.graph.Graph} executes each chain through this hook after the preExecute methods of all the hooks
+ * have been called, so the preExecute and postExecute methods of this hook do nothing. The number of chains admitted, queued, rejected
+ * and expired, the time spent waiting, the number of chains waiting and the total score of the running chains are
+ * recorded in the {@link MetricsRegistry} with the prefix "admission.".
+ */
+public class AdmissionController implements ExecutionHook {
+    public static final String ADMITTED = "admission.admitted";
+    public static final String QUEUED = "admission.queued";
+    public static final String REJECTED = "admission.rejected";
+    public static final String EXPIRED = "admission.expired";
+    public static final String WAIT_LATENCY = "admission.wait";
+    public static final String WAITING = "admission.waiting";
+    public static final String RUNNING_SCORE = "admission.running.score";
+
+    public static final int DEFAULT_MAX_QUEUED = 100;
+    public static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 60000;
+    public static final long DEFAULT_MAX_HOLD_MILLIS = 600000;
+
+    private final OperationChainLimiter scorer;
+    private final MetricsRegistry metrics;
+    private volatile int globalBudget = Integer.MAX_VALUE;
+    private volatile int userBudget = Integer.MAX_VALUE;
+    private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+    private volatile long queueTimeoutMillis = DEFAULT_QUEUE_TIMEOUT_MILLIS;
+    private volatile long maxHoldMillis = DEFAULT_MAX_HOLD_MILLIS;
+
+    // The following fields are guarded by this. Admissions are held in the order they were admitted and waiting
+    // admissions in the order they arrived.
+    private final Set<Admission> admissions = new LinkedHashSet<>();
+    private final LinkedList<Admission> waiting = new LinkedList<>();
+    private final Map<String, Integer> userScores = new HashMap<>();
+    private int runningScore;
+
+    public AdmissionController(final OperationChainLimiter scorer) {
+        this(scorer, MetricsRegistry.getInstance());
+    }
+
+    public AdmissionController(final OperationChainLimiter scorer, final MetricsRegistry metrics) {
+        this.scorer = scorer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final User user) {
+        // Chains are admitted by the graph once all hooks have checked the chain
+    }
+
+    @Override
+    public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        // Admissions are released when the result has been read
+    }
+
+    /**
+     * Admits the operation chain and executes it with the next executor. The score of the chain is released when
+     * the chain fails or its result has been read, see {@link Admission#releaseWhenRead(Object)}.
+     *
+     * @param opChain           the operation chain to execute
+     * @param user              the user executing the operation chain
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     * @param next              the next executor
+     * @param <OUTPUT>          the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException  if the operation chain fails
+     * @throws OverloadedException if the operation chain could not be admitted
+     */
+    @Override
+    public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                                   final CancellationToken cancellationToken, final Executor next)
+            throws OperationException {
+        final Admission admission = admit(opChain, user);
+        final OUTPUT result;
+        try {
+            result = next.execute(opChain, user, cancellationToken);
+        } catch (final OperationException | RuntimeException e) {
+            admission.release();
+            throw e;
+        }
+        return admission.releaseWhenRead(result);
+    }
+
+    /**
+     * Admits an operation chain, waiting for running chains to complete if the budgets are used up.
+     *
+     * @param opChain the operation chain to admit
+     * @param user    the user executing the operation chain
+     * @return the admission, which must be released when the chain completes
+     * @throws OverloadedException if the operation chain could not be admitted
+     */
+    public Admission admit(final OperationChain<?> opChain, final User user) {
+        final int score = scorer.getChainScore(opChain);
+        final String userId = user.getUserId();
+        if (score > globalBudget || score > userBudget) {
+            throw reject("The operation chain score of " + score + " exceeds the admission budget");
+        }
+
+        final long startNanos = System.nanoTime();
+        final Admission admission = new Admission(userId, score);
+        synchronized (this) {
+            if (!canAdmit(admission)) {
+                waitForBudget(admission, startNanos);
+            }
+            admission.admittedNanos = System.nanoTime();
+            admissions.add(admission);
+            runningScore += score;
+            userScores.put(userId, getUserScore(userId) + score);
+        }
+        metrics.increment(ADMITTED);
+        metrics.add(RUNNING_SCORE, score);
+        metrics.recordLatency(WAIT_LATENCY, startNanos);
+        return admission;
+    }
+
+    /**
+     * @return the total score of the running operation chains
+     */
+    public synchronized int getRunningScore() {
+        releaseExpired();
+        return runningScore;
+    }
+
+    /**
+     * @param userId the user id
+     * @return the total score of the user's running operation chains
+     */
+    public synchronized int getUserScore(final String userId) {
+        final Integer userScore = userScores.get(userId);
+        return null != userScore ? userScore : 0;
+    }
+
+    /**
+     * @param globalBudget the maximum total score of all running operation chains
+     */
+    public void setGlobalBudget(final int globalBudget) {
+        this.globalBudget = globalBudget;
+    }
+
+    /**
+     * @param userBudget the maximum total score of the running operation chains of each user
+     */
+    public void setUserBudget(final int userBudget) {
+        this.userBudget = userBudget;
+    }
+
+    /**
+     * @param maxQueued the maximum number of operation chains that can wait to be admitted, 0 to reject chains
+     *                  immediately when the budgets are used up
+     */
+    public void setMaxQueued(final int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * @param queueTimeoutMillis the maximum time an operation chain waits to be admitted
+     */
+    public void setQueueTimeoutMillis(final long queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    /**
+     * @param maxHoldMillis the maximum time an admitted operation chain holds its score
+     */
+    public void setMaxHoldMillis(final long maxHoldMillis) {
+        this.maxHoldMillis = maxHoldMillis;
+    }
+
+    private void waitForBudget(final Admission admission, final long startNanos) {
+        if (waiting.size() >= maxQueued) {
+            throw reject("The graph is busy, " + waiting.size()
+                    + " operation chains are already waiting to be executed");
+        }
+
+        waiting.add(admission);
+        metrics.increment(QUEUED);
+        metrics.add(WAITING, 1);
+        try {
+            final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            while (!canAdmit(admission)) {
+                final long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+                if (remainingNanos <= 0) {
+                    throw reject("The graph is busy, the operation chain was not executed within "
+                            + queueTimeoutMillis + "ms");
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Interrupted whilst waiting for the operation chain to be executed");
+        } finally {
+            waiting.remove(admission);
+            metrics.add(WAITING, -1);
+            // The chains queued behind this one may now be admitted
+            notifyAll();
+        }
+    }
+
+    private boolean canAdmit(final Admission admission) {
+        releaseExpired();
+        for (final Admission waitingAdmission : waiting) {
+            if (waitingAdmission == admission) {
+                break;
+            }
+            if (waitingAdmission.userId.equals(admission.userId) || fitsUserBudget(waitingAdmission)) {
+                return false;
+            }
+        }
+        return (long) runningScore + admission.score <= globalBudget && fitsUserBudget(admission);
+    }
+
+    private boolean fitsUserBudget(final Admission admission) {
+        return (long) getUserScore(admission.userId) + admission.score <= userBudget;
+    }
+
+    private void releaseExpired() {
+        final long maxHoldNanos = TimeUnit.MILLISECONDS.toNanos(maxHoldMillis);
+        final long now = System.nanoTime();
+        final Iterator<Admission> itr = admissions.iterator();
+        while (itr.hasNext()) {
+            final Admission admission = itr.next();
+            if (now - admission.admittedNanos < maxHoldNanos) {
+                break;
+            }
+            itr.remove();
+            metrics.increment(EXPIRED);
+            releaseScore(admission);
+        }
+    }
+
+    private synchronized void release(final Admission admission) {
+        if (admissions.remove(admission)) {
+            releaseScore(admission);
+        }
+    }
+
+    private void releaseScore(final Admission admission) {
+        runningScore -= admission.score;
+        final int userScore = getUserScore(admission.userId) - admission.score;
+        if (userScore > 0) {
+            userScores.put(admission.userId, userScore);
+        } else {
+            userScores.remove(admission.userId);
+        }
+        metrics.add(RUNNING_SCORE, -admission.score);
+        notifyAll();
+    }
+
+    private OverloadedException reject(final String message) {
+        metrics.increment(REJECTED);
+        return new OverloadedException(message);
+    }
+
+    /**
+     * An <code>Admission</code> holds the score of an admitted operation chain until it is released.
+     */
+    public final class Admission {
+        private final String userId;
+        private final int score;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // Guarded by the controller, admissions are expired in the order they were admitted
+        private long admittedNanos;
+
+        private Admission(final String userId, final int score) {
+            this.userId = userId;
+            this.score = score;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Releases the score of the operation chain. Releasing an admission more than once has no effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                AdmissionController.this.release(this);
+            }
+        }
+
+        /**
+         * Releases the score of the operation chain once the result has been read. If the result is a
+         * {@link CloseableIterable} it is wrapped so the score is released when it has been read to the end or
+         * closed, otherwise the score is released immediately.
+         *
+         * @param result   the result of the operation chain
+         * @param <OUTPUT> the output type of the operation chain
+         * @return the result, wrapped if it is an iterable
+         */
+        @SuppressWarnings("unchecked")
+        public <OUTPUT> OUTPUT releaseWhenRead(final OUTPUT result) {
+            if (result instanceof CloseableIterable) {
+                return (OUTPUT) new ReleasingIterable<>((CloseableIterable<Object>) result, this);
+            }
+            release();
+            return result;
+        }
+    }
+
+    private static final class ReleasingIterable<T> implements CloseableIterable<T> {
+        private final CloseableIterable<T> iterable;
+        private final Admission admission;
+
+        private ReleasingIterable(final CloseableIterable<T> iterable, final Admission admission) {
+            this.iterable = iterable;
+            this.admission = admission;
+        }
+
+        @Override
+        public void close() {
+            admission.release();
+            iterable.close();
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            final CloseableIterator<T> iterator = iterable.iterator();
+            return new CloseableIterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext;
+                    try {
+                        hasNext = iterator.hasNext();
+                    } catch (final RuntimeException e) {
+                        admission.release();
+                        throw e;
+                    }
+                    if (!hasNext) {
+                        admission.release();
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+
+                @Override
+                public void close() {
+                    admission.release();
+                    iterator.close();
+                }
+            };
+        }
+    }
+}
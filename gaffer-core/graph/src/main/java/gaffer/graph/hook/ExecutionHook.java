@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import gaffer.commonutil.CancellationToken;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.store.Store;
+import gaffer.user.User;
+
+/**
+ * An <code>ExecutionHook</code> is a {@link GraphHook} that wraps the execution of operation chains on the
+ * {@link Store}, for example to return cached results or to limit the number of chains executed concurrently.
+ * <p>
+ * The {@link gaffer.graph.Graph} calls the preExecute method of every hook, then executes the chain through the
+ * execution hooks in the order they were added, each one calling the next {@link Executor} to continue the
+ * execution, and finally calls the postExecute method of every hook with the result.
+ */
+public interface ExecutionHook extends GraphHook {
+    /**
+     * Executes an operation chain by calling the next executor, or returns a result without calling it.
+     *
+     * @param opChain           the {@link OperationChain} being executed
+     * @param user              the {@link User} executing the operation chain
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     * @param next              the next executor, which executes the operation chain on the store
+     * @param <OUTPUT>          the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException if the operation chain fails
+     */
+    <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                            final CancellationToken cancellationToken, final Executor next) throws OperationException;
+
+    /**
+     * An <code>Executor</code> continues the execution of an operation chain.
+     */
+    interface Executor {
+        <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                                final CancellationToken cancellationToken) throws OperationException;
+    }
+
+    /**
+     * A <code>StoreExecutor</code> executes operation chains on a {@link Store}.
+     */
+    final class StoreExecutor implements Executor {
+        private final Store store;
+
+        public StoreExecutor(final Store store) {
+            this.store = store;
+        }
+
+        @Override
+        public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                                       final CancellationToken cancellationToken) throws OperationException {
+            // Stores that override the original execute method are still used when there is no token
+            return null != cancellationToken
+                    ? store.execute(opChain, user, cancellationToken)
+                    : store.execute(opChain, user);
+        }
+    }
+}
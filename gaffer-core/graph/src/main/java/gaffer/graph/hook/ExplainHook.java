@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import gaffer.operation.OperationChain;
+import gaffer.user.User;
+
+/**
+ * An <code>ExplainHook</code> is a {@link GraphHook} that also checks operation chains that are explained rather
+ * than executed, for example to reject a chain the user is not authorised to execute.
+ * <p>
+ * The {@link gaffer.graph.Graph} only calls the preExplain method of these hooks for the chain inside an
+ * {@link gaffer.operation.impl.explain.Explain} operation. Hooks that only implement {@link GraphHook}, such as those that
+ * record metrics or cache results, are not called for it, as the chain is never executed and so postExecute would
+ * never be called.
+ */
+public interface ExplainHook extends GraphHook {
+    /**
+     * Called from {@link gaffer.graph.Graph} before an {@link OperationChain} is explained. This must not change any
+     * state, it should only check the chain and throw an exception if it should not be explained.
+     *
+     * @param opChain the {@link OperationChain} being explained.
+     * @param user    the {@link User} explaining the operation chain
+     */
+    void preExplain(final OperationChain<?> opChain, final User user);
+}
@@ -36,13 +36,13 @@ import java.util.Properties;
 import java.util.Set;
 
 /**
- * An <code>OperationAuthoriser</code> is a {@link GraphHook} that checks a
+ * An <code>OperationAuthoriser</code> is an {@link ExplainHook} that checks a
  * user is authorised to execute an operation chain. This class requires a map
  * of operation authorisations, these can be added using setOpAuths(Class, Set) or
  * addOpAuths(Class,String...). Alternatively a properties file can be provided
  * containing the operations and the required authorisations.
  */
-public class OperationAuthoriser implements GraphHook {
+public class OperationAuthoriser implements ExplainHook {
     public static final String AUTH_SEPARATOR = ",";
 
     private final Map<Class<? extends Operation>, Set<String>> opAuthsMap = new HashMap<>();
@@ -103,6 +103,17 @@ public class OperationAuthoriser implements GraphHook {
         }
     }
 
+    /**
+     * Checks an explained {@link OperationChain} in the same way as {@link #preExecute(OperationChain, User)}.
+     *
+     * @param opChain the operation chain.
+     * @param user    the user to authorise.
+     */
+    @Override
+    public void preExplain(final OperationChain<?> opChain, final User user) {
+        preExecute(opChain, user);
+    }
+
     @Override
     public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
         // This method can be overridden to add additional authorisation checks on the results.
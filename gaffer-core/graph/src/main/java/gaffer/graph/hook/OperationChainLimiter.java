@@ -36,7 +36,7 @@ import java.util.Properties;
 import java.util.Set;
 
 /*
- * An <code>OperationChainLimiter</code> is a {@link GraphHook} that checks a
+ * An <code>OperationChainLimiter</code> is an {@link ExplainHook} that checks a
  * user is authorised to execute an operation chain based on that user's maximum chain score and the configured score value for each operation in the chain.
  * This class requires a map of operation scores, these can be added using setOpScores(Map<Class,Integer>) or
  * addOpScore(Class, Integer...). Alternatively a properties file can be provided.
@@ -53,7 +53,7 @@ import java.util.Set;
  * addAuthScore(String, Integer). Alternatively a properties file can be provided
  * containing the authorisations and the score.
  */
-public class OperationChainLimiter implements GraphHook {
+public class OperationChainLimiter implements ExplainHook {
 
     private static final int DEFAULT_OPERATION_SCORE = 1;
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainLimiter.class);
@@ -127,6 +127,22 @@ public class OperationChainLimiter implements GraphHook {
         }
     }
 
+    /**
+     * Calculates the score of an operation chain, the sum of the configured scores of its operations.
+     *
+     * @param opChain the operation chain
+     * @return the score of the operation chain
+     */
+    public int getChainScore(final OperationChain<?> opChain) {
+        int chainScore = 0;
+        if (null != opChain) {
+            for (Operation operation : opChain.getOperations()) {
+                chainScore += authorise(operation);
+            }
+        }
+        return chainScore;
+    }
+
     /**
      * Iterates through each of the users operation authorisations listed in the config file and returns the highest score
      * associated with those auths.
@@ -150,6 +166,17 @@ public class OperationChainLimiter implements GraphHook {
         return maxUserScore;
     }
 
+    /**
+     * Checks an explained {@link OperationChain} in the same way as {@link #preExecute(OperationChain, User)}.
+     *
+     * @param opChain the operation chain.
+     * @param user    the user to authorise.
+     */
+    @Override
+    public void preExplain(final OperationChain<?> opChain, final User user) {
+        preExecute(opChain, user);
+    }
+
     @Override
     public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
         // This method can be overridden to add additional authorisation checks on the results.
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+
+/**
+ * An <code>OperationMetrics</code> is a {@link GraphHook} that records metrics for the operation chains executed on
+ * a graph in a {@link MetricsRegistry}, which is the shared registry exposed through JMX by default.
+ * <p>
+ * It records the number of chains started and completed, so the difference is the number that failed, a histogram
+ * of the number of operations in each chain, the number of times each operation class is requested and a latency
+ * histogram of the time taken to execute each chain. Results are often lazy iterables, so the chain latency only
+ * covers the time taken to create the result. Set {@link gaffer.store.StoreProperties#METRICS_ENABLED} to
+ * also record the time taken to read the results of each operation and the time spent within the store.
+ */
+public class OperationMetrics implements GraphHook {
+    public static final String CHAINS_STARTED = "chain.started";
+    public static final String CHAINS_COMPLETED = "chain.completed";
+    public static final String CHAIN_LENGTH = "chain.length";
+    public static final String CHAIN_LATENCY = "chain.latency";
+
+    private final MetricsRegistry metrics;
+    private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+
+    public OperationMetrics() {
+        this(MetricsRegistry.getInstance());
+    }
+
+    public OperationMetrics(final MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final User user) {
+        metrics.increment(CHAINS_STARTED);
+        metrics.record(CHAIN_LENGTH, opChain.getOperations().size());
+        for (final Operation operation : opChain.getOperations()) {
+            metrics.increment("operation." + operation.getClass().getSimpleName() + ".requested");
+        }
+        startNanos.set(System.nanoTime());
+    }
+
+    @Override
+    public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        metrics.increment(CHAINS_COMPLETED);
+        final Long start = startNanos.get();
+        if (null != start) {
+            startNanos.remove();
+            metrics.recordLatency(CHAIN_LATENCY, start);
+        }
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterators;
+import gaffer.commonutil.CancellationToken;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.CountGroups;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.generate.GenerateElements;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.store.Store;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An <code>OperationResultCache</code> is an {@link ExecutionHook} that caches the results of read only operation
+ * chains, so identical chains executed repeatedly, for example by dashboards, do not have to query the store each
+ * time. It can also be used without a {@link gaffer.graph.Graph} by calling
+ * {@link #execute(Store, OperationChain, User)}.
+ * <p>
+ * A chain is cached if all of its operations are {@link GetOperation}s or one of the configured read only
+ * operations. Results are keyed by the JSON of the chain and the user's data authorisations. Iterable results are
+ * copied into a list, so only results with up to the maximum result size items are cached. Larger results are not
+ * cached, the items that were copied are returned followed by the rest of the store's result, so the store is only
+ * queried once and results that can only be read once are not lost. Numbers, strings and
+ * booleans are also cached. Cached results are shared by all users with the same data authorisations so they must
+ * not be modified.
+ * <p>
+ * Entries expire after the time to live and the least recently used entries are evicted when the cache is full.
+ * When a write operation, by default {@link AddElements} or AddElementsFromHdfs, is executed the cached results
+ * are removed. For an {@link AddElements} with elements the groups of the elements are recorded as they are added
+ * and only the cached results for those groups are removed, otherwise all cached results are removed. Results from
+ * chains that were running whilst a write was executed are not cached.
+ */
+public class OperationResultCache implements ExecutionHook {
+    public static final long DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE_SECONDS = 60;
+    public static final int DEFAULT_MAX_RESULT_SIZE = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationResultCache.class);
+    private static final JSONSerialiser JSON_SERIALISER = new JSONSerialiser();
+    // The hdfs operation library is not a dependency of the graph
+    private static final String ADD_ELEMENTS_FROM_HDFS = "gaffer.operation.simple.hdfs.operation.AddElementsFromHdfs";
+
+    private final Cache<String, CachedResult> cache;
+    private final int maxResultSize;
+    private final Set<Class<? extends Operation>> readOnlyOperations = new HashSet<>();
+    private final Set<String> writeOperations = new HashSet<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    public OperationResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE_SECONDS, DEFAULT_MAX_RESULT_SIZE);
+    }
+
+    /**
+     * @param maxEntries        the maximum number of results to cache
+     * @param timeToLiveSeconds the number of seconds a result is cached for
+     * @param maxResultSize     the maximum number of items in an iterable result for it to be cached
+     */
+    public OperationResultCache(final long maxEntries, final long timeToLiveSeconds, final int maxResultSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+        this.maxResultSize = maxResultSize;
+
+        readOnlyOperations.add(GenerateElements.class);
+        readOnlyOperations.add(GenerateObjects.class);
+        readOnlyOperations.add(Deduplicate.class);
+        readOnlyOperations.add(Limit.class);
+        readOnlyOperations.add(CountGroups.class);
+        writeOperations.add(AddElements.class.getName());
+        writeOperations.add(ADD_ELEMENTS_FROM_HDFS);
+    }
+
+    /**
+     * @param operationClass an operation class, in addition to the {@link GetOperation}s, that does not modify the
+     *                       graph and whose results can be cached.
+     */
+    public void addReadOnlyOperation(final Class<? extends Operation> operationClass) {
+        readOnlyOperations.add(operationClass);
+    }
+
+    /**
+     * @param operationClassName the class name of an operation that adds elements to the graph
+     */
+    public void addWriteOperation(final String operationClassName) {
+        writeOperations.add(operationClassName);
+    }
+
+    /**
+     * Returns the cached result of the operation chain if there is one, otherwise executes it on the store and caches
+     * the result if possible.
+     *
+     * @param store          the store to execute the operation chain on
+     * @param operationChain the operation chain
+     * @param user           the user executing the operation chain
+     * @param <OUTPUT>       the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException if the operation chain fails
+     */
+    public <OUTPUT> OUTPUT execute(final Store store, final OperationChain<OUTPUT> operationChain, final User user)
+            throws OperationException {
+        return execute(store, operationChain, user, null);
+    }
+
+    /**
+     * Returns the cached result of the operation chain if there is one, otherwise executes it on the store with the
+     * cancellation token and caches the result if possible.
+     *
+     * @param store             the store to execute the operation chain on
+     * @param operationChain    the operation chain
+     * @param user              the user executing the operation chain
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     * @param <OUTPUT>          the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException if the operation chain fails
+     */
+    public <OUTPUT> OUTPUT execute(final Store store, final OperationChain<OUTPUT> operationChain, final User user,
+                                   final CancellationToken cancellationToken) throws OperationException {
+        return execute(operationChain, user, cancellationToken, new StoreExecutor(store));
+    }
+
+    /**
+     * Returns the cached result of the operation chain if there is one, otherwise executes it with the next executor
+     * and caches the result if possible.
+     *
+     * @param operationChain    the operation chain
+     * @param user              the user executing the operation chain
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     * @param next              the next executor
+     * @param <OUTPUT>          the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException if the operation chain fails
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user,
+                                   final CancellationToken cancellationToken, final Executor next)
+            throws OperationException {
+        if (!isReadOnly(operationChain)) {
+            return next.execute(operationChain, user, cancellationToken);
+        }
+
+        final String key = createKey(operationChain, user);
+        if (null == key) {
+            return next.execute(operationChain, user, cancellationToken);
+        }
+
+        final CachedResult cachedResult = cache.getIfPresent(key);
+        if (null != cachedResult) {
+            return (OUTPUT) cachedResult.getResult();
+        }
+
+        // The groups are read before execution as the store may optimise the chain
+        final Set<String> groups = getGroups(operationChain);
+        final long generation = writeGeneration.get();
+        final OUTPUT result = next.execute(operationChain, user, cancellationToken);
+        return (OUTPUT) cacheResult(key, result, groups, generation);
+    }
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final User user) {
+        for (final Operation<?, ?> operation : opChain.getOperations()) {
+            if (writeOperations.contains(operation.getClass().getName())) {
+                if (operation instanceof AddElements && null != ((AddElements) operation).getElements()) {
+                    final AddElements addElements = (AddElements) operation;
+                    addElements.setElements(new GroupRecordingIterable(addElements.getElements()));
+                } else {
+                    invalidateAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        // Results cached by chains that ran whilst the elements were being added are also removed
+        for (final Operation<?, ?> operation : opChain.getOperations()) {
+            if (writeOperations.contains(operation.getClass().getName())) {
+                if (operation instanceof AddElements
+                        && ((AddElements) operation).getElements() instanceof GroupRecordingIterable) {
+                    invalidate(((GroupRecordingIterable) ((AddElements) operation).getElements()).getGroups());
+                } else {
+                    invalidateAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        writeGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    private void invalidate(final Set<String> groups) {
+        writeGeneration.incrementAndGet();
+        final Iterator<Entry<String, CachedResult>> itr = cache.asMap().entrySet().iterator();
+        while (itr.hasNext()) {
+            final Set<String> cachedGroups = itr.next().getValue().getGroups();
+            if (null == cachedGroups || !Collections.disjoint(cachedGroups, groups)) {
+                itr.remove();
+            }
+        }
+    }
+
+    private boolean isReadOnly(final OperationChain<?> operationChain) {
+        for (final Operation<?, ?> operation : operationChain.getOperations()) {
+            if (!(operation instanceof GetOperation) && !readOnlyOperations.contains(operation.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String createKey(final OperationChain<?> operationChain, final User user) {
+        final String chainJson;
+        try {
+            chainJson = new String(JSON_SERIALISER.serialise(operationChain), CommonConstants.UTF_8);
+        } catch (final SerialisationException | UnsupportedEncodingException e) {
+            LOGGER.debug("Unable to serialise operation chain, so its result will not be cached", e);
+            return null;
+        }
+
+        final Set<String> dataAuths = null != user && null != user.getDataAuths()
+                ? new TreeSet<>(user.getDataAuths()) : Collections.<String>emptySet();
+        return dataAuths + chainJson;
+    }
+
+    // Returns null if the chain may return elements from any group
+    private Set<String> getGroups(final OperationChain<?> operationChain) {
+        final Set<String> groups = new HashSet<>();
+        for (final Operation<?, ?> operation : operationChain.getOperations()) {
+            if (operation instanceof GetOperation) {
+                final Set<String> opGroups = getGroups(operation.getView());
+                if (null == opGroups) {
+                    return null;
+                }
+                groups.addAll(opGroups);
+            }
+        }
+        return groups;
+    }
+
+    private Set<String> getGroups(final View view) {
+        if (null == view) {
+            return null;
+        }
+        final Set<String> groups = new HashSet<>(view.getEntityGroups());
+        groups.addAll(view.getEdgeGroups());
+        return groups;
+    }
+
+    // Returns the result to give to the user, which is the cached copy if the result was cached
+    private Object cacheResult(final String key, final Object result, final Set<String> groups,
+                               final long generation) {
+        final CachedResult cachedResult;
+        if (result instanceof Number || result instanceof String || result instanceof Boolean) {
+            cachedResult = new CachedResult(result, groups);
+        } else if (result instanceof Iterable
+                && !(result instanceof Collection && ((Collection<?>) result).size() > maxResultSize)) {
+            final List<Object> items = new ArrayList<>();
+            final Iterator<?> itr = ((Iterable<?>) result).iterator();
+            boolean closeIterator = true;
+            try {
+                while (itr.hasNext()) {
+                    if (items.size() == maxResultSize) {
+                        // The items already read are returned with the rest of the result so it is only read once
+                        closeIterator = false;
+                        return new PartiallyReadIterable((Iterable<?>) result, items, itr);
+                    }
+                    items.add(itr.next());
+                }
+            } finally {
+                if (closeIterator && itr instanceof CloseableIterator) {
+                    ((CloseableIterator) itr).close();
+                }
+            }
+            cachedResult = new CachedResult(Collections.unmodifiableList(items), groups);
+        } else {
+            return result;
+        }
+
+        if (generation == writeGeneration.get()) {
+            cache.put(key, cachedResult);
+        }
+        return cachedResult.getResult();
+    }
+
+    /**
+     * The result of a chain that was too large to cache. The first iterator returns the items that were read whilst
+     * trying to cache the result followed by the rest of the original iterator. Any further iterators are read from
+     * the original result.
+     */
+    private static final class PartiallyReadIterable implements CloseableIterable<Object> {
+        private final Iterable<?> result;
+        private final List<Object> readItems;
+        private Iterator<?> remainingItems;
+
+        private PartiallyReadIterable(final Iterable<?> result, final List<Object> readItems,
+                                      final Iterator<?> remainingItems) {
+            this.result = result;
+            this.readItems = readItems;
+            this.remainingItems = remainingItems;
+        }
+
+        @Override
+        public synchronized CloseableIterator<Object> iterator() {
+            if (null == remainingItems) {
+                return new WrappedCloseableIterator<>((Iterator<Object>) result.iterator());
+            }
+
+            final Iterator<?> remaining = remainingItems;
+            remainingItems = null;
+            return new PartiallyReadIterator(readItems, remaining);
+        }
+
+        @Override
+        public synchronized void close() {
+            if (null != remainingItems && remainingItems instanceof CloseableIterator) {
+                ((CloseableIterator) remainingItems).close();
+            }
+            remainingItems = null;
+            if (result instanceof CloseableIterable) {
+                ((CloseableIterable) result).close();
+            }
+        }
+    }
+
+    private static final class PartiallyReadIterator extends WrappedCloseableIterator<Object> {
+        private final Iterator<?> remainingItems;
+
+        private PartiallyReadIterator(final List<Object> readItems, final Iterator<?> remainingItems) {
+            super(Iterators.concat(readItems.iterator(), remainingItems));
+            this.remainingItems = remainingItems;
+        }
+
+        @Override
+        public void close() {
+            if (remainingItems instanceof CloseableIterator) {
+                ((CloseableIterator) remainingItems).close();
+            }
+        }
+    }
+
+    /**
+     * Wraps the elements of an {@link AddElements} operation and removes the cached results for the group of each
+     * element before it is added.
+     */
+    private final class GroupRecordingIterable implements CloseableIterable<Element> {
+        private final CloseableIterable<Element> elements;
+        private final Set<String> groups = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        private GroupRecordingIterable(final CloseableIterable<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final CloseableIterator<Element> itr = elements.iterator();
+            return new WrappedCloseableIterator<Element>(itr) {
+                @Override
+                public Element next() {
+                    final Element element = super.next();
+                    if (null != element && groups.add(element.getGroup())) {
+                        invalidate(Collections.singleton(element.getGroup()));
+                    }
+                    return element;
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            elements.close();
+        }
+
+        private Set<String> getGroups() {
+            return groups;
+        }
+    }
+
+    private static final class CachedResult {
+        private final Object result;
+        private final Set<String> groups;
+
+        private CachedResult(final Object result, final Set<String> groups) {
+            this.result = result;
+            this.groups = groups;
+        }
+
+        private Object getResult() {
+            if (result instanceof List) {
+                return new WrappedCloseableIterable<>((List<?>) result);
+            }
+            return result;
+        }
+
+        private Set<String> getGroups() {
+            return groups;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.inOrder;
@@ -30,6 +31,7 @@ import static org.mockito.Mockito.verify;
 
 import com.google.common.io.Files;
 import com.google.common.io.InputSupplier;
+import gaffer.commonutil.CancellationToken;
 import gaffer.commonutil.JsonUtil;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
@@ -39,12 +41,20 @@ import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.graph.hook.AdmissionController;
+import gaffer.graph.hook.ExecutionHook;
+import gaffer.graph.hook.ExplainHook;
 import gaffer.graph.hook.GraphHook;
+import gaffer.graph.hook.OperationChainLimiter;
+import gaffer.graph.hook.OperationMetrics;
+import gaffer.graph.hook.OperationResultCache;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
@@ -53,6 +63,7 @@ import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.StoreProperties;
 import gaffer.store.StoreTrait;
+import gaffer.store.metrics.MetricsRegistry;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEdgeDefinition;
@@ -70,6 +81,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -249,6 +261,88 @@ public class GraphTest {
         assertSame(operation, ops.get(0));
     }
 
+    @Test
+    public void shouldUseOperationResultCacheHookToExecuteOperationChains() throws OperationException {
+        // Given
+        final User user = new User();
+        final Store store = mock(Store.class);
+        final Schema schema = new Schema();
+        given(store.getSchema()).willReturn(schema);
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user))).willReturn(5L);
+
+        final Graph graph = new Graph.Builder()
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .addHook(new OperationResultCache())
+                .build();
+
+        // When
+        final Object result1 = graph.execute(new GetAllElements<>(), user);
+        final Object result2 = graph.execute(new GetAllElements<>(), user);
+
+        // Then
+        assertEquals(5L, result1);
+        assertEquals(5L, result2);
+        verify(store, Mockito.times(1)).execute(Mockito.any(OperationChain.class), Mockito.eq(user));
+    }
+
+    @Test
+    public void shouldExecuteOperationChainsThroughExecutionHooksInTheOrderTheyWereAdded() throws OperationException {
+        // Given
+        final User user = new User();
+        final Store store = mock(Store.class);
+        final Schema schema = new Schema();
+        given(store.getSchema()).willReturn(schema);
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user))).willReturn(5L);
+        final List<String> calls = new ArrayList<>();
+
+        final Graph graph = new Graph.Builder()
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .addHook(new RecordingExecutionHook("hook1", calls))
+                .addHook(mock(GraphHook.class))
+                .addHook(new RecordingExecutionHook("hook2", calls))
+                .build();
+
+        // When
+        final Object result = graph.execute(new GetAllElements<>(), user);
+
+        // Then
+        assertEquals(5L, result);
+        assertEquals(Arrays.asList("hook1", "hook2"), calls);
+        verify(store).execute(Mockito.any(OperationChain.class), Mockito.eq(user));
+    }
+
+    @Test
+    public void shouldReleaseAdmissionWhenOperationChainFails() throws OperationException {
+        // Given
+        final User user = new User();
+        final Store store = mock(Store.class);
+        final Schema schema = new Schema();
+        given(store.getSchema()).willReturn(schema);
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user)))
+                .willThrow(new OperationException("Operation failed"));
+        final AdmissionController admissionController = new AdmissionController(new OperationChainLimiter());
+
+        final Graph graph = new Graph.Builder()
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .store(store)
+                .addSchema(schema)
+                .addHook(admissionController)
+                .build();
+
+        // When
+        try {
+            graph.execute(new GetAllElements<>(), user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            // Then
+            assertEquals(0, admissionController.getRunningScore());
+        }
+    }
+
     @Test
     public void shouldCallAllGraphHooksAfterOperationChainExecuted() throws OperationException {
         // Given
@@ -373,6 +467,65 @@ public class GraphTest {
         verify(operation).setView(view);
     }
 
+    @Test
+    public void shouldSetGraphViewAndCallExplainHooksOnExplainedOperationChain() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final View view = mock(View.class);
+        final ExplainHook hook = mock(ExplainHook.class);
+        final GraphHook otherHook = mock(GraphHook.class);
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .view(view)
+                .addHook(hook)
+                .addHook(otherHook)
+                .build();
+        final User user = new User();
+        final Operation<?, Integer> operation = mock(Operation.class);
+        given(operation.getView()).willReturn(null);
+        final OperationChain<Integer> opChain = new OperationChain<>(operation);
+        final Explanation explanation = new Explanation();
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user))).willReturn(explanation);
+
+        // When
+        final Explanation result = graph.explain(opChain, user);
+
+        // Then
+        assertSame(explanation, result);
+        verify(operation).setView(view);
+        verify(hook).preExplain(opChain, user);
+        verify(hook, Mockito.never()).preExecute(opChain, user);
+        verify(otherHook, Mockito.never()).preExecute(opChain, user);
+        final ArgumentCaptor<OperationChain> captor = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(captor.capture(), Mockito.eq(user));
+        assertSame(opChain, ((Explain) captor.getValue().getOperations().get(0)).getOperationChain());
+    }
+
+    @Test
+    public void shouldOnlyRecordMetricsForTheExplainChainWhenExplaining() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final MetricsRegistry metrics = new MetricsRegistry();
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .view(new View())
+                .addHook(new OperationMetrics(metrics))
+                .build();
+        final User user = new User();
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain<>(new GetAllElements<>());
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user))).willReturn(new Explanation());
+
+        // When
+        graph.explain(opChain, user);
+
+        // Then
+        assertEquals(1, metrics.getCounter(OperationMetrics.CHAINS_STARTED));
+        assertEquals(1, metrics.getCounter(OperationMetrics.CHAINS_COMPLETED));
+        assertEquals(1, metrics.getCounter("operation.Explain.requested"));
+        assertEquals(0, metrics.getCounter("operation.GetAllElements.requested"));
+        assertEquals(1, metrics.getHistogram(OperationMetrics.CHAIN_LATENCY + MetricsRegistry.MICROS_SUFFIX).getCount());
+    }
+
     @Test
     public void shouldNotSetGraphViewOnOperationWhenOperationViewIsNotNull
             () throws OperationException {
@@ -470,4 +623,30 @@ public class GraphTest {
             return StreamUtil.openStream(getClass(), "/schema/" + schemaFile);
         }
     }
-}
\ No newline at end of file
+
+    private static final class RecordingExecutionHook implements ExecutionHook {
+        private final String name;
+        private final List<String> calls;
+
+        private RecordingExecutionHook(final String name, final List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final User user,
+                                       final CancellationToken cancellationToken, final Executor next)
+                throws OperationException {
+            calls.add(name);
+            return next.execute(opChain, user, cancellationToken);
+        }
+
+        @Override
+        public void preExecute(final OperationChain<?> opChain, final User user) {
+        }
+
+        @Override
+        public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.exception.OverloadedException;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.graph.hook.AdmissionController.Admission;
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AdmissionControllerTest {
+    private static final OperationChainLimiter SCORER = new OperationChainLimiter(
+            StreamUtil.opScores(AdmissionControllerTest.class), StreamUtil.authScores(AdmissionControllerTest.class));
+
+    private final User user1 = new User("user1");
+    private final User user2 = new User("user2");
+    private MetricsRegistry metrics;
+    private AdmissionController controller;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricsRegistry();
+        controller = new AdmissionController(SCORER, metrics);
+        controller.setGlobalBudget(10);
+        controller.setUserBudget(6);
+        controller.setMaxQueued(0);
+    }
+
+    @Test
+    public void shouldAdmitChainsWithinBudgetsAndReleaseScores() {
+        // When
+        final Admission admission1 = controller.admit(getAllElements(), user1);
+        final Admission admission2 = controller.admit(getAllElements(), user2);
+
+        // Then
+        assertEquals(5, admission1.getScore());
+        assertEquals(10, controller.getRunningScore());
+        assertEquals(5, controller.getUserScore(user1.getUserId()));
+        assertEquals(10, metrics.getCounter(AdmissionController.RUNNING_SCORE));
+
+        admission1.release();
+        admission1.release();
+        admission2.release();
+        assertEquals(0, controller.getRunningScore());
+        assertEquals(0, controller.getUserScore(user1.getUserId()));
+        assertEquals(2, metrics.getCounter(AdmissionController.ADMITTED));
+        assertEquals(0, metrics.getCounter(AdmissionController.RUNNING_SCORE));
+    }
+
+    @Test
+    public void shouldRejectChainWhenUserBudgetIsUsedAndQueueIsFull() {
+        // Given
+        controller.admit(getAllElements(), user1);
+
+        // When / Then
+        try {
+            controller.admit(addElements(), user1);
+            fail("Exception expected");
+        } catch (final OverloadedException e) {
+            assertTrue(e.getMessage().contains("busy"));
+        }
+        controller.admit(addElements(), user2);
+        assertEquals(1, metrics.getCounter(AdmissionController.REJECTED));
+    }
+
+    @Test
+    public void shouldRejectChainWithScoreLargerThanBudget() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements<>())
+                .then(new AddElements())
+                .build();
+
+        // When / Then
+        try {
+            controller.admit(opChain, user1);
+            fail("Exception expected");
+        } catch (final OverloadedException e) {
+            assertTrue(e.getMessage().contains("exceeds"));
+        }
+    }
+
+    @Test
+    public void shouldQueueChainUntilScoreIsReleased() throws InterruptedException {
+        // Given
+        controller.setMaxQueued(1);
+        final Admission admission = controller.admit(getAllElements(), user1);
+        final AtomicReference<Admission> queuedAdmission = new AtomicReference<>();
+        final CountDownLatch admitted = new CountDownLatch(1);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                queuedAdmission.set(controller.admit(getAllElements(), user1));
+                admitted.countDown();
+            }
+        });
+        thread.start();
+
+        // When
+        assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+        admission.release();
+
+        // Then
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(5, queuedAdmission.get().getScore());
+        assertEquals(1, metrics.getCounter(AdmissionController.QUEUED));
+        assertEquals(0, metrics.getCounter(AdmissionController.WAITING));
+    }
+
+    @Test
+    public void shouldNotAdmitArrivingChainBeforeWaitingChain() throws InterruptedException {
+        // Given
+        controller.setMaxQueued(1);
+        controller.setQueueTimeoutMillis(200);
+        controller.admit(getAllElements(), user1);
+        controller.admit(addElements(), user2);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    controller.admit(getAllElements(), new User("user3"));
+                } catch (final OverloadedException e) {
+                    // The waiting chain times out as the budget is never released
+                }
+            }
+        });
+        thread.start();
+        waitForWaitingChains(1);
+
+        // When / Then
+        try {
+            controller.admit(addElements(), new User("user4"));
+            fail("Exception expected");
+        } catch (final OverloadedException e) {
+            assertTrue(e.getMessage().contains("busy"));
+        }
+        thread.join();
+        assertEquals(1, metrics.getCounter(AdmissionController.QUEUED));
+    }
+
+    @Test
+    public void shouldNotHoldUpOtherUsersBehindChainWaitingForUserBudget() throws InterruptedException {
+        // Given
+        controller.setMaxQueued(1);
+        controller.setQueueTimeoutMillis(200);
+        controller.admit(getAllElements(), user1);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    controller.admit(addElements(), user1);
+                } catch (final OverloadedException e) {
+                    // The waiting chain times out as the user budget is never released
+                }
+            }
+        });
+        thread.start();
+        waitForWaitingChains(1);
+
+        // When
+        final Admission admission = controller.admit(getAllElements(), user2);
+
+        // Then
+        assertEquals(5, admission.getScore());
+        assertEquals(10, controller.getRunningScore());
+        thread.join();
+    }
+
+    @Test
+    public void shouldRejectQueuedChainAfterQueueTimeout() {
+        // Given
+        controller.setMaxQueued(1);
+        controller.setQueueTimeoutMillis(50);
+        controller.admit(getAllElements(), user1);
+
+        // When / Then
+        try {
+            controller.admit(getAllElements(), user1);
+            fail("Exception expected");
+        } catch (final OverloadedException e) {
+            assertTrue(e.getMessage().contains("50ms"));
+        }
+        assertEquals(1, metrics.getCounter(AdmissionController.QUEUED));
+        assertEquals(1, metrics.getCounter(AdmissionController.REJECTED));
+    }
+
+    @Test
+    public void shouldReleaseScoreWhenIterableResultIsReadToTheEnd() {
+        // Given
+        final Admission admission = controller.admit(getAllElements(), user1);
+
+        // When
+        final CloseableIterable<Integer> result = admission.releaseWhenRead(
+                (CloseableIterable<Integer>) new WrappedCloseableIterable<>(Arrays.asList(1, 2)));
+        final CloseableIterator<Integer> itr = result.iterator();
+        itr.next();
+        itr.next();
+
+        // Then
+        assertEquals(5, controller.getRunningScore());
+        assertFalse(itr.hasNext());
+        assertEquals(0, controller.getRunningScore());
+    }
+
+    @Test
+    public void shouldReleaseScoreImmediatelyForNonIterableResult() {
+        // Given
+        final Admission admission = controller.admit(getAllElements(), user1);
+
+        // When
+        final Long result = admission.releaseWhenRead(5L);
+
+        // Then
+        assertEquals((Long) 5L, result);
+        assertEquals(0, controller.getRunningScore());
+    }
+
+    @Test
+    public void shouldReleaseExpiredScores() {
+        // Given
+        controller.setMaxHoldMillis(0);
+        controller.admit(getAllElements(), user1);
+
+        // When
+        final int runningScore = controller.getRunningScore();
+
+        // Then
+        assertEquals(0, runningScore);
+        assertEquals(1, metrics.getCounter(AdmissionController.EXPIRED));
+    }
+
+    @Test
+    public void shouldExpireAdmissionsByTimeAdmittedNotTimeQueued() throws InterruptedException {
+        // Given
+        controller.setMaxQueued(1);
+        controller.setMaxHoldMillis(1000);
+        final Admission admission = controller.admit(getAllElements(), user1);
+        final CountDownLatch admitted = new CountDownLatch(1);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                controller.admit(getAllElements(), user1);
+                admitted.countDown();
+            }
+        });
+        thread.start();
+        waitForWaitingChains(1);
+        Thread.sleep(1100);
+
+        // When
+        admission.release();
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(5, controller.getRunningScore());
+        assertEquals(0, metrics.getCounter(AdmissionController.EXPIRED));
+    }
+
+    private void waitForWaitingChains(final long count) throws InterruptedException {
+        final long endMillis = System.currentTimeMillis() + 5000;
+        while (metrics.getCounter(AdmissionController.WAITING) < count) {
+            assertTrue("Timed out waiting for queued chains", System.currentTimeMillis() < endMillis);
+            Thread.sleep(10);
+        }
+    }
+
+    private static OperationChain<?> getAllElements() {
+        return new OperationChain<>(new GetAllElements<>());
+    }
+
+    private static OperationChain<?> addElements() {
+        return new OperationChain<>(new AddElements());
+    }
+}
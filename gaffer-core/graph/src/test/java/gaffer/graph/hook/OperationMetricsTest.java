@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.data.element.Edge;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.store.metrics.MetricsRegistry;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.Collections;
+
+public class OperationMetricsTest {
+    @Test
+    public void shouldRecordChainAndOperationMetrics() {
+        // Given
+        final MetricsRegistry metrics = new MetricsRegistry();
+        final OperationMetrics hook = new OperationMetrics(metrics);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetRelatedEdges<>(Collections.singletonList(new EntitySeed("A"))))
+                .then(new Limit<Edge>())
+                .build();
+        final User user = new User();
+
+        // When
+        hook.preExecute(opChain, user);
+        hook.postExecute(null, opChain, user);
+        hook.preExecute(opChain, user);
+
+        // Then
+        assertEquals(2, metrics.getCounter(OperationMetrics.CHAINS_STARTED));
+        assertEquals(1, metrics.getCounter(OperationMetrics.CHAINS_COMPLETED));
+        assertEquals(2, metrics.getCounter("operation.GetRelatedEdges.requested"));
+        assertEquals(2, metrics.getCounter("operation.Limit.requested"));
+        assertEquals(2, metrics.getHistogram(OperationMetrics.CHAIN_LENGTH).getMax());
+        assertEquals(1, metrics.getHistogram(OperationMetrics.CHAIN_LATENCY + MetricsRegistry.MICROS_SUFFIX).getCount());
+    }
+}
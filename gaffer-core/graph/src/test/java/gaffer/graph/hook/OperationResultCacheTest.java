@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.Validate;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.store.Store;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.util.Arrays;
+import java.util.List;
+
+public class OperationResultCacheTest {
+    private Store store;
+    private User user;
+    private List<Element> edges;
+
+    @Before
+    public void setUp() throws OperationException {
+        store = mock(Store.class);
+        user = new User.Builder()
+                .userId("user01")
+                .dataAuths("public")
+                .build();
+        edges = Arrays.<Element>asList(new Edge(TestGroups.EDGE, "A", "B", true), new Edge(TestGroups.EDGE, "A", "C", true));
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new WrappedCloseableIterable<>(edges));
+    }
+
+    @Test
+    public void shouldReturnCachedResultForEquivalentChain() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+
+        // When
+        final CloseableIterable<Edge> result1 = cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        final CloseableIterable<Edge> result2 = cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+
+        // Then
+        verify(store, times(1)).execute(any(OperationChain.class), any(User.class));
+        assertEquals(edges, Lists.newArrayList(result1));
+        assertEquals(edges, Lists.newArrayList(result2));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldNotShareCachedResultsBetweenUsersWithDifferentDataAuths() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        final User otherUser = new User.Builder()
+                .userId("user01")
+                .dataAuths("public", "private")
+                .build();
+
+        // When
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE), otherUser);
+
+        // Then
+        verify(store, times(2)).execute(any(OperationChain.class), any(User.class));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldInvalidateCachedResultsForGroupsAddedTo() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE_2), user);
+        final AddElements addElements = new AddElements.Builder()
+                .elements(Arrays.<Element>asList(new Edge(TestGroups.EDGE, "A", "D", true)))
+                .build();
+        final OperationChain<Void> addChain = new OperationChain<>(addElements);
+
+        // When
+        cache.preExecute(addChain, user);
+        Lists.newArrayList(addElements.getElements());
+        cache.postExecute(null, addChain, user);
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE_2), user);
+
+        // Then
+        verify(store, times(3)).execute(any(OperationChain.class), any(User.class));
+    }
+
+    @Test
+    public void shouldInvalidateAllCachedResultsWhenAddedElementsAreNotKnown() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        cache.execute(store, createGetEdgesChain(TestGroups.EDGE_2), user);
+        final OperationChain<Void> addChain = new OperationChain<>(new AddElements());
+
+        // When
+        cache.preExecute(addChain, user);
+        cache.postExecute(null, addChain, user);
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheResultsWhenAddingElementsDuringExecution() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        final OperationChain<Void> addChain = new OperationChain<>(new AddElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build());
+        final Store addingStore = mock(Store.class);
+        given(addingStore.execute(any(OperationChain.class), any(User.class)))
+                .willAnswer(new AddElementsAnswer(cache, addChain, edges));
+
+        // When
+        cache.execute(addingStore, createGetEdgesChain(TestGroups.EDGE), user);
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheResultsOfChainsThatAreNotReadOnly() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        final OperationChain<CloseableIterable<Element>> chain = new OperationChain<>(new Validate(true));
+
+        // When
+        cache.execute(store, chain, user);
+        cache.execute(store, chain, user);
+
+        // Then
+        verify(store, times(2)).execute(any(OperationChain.class), any(User.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheResultsLargerThanMaxResultSize() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache(10, 60, 1);
+        final OperationChain<CloseableIterable<Edge>> chain = createGetEdgesChain(TestGroups.EDGE);
+        final CloseableIterable<Element> singleUseResult = mock(CloseableIterable.class);
+        given(singleUseResult.iterator()).willReturn(new WrappedCloseableIterator<>(edges.iterator()));
+        given(store.execute(any(OperationChain.class), any(User.class))).willReturn(singleUseResult);
+
+        // When
+        final CloseableIterable<Edge> result = cache.execute(store, chain, user);
+
+        // Then
+        assertEquals(edges, Lists.newArrayList(result));
+        assertEquals(0, cache.size());
+        verify(store, times(1)).execute(any(OperationChain.class), any(User.class));
+        verify(singleUseResult, times(1)).iterator();
+    }
+
+    @Test
+    public void shouldCacheNumberResults() throws OperationException {
+        // Given
+        final OperationResultCache cache = new OperationResultCache();
+        given(store.execute(any(OperationChain.class), any(User.class))).willReturn(5L);
+
+        // When
+        final Object result1 = cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+        final Object result2 = cache.execute(store, createGetEdgesChain(TestGroups.EDGE), user);
+
+        // Then
+        verify(store, times(1)).execute(any(OperationChain.class), any(User.class));
+        assertEquals(5L, result1);
+        assertSame(result1, result2);
+    }
+
+    private OperationChain<CloseableIterable<Edge>> createGetEdgesChain(final String group) {
+        return new OperationChain<>(new GetRelatedEdges.Builder<EntitySeed>()
+                .addSeed(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .edge(group)
+                        .build())
+                .build());
+    }
+
+    private static final class AddElementsAnswer implements Answer<Object> {
+        private final OperationResultCache cache;
+        private final OperationChain<Void> addChain;
+        private final List<Element> result;
+
+        private AddElementsAnswer(final OperationResultCache cache, final OperationChain<Void> addChain, final List<Element> result) {
+            this.cache = cache;
+            this.addChain = addChain;
+            this.result = result;
+        }
+
+        @Override
+        public Object answer(final InvocationOnMock invocation) {
+            cache.preExecute(addChain, null);
+            cache.postExecute(null, addChain, null);
+            return new WrappedCloseableIterable<>(result);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.operation.impl.explain;
+
+import gaffer.operation.AbstractOperation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.VoidInput;
+
+/**
+ * An <code>Explain</code> operation describes how a store would execute an {@link OperationChain}, without
+ * executing it. The result is an {@link Explanation} containing the chain after it has been optimised by the store
+ * and the details of how the store would execute each operation in it.
+ *
+ * @see Explain.Builder
+ */
+public class Explain extends AbstractOperation<Void, Explanation> implements VoidInput<Explanation> {
+    private OperationChain<?> operationChain;
+
+    public Explain() {
+    }
+
+    public Explain(final OperationChain<?> operationChain) {
+        this.operationChain = operationChain;
+    }
+
+    /**
+     * @return the operation chain to explain
+     */
+    public OperationChain<?> getOperationChain() {
+        return operationChain;
+    }
+
+    /**
+     * @param operationChain the operation chain to explain
+     */
+    public void setOperationChain(final OperationChain<?> operationChain) {
+        this.operationChain = operationChain;
+    }
+
+    public abstract static class BaseBuilder<CHILD_CLASS extends BaseBuilder<?>>
+            extends AbstractOperation.BaseBuilder<Explain, Void, Explanation, CHILD_CLASS> {
+
+        public BaseBuilder() {
+            super(new Explain());
+        }
+
+        /**
+         * @param operationChain the operation chain to explain
+         * @return this Builder
+         * @see Explain#setOperationChain(OperationChain)
+         */
+        public CHILD_CLASS operationChain(final OperationChain<?> operationChain) {
+            op.setOperationChain(operationChain);
+            return self();
+        }
+    }
+
+    public static final class Builder extends BaseBuilder<Builder> {
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.operation.impl.explain;
+
+import gaffer.operation.OperationChain;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An <code>Explanation</code> is the result of an {@link Explain} operation. It holds the operation chain after it
+ * has been optimised by the store, and an {@link OperationExplanation} for each operation in the optimised chain.
+ */
+public class Explanation {
+    private OperationChain<?> operationChain;
+    private List<OperationExplanation> operations = new ArrayList<>();
+
+    public Explanation() {
+    }
+
+    public Explanation(final OperationChain<?> operationChain) {
+        this.operationChain = operationChain;
+    }
+
+    /**
+     * @return the optimised operation chain
+     */
+    public OperationChain<?> getOperationChain() {
+        return operationChain;
+    }
+
+    public void setOperationChain(final OperationChain<?> operationChain) {
+        this.operationChain = operationChain;
+    }
+
+    /**
+     * @return the explanations of the operations in the optimised chain, in order
+     */
+    public List<OperationExplanation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(final List<OperationExplanation> operations) {
+        this.operations = operations;
+    }
+
+    public void addOperation(final OperationExplanation operation) {
+        operations.add(operation);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.operation.impl.explain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An <code>OperationExplanation</code> describes how a store would execute a single operation. The details are
+ * store specific, but stores should use {@link #EXECUTION} to say whether the work of the operation is done by the
+ * store's client ({@link #EXECUTION_CLIENT}) or by its servers ({@link #EXECUTION_SERVER}).
+ */
+public class OperationExplanation {
+    public static final String EXECUTION = "execution";
+    public static final String EXECUTION_CLIENT = "client";
+    public static final String EXECUTION_SERVER = "server";
+
+    private String operation;
+    private String handler;
+    private Map<String, Object> details = new LinkedHashMap<>();
+
+    public OperationExplanation() {
+    }
+
+    public OperationExplanation(final String operation, final String handler) {
+        this.operation = operation;
+        this.handler = handler;
+    }
+
+    /**
+     * @return the class name of the operation
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(final String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return the class name of the handler for the operation, or null if the store has no handler for it
+     */
+    public String getHandler() {
+        return handler;
+    }
+
+    public void setHandler(final String handler) {
+        this.handler = handler;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public void setDetails(final Map<String, Object> details) {
+        this.details = details;
+    }
+
+    public void addDetails(final Map<String, Object> newDetails) {
+        details.putAll(newDetails);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+
+/**
+ * A <code>GetSampleOfElements</code> operation returns a random sample of all the {@link Element}s
+ * matching the {@link View}. Exactly one of the following should be set:
+ * <ul>
+ * <li>proportionToSample - each matching element is returned with this probability (between 0 and 1).</li>
+ * <li>sampleSize - at most this many matching elements are returned, chosen using reservoir sampling.</li>
+ * </ul>
+ * Stores are expected to sample the elements as close to the data as possible, for example on the
+ * Accumulo tablet servers, so that only the sample needs to be transferred.
+ */
+public class GetSampleOfElements<ELEMENT_TYPE extends Element> extends GetAllElements<ELEMENT_TYPE> {
+    private Float proportionToSample;
+    private Integer sampleSize;
+
+    public GetSampleOfElements() {
+        super();
+    }
+
+    public GetSampleOfElements(final View view) {
+        super(view);
+    }
+
+    public GetSampleOfElements(final GetSampleOfElements<?> operation) {
+        super(operation);
+        this.proportionToSample = operation.getProportionToSample();
+        this.sampleSize = operation.getSampleSize();
+    }
+
+    /**
+     * @return the probability, between 0 and 1, of each matching element being returned.
+     */
+    public Float getProportionToSample() {
+        return proportionToSample;
+    }
+
+    public void setProportionToSample(final Float proportionToSample) {
+        this.proportionToSample = proportionToSample;
+    }
+
+    /**
+     * @return the maximum number of elements to return.
+     */
+    public Integer getSampleSize() {
+        return sampleSize;
+    }
+
+    public void setSampleSize(final Integer sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    public abstract static class BaseBuilder<ELEMENT_TYPE extends Element, CHILD_CLASS extends BaseBuilder<ELEMENT_TYPE, ?>>
+            extends GetAllElements.BaseBuilder<GetSampleOfElements<ELEMENT_TYPE>, ELEMENT_TYPE, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new GetSampleOfElements<ELEMENT_TYPE>());
+        }
+
+        /**
+         * @param proportionToSample the probability of each matching element being returned
+         * @return this Builder
+         * @see GetSampleOfElements#setProportionToSample(Float)
+         */
+        public CHILD_CLASS proportionToSample(final Float proportionToSample) {
+            op.setProportionToSample(proportionToSample);
+            return self();
+        }
+
+        /**
+         * @param sampleSize the maximum number of elements to return
+         * @return this Builder
+         * @see GetSampleOfElements#setSampleSize(Integer)
+         */
+        public CHILD_CLASS sampleSize(final Integer sampleSize) {
+            op.setSampleSize(sampleSize);
+            return self();
+        }
+    }
+
+    public static final class Builder<ELEMENT_TYPE extends Element> extends BaseBuilder<ELEMENT_TYPE, Builder<ELEMENT_TYPE>> {
+        @Override
+        protected Builder<ELEMENT_TYPE> self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+
+/**
+ * A <code>GetTopK</code> operation returns the k {@link Element}s, out of all elements matching the
+ * {@link View}, that have the highest value of the given property. The property values must be
+ * {@link Comparable}; elements without the property are never returned.
+ * Results are returned in descending order of the property value.
+ * <p>
+ * Stores are expected to select the top k elements as close to the data as possible, for example
+ * per tablet on the Accumulo store, so that only k elements per partition need to be transferred.
+ */
+public class GetTopK<ELEMENT_TYPE extends Element> extends GetAllElements<ELEMENT_TYPE> {
+    private String property;
+    private Integer k;
+
+    public GetTopK() {
+        super();
+    }
+
+    public GetTopK(final View view) {
+        super(view);
+    }
+
+    public GetTopK(final View view, final String property, final Integer k) {
+        super(view);
+        this.property = property;
+        this.k = k;
+    }
+
+    public GetTopK(final GetTopK<?> operation) {
+        super(operation);
+        this.property = operation.getProperty();
+        this.k = operation.getK();
+    }
+
+    /**
+     * @return the name of the property to rank the elements by.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    /**
+     * @return the maximum number of elements to return.
+     */
+    public Integer getK() {
+        return k;
+    }
+
+    public void setK(final Integer k) {
+        this.k = k;
+    }
+
+    public abstract static class BaseBuilder<ELEMENT_TYPE extends Element, CHILD_CLASS extends BaseBuilder<ELEMENT_TYPE, ?>>
+            extends GetAllElements.BaseBuilder<GetTopK<ELEMENT_TYPE>, ELEMENT_TYPE, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new GetTopK<ELEMENT_TYPE>());
+        }
+
+        /**
+         * @param property the name of the property to rank the elements by
+         * @return this Builder
+         * @see GetTopK#setProperty(String)
+         */
+        public CHILD_CLASS property(final String property) {
+            op.setProperty(property);
+            return self();
+        }
+
+        /**
+         * @param k the maximum number of elements to return
+         * @return this Builder
+         * @see GetTopK#setK(Integer)
+         */
+        public CHILD_CLASS k(final Integer k) {
+            op.setK(k);
+            return self();
+        }
+    }
+
+    public static final class Builder<ELEMENT_TYPE extends Element> extends BaseBuilder<ELEMENT_TYPE, Builder<ELEMENT_TYPE>> {
+        @Override
+        protected Builder<ELEMENT_TYPE> self() {
+            return this;
+        }
+    }
+}
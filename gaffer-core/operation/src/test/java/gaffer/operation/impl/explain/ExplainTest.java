@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.operation.impl.explain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.get.GetRelatedElements;
+import org.junit.Test;
+
+
+public class ExplainTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Explain op = new Explain(createOperationChain());
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final Explain deserialisedOp = serialiser.deserialise(json, Explain.class);
+
+        // Then
+        assertEquals(2, deserialisedOp.getOperationChain().getOperations().size());
+        assertTrue(deserialisedOp.getOperationChain().getOperations().get(0) instanceof GetRelatedElements);
+        assertTrue(deserialisedOp.getOperationChain().getOperations().get(1) instanceof Limit);
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final OperationChain<?> operationChain = createOperationChain();
+
+        // When
+        final Explain explain = new Explain.Builder()
+                .operationChain(operationChain)
+                .option("testOption", "true")
+                .build();
+
+        // Then
+        assertEquals(operationChain, explain.getOperationChain());
+        assertEquals("true", explain.getOption("testOption"));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseExplanation() throws SerialisationException {
+        // Given
+        final Explanation explanation = new Explanation(createOperationChain());
+        final OperationExplanation operationExplanation = new OperationExplanation(GetRelatedElements.class.getName(), "handler");
+        operationExplanation.getDetails().put(OperationExplanation.EXECUTION, OperationExplanation.EXECUTION_SERVER);
+        explanation.addOperation(operationExplanation);
+
+        // When
+        byte[] json = serialiser.serialise(explanation, true);
+        final Explanation deserialised = serialiser.deserialise(json, Explanation.class);
+
+        // Then
+        assertEquals(2, deserialised.getOperationChain().getOperations().size());
+        assertEquals(1, deserialised.getOperations().size());
+        assertEquals(GetRelatedElements.class.getName(), deserialised.getOperations().get(0).getOperation());
+        assertEquals("handler", deserialised.getOperations().get(0).getHandler());
+        assertEquals(OperationExplanation.EXECUTION_SERVER,
+                deserialised.getOperations().get(0).getDetails().get(OperationExplanation.EXECUTION));
+    }
+
+    private static OperationChain<?> createOperationChain() {
+        return new OperationChain.Builder()
+                .first(new GetRelatedElements.Builder<EntitySeed, Element>()
+                        .addSeed(new EntitySeed("A"))
+                        .view(new View.Builder().edge(TestGroups.EDGE).build())
+                        .build())
+                .then(new Limit.Builder<Element>().limitResults(10).build())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import org.junit.Test;
+
+
+public class GetSampleOfElementsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetSampleOfElements<Element> op = new GetSampleOfElements<>(new View.Builder().edge(TestGroups.EDGE).build());
+        op.setProportionToSample(0.1f);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetSampleOfElements deserialisedOp = serialiser.deserialise(json, GetSampleOfElements.class);
+
+        // Then
+        assertEquals(0.1f, deserialisedOp.getProportionToSample(), 0.0001f);
+        assertNull(deserialisedOp.getSampleSize());
+        assertNotNull(deserialisedOp.getView().getEdge(TestGroups.EDGE));
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final GetSampleOfElements<Element> getSample = new GetSampleOfElements.Builder<>()
+                .sampleSize(100)
+                .option("testOption", "true")
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        assertEquals(Integer.valueOf(100), getSample.getSampleSize());
+        assertNull(getSample.getProportionToSample());
+        assertEquals("true", getSample.getOption("testOption"));
+        assertNotNull(getSample.getView().getEdge(TestGroups.EDGE));
+    }
+}
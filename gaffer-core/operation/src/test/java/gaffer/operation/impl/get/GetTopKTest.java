@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import org.junit.Test;
+
+
+public class GetTopKTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetTopK<Element> op = new GetTopK<>(new View.Builder().edge(TestGroups.EDGE).build(), TestPropertyNames.COUNT, 10);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetTopK deserialisedOp = serialiser.deserialise(json, GetTopK.class);
+
+        // Then
+        assertEquals(TestPropertyNames.COUNT, deserialisedOp.getProperty());
+        assertEquals(Integer.valueOf(10), deserialisedOp.getK());
+        assertNotNull(deserialisedOp.getView().getEdge(TestGroups.EDGE));
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final GetTopK<Element> getTopK = new GetTopK.Builder<>()
+                .property(TestPropertyNames.COUNT)
+                .k(5)
+                .option("testOption", "true")
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        assertEquals(TestPropertyNames.COUNT, getTopK.getProperty());
+        assertEquals(Integer.valueOf(5), getTopK.getK());
+        assertEquals("true", getTopK.getOption("testOption"));
+        assertNotNull(getTopK.getView().getEdge(TestGroups.EDGE));
+    }
+}
@@ -28,8 +28,8 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.exception.SerialisationException;
-import sun.misc.IOUtils;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -154,8 +154,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final Class<T> clazz) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.readFully(stream2, stream.available(), true);
-            return deserialise(bytes, clazz);
+            return mapper.readValue(stream2, clazz);
         } catch (IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -185,8 +184,28 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final TypeReference<T> type) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.readFully(stream2, stream.available(), true);
-            return deserialise(bytes, type);
+            return mapper.readValue(stream2, type);
+        } catch (IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lazily deserialises a stream of objects. The stream can contain either a JSON array of objects or a sequence
+     * of objects separated by whitespace, such as newline delimited JSON. Objects are parsed one at a time as the
+     * iterable is read, so the stream is never held in memory. The iterable can only be read once and closing it
+     * closes the stream. If an object fails to deserialise the iterator throws an {@link IllegalArgumentException}.
+     *
+     * @param stream the {@link java.io.InputStream} containing the objects to deserialise
+     * @param clazz  the class of the objects to deserialise
+     * @param <T>    the type of the objects
+     * @return an iterable of the deserialised objects
+     * @throws SerialisationException if the stream could not be read
+     */
+    public <T> CloseableIterable<T> deserialiseStream(final InputStream stream, final Class<T> clazz)
+            throws SerialisationException {
+        try {
+            return new JSONStreamIterable<>(mapper, mapper.getFactory().createParser(stream), clazz);
         } catch (IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
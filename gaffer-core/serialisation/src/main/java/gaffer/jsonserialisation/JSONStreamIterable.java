@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>JSONStreamIterable</code> lazily deserialises the objects read by a {@link JsonParser}, which may be a
+ * JSON array of objects or a sequence of root level objects. Only the next object is held in memory.
+ * The parser can only be read once, so only one iterator can be created.
+ *
+ * @param <T> the type of the objects
+ */
+class JSONStreamIterable<T> implements CloseableIterable<T> {
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final Class<T> clazz;
+    private boolean iterated;
+
+    JSONStreamIterable(final ObjectMapper mapper, final JsonParser parser, final Class<T> clazz) {
+        this.mapper = mapper;
+        this.parser = parser;
+        this.clazz = clazz;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (final IOException e) {
+            // The stream has already been read, so there is nothing to recover
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A JSON stream can only be read once");
+        }
+        iterated = true;
+        return new JSONStreamIterator();
+    }
+
+    private final class JSONStreamIterator implements CloseableIterator<T> {
+        private boolean started;
+        private boolean inArray;
+        private boolean finished;
+        private long count;
+        private T nextItem;
+
+        @Override
+        public boolean hasNext() {
+            // Null values in the stream are skipped
+            while (null == nextItem) {
+                if (finished) {
+                    return false;
+                }
+                readNextItem();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the JSON stream");
+            }
+            final T item = nextItem;
+            nextItem = null;
+            return item;
+        }
+
+        private void readNextItem() {
+            try {
+                JsonToken token = parser.nextToken();
+                if (!started) {
+                    started = true;
+                    if (JsonToken.START_ARRAY == token) {
+                        inArray = true;
+                        token = parser.nextToken();
+                    }
+                }
+                if (null == token || inArray && JsonToken.END_ARRAY == token) {
+                    close();
+                    return;
+                }
+                nextItem = mapper.readValue(parser, clazz);
+                count++;
+            } catch (final IOException e) {
+                close();
+                throw new IllegalArgumentException("Failed to deserialise JSON object " + (count + 1) + ": " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot call remove on a " + JSONStreamIterable.class.getSimpleName() + " iterator");
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            nextItem = null;
+            JSONStreamIterable.this.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * An <code>AbstractSerialisation</code> provides default implementations of the stream and offset based
+ * {@link DirectSerialisation} methods. By default they simply delegate to {@link #serialise(Object)} and
+ * {@link #deserialise(byte[])}, copying the bytes as required. Serialisers that can read and write directly
+ * should override them to avoid the extra array allocation and copy.
+ */
+public abstract class AbstractSerialisation implements DirectSerialisation {
+    private static final long serialVersionUID = -2792213590587327395L;
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            out.write(serialise(object));
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to write serialised bytes to output stream", e);
+        }
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        if (0 == offset && bytes.length == length) {
+            return deserialise(bytes);
+        }
+        return deserialise(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+/**
+ * A <code>ClassBoundSerialisation</code> is a {@link Serialisation} that can produce a more compact serialised form
+ * when it knows the class of the objects it will serialise, e.g. by not writing any class information. When a type in
+ * a schema is given a <code>ClassBoundSerialisation</code> the serialiser is bound to the type's class.
+ */
+public interface ClassBoundSerialisation extends Serialisation {
+    /**
+     * @param clazz the class of all objects the returned serialiser will serialise.
+     * @return a serialiser bound to the given class - this may be the same instance if it is already bound to the class.
+     */
+    Serialisation bindToClass(final Class<?> clazz);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+import java.io.OutputStream;
+
+/**
+ * A <code>DirectSerialisation</code> is a {@link Serialisation} that can also write straight to an
+ * {@link OutputStream} and read from a region of a larger byte array, without the caller having to copy the
+ * region first.
+ * <p>
+ * This is an optional extension of {@link Serialisation}, so callers should check for it and fall back to
+ * {@link Serialisation#serialise(Object)} and {@link Serialisation#deserialise(byte[])} otherwise.
+ * Implementations can extend {@link AbstractSerialisation} to get default implementations of these methods.
+ */
+public interface DirectSerialisation extends Serialisation {
+
+    /**
+     * Serialises some object and writes the serialised bytes to the provided {@link OutputStream}.
+     *
+     * @param object the object to be serialised
+     * @param out    the stream to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise or the bytes cannot be written
+     */
+    void serialise(final Object object, final OutputStream out) throws SerialisationException;
+
+    /**
+     * Reconstructs an object from a region of a byte array.
+     *
+     * @param bytes  the array containing the serialised bytes to deserialise
+     * @param offset the position of the first serialised byte in the array
+     * @param length the number of serialised bytes
+     * @return Object the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException;
+}
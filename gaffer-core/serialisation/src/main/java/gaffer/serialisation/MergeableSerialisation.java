@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+/**
+ * A <code>MergeableSerialisation</code> is a {@link Serialisation} that can aggregate two serialised values straight
+ * from their bytes, so a store can combine values during compaction without deserialising them.
+ * <p>
+ * Merging must give the same bytes as deserialising both values, aggregating them with an aggregate function the
+ * serialiser reports it {@link #canMerge(Class)} and serialising the result. Callers should check for this interface
+ * and fall back to deserialising the values otherwise.
+ */
+public interface MergeableSerialisation extends Serialisation {
+
+    /**
+     * @param aggregateFunctionClass the class of the aggregate function configured for the property
+     * @return true if {@link #merge(byte[], int, int, byte[], int, int)} gives the same result as that aggregate
+     * function, otherwise false
+     */
+    boolean canMerge(final Class<?> aggregateFunctionClass);
+
+    /**
+     * Merges two serialised values into the serialised form of their aggregate.
+     *
+     * @param first        the array containing the first serialised value
+     * @param firstOffset  the position of the first value in its array
+     * @param firstLength  the number of bytes in the first value
+     * @param second       the array containing the second serialised value
+     * @param secondOffset the position of the second value in its array
+     * @param secondLength the number of bytes in the second value
+     * @return byte[] the serialised aggregate of the two values
+     * @throws SerialisationException if either value cannot be read
+     */
+    byte[] merge(final byte[] first, final int firstOffset, final int firstLength,
+                 final byte[] second, final int secondOffset, final int secondLength) throws SerialisationException;
+}
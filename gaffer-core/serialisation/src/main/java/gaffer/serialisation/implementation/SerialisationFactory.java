@@ -27,6 +27,9 @@ import gaffer.serialisation.implementation.raw.RawLongSerialiser;
 /**
  * A <code>SerialisationFactory</code> holds a list of core serialisers and
  * is design to provide compatible serialisers for given object classes.
+ * <p>
+ * If a default serialiser is provided it is used, in preference to the
+ * {@link JavaSerialiser}, for any class that none of the core serialisers can handle.
  */
 public class SerialisationFactory {
     private static final Serialisation[] SERIALISERS = new Serialisation[]{
@@ -39,10 +42,24 @@ public class SerialisationFactory {
             new RawDateSerialiser(),
             new RawDoubleSerialiser(),
             new RawFloatSerialiser(),
-            new TreeSetStringSerialiser(),
-            new JavaSerialiser()
+            new TreeSetStringSerialiser()
     };
 
+    private static final Serialisation JAVA_SERIALISER = new JavaSerialiser();
+
+    private final Serialisation defaultSerialiser;
+
+    public SerialisationFactory() {
+        this(null);
+    }
+
+    /**
+     * @param defaultSerialiser the serialiser to use for classes the core serialisers cannot handle, may be null.
+     */
+    public SerialisationFactory(final Serialisation defaultSerialiser) {
+        this.defaultSerialiser = defaultSerialiser;
+    }
+
     /**
      * @param objClass the class of an object to be serialised.
      * @return a compatible serialiser.
@@ -66,11 +83,23 @@ public class SerialisationFactory {
         }
 
         for (Serialisation serialiser : SERIALISERS) {
-            if (serialiser.canHandle(objClass) && (!preserveOrder || (serialiser.isByteOrderPreserved()))) {
+            if (canHandle(serialiser, objClass, preserveOrder)) {
                 return serialiser;
             }
         }
 
+        if (null != defaultSerialiser && canHandle(defaultSerialiser, objClass, preserveOrder)) {
+            return defaultSerialiser;
+        }
+
+        if (canHandle(JAVA_SERIALISER, objClass, preserveOrder)) {
+            return JAVA_SERIALISER;
+        }
+
         throw new IllegalArgumentException("No serialiser found for object class: " + objClass);
     }
+
+    private static boolean canHandle(final Serialisation serialiser, final Class<?> objClass, final boolean preserveOrder) {
+        return serialiser.canHandle(objClass) && (!preserveOrder || serialiser.isByteOrderPreserved());
+    }
 }
@@ -17,7 +17,8 @@
 package gaffer.serialisation.implementation.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
+import java.io.OutputStream;
 
 /**
  * Serialises longs using a variable-length scheme that means smaller longs get serialised into a smaller
@@ -25,7 +26,7 @@ import gaffer.serialisation.Serialisation;
  * large longs may be serialised into 9 bytes. This is particularly well suited to serialising count properties in
  * power-law graphs where the majority of counts will be very small.
  */
-public class CompactRawLongSerialiser implements Serialisation {
+public class CompactRawLongSerialiser extends AbstractSerialisation {
 
     private static final long serialVersionUID = 6104372357426908732L;
 
@@ -39,11 +40,21 @@ public class CompactRawLongSerialiser implements Serialisation {
         return gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.writeLong((long) o);
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        CompactRawSerialisationUtils.write((long) object, out);
+    }
+
     @Override
     public Long deserialise(final byte[] bytes) throws SerialisationException {
         return CompactRawSerialisationUtils.readLong(bytes);
     }
 
+    @Override
+    public Long deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return CompactRawSerialisationUtils.readLong(bytes, offset);
+    }
+
     @Override
     public boolean isByteOrderPreserved() {
         return false;
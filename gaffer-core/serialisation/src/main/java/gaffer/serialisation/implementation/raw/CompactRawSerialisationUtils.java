@@ -147,6 +147,88 @@ public final class CompactRawSerialisationUtils {
         }
     }
 
+    /**
+     * Gets the number of bytes {@link CompactRawSerialisationUtils#writeLong(long)} would use to write the long.
+     *
+     * @param l The long to be written.
+     * @return The number of bytes required to write the long.
+     */
+    public static int getVIntSize(final long l) {
+        long value = l;
+        if (value >= -112 && value <= 127) {
+            return 1;
+        }
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+        }
+        int len = 1;
+        while (value != 0) {
+            value = value >> 8;
+            len++;
+        }
+        return len;
+    }
+
+    /**
+     * Writes a long into the provided byte array at the given offset. The array must have at least
+     * {@link CompactRawSerialisationUtils#getVIntSize(long)} bytes available from the offset.
+     *
+     * @param l      The long to write.
+     * @param bytes  The byte array to write to.
+     * @param offset The position in the array to start writing at.
+     * @return The position in the array after the written long.
+     */
+    public static int write(final long l, final byte[] bytes, final int offset) {
+        long value = l;
+        int place = offset;
+        if (value >= -112 && value <= 127) {
+            bytes[place++] = (byte) value;
+            return place;
+        }
+        int len = -112;
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+            len = -120;
+        }
+        long tmp = value;
+        while (tmp != 0) {
+            tmp = tmp >> 8;
+            len--;
+        }
+        bytes[place++] = (byte) len;
+        len = (len < -120) ? -(len + 120) : -(len + 112);
+        for (int idx = len; idx != 0; idx--) {
+            final int shiftbits = (idx - 1) * 8;
+            final long mask = 0xFFL << shiftbits;
+            bytes[place++] = (byte) ((value & mask) >> shiftbits);
+        }
+        return place;
+    }
+
+    /**
+     * Reads a long from the provided byte array starting at the given offset. This requires the long to have been
+     * written by one of the write methods in this class.
+     *
+     * @param bytes  The byte array to read from.
+     * @param offset The position in the array the long starts at.
+     * @return The value of the serialised long.
+     */
+    public static long readLong(final byte[] bytes, final int offset) {
+        final byte firstByte = bytes[offset];
+        final int len = decodeVIntSize(firstByte);
+        if (len == 1) {
+            return (long) firstByte;
+        }
+        long i = 0;
+        int place = offset + 1;
+        for (int idx = 0; idx < len - 1; idx++) {
+            final byte b = bytes[place++];
+            i = i << 8;
+            i = i | (b & 0xFF);
+        }
+        return (isNegativeVInt(firstByte) ? (i ^ -1L) : i);
+    }
+
     public static int decodeVIntSize(final byte value) {
         if (value >= -112) {
             return 1;
@@ -18,16 +18,26 @@ package gaffer.jsonSerialisation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import gaffer.commonutil.CommonConstants;
 import gaffer.commonutil.JsonUtil;
+import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.exception.SerialisationException;
 import gaffer.jsonserialisation.JSONSerialiser;
 import gaffer.serialisation.test.ParameterisedTestObject;
 import gaffer.serialisation.test.SimpleTestObject;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 public class JSONSerialiserTest {
 
@@ -131,6 +141,58 @@ public class JSONSerialiserTest {
     }
 
 
+    @Test
+    public void shouldDeserialiseObjectFromStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream(toBytes("{\"x\":\"Test\"}"));
+
+        // When
+        final SimpleTestObject o = serialiser.deserialise(stream, SimpleTestObject.class);
+
+        // Then
+        assertEquals("Test", o.getX());
+    }
+
+    @Test
+    public void shouldLazilyDeserialiseNewlineDelimitedObjectsFromStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream(toBytes("{\"x\":\"Test1\"}\n{\"x\":\"Test2\"}\n\n{\"x\":\"Test3\"}\n"));
+
+        // When
+        final CloseableIterable<SimpleTestObject> objects = serialiser.deserialiseStream(stream, SimpleTestObject.class);
+
+        // Then
+        assertEquals(Arrays.asList("Test1", "Test2", "Test3"), getXs(objects));
+    }
+
+    @Test
+    public void shouldLazilyDeserialiseArrayOfObjectsFromStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream(toBytes("[{\"x\":\"Test1\"}, {\"x\":\"Test2\"}]"));
+
+        // When
+        final CloseableIterable<SimpleTestObject> objects = serialiser.deserialiseStream(stream, SimpleTestObject.class);
+
+        // Then
+        assertEquals(Arrays.asList("Test1", "Test2"), getXs(objects));
+    }
+
+    @Test
+    public void shouldThrowExceptionWithObjectNumberWhenStreamedObjectIsInvalid() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream(toBytes("{\"x\":\"Test1\"}\n{\"y\":\"Test2\"}\n"));
+        final Iterator<SimpleTestObject> itr = serialiser.deserialiseStream(stream, SimpleTestObject.class).iterator();
+        itr.next();
+
+        // When / Then
+        try {
+            itr.next();
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("object 2"));
+        }
+    }
+
     @Test(expected = SerialisationException.class)
     public void testParameterisedDeserialisationOfComplexObjectToIncorrectType() throws SerialisationException {
         SimpleTestObject test = new SimpleTestObject();
@@ -139,5 +201,21 @@ public class JSONSerialiserTest {
         serialiser.deserialise(b, Integer.class);
     }
 
+    private static List<String> getXs(final Iterable<SimpleTestObject> objects) {
+        final List<String> xs = new ArrayList<>();
+        for (final SimpleTestObject object : objects) {
+            xs.add(object.getX());
+        }
+        return xs;
+    }
+
+    private static byte[] toBytes(final String json) {
+        try {
+            return json.getBytes(CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 
 }
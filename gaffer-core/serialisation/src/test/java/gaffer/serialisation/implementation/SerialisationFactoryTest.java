@@ -17,6 +17,7 @@ package gaffer.serialisation.implementation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -114,4 +115,38 @@ public class SerialisationFactoryTest {
             assertNotNull(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnDefaultSerialiserIfNoCoreSerialiserCanHandleClass() throws SerialisationException {
+        // Given
+        final Serialisation defaultSerialiser = new AnyClassSerialiser();
+        final SerialisationFactory factory = new SerialisationFactory(defaultSerialiser);
+
+        // When
+        final Serialisation serialiser = factory.getSerialiser(Object.class);
+
+        // Then
+        assertSame(defaultSerialiser, serialiser);
+    }
+
+    @Test
+    public void shouldPreferCoreSerialisersOverDefaultSerialiser() throws SerialisationException {
+        // Given
+        final SerialisationFactory factory = new SerialisationFactory(new AnyClassSerialiser());
+
+        // When
+        final Serialisation serialiser = factory.getSerialiser(String.class);
+
+        // Then
+        assertEquals(StringSerialiser.class, serialiser.getClass());
+    }
+
+    private static final class AnyClassSerialiser extends JavaSerialiser {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public boolean canHandle(final Class clazz) {
+            return true;
+        }
+    }
+}
@@ -15,12 +15,14 @@
  */
 package gaffer.serialisation.implementation;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import gaffer.exception.SerialisationException;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
 
 public class StringSerialiserTest {
 
@@ -47,4 +49,28 @@ public class StringSerialiserTest {
     public void canSerialiseStringClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise("prefix-value-suffix");
+
+        // When
+        final String result = SERIALISER.deserialise(bytes, 7, 5);
+
+        // Then
+        assertEquals("value", result);
+    }
+
+    @Test
+    public void shouldSerialiseToOutputStream() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        SERIALISER.serialise("value", out);
+
+        // Then
+        assertArrayEquals(SERIALISER.serialise("value"), out.toByteArray());
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 
 import gaffer.exception.SerialisationException;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
 
 public class CompactRawIntegerSerialiserTest {
 
@@ -73,6 +74,10 @@ public class CompactRawIntegerSerialiserTest {
         final byte[] b = SERIALISER.serialise(value);
         final Object o = SERIALISER.deserialise(b);
         assertEquals(Integer.class, o.getClass());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        SERIALISER.serialise(value, out);
+        assertEquals(value, (int) SERIALISER.deserialise(out.toByteArray(), 1, b.length));
         assertEquals(value, o);
     }
 
@@ -82,6 +82,10 @@ package gaffer.serialisation.implementation.raw;
          CompactRawSerialisationUtils.write(value, new DataOutputStream(baos));
          final long result = CompactRawSerialisationUtils.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
          assertEquals(result, value);
+         final byte[] bytes = new byte[CompactRawSerialisationUtils.getVIntSize(value) + 2];
+         assertEquals(b.length, CompactRawSerialisationUtils.getVIntSize(value));
+         assertEquals(bytes.length - 1, CompactRawSerialisationUtils.write(value, bytes, 1));
+         assertEquals(value, CompactRawSerialisationUtils.readLong(bytes, 1));
      }
 
  }
\ No newline at end of file
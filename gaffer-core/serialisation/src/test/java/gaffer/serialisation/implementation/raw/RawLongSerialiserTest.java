@@ -61,4 +61,18 @@ public class RawLongSerialiserTest {
     public void canSerialiseLongClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final byte[] serialised = SERIALISER.serialise(Long.MIN_VALUE + 1);
+        final byte[] bytes = new byte[serialised.length + 3];
+        System.arraycopy(serialised, 0, bytes, 2, serialised.length);
+
+        // When
+        final Long result = SERIALISER.deserialise(bytes, 2, serialised.length);
+
+        // Then
+        assertEquals((Long) (Long.MIN_VALUE + 1), result);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package gaffer.store;
 
+import gaffer.commonutil.CancellationToken;
 import gaffer.export.Exporter;
 import gaffer.user.User;
 import java.util.Collections;
@@ -23,10 +24,12 @@ import java.util.Map;
 
 /**
  * A <code>Context</code> contains operation chain execution information, such
- * as the user who executed the operation chain and a map of {@link Exporter}s.
+ * as the user who executed the operation chain, a map of {@link Exporter}s and
+ * the {@link CancellationToken} used to cancel the operation chain.
  */
 public class Context {
     private final User user;
+    private final CancellationToken cancellationToken;
     private final Map<String, Exporter> exporters = new HashMap<>();
 
     public Context() {
@@ -34,13 +37,25 @@ public class Context {
     }
 
     public Context(final User user) {
+        this(user, null);
+    }
+
+    public Context(final User user, final CancellationToken cancellationToken) {
         this.user = user;
+        this.cancellationToken = cancellationToken;
     }
 
     public User getUser() {
         return user;
     }
 
+    /**
+     * @return the token used to cancel the operation chain, or null if the operation chain cannot be cancelled
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
     public Map<String, Exporter> getExporters() {
         return Collections.unmodifiableMap(exporters);
     }
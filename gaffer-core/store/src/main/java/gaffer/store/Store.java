@@ -16,11 +16,16 @@
 
 package gaffer.store;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.commonutil.CancellationToken;
+import gaffer.commonutil.iterable.CancellableCloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.PipelinedCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -31,6 +36,9 @@ import gaffer.operation.impl.Deduplicate;
 import gaffer.operation.impl.Limit;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
+import gaffer.operation.impl.explain.OperationExplanation;
 import gaffer.operation.impl.export.FetchExport;
 import gaffer.operation.impl.export.FetchExporter;
 import gaffer.operation.impl.export.FetchExporters;
@@ -50,8 +58,11 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.SerialisationFactory;
 import gaffer.store.operation.handler.CountGroupsHandler;
 import gaffer.store.operation.handler.DeduplicateHandler;
+import gaffer.store.operation.handler.ExplainHandler;
+import gaffer.store.operation.handler.ExplainableOperationHandler;
 import gaffer.store.operation.handler.LimitHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.ValidateHandler;
@@ -62,13 +73,17 @@ import gaffer.store.operation.handler.export.InitialiseExportHandler;
 import gaffer.store.operation.handler.export.UpdateExportHandler;
 import gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import gaffer.store.operation.handler.generate.GenerateObjectsHandler;
+import gaffer.store.metrics.MeasuredCloseableIterable;
+import gaffer.store.metrics.MetricsRegistry;
 import gaffer.store.operationdeclaration.OperationDeclaration;
 import gaffer.store.operationdeclaration.OperationDeclarations;
 import gaffer.store.optimiser.CoreOperationChainOptimiser;
 import gaffer.store.optimiser.OperationChainOptimiser;
+import gaffer.store.schema.CompiledView;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaElementDefinition;
 import gaffer.store.schema.SchemaOptimiser;
+import gaffer.store.schema.ViewCache;
 import gaffer.store.schema.ViewValidator;
 import gaffer.user.User;
 import org.slf4j.Logger;
@@ -78,6 +93,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A <code>Store</code> backs a Graph and is responsible for storing the {@link gaffer.data.element.Element}s and
@@ -103,6 +121,9 @@ public abstract class Store {
     private final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
     private SchemaOptimiser schemaOptimiser;
     private ViewValidator viewValidator;
+    private volatile ViewCache viewCache;
+    private volatile ExecutorService pipelineExecutor;
+    private volatile ExecutorService generateExecutor;
 
     public Store() {
         opChainOptimisers.add(new CoreOperationChainOptimiser(this));
@@ -114,8 +135,11 @@ public abstract class Store {
         this.schema = schema;
         this.properties = properties;
         addOpHandlers();
+        addDefaultSerialiser();
         optimiseSchemas();
         validateSchemas();
+        viewCache = null;
+        shutdownExecutors();
     }
 
     /**
@@ -168,14 +192,93 @@ public abstract class Store {
      * @throws OperationException thrown by an operation handler if an operation fails
      */
     public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user) throws OperationException {
+        return execute(operationChain, user, null);
+    }
+
+    /**
+     * Executes a given operation chain and returns the result. The operation chain, including reading an iterable
+     * result, is stopped with a {@link java.util.concurrent.CancellationException} if the cancellation token is
+     * cancelled or its deadline passes.
+     * <p>
+     * If {@link StoreProperties#OPERATION_TIMEOUT} is set, or any operation in the chain has an option with the same
+     * key, the deadline of the token is limited to the shortest of these timeouts. A token is created if one is not
+     * provided. The token is completed, cancelling its deadline, once the chain fails or its result has been
+     * returned, or for an iterable result once the result has been read to the end or closed.
+     *
+     * @param operationChain    the operation chain to execute.
+     * @param user              the user executing the operation chain
+     * @param cancellationToken the token used to cancel the operation chain, this may be null
+     * @param <OUTPUT>          the output type of the operation.
+     * @return the result of executing the operation.
+     * @throws OperationException thrown by an operation handler if an operation fails
+     */
+    public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user,
+                                   final CancellationToken cancellationToken) throws OperationException {
         validateOperationChain(operationChain, user);
+        final OperationChain<OUTPUT> optimisedOperationChain = optimiseOperationChain(operationChain);
+        final CancellationToken token = applyOperationTimeout(optimisedOperationChain, cancellationToken);
+        if (null == token) {
+            return handleOperationChain(optimisedOperationChain, createContext(user, null));
+        }
+
+        final OUTPUT result;
+        try {
+            result = handleOperationChain(optimisedOperationChain, createContext(user, token));
+        } catch (final OperationException | RuntimeException e) {
+            token.complete();
+            throw e;
+        }
+
+        if (!(result instanceof CancellableCloseableIterable)
+                || !((CancellableCloseableIterable) result).isCompleteWhenRead()) {
+            token.complete();
+        }
+        return result;
+    }
+
+    /**
+     * Explains how an operation chain would be executed, without executing it. The chain is validated and
+     * optimised as it would be for execution, then each operation in the optimised chain is explained.
+     *
+     * @param operationChain the operation chain to explain
+     * @param context        the context of the user the operation chain would be executed for
+     * @return the explanation of the optimised operation chain
+     * @throws OperationException if an operation could not be explained
+     */
+    public Explanation explain(final OperationChain<?> operationChain, final Context context) throws OperationException {
+        validateOperationChain(operationChain, context.getUser());
+        final OperationChain<?> optimisedOperationChain = optimiseOperationChain(operationChain);
+        final Explanation explanation = new Explanation(optimisedOperationChain);
+        for (final Operation op : optimisedOperationChain.getOperations()) {
+            explanation.addOperation(explainOperation(op, context));
+        }
+        return explanation;
+    }
 
+    /**
+     * Explains a single operation, using its handler if it is an {@link ExplainableOperationHandler}.
+     *
+     * @param operation the operation to explain
+     * @param context   the operation context
+     * @return the explanation of the operation
+     * @throws OperationException if the operation could not be explained
+     */
+    protected OperationExplanation explainOperation(final Operation operation, final Context context) throws OperationException {
+        final OperationHandler handler = getOperationHandler(operation.getClass());
+        final OperationExplanation explanation = new OperationExplanation(operation.getClass().getName(),
+                null != handler ? handler.getClass().getName() : null);
+        if (handler instanceof ExplainableOperationHandler) {
+            explanation.addDetails(((ExplainableOperationHandler) handler).explain(operation, context, this));
+        }
+        return explanation;
+    }
+
+    protected <OUTPUT> OperationChain<OUTPUT> optimiseOperationChain(final OperationChain<OUTPUT> operationChain) {
         OperationChain<OUTPUT> optimisedOperationChain = operationChain;
         for (final OperationChainOptimiser opChainOptimiser : opChainOptimisers) {
             optimisedOperationChain = opChainOptimiser.optimise(optimisedOperationChain);
         }
-
-        return handleOperationChain(optimisedOperationChain, createContext(user));
+        return optimisedOperationChain;
     }
 
     /**
@@ -272,7 +375,8 @@ public abstract class Store {
         }
 
         for (Operation<?, ?> op : operationChain.getOperations()) {
-            if (!viewValidator.validate(op.getView(), schema, hasTrait(StoreTrait.ORDERED))) {
+            final CompiledView compiledView = getViewCache().compile(op.getView());
+            if (null != compiledView && !compiledView.isValid()) {
                 throw new SchemaException("View for operation "
                         + op.getClass().getName()
                         + " is not valid. See the logs for more information.");
@@ -280,12 +384,57 @@ public abstract class Store {
         }
     }
 
+    /**
+     * If a default serialiser is configured in the store properties, the schema optimiser is replaced with one that
+     * uses it for any types the core serialisers cannot handle.
+     *
+     * @throws StoreException if the default serialiser could not be created
+     */
+    private void addDefaultSerialiser() throws StoreException {
+        final String defaultSerialiserClass = null != properties ? properties.getDefaultSerialiserClass() : null;
+        if (null != defaultSerialiserClass) {
+            final Serialisation defaultSerialiser;
+            try {
+                defaultSerialiser = Class.forName(defaultSerialiserClass).asSubclass(Serialisation.class).newInstance();
+            } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+                throw new StoreException("Unable to create default serialiser " + defaultSerialiserClass, e);
+            }
+            schemaOptimiser = new SchemaOptimiser(new SerialisationFactory(defaultSerialiser));
+        }
+    }
+
     protected void setSchemaOptimiser(final SchemaOptimiser schemaOptimiser) {
         this.schemaOptimiser = schemaOptimiser;
     }
 
     protected void setViewValidator(final ViewValidator viewValidator) {
         this.viewValidator = viewValidator;
+        this.viewCache = null;
+    }
+
+    /**
+     * Gets the compiled form of a view, containing its JSON, whether it is valid and any state the store has built
+     * from it. Compiled views are cached, so this is cheap for views that have already been used.
+     *
+     * @param view the view
+     * @return the compiled view, or null if the view is null
+     */
+    public CompiledView getCompiledView(final View view) {
+        return getViewCache().get(view);
+    }
+
+    /**
+     * @return the cache of compiled views, created when first needed after the store is initialised
+     */
+    protected ViewCache getViewCache() {
+        // Concurrent callers may each create a cache, this is harmless as only one is kept
+        ViewCache result = viewCache;
+        if (null == result) {
+            result = new ViewCache(viewValidator, schema, hasTrait(StoreTrait.ORDERED),
+                    null != properties ? properties.getViewCacheSize() : 0);
+            viewCache = result;
+        }
+        return result;
     }
 
     protected void addOperationChainOptimisers(final List<OperationChainOptimiser> newOpChainOptimisers) {
@@ -296,6 +445,48 @@ public abstract class Store {
         return new Context(user);
     }
 
+    protected Context createContext(final User user, final CancellationToken cancellationToken) {
+        return null != cancellationToken ? new Context(user, cancellationToken) : createContext(user);
+    }
+
+    /**
+     * Limits the deadline of the cancellation token to the operation timeout. Operation options can only shorten
+     * the timeout set in the store properties. Timeouts that are not positive are ignored.
+     *
+     * @param operationChain    the operation chain to be executed
+     * @param cancellationToken the token provided by the caller, this may be null
+     * @return the token to execute the operation chain with, or null if there is no token and no timeout
+     * @throws IllegalArgumentException if an operation timeout option is not a number
+     */
+    protected CancellationToken applyOperationTimeout(final OperationChain<?> operationChain,
+                                                      final CancellationToken cancellationToken) {
+        final Long storeTimeout = null != properties ? properties.getOperationTimeout() : null;
+        long timeout = null != storeTimeout && storeTimeout > 0 ? storeTimeout : Long.MAX_VALUE;
+        for (final Operation op : operationChain.getOperations()) {
+            final String opTimeoutOption = op.getOption(StoreProperties.OPERATION_TIMEOUT);
+            if (null != opTimeoutOption) {
+                final long opTimeout;
+                try {
+                    opTimeout = Long.parseLong(opTimeoutOption.trim());
+                } catch (final NumberFormatException e) {
+                    throw new IllegalArgumentException("The operation option " + StoreProperties.OPERATION_TIMEOUT
+                            + " must be a number of milliseconds, but was: " + opTimeoutOption, e);
+                }
+                if (opTimeout > 0) {
+                    timeout = Math.min(timeout, opTimeout);
+                }
+            }
+        }
+
+        if (Long.MAX_VALUE == timeout) {
+            return cancellationToken;
+        }
+
+        final CancellationToken token = null != cancellationToken ? cancellationToken : new CancellationToken();
+        token.limitDeadline(timeout, TimeUnit.MILLISECONDS);
+        return token;
+    }
+
     /**
      * Any additional operations that a store can handle should be registered in this method by calling addOperationHandler(...)
      */
@@ -351,15 +542,155 @@ public abstract class Store {
     protected <OUTPUT> OUTPUT handleOperationChain(
             final OperationChain<OUTPUT> operationChain, final Context context) throws
             OperationException {
+        final boolean pipelined = null != properties && properties.isOperationChainPipelined();
+        final MetricsRegistry metrics = getMetrics();
+        final CancellationToken cancellationToken = context.getCancellationToken();
         Object result = null;
-        for (final Operation op : operationChain.getOperations()) {
+        final List<Operation> ops = operationChain.getOperations();
+        for (int i = 0; i < ops.size(); i++) {
+            final Operation op = ops.get(i);
+            final Operation nextOp = i + 1 < ops.size() ? ops.get(i + 1) : null;
+            if (null != cancellationToken) {
+                cancellationToken.throwIfCancelled();
+            }
             updateOperationInput(op, result);
-            result = handleOperation(op, context);
+            if (null != metrics) {
+                result = handleMeasuredOperation(op, nextOp, context, metrics);
+            } else {
+                result = handleOperation(op, context);
+            }
+            if (null != cancellationToken && result instanceof CloseableIterable) {
+                result = new CancellableCloseableIterable<>((CloseableIterable) result, cancellationToken, null == nextOp);
+            }
+            if (pipelined && null != nextOp && result instanceof CloseableIterable) {
+                result = pipeline((CloseableIterable) result);
+            }
         }
 
         return (OUTPUT) result;
     }
 
+    /**
+     * Handles an operation, recording the number of times each operation class is executed, the number that fail
+     * and the latency of each operation. Iterable results are wrapped so the latency includes reading the result,
+     * and the number of items is recorded as the elements out of the operation and the elements in to the next.
+     *
+     * @param op      the operation to handle
+     * @param nextOp  the next operation in the chain, or null if this is the last
+     * @param context the operation context
+     * @param metrics the registry to record the metrics in
+     * @return the result of the operation
+     * @throws OperationException if the operation fails
+     */
+    private Object handleMeasuredOperation(final Operation op, final Operation nextOp, final Context context,
+                                           final MetricsRegistry metrics) throws OperationException {
+        final String name = getMetricName(op);
+        metrics.increment(name + ".count");
+        final long startNanos = System.nanoTime();
+        final Object result;
+        try {
+            result = handleOperation(op, context);
+        } catch (final OperationException | RuntimeException e) {
+            metrics.increment(name + ".errors");
+            throw e;
+        }
+
+        if (result instanceof CloseableIterable) {
+            final String[] counterNames = null != nextOp
+                    ? new String[]{name + ".elementsOut", getMetricName(nextOp) + ".elementsIn"}
+                    : new String[]{name + ".elementsOut"};
+            return new MeasuredCloseableIterable<>((CloseableIterable<Object>) result, metrics, name + ".latency",
+                    startNanos, counterNames);
+        }
+
+        metrics.recordLatency(name + ".latency", startNanos);
+        return result;
+    }
+
+    private static String getMetricName(final Operation op) {
+        return "operation." + op.getClass().getSimpleName();
+    }
+
+    /**
+     * @return the shared {@link MetricsRegistry} if {@link StoreProperties#METRICS_ENABLED} is true, otherwise null
+     */
+    public MetricsRegistry getMetrics() {
+        return null != properties && properties.isMetricsEnabled() ? MetricsRegistry.getInstance() : null;
+    }
+
+    /**
+     * Wraps the result of an operation in a chain so it is produced on a separate thread to the next operation,
+     * connected by a bounded queue. This is used when {@link StoreProperties#OPERATION_CHAIN_PIPELINED} is true.
+     *
+     * @param result the result of an operation that is not the last in the chain
+     * @param <T>    the type of items in the result
+     * @return the pipelined result
+     */
+    protected <T> CloseableIterable<T> pipeline(final CloseableIterable<T> result) {
+        return new PipelinedCloseableIterable<>(result, getPipelineExecutor(),
+                properties.getOperationChainPipelineBatchSize(),
+                properties.getOperationChainPipelineMaxQueuedBatches());
+    }
+
+    private ExecutorService getPipelineExecutor() {
+        ExecutorService executor = pipelineExecutor;
+        if (null == executor) {
+            synchronized (this) {
+                executor = pipelineExecutor;
+                if (null == executor) {
+                    executor = Executors.newCachedThreadPool(
+                            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("gaffer-pipeline-%d").build());
+                    pipelineExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns the thread pool used to generate elements and objects in parallel, creating it when first needed. It is
+     * sized by {@link StoreProperties#GENERATE_THREADS} and shared by all the generate handlers of this store.
+     *
+     * @return the generate thread pool
+     */
+    public ExecutorService getGenerateExecutor() {
+        ExecutorService executor = generateExecutor;
+        if (null == executor) {
+            synchronized (this) {
+                executor = generateExecutor;
+                if (null == executor) {
+                    executor = Executors.newFixedThreadPool(Math.max(1, properties.getGenerateThreads()),
+                            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("gaffer-generate-%d").build());
+                    generateExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Shuts down the thread pools used for pipelining operation chains and parallel generation. Running tasks are
+     * allowed to complete. The thread pools are created again if they are needed after this is called.
+     * This is also called when the store is initialised.
+     */
+    public void shutdownExecutors() {
+        final ExecutorService pipeline;
+        final ExecutorService generate;
+        synchronized (this) {
+            pipeline = pipelineExecutor;
+            generate = generateExecutor;
+            pipelineExecutor = null;
+            generateExecutor = null;
+        }
+
+        if (null != pipeline) {
+            pipeline.shutdown();
+        }
+        if (null != generate) {
+            generate.shutdown();
+        }
+    }
+
     protected <OPERATION extends Operation<?, OUTPUT>, OUTPUT> OUTPUT handleOperation(final OPERATION operation, final Context context) throws OperationException {
         final OperationHandler<OPERATION, OUTPUT> handler = getOperationHandler(operation.getClass());
         OUTPUT result;
@@ -397,6 +728,7 @@ public abstract class Store {
         addOperationHandler(Deduplicate.class, new DeduplicateHandler());
         addOperationHandler(CountGroups.class, new CountGroupsHandler());
         addOperationHandler(Limit.class, new LimitHandler());
+        addOperationHandler(Explain.class, new ExplainHandler());
 
         // Export
         addOperationHandler(InitialiseSetExport.class, new InitialiseExportHandler());
@@ -42,6 +42,26 @@ public class StoreProperties implements Cloneable {
     public static final String SCHEMA_CLASS = "gaffer.store.schema.class";
     public static final String STORE_PROPERTIES_CLASS = "gaffer.store.properties.class";
     public static final String OPERATION_DECLARATIONS = "gaffer.store.operation.declarations";
+    public static final String DEFAULT_SERIALISER_CLASS = "gaffer.store.serialiser.default.class";
+    public static final String GENERATE_THREADS = "gaffer.store.generate.threads";
+    public static final String GENERATE_BATCH_SIZE = "gaffer.store.generate.batch.size";
+    public static final String GENERATE_MAX_IN_FLIGHT_BATCHES = "gaffer.store.generate.max.in.flight.batches";
+    public static final String GENERATE_PRESERVE_ORDER = "gaffer.store.generate.preserve.order";
+    public static final String OPERATION_CHAIN_PIPELINED = "gaffer.store.operation.chain.pipelined";
+    public static final String OPERATION_CHAIN_PIPELINE_BATCH_SIZE = "gaffer.store.operation.chain.pipeline.batch.size";
+    public static final String OPERATION_CHAIN_PIPELINE_MAX_QUEUED_BATCHES = "gaffer.store.operation.chain.pipeline.max.queued.batches";
+    public static final String VIEW_CACHE_SIZE = "gaffer.store.view.cache.size";
+    public static final String METRICS_ENABLED = "gaffer.store.metrics.enabled";
+    public static final String OPERATION_TIMEOUT = "gaffer.store.operation.timeout.millis";
+
+    public static final String GENERATE_THREADS_DEFAULT = "0";
+    public static final String GENERATE_BATCH_SIZE_DEFAULT = "100";
+    public static final String GENERATE_PRESERVE_ORDER_DEFAULT = "true";
+    public static final String OPERATION_CHAIN_PIPELINED_DEFAULT = "false";
+    public static final String OPERATION_CHAIN_PIPELINE_BATCH_SIZE_DEFAULT = "100";
+    public static final String OPERATION_CHAIN_PIPELINE_MAX_QUEUED_BATCHES_DEFAULT = "10";
+    public static final String VIEW_CACHE_SIZE_DEFAULT = "100";
+    public static final String METRICS_ENABLED_DEFAULT = "false";
 
     private Path propFileLocation;
     private Properties props;
@@ -82,7 +102,7 @@ public class StoreProperties implements Cloneable {
         if (props == null) {
             readProperties();
         }
-        return props.getProperty(key);
+        return null != props ? props.getProperty(key) : null;
     }
 
     /**
@@ -195,6 +215,141 @@ public class StoreProperties implements Cloneable {
         set(STORE_PROPERTIES_CLASS, storePropertiesClass.getName());
     }
 
+    /**
+     * @return the class name of the serialiser to use for types that none of the core serialisers can handle, or
+     * null if Java serialisation should be used.
+     */
+    public String getDefaultSerialiserClass() {
+        return get(DEFAULT_SERIALISER_CLASS);
+    }
+
+    public void setDefaultSerialiserClass(final String defaultSerialiserClass) {
+        set(DEFAULT_SERIALISER_CLASS, defaultSerialiserClass);
+    }
+
+    /**
+     * @return the number of threads used to generate elements and objects in parallel. If this is 0 the
+     * generators are run on the calling thread.
+     */
+    public int getGenerateThreads() {
+        final String threads = get(GENERATE_THREADS);
+        return Integer.parseInt(null != threads ? threads : GENERATE_THREADS_DEFAULT);
+    }
+
+    public void setGenerateThreads(final int generateThreads) {
+        set(GENERATE_THREADS, Integer.toString(generateThreads));
+    }
+
+    /**
+     * @return the number of objects passed to each parallel generator task
+     */
+    public int getGenerateBatchSize() {
+        final String batchSize = get(GENERATE_BATCH_SIZE);
+        return Integer.parseInt(null != batchSize ? batchSize : GENERATE_BATCH_SIZE_DEFAULT);
+    }
+
+    public void setGenerateBatchSize(final int generateBatchSize) {
+        set(GENERATE_BATCH_SIZE, Integer.toString(generateBatchSize));
+    }
+
+    /**
+     * @return the maximum number of batches that can be queued or being generated at once for a single operation.
+     * This defaults to twice the number of generate threads.
+     */
+    public int getGenerateMaxInFlightBatches() {
+        final String maxInFlightBatches = get(GENERATE_MAX_IN_FLIGHT_BATCHES);
+        return null != maxInFlightBatches ? Integer.parseInt(maxInFlightBatches) : Math.max(1, 2 * getGenerateThreads());
+    }
+
+    public void setGenerateMaxInFlightBatches(final int generateMaxInFlightBatches) {
+        set(GENERATE_MAX_IN_FLIGHT_BATCHES, Integer.toString(generateMaxInFlightBatches));
+    }
+
+    /**
+     * @return true if parallel generation should return results in the same order as the input
+     */
+    public boolean isGeneratePreserveOrder() {
+        final String preserveOrder = get(GENERATE_PRESERVE_ORDER);
+        return Boolean.parseBoolean(null != preserveOrder ? preserveOrder : GENERATE_PRESERVE_ORDER_DEFAULT);
+    }
+
+    public void setGeneratePreserveOrder(final boolean generatePreserveOrder) {
+        set(GENERATE_PRESERVE_ORDER, Boolean.toString(generatePreserveOrder));
+    }
+
+    /**
+     * @return true if the results of each operation in a chain should be produced on a separate thread to the
+     * operation consuming them.
+     */
+    public boolean isOperationChainPipelined() {
+        final String pipelined = get(OPERATION_CHAIN_PIPELINED);
+        return Boolean.parseBoolean(null != pipelined ? pipelined : OPERATION_CHAIN_PIPELINED_DEFAULT);
+    }
+
+    public void setOperationChainPipelined(final boolean operationChainPipelined) {
+        set(OPERATION_CHAIN_PIPELINED, Boolean.toString(operationChainPipelined));
+    }
+
+    /**
+     * @return the number of results passed between pipelined operations at a time
+     */
+    public int getOperationChainPipelineBatchSize() {
+        final String batchSize = get(OPERATION_CHAIN_PIPELINE_BATCH_SIZE);
+        return Integer.parseInt(null != batchSize ? batchSize : OPERATION_CHAIN_PIPELINE_BATCH_SIZE_DEFAULT);
+    }
+
+    public void setOperationChainPipelineBatchSize(final int operationChainPipelineBatchSize) {
+        set(OPERATION_CHAIN_PIPELINE_BATCH_SIZE, Integer.toString(operationChainPipelineBatchSize));
+    }
+
+    /**
+     * @return the maximum number of batches a pipelined operation can produce ahead of the operation consuming them
+     */
+    public int getOperationChainPipelineMaxQueuedBatches() {
+        final String maxQueuedBatches = get(OPERATION_CHAIN_PIPELINE_MAX_QUEUED_BATCHES);
+        return Integer.parseInt(null != maxQueuedBatches ? maxQueuedBatches : OPERATION_CHAIN_PIPELINE_MAX_QUEUED_BATCHES_DEFAULT);
+    }
+
+    public void setOperationChainPipelineMaxQueuedBatches(final int operationChainPipelineMaxQueuedBatches) {
+        set(OPERATION_CHAIN_PIPELINE_MAX_QUEUED_BATCHES, Integer.toString(operationChainPipelineMaxQueuedBatches));
+    }
+
+    /**
+     * @return the maximum number of compiled views the store caches, 0 disables the cache
+     */
+    public int getViewCacheSize() {
+        final String cacheSize = get(VIEW_CACHE_SIZE);
+        return Integer.parseInt(null != cacheSize ? cacheSize : VIEW_CACHE_SIZE_DEFAULT);
+    }
+
+    public void setViewCacheSize(final int viewCacheSize) {
+        set(VIEW_CACHE_SIZE, Integer.toString(viewCacheSize));
+    }
+
+    /**
+     * @return true if the store should record metrics in the shared {@link gaffer.store.metrics.MetricsRegistry}
+     */
+    public boolean isMetricsEnabled() {
+        final String metricsEnabled = get(METRICS_ENABLED);
+        return Boolean.parseBoolean(null != metricsEnabled ? metricsEnabled : METRICS_ENABLED_DEFAULT);
+    }
+
+    public void setMetricsEnabled(final boolean metricsEnabled) {
+        set(METRICS_ENABLED, Boolean.toString(metricsEnabled));
+    }
+
+    /**
+     * @return the maximum time in milliseconds an operation chain may run for before it is cancelled, or null if
+     * operation chains have no timeout. A timeout that is not positive is ignored.
+     */
+    public Long getOperationTimeout() {
+        final String timeout = get(OPERATION_TIMEOUT);
+        return null != timeout ? Long.parseLong(timeout) : null;
+    }
+
+    public void setOperationTimeout(final long operationTimeout) {
+        set(OPERATION_TIMEOUT, Long.toString(operationTimeout));
+    }
 
     public void setProperties(final Properties properties) {
         this.props = properties;
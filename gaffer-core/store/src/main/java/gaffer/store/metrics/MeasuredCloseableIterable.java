@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>MeasuredCloseableIterable</code> counts the items read from another {@link CloseableIterable} and records
+ * the latency of an operation from when it started until its result has been read in full or closed.
+ * Each iterator adds the number of items it reads to the counters provided, once it is exhausted or closed, and
+ * the latency is recorded for the first iterator only.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class MeasuredCloseableIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final MetricsRegistry metrics;
+    private final String latencyName;
+    private final long startNanos;
+    private final String[] counterNames;
+    private boolean latencyRecorded;
+
+    /**
+     * @param iterable     the iterable to measure
+     * @param metrics      the registry to record the metrics in
+     * @param latencyName  the name of the latency histogram, without the {@link MetricsRegistry#MICROS_SUFFIX}
+     * @param startNanos   the {@link System#nanoTime()} the operation started
+     * @param counterNames the names of the counters to add the number of items to
+     */
+    public MeasuredCloseableIterable(final CloseableIterable<T> iterable, final MetricsRegistry metrics,
+                                     final String latencyName, final long startNanos, final String... counterNames) {
+        this.iterable = iterable;
+        this.metrics = metrics;
+        this.latencyName = latencyName;
+        this.startNanos = startNanos;
+        this.counterNames = counterNames.clone();
+    }
+
+    @Override
+    public void close() {
+        iterable.close();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new MeasuredIterator(iterable.iterator());
+    }
+
+    public CloseableIterable<T> getIterable() {
+        return iterable;
+    }
+
+    private synchronized boolean shouldRecordLatency() {
+        final boolean shouldRecord = !latencyRecorded;
+        latencyRecorded = true;
+        return shouldRecord;
+    }
+
+    private final class MeasuredIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> iterator;
+        private long count;
+        private boolean finished;
+
+        private MeasuredIterator(final CloseableIterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            if (!iterator.hasNext()) {
+                finish();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final T item = iterator.next();
+            count++;
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            iterator.remove();
+        }
+
+        @Override
+        public void close() {
+            finish();
+            iterator.close();
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                for (final String counterName : counterNames) {
+                    metrics.add(counterName, count);
+                }
+                if (shouldRecordLatency()) {
+                    metrics.recordLatency(latencyName, startNanos);
+                }
+            }
+        }
+    }
+}
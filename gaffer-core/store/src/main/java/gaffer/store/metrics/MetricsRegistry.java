@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>MetricsRegistry</code> holds named counters and {@link Histogram}s.
+ * <p>
+ * The shared registry returned by {@link #getInstance()} is used by the {@link gaffer.store.Store} instrumentation
+ * and is registered as a JMX MXBean named {@link #OBJECT_NAME} when it is first used.
+ * Latencies are recorded in microseconds and the names of latency metrics end with {@link #MICROS_SUFFIX}.
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean {
+    public static final String OBJECT_NAME = "gaffer:type=Metrics";
+    public static final String MICROS_SUFFIX = ".micros";
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @return the shared registry
+     */
+    public static MetricsRegistry getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Adds to a counter, creating it if required.
+     *
+     * @param name  the counter name
+     * @param delta the amount to add
+     */
+    public void add(final String name, final long delta) {
+        AtomicLong counter = counters.get(name);
+        if (null == counter) {
+            counter = new AtomicLong();
+            final AtomicLong existing = counters.putIfAbsent(name, counter);
+            if (null != existing) {
+                counter = existing;
+            }
+        }
+        counter.addAndGet(delta);
+    }
+
+    /**
+     * Adds 1 to a counter, creating it if required.
+     *
+     * @param name the counter name
+     */
+    public void increment(final String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Records a value in a histogram, creating it if required.
+     *
+     * @param name  the histogram name
+     * @param value the value to record
+     */
+    public void record(final String name, final long value) {
+        getHistogram(name).record(value);
+    }
+
+    /**
+     * Records a latency, in microseconds, in the histogram with the name followed by {@link #MICROS_SUFFIX}.
+     *
+     * @param name       the histogram name, without the suffix
+     * @param startNanos the {@link System#nanoTime()} the timed work started
+     */
+    public void recordLatency(final String name, final long startNanos) {
+        record(name + MICROS_SUFFIX, (System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * @param name the counter name
+     * @return the value of the counter, 0 if it does not exist
+     */
+    public long getCounter(final String name) {
+        final AtomicLong counter = counters.get(name);
+        return null != counter ? counter.get() : 0;
+    }
+
+    /**
+     * @param name the histogram name
+     * @return the histogram, it is created if it does not exist
+     */
+    public Histogram getHistogram(final String name) {
+        Histogram histogram = histograms.get(name);
+        if (null == histogram) {
+            histogram = new Histogram();
+            final Histogram existing = histograms.putIfAbsent(name, histogram);
+            if (null != existing) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @return the value of each counter, and each value in the summary of each histogram with its name
+     * followed by a dot and the summary key, sorted by name
+     */
+    @Override
+    public SortedMap<String, Long> getMetrics() {
+        final SortedMap<String, Long> metrics = new TreeMap<>();
+        for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().get());
+        }
+        for (final Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            for (final Map.Entry<String, Long> summaryEntry : entry.getValue().getSummary().entrySet()) {
+                metrics.put(entry.getKey() + "." + summaryEntry.getKey(), summaryEntry.getValue());
+            }
+        }
+        return metrics;
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+        histograms.clear();
+    }
+
+    private static final class InstanceHolder {
+        private static final MetricsRegistry INSTANCE = createInstance();
+
+        private static MetricsRegistry createInstance() {
+            final MetricsRegistry registry = new MetricsRegistry();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(registry, new ObjectName(OBJECT_NAME));
+            } catch (final JMException e) {
+                LOGGER.warn("Unable to register the metrics MXBean " + OBJECT_NAME + ": " + e.getMessage());
+            }
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX interface of a {@link MetricsRegistry}.
+ */
+public interface MetricsRegistryMXBean {
+    /**
+     * @return the value of each counter and a summary of each histogram, keyed by metric name
+     */
+    Map<String, Long> getMetrics();
+
+    /**
+     * Clears all the metrics.
+     */
+    void reset();
+}
@@ -21,17 +21,26 @@ import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.explain.OperationExplanation;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * An <code>DeduplicateHandler</code> handles for {@link Deduplicate} operations.
  * Adds all the operation input items into a {@link java.util.LinkedHashSet} to
  * remove duplicate items.
  */
-public class DeduplicateHandler<T> implements OperationHandler<Deduplicate<T>, CloseableIterable<T>> {
+public class DeduplicateHandler<T> implements OperationHandler<Deduplicate<T>, CloseableIterable<T>>,
+        ExplainableOperationHandler<Deduplicate<T>> {
     @Override
     public CloseableIterable<T> doOperation(final Deduplicate<T> operation, final Context context, final Store store) throws OperationException {
         return new WrappedCloseableIterable<>(Sets.newLinkedHashSet(operation.getInput()));
     }
+
+    @Override
+    public Map<String, Object> explain(final Deduplicate<T> operation, final Context context, final Store store) {
+        return Collections.<String, Object>singletonMap(OperationExplanation.EXECUTION, OperationExplanation.EXECUTION_CLIENT);
+    }
 }
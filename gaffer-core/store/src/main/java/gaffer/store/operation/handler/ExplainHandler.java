@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler;
+
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
+import gaffer.store.Context;
+import gaffer.store.Store;
+
+/**
+ * An <code>ExplainHandler</code> handles {@link Explain} operations by asking the store to explain the operation
+ * chain, without executing it. When the operation is executed through a graph, the graph view and graph hooks have
+ * already been applied to the chain to explain.
+ *
+ * @see Store#explain(gaffer.operation.OperationChain, Context)
+ */
+public class ExplainHandler implements OperationHandler<Explain, Explanation> {
+    @Override
+    public Explanation doOperation(final Explain operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getOperationChain()) {
+            throw new IllegalArgumentException("An operation chain is required to explain");
+        }
+        return store.explain(operation.getOperationChain(), context);
+    }
+}
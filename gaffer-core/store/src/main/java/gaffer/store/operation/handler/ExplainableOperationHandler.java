@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler;
+
+import gaffer.operation.Operation;
+import gaffer.operation.OperationException;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import java.util.Map;
+
+/**
+ * An <code>ExplainableOperationHandler</code> is an {@link OperationHandler} that can describe how it would
+ * execute an operation, without executing it. The details are added to the
+ * {@link gaffer.operation.impl.explain.OperationExplanation} for the operation when it is explained.
+ */
+public interface ExplainableOperationHandler<OPERATION extends Operation<?, ?>> {
+    /**
+     * Describes how the given {@link Operation} would be executed. This must not execute the operation or
+     * consume its input.
+     *
+     * @param operation the {@link Operation} to be explained
+     * @param context   the operation chain context, containing the user who would execute the operation
+     * @param store     the {@link Store} the operation would be run on
+     * @return the details of how the operation would be executed.
+     * @throws OperationException thrown if the operation cannot be explained
+     */
+    Map<String, Object> explain(final OPERATION operation, final Context context, final Store store) throws OperationException;
+}
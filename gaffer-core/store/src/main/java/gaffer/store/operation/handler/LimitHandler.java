@@ -19,8 +19,11 @@ package gaffer.store.operation.handler;
 import gaffer.commonutil.iterable.LimitedCloseableIterable;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.explain.OperationExplanation;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * An <code>LimitHandler</code> handles for {@link Limit} operations.
@@ -28,11 +31,19 @@ import gaffer.store.Store;
  * {@link gaffer.commonutil.iterable.LimitedCloseableIterable} so the data is
  * not stored in memory.
  */
-public class LimitHandler<T> implements OperationHandler<Limit<T>, Iterable<T>> {
+public class LimitHandler<T> implements OperationHandler<Limit<T>, Iterable<T>>, ExplainableOperationHandler<Limit<T>> {
     @Override
     public Iterable<T> doOperation(final Limit<T> operation, final Context context, final Store store) throws OperationException {
         return null != operation.getResultLimit()
                 ? new LimitedCloseableIterable<>(operation.getInput(), 0, operation.getResultLimit())
                 : operation.getInput();
     }
+
+    @Override
+    public Map<String, Object> explain(final Limit<T> operation, final Context context, final Store store) {
+        final Map<String, Object> details = new LinkedHashMap<>();
+        details.put(OperationExplanation.EXECUTION, OperationExplanation.EXECUTION_CLIENT);
+        details.put("resultLimit", operation.getResultLimit());
+        return details;
+    }
 }
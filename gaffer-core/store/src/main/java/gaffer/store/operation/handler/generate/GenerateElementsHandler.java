@@ -18,25 +18,63 @@ package gaffer.store.operation.handler.generate;
 
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.ParallelTransformIterable;
 import gaffer.data.element.Element;
+import gaffer.data.generator.ElementGenerator;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * An <code>GenerateElementsHandler</code> handles {@link gaffer.operation.impl.generate.GenerateElements} operations.
  * It uses the {@link gaffer.data.generator.ElementGenerator} from the operation to generate
  * {@link gaffer.data.element.Element}s from the operation input objects.
+ * <p>
+ * If {@link gaffer.store.StoreProperties#GENERATE_THREADS} is set the objects are generated in parallel batches, see
+ * {@link gaffer.data.ParallelTransformIterable}. The generator must then be thread safe.
  *
  * @param <OBJ> the type of input objects from the operation.
  */
 public class GenerateElementsHandler<OBJ> implements OperationHandler<GenerateElements<OBJ>, CloseableIterable<Element>> {
+    private final ParallelGeneration parallelGeneration = new ParallelGeneration();
+
     @Override
     public CloseableIterable<Element> doOperation(final GenerateElements<OBJ> operation,
                                                   final Context context, final Store store)
             throws OperationException {
+        if (parallelGeneration.isEnabled(store)) {
+            return new ParallelGenerateElements<>(operation.getObjects(), operation.getElementGenerator(),
+                    parallelGeneration.getExecutor(store),
+                    parallelGeneration.getBatchSize(operation, store),
+                    parallelGeneration.getMaxInFlightBatches(operation, store),
+                    parallelGeneration.isPreserveOrder(operation, store));
+        }
+
         return new WrappedCloseableIterable<>(operation.getElementGenerator().getElements(operation.getObjects()));
     }
+
+    private static final class ParallelGenerateElements<OBJ> extends ParallelTransformIterable<OBJ, Element> {
+        private final ElementGenerator<OBJ> elementGenerator;
+
+        private ParallelGenerateElements(final CloseableIterable<OBJ> objects, final ElementGenerator<OBJ> elementGenerator,
+                                         final ExecutorService executor, final int batchSize,
+                                         final int maxInFlightBatches, final boolean preserveOrder) {
+            super(objects, executor, batchSize, maxInFlightBatches, preserveOrder);
+            this.elementGenerator = elementGenerator;
+        }
+
+        @Override
+        protected Iterable<Element> transform(final List<OBJ> batch) {
+            return elementGenerator.getElements(batch);
+        }
+
+        @Override
+        public void close() {
+            ((CloseableIterable<OBJ>) getInput()).close();
+        }
+    }
 }
@@ -18,25 +18,63 @@ package gaffer.store.operation.handler.generate;
 
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.ParallelTransformIterable;
 import gaffer.data.element.Element;
+import gaffer.data.generator.ElementGenerator;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * An <code>GenerateObjectsHandler</code> handles {@link gaffer.operation.impl.generate.GenerateObjects} operations.
  * It uses the {@link gaffer.data.generator.ElementGenerator} from the operation to generate
  * objects of type OBJ from the operation input {@link gaffer.data.element.Element}s.
+ * <p>
+ * If {@link gaffer.store.StoreProperties#GENERATE_THREADS} is set the objects are generated in parallel batches, see
+ * {@link gaffer.data.ParallelTransformIterable}. The generator must then be thread safe.
  *
  * @param <OBJ> the type of output objects from the operation.
  */
 public class GenerateObjectsHandler<OBJ> implements OperationHandler<GenerateObjects<Element, OBJ>, CloseableIterable<OBJ>> {
+    private final ParallelGeneration parallelGeneration = new ParallelGeneration();
+
     @Override
     public CloseableIterable<OBJ> doOperation(final GenerateObjects<Element, OBJ> operation,
                                               final Context context, final Store store)
             throws OperationException {
+        if (parallelGeneration.isEnabled(store)) {
+            return new ParallelGenerateObjects<>(operation.getElements(), operation.getElementGenerator(),
+                    parallelGeneration.getExecutor(store),
+                    parallelGeneration.getBatchSize(operation, store),
+                    parallelGeneration.getMaxInFlightBatches(operation, store),
+                    parallelGeneration.isPreserveOrder(operation, store));
+        }
+
         return new WrappedCloseableIterable<>(operation.getElementGenerator().getObjects(operation.getElements()));
     }
+
+    private static final class ParallelGenerateObjects<OBJ> extends ParallelTransformIterable<Element, OBJ> {
+        private final ElementGenerator<OBJ> elementGenerator;
+
+        private ParallelGenerateObjects(final CloseableIterable<Element> elements, final ElementGenerator<OBJ> elementGenerator,
+                                        final ExecutorService executor, final int batchSize,
+                                        final int maxInFlightBatches, final boolean preserveOrder) {
+            super(elements, executor, batchSize, maxInFlightBatches, preserveOrder);
+            this.elementGenerator = elementGenerator;
+        }
+
+        @Override
+        protected Iterable<OBJ> transform(final List<Element> batch) {
+            return elementGenerator.getObjects(batch);
+        }
+
+        @Override
+        public void close() {
+            ((CloseableIterable<Element>) getInput()).close();
+        }
+    }
 }
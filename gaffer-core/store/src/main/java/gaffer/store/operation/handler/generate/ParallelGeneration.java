@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler.generate;
+
+import gaffer.operation.Operation;
+import gaffer.store.Store;
+import gaffer.store.StoreProperties;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A <code>ParallelGeneration</code> resolves the parallel generation settings for an operation.
+ * <p>
+ * Parallel generation is enabled by setting {@link StoreProperties#GENERATE_THREADS} to a positive number. The batch
+ * size, maximum in flight batches and whether the order is preserved are taken from the store properties, but can
+ * be overridden for a single operation by setting an operation option with the same key.
+ * The generators run on the thread pool owned by the store, see {@link Store#getGenerateExecutor()}.
+ */
+final class ParallelGeneration {
+    boolean isEnabled(final Store store) {
+        final StoreProperties properties = store.getProperties();
+        return null != properties && properties.getGenerateThreads() > 0;
+    }
+
+    ExecutorService getExecutor(final Store store) {
+        return store.getGenerateExecutor();
+    }
+
+    int getBatchSize(final Operation<?, ?> operation, final Store store) {
+        final String batchSize = operation.getOption(StoreProperties.GENERATE_BATCH_SIZE);
+        return null != batchSize ? Integer.parseInt(batchSize) : store.getProperties().getGenerateBatchSize();
+    }
+
+    int getMaxInFlightBatches(final Operation<?, ?> operation, final Store store) {
+        final String maxInFlightBatches = operation.getOption(StoreProperties.GENERATE_MAX_IN_FLIGHT_BATCHES);
+        return null != maxInFlightBatches ? Integer.parseInt(maxInFlightBatches) : store.getProperties().getGenerateMaxInFlightBatches();
+    }
+
+    boolean isPreserveOrder(final Operation<?, ?> operation, final Store store) {
+        final String preserveOrder = operation.getOption(StoreProperties.GENERATE_PRESERVE_ORDER);
+        return null != preserveOrder ? Boolean.parseBoolean(preserveOrder) : store.getProperties().isGeneratePreserveOrder();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.schema;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A <code>CompiledView</code> holds the work a {@link gaffer.store.Store} does to prepare a {@link View} for use,
+ * so it can be shared by every operation that uses an equivalent view. It contains the compact JSON of the view,
+ * the result of validating it against the store's {@link Schema} and any store specific state, such as iterator
+ * settings, that stores choose to build from it.
+ * <p>
+ * Compiled views are created by a {@link ViewCache} and must not be modified once they have been created, other
+ * than by adding store specific state.
+ */
+public final class CompiledView {
+    private final View view;
+    private final boolean valid;
+    private final ConcurrentMap<String, Object> compiledState = new ConcurrentHashMap<>();
+    private volatile String json;
+
+    CompiledView(final String json, final boolean valid) {
+        this.view = null;
+        this.json = json;
+        this.valid = valid;
+    }
+
+    // Used when caching is disabled, so the view is only serialised if the JSON is needed
+    CompiledView(final View view, final boolean valid) {
+        this.view = view;
+        this.valid = valid;
+    }
+
+    static String toJson(final View view) {
+        try {
+            return new String(view.toJson(false), CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to serialise view to JSON", e);
+        }
+    }
+
+    /**
+     * @return the compact JSON of the view
+     */
+    public String getJson() {
+        if (null == json) {
+            json = toJson(view);
+        }
+        return json;
+    }
+
+    /**
+     * @return true if the view is valid for the store's schema
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @param key the key of the store specific state
+     * @param <T> the type of the state
+     * @return the store specific state with the given key, or null if it has not been added
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getCompiledState(final String key) {
+        return (T) compiledState.get(key);
+    }
+
+    /**
+     * Adds store specific state built from the view. If state has already been added with the key, it is kept and
+     * returned instead, so concurrent callers all use the same state.
+     *
+     * @param key   the key of the store specific state
+     * @param state the state
+     * @param <T>   the type of the state
+     * @return the state now held for the key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T addCompiledState(final String key, final T state) {
+        final Object existing = compiledState.putIfAbsent(key, state);
+        return null != existing ? (T) existing : state;
+    }
+}
@@ -23,6 +23,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.data.TransformIterable;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.Properties;
+import gaffer.data.element.PropertyIndex;
 import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.elementdefinition.ElementDefinition;
@@ -82,6 +84,11 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
      */
     private LinkedHashSet<String> groupBy;
 
+    /**
+     * Lazily created index of the property names, shared by all {@link Properties} created for this element definition.
+     */
+    private PropertyIndex propertyIndex;
+
     public SchemaElementDefinition() {
         this.elementDefValidator = new SchemaElementDefinitionValidator();
         properties = new LinkedHashMap<>();
@@ -168,6 +175,29 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
     @JsonSetter("properties")
     protected void setPropertyMap(final LinkedHashMap<String, String> properties) {
         this.properties = properties;
+        this.propertyIndex = null;
+    }
+
+    /**
+     * @return a {@link PropertyIndex} of the property names in this element definition.
+     */
+    @JsonIgnore
+    public PropertyIndex getPropertyIndex() {
+        // The property names are checked as the properties can be modified after the index is created
+        if (null == propertyIndex || !propertyIndex.hasNames(properties.keySet())) {
+            propertyIndex = new PropertyIndex(properties.keySet());
+        }
+        return propertyIndex;
+    }
+
+    /**
+     * Creates empty {@link Properties} that hold the values of the properties in this element definition in a compact,
+     * array based form.
+     *
+     * @return new empty {@link Properties}
+     */
+    public Properties createProperties() {
+        return new Properties(getPropertyIndex());
     }
 
     @JsonIgnore
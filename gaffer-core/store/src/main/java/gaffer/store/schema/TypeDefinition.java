@@ -26,6 +26,7 @@ import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.function.AggregateFunction;
 import gaffer.function.FilterFunction;
 import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.serialisation.ClassBoundSerialisation;
 import gaffer.serialisation.Serialisation;
 import java.util.Arrays;
 import java.util.List;
@@ -54,6 +55,7 @@ public class TypeDefinition {
 
     public void setClazz(final Class<?> clazz) {
         this.clazz = clazz;
+        bindSerialiser();
     }
 
     @JsonGetter("class")
@@ -64,6 +66,7 @@ public class TypeDefinition {
     @JsonSetter("class")
     public void setClassString(final String classType) throws ClassNotFoundException {
         this.clazz = null != classType ? Class.forName(classType) : null;
+        bindSerialiser();
     }
 
     @JsonIgnore
@@ -108,6 +111,7 @@ public class TypeDefinition {
      */
     public void setSerialiser(final Serialisation serialiser) {
         this.serialiser = serialiser;
+        bindSerialiser();
     }
 
     public String getSerialiserClass() {
@@ -133,6 +137,16 @@ public class TypeDefinition {
             } catch (IllegalAccessException | IllegalArgumentException | SecurityException | InstantiationException e) {
                 throw new SchemaException(e.getMessage(), e);
             }
+            bindSerialiser();
+        }
+    }
+
+    /**
+     * Binds a {@link ClassBoundSerialisation} to the class of this type, once both are known.
+     */
+    private void bindSerialiser() {
+        if (null != clazz && serialiser instanceof ClassBoundSerialisation) {
+            serialiser = ((ClassBoundSerialisation) serialiser).bindToClass(clazz);
         }
     }
 
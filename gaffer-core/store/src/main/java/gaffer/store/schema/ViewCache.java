@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.schema;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gaffer.data.elementdefinition.view.View;
+
+/**
+ * A <code>ViewCache</code> is a bounded cache of {@link CompiledView}s for a {@link gaffer.store.Store}, so that
+ * views used repeatedly, such as saved views, are only validated and serialised once.
+ * <p>
+ * Views are mutable, so compiled views are keyed by the compact JSON of the view, which is its canonical form.
+ * {@link #compile(View)} is called when an operation chain is validated and also records the compiled view against
+ * the view instance, so {@link #get(View)} can then find it without serialising the view again while the operations
+ * are executed.
+ * <p>
+ * A view cache is only valid for a single schema, so a new one is created when the store is initialised.
+ */
+public class ViewCache {
+    private final ViewValidator viewValidator;
+    private final Schema schema;
+    private final boolean isStoreOrdered;
+    private final boolean enabled;
+    private final Cache<String, CompiledView> compiledViews;
+    private final Cache<View, CompiledView> compiledViewInstances;
+
+    /**
+     * @param viewValidator  the validator to validate views with
+     * @param schema         the schema to validate views against
+     * @param isStoreOrdered true if the store is ordered
+     * @param maxSize        the maximum number of compiled views to cache, 0 disables caching
+     */
+    public ViewCache(final ViewValidator viewValidator, final Schema schema, final boolean isStoreOrdered, final int maxSize) {
+        this.viewValidator = viewValidator;
+        this.schema = schema;
+        this.isStoreOrdered = isStoreOrdered;
+        this.enabled = maxSize > 0;
+        this.compiledViews = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        // Uses identity equality for the weak keys
+        this.compiledViewInstances = CacheBuilder.newBuilder().weakKeys().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Compiles the view, or finds an equivalent view in the cache. The view is always serialised, so this reflects
+     * any changes made to the view since it was last compiled.
+     *
+     * @param view the view to compile
+     * @return the compiled view, or null if the view is null
+     */
+    public CompiledView compile(final View view) {
+        if (null == view) {
+            return null;
+        }
+
+        if (!enabled) {
+            return new CompiledView(view, viewValidator.validate(view, schema, isStoreOrdered));
+        }
+
+        final String json = CompiledView.toJson(view);
+        CompiledView compiledView = compiledViews.getIfPresent(json);
+        if (null == compiledView) {
+            compiledView = new CompiledView(json, viewValidator.validate(view, schema, isStoreOrdered));
+            compiledViews.put(json, compiledView);
+        }
+        compiledViewInstances.put(view, compiledView);
+        return compiledView;
+    }
+
+    /**
+     * Gets the compiled view for a view instance that has already been compiled, otherwise compiles it.
+     *
+     * @param view the view
+     * @return the compiled view, or null if the view is null
+     */
+    public CompiledView get(final View view) {
+        if (null == view) {
+            return null;
+        }
+
+        final CompiledView compiledView = compiledViewInstances.getIfPresent(view);
+        return null != compiledView ? compiledView : compile(view);
+    }
+
+    public void invalidateAll() {
+        compiledViews.invalidateAll();
+        compiledViewInstances.invalidateAll();
+    }
+}
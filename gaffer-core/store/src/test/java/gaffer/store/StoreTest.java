@@ -23,22 +23,29 @@ import static gaffer.store.StoreTrait.TRANSFORMATION;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.Lists;
+import gaffer.commonutil.CancellationToken;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.PipelinedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.element.LazyEntity;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.data.generator.OneToOneElementGenerator;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -47,8 +54,12 @@ import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.CountGroups;
 import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
+import gaffer.operation.impl.explain.OperationExplanation;
 import gaffer.operation.impl.export.FetchExport;
 import gaffer.operation.impl.export.FetchExporter;
 import gaffer.operation.impl.export.FetchExporters;
@@ -70,6 +81,7 @@ import gaffer.serialisation.Serialisation;
 import gaffer.serialisation.implementation.StringSerialiser;
 import gaffer.store.operation.handler.CountGroupsHandler;
 import gaffer.store.operation.handler.DeduplicateHandler;
+import gaffer.store.operation.handler.LimitHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.export.FetchExportHandler;
 import gaffer.store.operation.handler.export.FetchExporterHandler;
@@ -87,12 +99,19 @@ import gaffer.store.schema.ViewValidator;
 import gaffer.user.User;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
 
 public class StoreTest {
     private final User user = new User();
@@ -326,6 +345,221 @@ public class StoreTest {
         assertSame(getElementsResult, result);
     }
 
+    @Test
+    public void shouldPipelineResultsBetweenOperationsInChain() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.isOperationChainPipelined()).willReturn(true);
+        given(properties.getOperationChainPipelineBatchSize()).willReturn(2);
+        given(properties.getOperationChainPipelineMaxQueuedBatches()).willReturn(1);
+        final StoreImpl store = new StoreImpl();
+
+        final List<Element> elements = new ArrayList<>();
+        final List<String> expectedVertices = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            expectedVertices.add("vertex" + i);
+        }
+
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        final GenerateObjects<Element, String> generateObjects = new GenerateObjects<>(new VertexGenerator());
+        final OperationChain<CloseableIterable<String>> opChain = new OperationChain.Builder()
+                .first(getElementsBySeed)
+                .then(generateObjects)
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsBySeed, context, store))
+                .willReturn(new WrappedCloseableIterable<>(elements));
+
+        store.initialise(schema, properties);
+
+        // When
+        final CloseableIterable<String> result = store.execute(opChain, user);
+
+        // Then
+        assertTrue(generateObjects.getElements() instanceof PipelinedCloseableIterable);
+        assertEquals(expectedVertices, Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldShareGenerateExecutorAndShutItDown() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getGenerateThreads()).willReturn(2);
+        final StoreImpl store = new StoreImpl();
+        store.initialise(schema, properties);
+        final ExecutorService executor = store.getGenerateExecutor();
+
+        // When
+        store.shutdownExecutors();
+
+        // Then
+        assertTrue(executor.isShutdown());
+        final ExecutorService newExecutor = store.getGenerateExecutor();
+        assertNotSame(executor, newExecutor);
+        assertSame(newExecutor, store.getGenerateExecutor());
+        store.shutdownExecutors();
+    }
+
+    @Test
+    public void shouldStopReadingResultWhenCancellationTokenIsCancelled() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final List<Element> elements = Arrays.<Element>asList(
+                new Entity(TestGroups.ENTITY, "vertex1"), new Entity(TestGroups.ENTITY, "vertex2"));
+        final GetAllElements<Element> getAllElements = new GetAllElements<>();
+        given(getAllElementsHandler.doOperation(Mockito.eq(getAllElements), Mockito.any(Context.class), Mockito.eq(store)))
+                .willReturn(new WrappedCloseableIterable<>(elements));
+        store.initialise(schema, properties);
+        final CancellationToken token = new CancellationToken();
+
+        // When
+        final CloseableIterable<Element> result = store.execute(new OperationChain<>(getAllElements), user, token);
+        final Iterator<Element> itr = result.iterator();
+        itr.next();
+        token.cancel();
+
+        // Then
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            assertTrue(e.getMessage().contains("cancelled"));
+        }
+    }
+
+    @Test
+    public void shouldCompleteCancellationTokenWhenResultHasBeenRead() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final List<Element> elements = Arrays.<Element>asList(
+                new Entity(TestGroups.ENTITY, "vertex1"), new Entity(TestGroups.ENTITY, "vertex2"));
+        final GetAllElements<Element> getAllElements = new GetAllElements<>();
+        given(getAllElementsHandler.doOperation(Mockito.eq(getAllElements), Mockito.any(Context.class), Mockito.eq(store)))
+                .willReturn(new WrappedCloseableIterable<>(elements));
+        store.initialise(schema, properties);
+        final CancellationToken token = new CancellationToken();
+
+        // When
+        final CloseableIterable<Element> result = store.execute(new OperationChain<>(getAllElements), user, token);
+
+        // Then
+        assertFalse(token.isCompleted());
+        int count = 0;
+        for (final Element ignored : result) {
+            count++;
+        }
+        assertEquals(2, count);
+        assertTrue(token.isCompleted());
+    }
+
+    @Test
+    public void shouldCompleteCancellationTokenWhenResultIsNotIterable() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final AddElements addElements = new AddElements();
+        store.initialise(schema, properties);
+        final CancellationToken token = new CancellationToken();
+
+        // When
+        store.execute(new OperationChain<>(addElements), user, token);
+
+        // Then
+        assertTrue(token.isCompleted());
+    }
+
+    @Test
+    public void shouldNotExecuteOperationsAfterOperationTimeout() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getOperationTimeout()).willReturn(50L);
+        final StoreImpl store = new StoreImpl();
+        final AddElements addElements = new AddElements();
+        final GetAllElements<Element> getAllElements = new GetAllElements<>();
+        given(addElementsHandler.doOperation(Mockito.eq(addElements), Mockito.any(Context.class), Mockito.eq(store)))
+                .willAnswer(new Answer<Void>() {
+                    @Override
+                    public Void answer(final InvocationOnMock invocation) throws Throwable {
+                        final Context opContext = (Context) invocation.getArguments()[1];
+                        assertTrue(opContext.getCancellationToken().hasDeadline());
+                        Thread.sleep(200);
+                        return null;
+                    }
+                });
+        store.initialise(schema, properties);
+
+        // When
+        try {
+            store.execute(new OperationChain.Builder().first(addElements).then(getAllElements).build(), user);
+            fail("Exception expected");
+        } catch (final CancellationException e) {
+            // Then
+            assertTrue(e.getMessage().contains("deadline"));
+            verify(getAllElementsHandler, never()).doOperation(Mockito.eq(getAllElements), Mockito.any(Context.class), Mockito.eq(store));
+        }
+    }
+
+    @Test
+    public void shouldRejectOperationTimeoutOptionThatIsNotANumber() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final AddElements addElements = new AddElements();
+        addElements.addOption(StoreProperties.OPERATION_TIMEOUT, "ten seconds");
+        store.initialise(schema, properties);
+
+        // When
+        try {
+            store.execute(new OperationChain<>(addElements), user);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Then
+            assertTrue(e.getMessage().contains(StoreProperties.OPERATION_TIMEOUT));
+            verify(addElementsHandler, never()).doOperation(Mockito.eq(addElements), Mockito.any(Context.class), Mockito.eq(store));
+        }
+    }
+
+    @Test
+    public void shouldExplainOptimisedOperationChainWithoutExecutingIt() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed.Builder<>()
+                .limitResults(5)
+                .build();
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain<>(getElementsBySeed);
+        store.initialise(schema, properties);
+
+        // When
+        final Explanation explanation = store.execute(new Explain(opChain), user);
+
+        // Then
+        final List<Operation> ops = explanation.getOperationChain().getOperations();
+        assertEquals(2, ops.size());
+        assertSame(getElementsBySeed, ops.get(0));
+        assertTrue(ops.get(1) instanceof Limit);
+
+        assertEquals(2, explanation.getOperations().size());
+        assertEquals(GetElementsBySeed.class.getName(), explanation.getOperations().get(0).getOperation());
+        assertEquals(getElementsHandler.getClass().getName(), explanation.getOperations().get(0).getHandler());
+        final OperationExplanation limitExplanation = explanation.getOperations().get(1);
+        assertEquals(LimitHandler.class.getName(), limitExplanation.getHandler());
+        assertEquals(OperationExplanation.EXECUTION_CLIENT, limitExplanation.getDetails().get(OperationExplanation.EXECUTION));
+        assertEquals(5, limitExplanation.getDetails().get("resultLimit"));
+        verify(getElementsHandler, never()).doOperation(getElementsBySeed, context, store);
+    }
+
     @Test
     public void shouldReturnAllSupportedOperations() throws Exception {
         // Given
@@ -335,7 +569,7 @@ public class StoreTest {
         final Map<String, String> options = mock(HashMap.class);
 
         final StoreImpl store = new StoreImpl();
-        final int expectedNumberOfOperations = 26;
+        final int expectedNumberOfOperations = 27;
 
         given(validatable.isValidate()).willReturn(true);
         given(validatable.getOptions()).willReturn(options);
@@ -513,4 +747,16 @@ public class StoreTest {
             return context;
         }
     }
+
+    private static final class VertexGenerator extends OneToOneElementGenerator<String> {
+        @Override
+        public Element getElement(final String domainObject) {
+            return new Entity(TestGroups.ENTITY, domainObject);
+        }
+
+        @Override
+        public String getObject(final Element element) {
+            return (String) ((Entity) element).getVertex();
+        }
+    }
 }
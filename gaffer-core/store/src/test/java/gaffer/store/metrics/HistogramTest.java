@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import java.util.Map;
+
+public class HistogramTest {
+    @Test
+    public void shouldRecordCountMeanAndMax() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+
+        // Then
+        assertEquals(3, histogram.getCount());
+        assertEquals(60, histogram.getSum());
+        assertEquals(20, histogram.getMean());
+        assertEquals(30, histogram.getMax());
+    }
+
+    @Test
+    public void shouldReturnPercentilesWithinAFactorOf2() {
+        // Given
+        final Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // When
+        final long p50 = histogram.getPercentile(50);
+        final long p99 = histogram.getPercentile(99);
+
+        // Then
+        assertTrue("p50 was " + p50, p50 >= 50 && p50 < 100);
+        assertEquals(100, p99);
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZero() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        histogram.record(-5);
+
+        // Then
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(100));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void shouldReturnSummary() {
+        // Given
+        final Histogram histogram = new Histogram();
+        histogram.record(7);
+
+        // When
+        final Map<String, Long> summary = histogram.getSummary();
+
+        // Then
+        assertEquals((Long) 1L, summary.get("count"));
+        assertEquals((Long) 7L, summary.get("mean"));
+        assertEquals((Long) 7L, summary.get("p50"));
+        assertEquals((Long) 7L, summary.get("max"));
+    }
+}
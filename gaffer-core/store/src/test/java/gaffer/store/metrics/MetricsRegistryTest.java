@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import org.junit.Test;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+
+public class MetricsRegistryTest {
+    @Test
+    public void shouldAddToCounters() {
+        // Given
+        final MetricsRegistry metrics = new MetricsRegistry();
+
+        // When
+        metrics.increment("counter");
+        metrics.add("counter", 5);
+
+        // Then
+        assertEquals(6, metrics.getCounter("counter"));
+        assertEquals(0, metrics.getCounter("unknown"));
+    }
+
+    @Test
+    public void shouldFlattenCountersAndHistogramSummaries() {
+        // Given
+        final MetricsRegistry metrics = new MetricsRegistry();
+        metrics.increment("counter");
+        metrics.record("histogram", 3);
+
+        // When
+        final Map<String, Long> result = metrics.getMetrics();
+
+        // Then
+        assertEquals((Long) 1L, result.get("counter"));
+        assertEquals((Long) 1L, result.get("histogram.count"));
+        assertEquals((Long) 3L, result.get("histogram.max"));
+    }
+
+    @Test
+    public void shouldClearMetricsOnReset() {
+        // Given
+        final MetricsRegistry metrics = new MetricsRegistry();
+        metrics.increment("counter");
+        metrics.record("histogram", 3);
+
+        // When
+        metrics.reset();
+
+        // Then
+        assertTrue(metrics.getMetrics().isEmpty());
+    }
+
+    @Test
+    public void shouldRegisterSharedInstanceWithJmx() throws Exception {
+        // When
+        MetricsRegistry.getInstance();
+
+        // Then
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(MetricsRegistry.OBJECT_NAME)));
+    }
+
+    @Test
+    public void shouldCountItemsAndRecordLatencyOnceWhenMeasuredIterableIsRead() {
+        // Given
+        final MetricsRegistry metrics = new MetricsRegistry();
+        final CloseableIterable<Integer> iterable = new MeasuredCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)), metrics, "op.latency", System.nanoTime(),
+                "op.out", "next.in");
+
+        // When
+        final int size = Lists.newArrayList(iterable).size();
+        final CloseableIterator<Integer> itr = iterable.iterator();
+        itr.next();
+        itr.close();
+
+        // Then
+        assertEquals(3, size);
+        assertEquals(4, metrics.getCounter("op.out"));
+        assertEquals(4, metrics.getCounter("next.in"));
+        assertEquals(1, metrics.getHistogram("op.latency" + MetricsRegistry.MICROS_SUFFIX).getCount());
+    }
+}
@@ -16,6 +16,7 @@
 
 package gaffer.store.operation.handler.generate;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -23,12 +24,20 @@ import static org.mockito.Mockito.mock;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
 import gaffer.data.generator.ElementGenerator;
+import gaffer.data.generator.OneToOneElementGenerator;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import gaffer.store.StoreProperties;
 import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GenerateElementsHandlerTest {
 
@@ -55,4 +64,52 @@ public class GenerateElementsHandlerTest {
         // Then
         assertSame(elementsIter, result.iterator());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGenerateElementsInParallelPreservingOrder() throws OperationException {
+        // Given
+        final GenerateElementsHandler<String> handler = new GenerateElementsHandler<>();
+        final Store store = mock(Store.class);
+        final StoreProperties properties = new StoreProperties();
+        properties.setProperties(new Properties());
+        properties.setGenerateThreads(4);
+        given(store.getProperties()).willReturn(properties);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        given(store.getGenerateExecutor()).willReturn(executor);
+
+        final List<String> objs = new ArrayList<>();
+        for (int i = 0; i < 1005; i++) {
+            objs.add("vertex" + i);
+        }
+        final GenerateElements<String> operation = new GenerateElements<>(objs, new EntityGenerator());
+        operation.addOption(StoreProperties.GENERATE_BATCH_SIZE, "10");
+
+        // When
+        final List<Element> results = new ArrayList<>();
+        try {
+            for (final Element element : handler.doOperation(operation, new Context(), store)) {
+                results.add(element);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(objs.size(), results.size());
+        for (int i = 0; i < objs.size(); i++) {
+            assertEquals(objs.get(i), ((Entity) results.get(i)).getVertex());
+        }
+    }
+
+    private static final class EntityGenerator extends OneToOneElementGenerator<String> {
+        @Override
+        public Element getElement(final String domainObject) {
+            return new Entity("entity", domainObject);
+        }
+
+        @Override
+        public String getObject(final Element element) {
+            return (String) ((Entity) element).getVertex();
+        }
+    }
+}
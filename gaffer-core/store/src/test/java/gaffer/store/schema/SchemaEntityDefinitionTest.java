@@ -29,6 +29,7 @@ import com.google.common.collect.Sets;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -75,6 +76,25 @@ public class SchemaEntityDefinitionTest {
                 validator.getFunctions().get(1).getSelection());
     }
 
+    @Test
+    public void shouldCreatePropertiesIndexedByElementDefinitionProperties() {
+        // Given
+        final SchemaEntityDefinition elementDef = new SchemaEntityDefinition.Builder()
+                .vertex(String.class)
+                .property(TestPropertyNames.PROP_1, String.class)
+                .property(TestPropertyNames.PROP_2, Integer.class)
+                .build();
+
+        // When
+        final Properties properties = elementDef.createProperties();
+
+        // Then
+        assertTrue(properties.isEmpty());
+        assertSame(elementDef.getPropertyIndex(), properties.getIndex());
+        assertEquals(0, properties.getIndex().getOrdinal(TestPropertyNames.PROP_1));
+        assertEquals(1, properties.getIndex().getOrdinal(TestPropertyNames.PROP_2));
+    }
+
     @Test
     public void shouldBuildEntityDefinition() {
         // Given
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import org.junit.Test;
+
+public class ViewCacheTest {
+    private final Schema schema = new Schema();
+
+    @Test
+    public void shouldValidateEquivalentViewsOnce() {
+        // Given
+        final ViewValidator validator = mock(ViewValidator.class);
+        given(validator.validate(any(View.class), any(Schema.class), anyBoolean())).willReturn(true);
+        final ViewCache cache = new ViewCache(validator, schema, true, 10);
+
+        // When
+        final CompiledView compiledView1 = cache.compile(createView());
+        final CompiledView compiledView2 = cache.compile(createView());
+
+        // Then
+        assertSame(compiledView1, compiledView2);
+        assertTrue(compiledView1.isValid());
+        assertEquals(CompiledView.toJson(createView()), compiledView1.getJson());
+        verify(validator, times(1)).validate(any(View.class), any(Schema.class), anyBoolean());
+    }
+
+    @Test
+    public void shouldGetCompiledViewForViewInstance() {
+        // Given
+        final ViewCache cache = new ViewCache(new ViewValidator(), schema, true, 10);
+        final View view = createView();
+        final CompiledView compiledView = cache.compile(view);
+
+        // When
+        final CompiledView result = cache.get(view);
+
+        // Then
+        assertSame(compiledView, result);
+    }
+
+    @Test
+    public void shouldRecompileViewAfterItIsModified() {
+        // Given
+        final ViewCache cache = new ViewCache(new ViewValidator(), schema, true, 10);
+        final View view = createView();
+        final CompiledView compiledView = cache.compile(view);
+
+        // When
+        view.merge(new View.Builder()
+                .entity(TestGroups.ENTITY_2)
+                .build());
+        final CompiledView result = cache.compile(view);
+
+        // Then
+        assertNotSame(compiledView, result);
+        assertTrue(result.getJson().contains(TestGroups.ENTITY_2));
+        assertSame(result, cache.get(view));
+    }
+
+    @Test
+    public void shouldValidateEveryTimeWhenCachingDisabled() {
+        // Given
+        final ViewValidator validator = mock(ViewValidator.class);
+        given(validator.validate(any(View.class), any(Schema.class), anyBoolean())).willReturn(false);
+        final ViewCache cache = new ViewCache(validator, schema, true, 0);
+
+        // When
+        final CompiledView compiledView1 = cache.compile(createView());
+        final CompiledView compiledView2 = cache.compile(createView());
+
+        // Then
+        assertNotSame(compiledView1, compiledView2);
+        assertFalse(compiledView1.isValid());
+        verify(validator, times(2)).validate(any(View.class), any(Schema.class), anyBoolean());
+    }
+
+    @Test
+    public void shouldKeepFirstCompiledState() {
+        // Given
+        final CompiledView compiledView = new ViewCache(new ViewValidator(), schema, true, 10).compile(createView());
+
+        // When
+        final String state1 = compiledView.addCompiledState("key", "state1");
+        final String state2 = compiledView.addCompiledState("key", "state2");
+
+        // Then
+        assertEquals("state1", state1);
+        assertEquals("state1", state2);
+        assertEquals("state1", compiledView.<String>getCompiledState("key"));
+        assertNull(compiledView.getCompiledState("unknown"));
+    }
+
+    @Test
+    public void shouldReturnNullForNullView() {
+        // Given
+        final ViewCache cache = new ViewCache(new ViewValidator(), schema, true, 10);
+
+        // When / Then
+        assertNull(cache.compile(null));
+        assertNull(cache.get(null));
+    }
+
+    private View createView() {
+        return new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .transientProperty(TestPropertyNames.PROP_1, String.class)
+                        .build())
+                .build();
+    }
+}
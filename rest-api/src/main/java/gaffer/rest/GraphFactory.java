@@ -19,6 +19,7 @@ package gaffer.rest;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.graph.Graph;
 import gaffer.graph.hook.OperationAuthoriser;
+import gaffer.graph.hook.OperationMetrics;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -86,6 +87,10 @@ public class GraphFactory {
         if (null != opAuthoriser) {
             builder.addHook(opAuthoriser);
         }
+
+        if (Boolean.parseBoolean(System.getProperty(SystemProperty.OPERATION_METRICS, SystemProperty.OPERATION_METRICS_DEFAULT))) {
+            builder.addHook(new OperationMetrics());
+        }
         return builder;
     }
 
@@ -29,6 +29,7 @@ public abstract class SystemProperty {
     public static final String SERVICES_PACKAGE_PREFIX = "gaffer.rest-api.resourcePackage";
     public static final String PACKAGE_PREFIXES = "gaffer.package.prefixes";
     public static final String OP_AUTHS_PATH = "gaffer.operation.auths.path";
+    public static final String OPERATION_METRICS = "gaffer.operation.metrics";
 
     // DEFAULTS
     /**
@@ -39,4 +40,5 @@ public abstract class SystemProperty {
     public static final String BASE_URL_DEFAULT = "rest/v1";
     public static final String CORE_VERSION = "1.0.0";
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = GraphFactory.class.getName();
+    public static final String OPERATION_METRICS_DEFAULT = "false";
 }
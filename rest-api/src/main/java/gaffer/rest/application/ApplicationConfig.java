@@ -18,6 +18,7 @@ package gaffer.rest.application;
 
 import gaffer.rest.SystemProperty;
 import gaffer.rest.serialisation.RestJsonProvider;
+import gaffer.rest.service.MetricsService;
 import gaffer.rest.service.SimpleExamplesService;
 import gaffer.rest.service.SimpleGraphConfigurationService;
 import gaffer.rest.service.SimpleOperationService;
@@ -56,6 +57,7 @@ public class ApplicationConfig extends Application {
 
     protected void addServices() {
         resources.add(StatusService.class);
+        resources.add(MetricsService.class);
         resources.add(SimpleOperationService.class);
         resources.add(SimpleGraphConfigurationService.class);
         resources.add(SimpleExamplesService.class);
@@ -19,17 +19,28 @@ package gaffer.rest.serialisation;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.store.metrics.MetricsRegistry;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 /**
  * A <code>RestJsonProvider</code> enables the automatic serialisation and deserialisation to/from JSON.
  * By default the JSON will not include nulls.
+ * The time taken to write each response is recorded in the shared {@link MetricsRegistry} as
+ * {@link #SERIALISATION_LATENCY}. Lazy results are read whilst they are written, so this includes the time taken to
+ * read them from the store.
  */
 @Provider
 @Produces(MediaType.APPLICATION_JSON)
 public class RestJsonProvider extends JacksonJaxbJsonProvider {
+    public static final String SERIALISATION_LATENCY = "rest.serialisation";
+
     public RestJsonProvider() {
         super.setMapper(createMapper());
     }
@@ -41,4 +52,17 @@ public class RestJsonProvider extends JacksonJaxbJsonProvider {
     protected ObjectMapper createMapper() {
         return JSONSerialiser.createDefaultMapper();
     }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        final long startNanos = System.nanoTime();
+        try {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        } finally {
+            MetricsRegistry.getInstance().recordLatency(SERIALISATION_LATENCY, startNanos);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import gaffer.operation.OperationChain;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.explain.Explanation;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
@@ -38,12 +39,18 @@ import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
 
 /**
  * An <code>IOperationService</code> has methods to execute {@link gaffer.operation.Operation}s on the
@@ -54,11 +61,27 @@ import javax.ws.rs.core.MediaType;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public interface IOperationService {
+    String APPLICATION_NDJSON = "application/x-ndjson";
 
     @POST
     @ApiOperation(value = "Performs the given operation chain on the graph", response = Object.class)
     Object execute(final OperationChain opChain);
 
+    @POST
+    @Path("/async")
+    @ApiOperation(value = "Starts executing the given operation chain on the graph in the background and returns the job id", response = String.class)
+    String executeAsync(final OperationChain opChain);
+
+    @DELETE
+    @Path("/async/{jobId}")
+    @ApiOperation(value = "Cancels a running background operation chain, returns false if the job is not running", response = Boolean.class)
+    boolean cancelAsync(@ApiParam(value = "the job id returned when the operation chain was started") @PathParam("jobId") final String jobId);
+
+    @POST
+    @Path("/explain")
+    @ApiOperation(value = "Explains how the given operation chain would be executed, without executing it", response = Explanation.class)
+    Explanation explain(final OperationChain opChain);
+
     @POST
     @Path("/generate/objects")
     @ApiOperation(value = "Generate objects from elements", response = Object.class, responseContainer = "List")
@@ -124,4 +147,12 @@ public interface IOperationService {
     @Path("/add/elements")
     @ApiOperation(value = "Add elements to the graph", response = Boolean.class)
     void addElements(final AddElements operation);
+
+    @PUT
+    @Path("/add/elements/stream")
+    @Consumes({MediaType.APPLICATION_JSON, IOperationService.APPLICATION_NDJSON})
+    @ApiOperation(value = "Add a stream of elements to the graph. The body can be a JSON array of elements or newline delimited JSON elements, which are added whilst the request is read", response = Boolean.class)
+    void addElementsStream(final InputStream elements,
+                           @ApiParam(value = "true to skip elements that fail validation") @QueryParam("skipInvalidElements") final boolean skipInvalidElements,
+                           @ApiParam(value = "false to add the elements without validating them") @QueryParam("validate") @DefaultValue("true") final boolean validate);
 }
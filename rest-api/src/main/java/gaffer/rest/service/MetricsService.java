@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import gaffer.store.metrics.MetricsRegistry;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.Map;
+
+/**
+ * A <code>MetricsService</code> has methods to read the metrics recorded in the shared {@link MetricsRegistry}.
+ */
+@Path("/metrics")
+@Produces(MediaType.APPLICATION_JSON)
+@Api(value = "/metrics", description = "Methods to read the metrics recorded by the graph and store.")
+public class MetricsService {
+    @GET
+    @ApiOperation(value = "Returns the value of each counter and a summary of each histogram, keyed by metric name", response = Long.class, responseContainer = "Map")
+    @ApiResponses(value = {@ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 500, message = "Something wrong in Server")})
+    public Map<String, Long> getMetrics() {
+        return MetricsRegistry.getInstance().getMetrics();
+    }
+}
@@ -16,17 +16,22 @@
 
 package gaffer.rest.service;
 
+import gaffer.commonutil.CancellationToken;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
 import gaffer.graph.Graph;
+import gaffer.jsonserialisation.JSONSerialiser;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.explain.Explain;
+import gaffer.operation.impl.explain.Explanation;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
@@ -43,6 +48,11 @@ import gaffer.rest.GraphFactory;
 import gaffer.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An implementation of {@link gaffer.rest.service.IOperationService}. By default it will use a singleton
@@ -55,9 +65,16 @@ import org.slf4j.LoggerFactory;
  * The createUser() method should be overridden and a {@link User} object should
  * be created from the http request.
  * </p>
+ * <p>
+ * Operation chains executed asynchronously are identified by a job id, which can be used by the same user to cancel
+ * the chain whilst it is running.
+ * </p>
  */
 public class SimpleOperationService implements IOperationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleOperationService.class);
+    // Services are created for each request, so running jobs are shared by all instances
+    private static final JSONSerialiser JSON_SERIALISER = new JSONSerialiser();
+    private static final Map<String, AsyncJob> ASYNC_JOBS = new ConcurrentHashMap<>();
     private final GraphFactory graphFactory;
 
     public SimpleOperationService() {
@@ -73,6 +90,26 @@ public class SimpleOperationService implements IOperationService {
         return execute(opChain, false);
     }
 
+    @Override
+    public String executeAsync(final OperationChain opChain) {
+        return startAsync(opChain);
+    }
+
+    @Override
+    public boolean cancelAsync(final String jobId) {
+        final AsyncJob job = ASYNC_JOBS.get(jobId);
+        if (null == job || !job.userId.equals(createUser().getUserId())) {
+            return false;
+        }
+        job.cancellationToken.cancel();
+        return true;
+    }
+
+    @Override
+    public Explanation explain(final OperationChain opChain) {
+        return execute(new Explain(opChain));
+    }
+
     @Override
     public CloseableIterable<Object> generateObjects(final GenerateObjects<Element, Object> operation) {
         return execute(operation);
@@ -88,6 +125,26 @@ public class SimpleOperationService implements IOperationService {
         execute(operation);
     }
 
+    @Override
+    public void addElementsStream(final InputStream elements, final boolean skipInvalidElements, final boolean validate) {
+        final CloseableIterable<Element> elementIterable;
+        try {
+            elementIterable = JSON_SERIALISER.deserialiseStream(elements, Element.class);
+        } catch (SerialisationException e) {
+            throw new IllegalArgumentException("Unable to read the elements: " + e.getMessage(), e);
+        }
+
+        try {
+            execute(new AddElements.Builder()
+                    .elements(elementIterable)
+                    .skipInvalidElements(skipInvalidElements)
+                    .validate(validate)
+                    .build());
+        } finally {
+            elementIterable.close();
+        }
+    }
+
     @Override
     public CloseableIterable<Element> getElementsBySeed(final GetElementsBySeed<ElementSeed, Element> operation) {
         return execute(operation);
@@ -170,31 +227,65 @@ public class SimpleOperationService implements IOperationService {
     }
 
     protected <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final boolean async) {
+        if (async) {
+            startAsync(opChain);
+            return null;
+        }
+
         final User user = createUser();
         preOperationHook(opChain, user);
+        try {
+            return graphFactory.getGraph().execute(opChain, user);
+        } catch (OperationException e) {
+            throw new RuntimeException("Error executing opChain", e);
+        } finally {
+            postOperationHook(opChain, user);
+        }
+    }
 
-        if (async) {
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        graphFactory.getGraph().execute(opChain, user);
-                    } catch (OperationException e) {
-                        LOGGER.error("Error executing opChain", e);
-                    } finally {
-                        postOperationHook(opChain, user);
+    /**
+     * Executes an operation chain on a new thread, so it can be cancelled using the returned job id until it
+     * completes.
+     *
+     * @param opChain the operation chain to execute
+     * @return the job id
+     */
+    protected String startAsync(final OperationChain<?> opChain) {
+        final User user = createUser();
+        preOperationHook(opChain, user);
+
+        final String jobId = UUID.randomUUID().toString();
+        final CancellationToken cancellationToken = new CancellationToken();
+        ASYNC_JOBS.put(jobId, new AsyncJob(user.getUserId(), cancellationToken));
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final Object result = graphFactory.getGraph().execute(opChain, user, cancellationToken);
+                    if (result instanceof CloseableIterable) {
+                        ((CloseableIterable) result).close();
                     }
+                } catch (CancellationException e) {
+                    LOGGER.info("Cancelled opChain job {}: {}", jobId, e.getMessage());
+                } catch (OperationException e) {
+                    LOGGER.error("Error executing opChain job " + jobId, e);
+                } finally {
+                    cancellationToken.complete();
+                    ASYNC_JOBS.remove(jobId);
+                    postOperationHook(opChain, user);
                 }
-            }).start();
-            return null;
-        } else {
-            try {
-                return graphFactory.getGraph().execute(opChain, user);
-            } catch (OperationException e) {
-                throw new RuntimeException("Error executing opChain", e);
-            } finally {
-                postOperationHook(opChain, user);
             }
+        }, "gaffer-async-" + jobId).start();
+        return jobId;
+    }
+
+    private static final class AsyncJob {
+        private final String userId;
+        private final CancellationToken cancellationToken;
+
+        private AsyncJob(final String userId, final CancellationToken cancellationToken) {
+            this.userId = userId;
+            this.cancellationToken = cancellationToken;
         }
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.rest.GraphFactory;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimpleOperationServiceTest {
+    private SimpleOperationService service;
+    private List<Element> addedElements;
+    private AddElements addElements;
+
+    @Before
+    public void setup() throws Exception {
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.execute(any(OperationChain.class), any(User.class))).willAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                // The elements must be read whilst the operation is executed
+                addElements = (AddElements) ((OperationChain) invocation.getArguments()[0]).getOperations().get(0);
+                for (final Element element : addElements.getElements()) {
+                    addedElements.add(element);
+                }
+                return null;
+            }
+        });
+        final Graph graph = new Graph.Builder().store(store).build();
+        given(graphFactory.getGraph()).willReturn(graph);
+        addedElements = new ArrayList<>();
+        service = new SimpleOperationService(graphFactory);
+    }
+
+    @Test
+    public void shouldAddNewlineDelimitedElementsFromStream() throws Exception {
+        // Given
+        final InputStream stream = toStream(
+                "{\"class\": \"gaffer.data.element.Entity\", \"group\": \"" + TestGroups.ENTITY + "\", \"vertex\": \"vertex1\"}\n"
+                        + "{\"class\": \"gaffer.data.element.Edge\", \"group\": \"" + TestGroups.EDGE + "\", \"source\": \"vertex1\", \"destination\": \"vertex2\", \"directed\": true}\n");
+
+        // When
+        service.addElementsStream(stream, true, false);
+
+        // Then
+        assertEquals(2, addedElements.size());
+        assertEquals(new Entity(TestGroups.ENTITY, "vertex1"), addedElements.get(0));
+        assertEquals(new Edge(TestGroups.EDGE, "vertex1", "vertex2", true), addedElements.get(1));
+        assertTrue(addElements.isSkipInvalidElements());
+        assertFalse(addElements.isValidate());
+    }
+
+    @Test
+    public void shouldAddArrayOfElementsFromStream() throws Exception {
+        // Given
+        final InputStream stream = toStream(
+                "[{\"class\": \"gaffer.data.element.Entity\", \"group\": \"" + TestGroups.ENTITY + "\", \"vertex\": \"vertex1\"},"
+                        + "{\"class\": \"gaffer.data.element.Entity\", \"group\": \"" + TestGroups.ENTITY + "\", \"vertex\": \"vertex2\"}]");
+
+        // When
+        service.addElementsStream(stream, false, true);
+
+        // Then
+        assertEquals(2, addedElements.size());
+        assertEquals(new Entity(TestGroups.ENTITY, "vertex2"), addedElements.get(1));
+        assertTrue(addElements.isValidate());
+    }
+
+    private static InputStream toStream(final String json) throws UnsupportedEncodingException {
+        return new ByteArrayInputStream(json.getBytes(CommonConstants.UTF_8));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.pool.KryoFactory;
+import com.esotericsoftware.kryo.pool.KryoPool;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractSerialisation;
+import gaffer.serialisation.ClassBoundSerialisation;
+import gaffer.serialisation.Serialisation;
+import gaffer.types.simple.FreqMap;
+import gaffer.types.simple.TypeSubTypeValue;
+import gaffer.types.simple.TypeValue;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A <code>KryoSerialiser</code> serialises objects using Kryo. It can handle any class and is much faster and more
+ * compact than Java serialisation, so it is a good choice for the default serialiser of types that none of the core
+ * serialisers can handle - see {@link gaffer.serialisation.implementation.SerialisationFactory}.
+ * <p>
+ * Each serialised object is prefixed with its class. Common Java and Gaffer classes are registered with Kryo so
+ * that their class is written as a small integer id rather than a class name. When used in a schema, the serialiser
+ * is bound to the class of its type and that class is registered too. Every class is registered with an explicit,
+ * fixed id, so the same ids are used by every serialiser bound to the same class, including those created on other
+ * machines or by later versions of Gaffer.
+ * <p>
+ * Kryo instances are not thread safe, so they are held in a pool and borrowed for each call.
+ */
+public class KryoSerialiser extends AbstractSerialisation implements ClassBoundSerialisation {
+    private static final long serialVersionUID = -2437380539063296370L;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    /**
+     * The registration id given to the bound class, if it is not already registered. Each serialiser has at most
+     * one bound class, so the id does not clash with that of any other class.
+     */
+    private static final int BOUND_CLASS_ID = 100;
+
+    private final Class<?> boundClass;
+    private transient volatile KryoPool pool;
+
+    public KryoSerialiser() {
+        this(null);
+    }
+
+    /**
+     * @param boundClass the class of the objects this serialiser will serialise, this is registered with Kryo.
+     */
+    public KryoSerialiser(final Class<?> boundClass) {
+        this.boundClass = boundClass;
+    }
+
+    public Class<?> getBoundClass() {
+        return boundClass;
+    }
+
+    @Override
+    public Serialisation bindToClass(final Class<?> clazz) {
+        if (null == clazz || clazz.equals(boundClass)) {
+            return this;
+        }
+        return new KryoSerialiser(clazz);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return null != clazz;
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final Output output = new Output(INITIAL_BUFFER_SIZE, -1);
+        write(object, output);
+        return output.toBytes();
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        write(object, new Output(out, INITIAL_BUFFER_SIZE));
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final KryoPool kryoPool = getPool();
+        final Kryo kryo = kryoPool.borrow();
+        try {
+            return kryo.readClassAndObject(new Input(bytes, offset, length));
+        } catch (final KryoException e) {
+            throw new SerialisationException("Unable to deserialise object using Kryo", e);
+        } finally {
+            kryoPool.release(kryo);
+        }
+    }
+
+    @Override
+    public boolean isByteOrderPreserved() {
+        return false;
+    }
+
+    private void write(final Object object, final Output output) throws SerialisationException {
+        final KryoPool kryoPool = getPool();
+        final Kryo kryo = kryoPool.borrow();
+        try {
+            kryo.writeClassAndObject(output, object);
+            output.flush();
+        } catch (final KryoException e) {
+            throw new SerialisationException("Unable to serialise object of class "
+                    + (null != object ? object.getClass().getName() : null) + " using Kryo", e);
+        } finally {
+            kryoPool.release(kryo);
+        }
+    }
+
+    private KryoPool getPool() {
+        KryoPool kryoPool = pool;
+        if (null == kryoPool) {
+            synchronized (this) {
+                kryoPool = pool;
+                if (null == kryoPool) {
+                    kryoPool = new KryoPool.Builder(new RegisteringKryoFactory(boundClass)).softReferences().build();
+                    pool = kryoPool;
+                }
+            }
+        }
+        return kryoPool;
+    }
+
+    private static final class RegisteringKryoFactory implements KryoFactory {
+        private final Class<?> boundClass;
+
+        private RegisteringKryoFactory(final Class<?> boundClass) {
+            this.boundClass = boundClass;
+        }
+
+        @Override
+        public Kryo create() {
+            final Kryo kryo = new Kryo();
+            kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            registerClasses(kryo);
+            if (null != boundClass && null == kryo.getClassResolver().getRegistration(boundClass)) {
+                kryo.register(boundClass, BOUND_CLASS_ID);
+            }
+            return kryo;
+        }
+
+        /**
+         * Registers the common classes, each with an explicit id. Ids are written into the serialised bytes, so
+         * they must never be changed or reused - new classes must be given new ids. Ids below 20 are left for the
+         * classes Kryo registers by default.
+         *
+         * @param kryo the Kryo instance to register the classes with
+         */
+        private static void registerClasses(final Kryo kryo) {
+            kryo.register(Entity.class, new KryoEntitySerializer(), 20);
+            kryo.register(Edge.class, new KryoEdgeSerializer(), 21);
+            kryo.register(Properties.class, 22);
+            kryo.register(Date.class, 23);
+            kryo.register(ArrayList.class, 24);
+            kryo.register(HashMap.class, 25);
+            kryo.register(HashSet.class, 26);
+            kryo.register(LinkedHashMap.class, 27);
+            kryo.register(LinkedHashSet.class, 28);
+            kryo.register(TreeMap.class, 29);
+            kryo.register(TreeSet.class, 30);
+            kryo.register(FreqMap.class, 31);
+            kryo.register(TypeValue.class, 32);
+            kryo.register(TypeSubTypeValue.class, 33);
+        }
+    }
+}
@@ -17,7 +17,7 @@ package gaffer.serialisation.simple;
 
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import java.io.UnsupportedEncodingException;
 import java.util.Date;
 
@@ -27,7 +27,7 @@ import java.util.Date;
  * instead.
  */
 @Deprecated
-public class DateSerialiser implements Serialisation {
+public class DateSerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = 5647756843689779437L;
 
     @Override
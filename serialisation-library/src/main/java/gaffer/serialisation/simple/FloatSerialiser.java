@@ -17,7 +17,7 @@ package gaffer.serialisation.simple;
 
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import java.io.UnsupportedEncodingException;
 
 /**
@@ -26,7 +26,7 @@ import java.io.UnsupportedEncodingException;
  * instead.
  */
 @Deprecated
-public class FloatSerialiser implements Serialisation {
+public class FloatSerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = -4732565151514793209L;
 
     @Override
@@ -18,13 +18,13 @@ package gaffer.serialisation.simple;
 import gaffer.commonutil.ByteArrayEscapeUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
 import gaffer.types.simple.FreqMap;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,59 +32,67 @@ import java.util.Set;
  * A <code>FreqMapSerialiser</code> serialises and deserialises {@code FreqMap}s.
  * Any null keys or values are skipped.
  */
-public class FreqMapSerialiser implements Serialisation {
+public class FreqMapSerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = 6530929395214726384L;
     private final CompactRawLongSerialiser longSerialiser = new CompactRawLongSerialiser();
 
     @Override
     public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialise(object, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
         FreqMap map = (FreqMap) object;
         Set<Map.Entry<String, Long>> entrySet = map.entrySet();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
         boolean isFirst = true;
         for (Map.Entry<String, Long> entry : entrySet) {
             if (entry.getKey() != null && entry.getValue() != null) {
-                if (isFirst) {
-                    isFirst = false;
-                } else {
-                    out.write(ByteArrayEscapeUtils.DELIMITER);
-                }
-
                 try {
+                    if (isFirst) {
+                        isFirst = false;
+                    } else {
+                        out.write(ByteArrayEscapeUtils.DELIMITER);
+                    }
                     out.write(ByteArrayEscapeUtils.escape(entry.getKey().getBytes(CommonConstants.UTF_8)));
                 } catch (IOException e) {
                     throw new SerialisationException("Failed to serialise a key from a FreqMap: " + entry.getKey(), e);
                 }
-                out.write(ByteArrayEscapeUtils.DELIMITER);
-
                 try {
+                    out.write(ByteArrayEscapeUtils.DELIMITER);
                     out.write(ByteArrayEscapeUtils.escape(longSerialiser.serialise(entry.getValue())));
                 } catch (IOException e) {
                     throw new SerialisationException("Failed to serialise a value from a FreqMap: " + entry.getValue(), e);
                 }
             }
         }
-
-        return out.toByteArray();
     }
 
     @Override
     public Object deserialise(final byte[] bytes) throws
             SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws
+            SerialisationException {
         FreqMap freqMap = new FreqMap();
-        if (bytes.length == 0) {
+        if (length == 0) {
             return freqMap;
         }
-
-        int lastDelimiter = 0;
+        final int end = offset + length;
+        int lastDelimiter = offset;
         String key = null;
-        for (int i = 0; i < bytes.length; i++) {
+        for (int i = offset; i < end; i++) {
             if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (null == key) {
                     // Deserialise key
                     if (i > lastDelimiter) {
                         try {
-                            key = new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, i)), CommonConstants.UTF_8);
+                            key = new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i - lastDelimiter), CommonConstants.UTF_8);
                         } catch (UnsupportedEncodingException e) {
                             throw new SerialisationException("Failed to deserialise a key from a FreqMap", e);
                         }
@@ -94,24 +102,21 @@ public class FreqMapSerialiser implements Serialisation {
                 } else {
                     // Deserialise value
                     if (i > lastDelimiter) {
-                        final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, i)));
+                        final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i - lastDelimiter));
                         freqMap.put(key, value);
                         key = null;
                     }
                 }
-
                 lastDelimiter = i + 1;
             }
         }
-
         if (null != key) {
             // Deserialise value
-            if (bytes.length > lastDelimiter) {
-                final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, bytes.length)));
+            if (end > lastDelimiter) {
+                final Long value = longSerialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, end - lastDelimiter));
                 freqMap.put(key, value);
             }
         }
-
         return freqMap;
     }
 
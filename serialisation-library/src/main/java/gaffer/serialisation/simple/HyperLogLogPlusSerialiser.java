@@ -17,10 +17,12 @@ package gaffer.serialisation.simple;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 
-public class HyperLogLogPlusSerialiser implements Serialisation {
+public class HyperLogLogPlusSerialiser extends AbstractSerialisation {
     private static final long serialVersionUID = 2782098698280905174L;
 
     @Override
@@ -46,6 +48,16 @@ public class HyperLogLogPlusSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public HyperLogLogPlus deserialise(final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
+        try {
+            return HyperLogLogPlus.Builder.build(new DataInputStream(new ByteArrayInputStream(bytes, offset, length)));
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to create HyperLogLogPlus sketch from given bytes", exception);
+        }
+    }
+
     @Override
     public boolean isByteOrderPreserved() {
         return false;
@@ -17,7 +17,7 @@ package gaffer.serialisation.simple;
 
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import gaffer.types.simple.IntegerFreqMap;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
@@ -27,7 +27,7 @@ import java.util.Set;
  * @deprecated use {@link IntegerFreqMap} with {@link FreqMapSerialiser} instead.
  */
 @Deprecated
-public class IntegerFreqMapSerialiser implements Serialisation {
+public class IntegerFreqMapSerialiser extends AbstractSerialisation {
 
     private static final long serialVersionUID = 3772387954385745791L;
     private static final String SEPERATOR = "\\,";
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.exception.SerialisationException;
+import gaffer.function.simple.aggregate.LongFreqMapAggregator;
+import gaffer.serialisation.AbstractSerialisation;
+import gaffer.serialisation.MergeableSerialisation;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.types.simple.LongFreqMap;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A <code>LongFreqMapSerialiser</code> serialises and deserialises {@link LongFreqMap}s in a compact form with the
+ * entries sorted by key. Each entry is written as the compact length of the UTF-8 key, the key and then the compact
+ * frequency, the same layout as the {@link SortedFreqMapSerialiser}.
+ * <p>
+ * As the entries are sorted, two serialised maps aggregated with a {@link LongFreqMapAggregator} can be merged
+ * directly from their bytes with {@link #merge(byte[], int, int, byte[], int, int)}.
+ */
+public class LongFreqMapSerialiser extends AbstractSerialisation implements MergeableSerialisation {
+    private static final long serialVersionUID = 4172553287013617843L;
+    private static final byte[] EMPTY_BYTES = new byte[0];
+    private static final KeyComparator KEY_COMPARATOR = new KeyComparator();
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final LongFreqMap map = (LongFreqMap) object;
+        if (map.isEmpty()) {
+            return EMPTY_BYTES;
+        }
+
+        final SerialisedEntry[] entries = new SerialisedEntry[map.size()];
+        int numEntries = 0;
+        int size = 0;
+        for (final Map.Entry<String, Long> entry : map.entrySet()) {
+            final byte[] key;
+            try {
+                key = entry.getKey().getBytes(CommonConstants.UTF_8);
+            } catch (final UnsupportedEncodingException e) {
+                throw new SerialisationException("Failed to serialise a key from a LongFreqMap: " + entry.getKey(), e);
+            }
+            final long value = entry.getValue();
+            entries[numEntries++] = new SerialisedEntry(key, value);
+            size += CompactRawSerialisationUtils.getVIntSize(key.length) + key.length
+                    + CompactRawSerialisationUtils.getVIntSize(value);
+        }
+
+        Arrays.sort(entries, 0, numEntries, KEY_COMPARATOR);
+        final byte[] bytes = new byte[size];
+        int offset = 0;
+        for (int i = 0; i < numEntries; i++) {
+            offset = writeEntry(entries[i].key, 0, entries[i].key.length, entries[i].value, bytes, offset);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final LongFreqMap freqMap = new LongFreqMap();
+        final int end = offset + length;
+        int place = offset;
+        try {
+            while (place < end) {
+                final int keyLength = (int) CompactRawSerialisationUtils.readLong(bytes, place);
+                place += CompactRawSerialisationUtils.decodeVIntSize(bytes[place]);
+                final String key = new String(bytes, place, keyLength, CommonConstants.UTF_8);
+                place += keyLength;
+                freqMap.upsert(key, CompactRawSerialisationUtils.readLong(bytes, place));
+                place += CompactRawSerialisationUtils.decodeVIntSize(bytes[place]);
+            }
+        } catch (final UnsupportedEncodingException | IndexOutOfBoundsException e) {
+            throw new SerialisationException("Failed to deserialise a LongFreqMap", e);
+        }
+        return freqMap;
+    }
+
+    @Override
+    public boolean canMerge(final Class<?> aggregateFunctionClass) {
+        return LongFreqMapAggregator.class.equals(aggregateFunctionClass);
+    }
+
+    /**
+     * Merges two serialised {@link LongFreqMap}s into a single serialised {@link LongFreqMap}, summing the
+     * frequencies of keys that appear in both. The merge walks the two sorted serialised forms together, copying
+     * the entries for keys that appear in only one of them.
+     */
+    @Override
+    public byte[] merge(final byte[] first, final int firstOffset, final int firstLength,
+                        final byte[] second, final int secondOffset, final int secondLength) throws SerialisationException {
+        if (0 == firstLength) {
+            return Arrays.copyOfRange(second, secondOffset, secondOffset + secondLength);
+        }
+        if (0 == secondLength) {
+            return Arrays.copyOfRange(first, firstOffset, firstOffset + firstLength);
+        }
+
+        // Merging can never produce more bytes than the two inputs combined
+        final byte[] merged = new byte[firstLength + secondLength];
+        final int firstEnd = firstOffset + firstLength;
+        final int secondEnd = secondOffset + secondLength;
+        int offset = 0;
+        int firstPlace = firstOffset;
+        int secondPlace = secondOffset;
+        try {
+            while (firstPlace < firstEnd && secondPlace < secondEnd) {
+                final int firstKeyLength = (int) CompactRawSerialisationUtils.readLong(first, firstPlace);
+                final int firstKeyStart = firstPlace + CompactRawSerialisationUtils.decodeVIntSize(first[firstPlace]);
+                final int secondKeyLength = (int) CompactRawSerialisationUtils.readLong(second, secondPlace);
+                final int secondKeyStart = secondPlace + CompactRawSerialisationUtils.decodeVIntSize(second[secondPlace]);
+                final int comparison = compare(first, firstKeyStart, firstKeyLength, second, secondKeyStart, secondKeyLength);
+                if (comparison < 0) {
+                    final int entryEnd = skipValue(first, firstKeyStart + firstKeyLength);
+                    System.arraycopy(first, firstPlace, merged, offset, entryEnd - firstPlace);
+                    offset += entryEnd - firstPlace;
+                    firstPlace = entryEnd;
+                } else if (comparison > 0) {
+                    final int entryEnd = skipValue(second, secondKeyStart + secondKeyLength);
+                    System.arraycopy(second, secondPlace, merged, offset, entryEnd - secondPlace);
+                    offset += entryEnd - secondPlace;
+                    secondPlace = entryEnd;
+                } else {
+                    final int firstValueStart = firstKeyStart + firstKeyLength;
+                    final int secondValueStart = secondKeyStart + secondKeyLength;
+                    final long value = CompactRawSerialisationUtils.readLong(first, firstValueStart)
+                            + CompactRawSerialisationUtils.readLong(second, secondValueStart);
+                    offset = writeEntry(first, firstKeyStart, firstKeyLength, value, merged, offset);
+                    firstPlace = skipValue(first, firstValueStart);
+                    secondPlace = skipValue(second, secondValueStart);
+                }
+            }
+
+            System.arraycopy(first, firstPlace, merged, offset, firstEnd - firstPlace);
+            offset += firstEnd - firstPlace;
+            System.arraycopy(second, secondPlace, merged, offset, secondEnd - secondPlace);
+            offset += secondEnd - secondPlace;
+        } catch (final IndexOutOfBoundsException e) {
+            throw new SerialisationException("Failed to merge serialised LongFreqMaps", e);
+        }
+        return Arrays.copyOf(merged, offset);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return LongFreqMap.class.equals(clazz);
+    }
+
+    @Override
+    public boolean isByteOrderPreserved() {
+        return false;
+    }
+
+    private static int skipValue(final byte[] bytes, final int valueStart) {
+        return valueStart + CompactRawSerialisationUtils.decodeVIntSize(bytes[valueStart]);
+    }
+
+    private static int writeEntry(final byte[] key, final int keyOffset, final int keyLength, final long value,
+                                  final byte[] bytes, final int offset) {
+        int place = CompactRawSerialisationUtils.write(keyLength, bytes, offset);
+        System.arraycopy(key, keyOffset, bytes, place, keyLength);
+        place += keyLength;
+        return CompactRawSerialisationUtils.write(value, bytes, place);
+    }
+
+    private static int compare(final byte[] first, final int firstOffset, final int firstLength,
+                               final byte[] second, final int secondOffset, final int secondLength) {
+        final int length = Math.min(firstLength, secondLength);
+        for (int i = 0; i < length; i++) {
+            final int diff = (first[firstOffset + i] & 0xFF) - (second[secondOffset + i] & 0xFF);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    private static final class SerialisedEntry {
+        private final byte[] key;
+        private final long value;
+
+        private SerialisedEntry(final byte[] key, final long value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class KeyComparator implements Comparator<SerialisedEntry>, Serializable {
+        private static final long serialVersionUID = -6040273120846351552L;
+
+        @Override
+        public int compare(final SerialisedEntry first, final SerialisedEntry second) {
+            return LongFreqMapSerialiser.compare(first.key, 0, first.key.length, second.key, 0, second.key.length);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractSerialisation;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.types.simple.FreqMap;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A <code>SortedFreqMapSerialiser</code> serialises and deserialises {@link FreqMap}s in a compact form with the
+ * entries sorted by key. Each entry is written as the compact length of the UTF-8 key, the key and then the compact
+ * frequency, so no escaping is required.
+ * Any null keys or values are skipped.
+ * <p>
+ * This uses a different format to the {@link FreqMapSerialiser} so it cannot be used to read data written by it.
+ */
+public class SortedFreqMapSerialiser extends AbstractSerialisation {
+    private static final long serialVersionUID = -2390574627306123476L;
+    private static final byte[] EMPTY_BYTES = new byte[0];
+    private static final KeyComparator KEY_COMPARATOR = new KeyComparator();
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final FreqMap map = (FreqMap) object;
+        final SerialisedEntry[] entries = new SerialisedEntry[map.size()];
+        int numEntries = 0;
+        for (final Map.Entry<String, Long> entry : map.entrySet()) {
+            if (null != entry.getKey() && null != entry.getValue()) {
+                try {
+                    entries[numEntries++] = new SerialisedEntry(entry.getKey().getBytes(CommonConstants.UTF_8), entry.getValue());
+                } catch (final UnsupportedEncodingException e) {
+                    throw new SerialisationException("Failed to serialise a key from a FreqMap: " + entry.getKey(), e);
+                }
+            }
+        }
+        if (0 == numEntries) {
+            return EMPTY_BYTES;
+        }
+
+        Arrays.sort(entries, 0, numEntries, KEY_COMPARATOR);
+        int size = 0;
+        for (int i = 0; i < numEntries; i++) {
+            size += CompactRawSerialisationUtils.getVIntSize(entries[i].key.length) + entries[i].key.length
+                    + CompactRawSerialisationUtils.getVIntSize(entries[i].value);
+        }
+
+        final byte[] bytes = new byte[size];
+        int offset = 0;
+        for (int i = 0; i < numEntries; i++) {
+            offset = writeEntry(entries[i].key, 0, entries[i].key.length, entries[i].value, bytes, offset);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final FreqMap freqMap = new FreqMap();
+        final int end = offset + length;
+        int place = offset;
+        try {
+            while (place < end) {
+                final int keyLength = (int) CompactRawSerialisationUtils.readLong(bytes, place);
+                place += CompactRawSerialisationUtils.decodeVIntSize(bytes[place]);
+                final String key = new String(bytes, place, keyLength, CommonConstants.UTF_8);
+                place += keyLength;
+                freqMap.upsert(key, CompactRawSerialisationUtils.readLong(bytes, place));
+                place += CompactRawSerialisationUtils.decodeVIntSize(bytes[place]);
+            }
+        } catch (final UnsupportedEncodingException | IndexOutOfBoundsException e) {
+            throw new SerialisationException("Failed to deserialise a FreqMap", e);
+        }
+        return freqMap;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return FreqMap.class.equals(clazz);
+    }
+
+    @Override
+    public boolean isByteOrderPreserved() {
+        return false;
+    }
+
+    private static int writeEntry(final byte[] key, final int keyOffset, final int keyLength, final long value,
+                                  final byte[] bytes, final int offset) {
+        int place = CompactRawSerialisationUtils.write(keyLength, bytes, offset);
+        System.arraycopy(key, keyOffset, bytes, place, keyLength);
+        place += keyLength;
+        return CompactRawSerialisationUtils.write(value, bytes, place);
+    }
+
+    private static int compare(final byte[] first, final int firstOffset, final int firstLength,
+                               final byte[] second, final int secondOffset, final int secondLength) {
+        final int length = Math.min(firstLength, secondLength);
+        for (int i = 0; i < length; i++) {
+            final int diff = (first[firstOffset + i] & 0xFF) - (second[secondOffset + i] & 0xFF);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    private static final class SerialisedEntry {
+        private final byte[] key;
+        private final long value;
+
+        private SerialisedEntry(final byte[] key, final long value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class KeyComparator implements Comparator<SerialisedEntry>, Serializable {
+        private static final long serialVersionUID = 8541604155129433516L;
+
+        @Override
+        public int compare(final SerialisedEntry first, final SerialisedEntry second) {
+            return SortedFreqMapSerialiser.compare(first.key, 0, first.key.length, second.key, 0, second.key.length);
+        }
+    }
+}
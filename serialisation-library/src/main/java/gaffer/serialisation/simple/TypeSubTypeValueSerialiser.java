@@ -18,15 +18,14 @@ package gaffer.serialisation.simple;
 import gaffer.commonutil.ByteArrayEscapeUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import gaffer.types.simple.TypeSubTypeValue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
 
-public class TypeSubTypeValueSerialiser implements Serialisation {
+public class TypeSubTypeValueSerialiser extends AbstractSerialisation {
 
     private static final long serialVersionUID = 4687862916179832187L;
 
@@ -79,7 +78,7 @@ public class TypeSubTypeValueSerialiser implements Serialisation {
             if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (i > 0) {
                     try {
-                        typeSubTypeValue.setType(new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, i)), CommonConstants.UTF_8));
+                        typeSubTypeValue.setType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i - lastDelimiter), CommonConstants.UTF_8));
                     } catch (UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the Type from TypeSubTypeValue Object", e);
                     }
@@ -92,7 +91,7 @@ public class TypeSubTypeValueSerialiser implements Serialisation {
             if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (i > lastDelimiter) {
                     try {
-                        typeSubTypeValue.setSubType(new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, i)), CommonConstants.UTF_8));
+                        typeSubTypeValue.setSubType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i - lastDelimiter), CommonConstants.UTF_8));
                     } catch (UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the SubType from TypeSubTypeValue Object", e);
                     }
@@ -103,7 +102,7 @@ public class TypeSubTypeValueSerialiser implements Serialisation {
         }
         if (bytes.length > lastDelimiter) {
             try {
-                typeSubTypeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, bytes.length)), CommonConstants.UTF_8));
+                typeSubTypeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length - lastDelimiter), CommonConstants.UTF_8));
             } catch (UnsupportedEncodingException e) {
                 throw new SerialisationException("Failed to deserialise the Value from TypeSubTypeValue Object", e);
             }
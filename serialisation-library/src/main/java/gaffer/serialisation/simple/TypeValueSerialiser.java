@@ -18,15 +18,14 @@ package gaffer.serialisation.simple;
 import gaffer.commonutil.ByteArrayEscapeUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractSerialisation;
 import gaffer.types.simple.TypeValue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
 
-public class TypeValueSerialiser implements Serialisation {
+public class TypeValueSerialiser extends AbstractSerialisation {
 
     private static final long serialVersionUID = 8675867261911636738L;
 
@@ -70,7 +69,7 @@ public class TypeValueSerialiser implements Serialisation {
             if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (i > 0) {
                     try {
-                        typeValue.setType(new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, i)), CommonConstants.UTF_8));
+                        typeValue.setType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i - lastDelimiter), CommonConstants.UTF_8));
                     } catch (UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the Type from TypeValue Object", e);
                     }
@@ -81,7 +80,7 @@ public class TypeValueSerialiser implements Serialisation {
         }
         if (bytes.length > lastDelimiter) {
             try {
-                typeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(bytes, lastDelimiter, bytes.length)), CommonConstants.UTF_8));
+                typeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length - lastDelimiter), CommonConstants.UTF_8));
             } catch (UnsupportedEncodingException e) {
                 throw new SerialisationException("Failed to deserialise the Value from TypeValue Object", e);
             }
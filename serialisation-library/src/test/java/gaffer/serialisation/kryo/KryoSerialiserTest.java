@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.kryo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.types.simple.FreqMap;
+import gaffer.types.simple.TypeSubTypeValue;
+import gaffer.types.simple.TypeValue;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class KryoSerialiserTest {
+
+    @Test
+    public void shouldSerialiseAndDeserialiseRegisteredClass() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser();
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("a", 1L);
+        freqMap.put("b", 2L);
+
+        // When
+        final Object result = serialiser.deserialise(serialiser.serialise(freqMap));
+
+        // Then
+        assertEquals(freqMap, result);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseBoundClass() throws SerialisationException {
+        // Given
+        final Serialisation serialiser = new KryoSerialiser().bindToClass(CustomType.class);
+        final CustomType value = new CustomType("test", 5);
+
+        // When
+        final Object result = serialiser.deserialise(serialiser.serialise(value));
+
+        // Then
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseUnregisteredClass() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser();
+        final CustomType value = new CustomType("test", 5);
+
+        // When
+        final Object result = serialiser.deserialise(serialiser.serialise(value));
+
+        // Then
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void shouldDeserialiseUsingAnotherSerialiserBoundToSameClass() throws SerialisationException {
+        // Given
+        final byte[] bytes = new KryoSerialiser(CustomType.class).serialise(new CustomType("test", 5));
+
+        // When
+        final Object result = new KryoSerialiser().bindToClass(CustomType.class).deserialise(bytes);
+
+        // Then
+        assertEquals(new CustomType("test", 5), result);
+    }
+
+    @Test
+    public void shouldWriteFixedRegistrationIds() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser(CustomType.class);
+
+        // When
+        final byte[] entityBytes = serialiser.serialise(new Entity("group", "vertex"));
+        final byte[] typeSubTypeValueBytes = serialiser.serialise(new TypeSubTypeValue("type", "subType", "value"));
+        final byte[] customTypeBytes = serialiser.serialise(new CustomType("test", 5));
+
+        // Then - Kryo writes each class as its registration id plus 2
+        assertEquals(20 + 2, entityBytes[0]);
+        assertEquals(33 + 2, typeSubTypeValueBytes[0]);
+        assertEquals(100 + 2, customTypeBytes[0]);
+    }
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser();
+        final TypeValue value = new TypeValue("type", "value");
+        final byte[] serialised = serialiser.serialise(value);
+        final byte[] bytes = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, bytes, 2, serialised.length);
+
+        // When
+        final Object result = serialiser.deserialise(bytes, 2, serialised.length);
+
+        // Then
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void shouldSerialiseToOutputStream() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser();
+        final Map<String, Long> map = new HashMap<>();
+        map.put("a", 1L);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        serialiser.serialise(map, out);
+
+        // Then
+        assertTrue(Arrays.equals(serialiser.serialise(map), out.toByteArray()));
+        assertEquals(map, serialiser.deserialise(out.toByteArray()));
+    }
+
+    @Test
+    public void shouldBeMoreCompactThanJavaSerialisation() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("a", 1L);
+
+        // When
+        final byte[] kryoBytes = new KryoSerialiser().serialise(freqMap);
+        final byte[] javaBytes = new JavaSerialiser().serialise(freqMap);
+
+        // Then
+        assertTrue(kryoBytes.length < javaBytes.length);
+    }
+
+    @Test
+    public void shouldReturnSameSerialiserWhenBoundToSameClass() {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser(CustomType.class);
+
+        // When / Then
+        assertSame(serialiser, serialiser.bindToClass(CustomType.class));
+        assertSame(serialiser, serialiser.bindToClass(null));
+        assertNotSame(serialiser, serialiser.bindToClass(String.class));
+    }
+
+    @Test
+    public void shouldHandleAnyClassWithoutPreservingOrder() {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser();
+
+        // When / Then
+        assertTrue(serialiser.canHandle(Object.class));
+        assertTrue(serialiser.canHandle(CustomType.class));
+        assertFalse(serialiser.canHandle(null));
+        assertFalse(serialiser.isByteOrderPreserved());
+    }
+
+    @Test
+    public void shouldJavaSerialiseBoundSerialiser() throws SerialisationException {
+        // Given
+        final KryoSerialiser serialiser = new KryoSerialiser(CustomType.class);
+        final JavaSerialiser javaSerialiser = new JavaSerialiser();
+
+        // When
+        final KryoSerialiser copy = (KryoSerialiser) javaSerialiser.deserialise(javaSerialiser.serialise(serialiser));
+
+        // Then
+        assertEquals(CustomType.class, copy.getBoundClass());
+        assertEquals(new CustomType("test", 5), copy.deserialise(copy.serialise(new CustomType("test", 5))));
+    }
+
+    private static final class CustomType {
+        private final String name;
+        private final int count;
+
+        private CustomType(final String name, final int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CustomType
+                    && name.equals(((CustomType) obj).name)
+                    && count == ((CustomType) obj).count;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + count;
+        }
+    }
+}
@@ -19,9 +19,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import gaffer.commonutil.ByteArrayEscapeUtils;
 import gaffer.exception.SerialisationException;
 import gaffer.types.simple.FreqMap;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
 
 public class FreqMapSerialiserTest {
 
@@ -118,4 +120,22 @@ public class FreqMapSerialiserTest {
         assertTrue(SERIALISER.canHandle(FreqMap.class));
     }
 
+    @Test
+    public void shouldSerialiseToOutputStreamAndDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ByteArrayEscapeUtils.DELIMITER);
+
+        // When
+        SERIALISER.serialise(freqMap, out);
+        out.write(ByteArrayEscapeUtils.DELIMITER);
+        final byte[] bytes = out.toByteArray();
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(bytes, 1, bytes.length - 2);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
 }
@@ -79,4 +79,21 @@ public class HyperLogLogPlusSerialiserTest {
     public void testCanHandleHyperLogLogPlus() {
         assertTrue(hyperLogLogPlusSerialiser.canHandle(HyperLogLogPlus.class));
     }
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(5, 5);
+        hyperLogLogPlus.offer("A");
+        hyperLogLogPlus.offer("B");
+        final byte[] serialised = hyperLogLogPlusSerialiser.serialise(hyperLogLogPlus);
+        final byte[] bytes = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, bytes, 2, serialised.length);
+
+        // When
+        final HyperLogLogPlus deserialised = hyperLogLogPlusSerialiser.deserialise(bytes, 2, serialised.length);
+
+        // Then
+        assertEquals(hyperLogLogPlus.cardinality(), deserialised.cardinality());
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.exception.SerialisationException;
+import gaffer.function.simple.aggregate.FreqMapAggregator;
+import gaffer.function.simple.aggregate.LongFreqMapAggregator;
+import gaffer.types.simple.LongFreqMap;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class LongFreqMapSerialiserTest {
+
+    private static final LongFreqMapSerialiser SERIALISER = new LongFreqMapSerialiser();
+
+    @Test
+    public void canSerialiseEmptyFreqMap() throws SerialisationException {
+        // When
+        final byte[] serialised = SERIALISER.serialise(new LongFreqMap());
+        final Object deserialised = SERIALISER.deserialise(serialised);
+
+        // Then
+        assertEquals(0, serialised.length);
+        assertEquals(LongFreqMap.class, deserialised.getClass());
+        assertEquals(0, ((LongFreqMap) deserialised).size());
+    }
+
+    @Test
+    public void shouldSerialiseDeserialiseFreqMapWithValues() throws SerialisationException {
+        // Given
+        final LongFreqMap freqMap = new LongFreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("", 5L);
+        freqMap.put("z", 20000000000L);
+        freqMap.put("é", -3L);
+
+        // When
+        final LongFreqMap deserialised = (LongFreqMap) SERIALISER.deserialise(SERIALISER.serialise(freqMap));
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void shouldMergeSerialisedFreqMapsToSameBytesAsAggregating() throws SerialisationException {
+        // Given
+        final LongFreqMap freqMap1 = new LongFreqMap();
+        final LongFreqMap freqMap2 = new LongFreqMap();
+        for (int i = 0; i < 100; i++) {
+            freqMap1.upsert("key" + (i * 2), i);
+            freqMap2.upsert("key" + (i * 3), 1000L);
+        }
+        freqMap2.upsert("é", 1L);
+
+        final LongFreqMapAggregator aggregator = new LongFreqMapAggregator();
+        aggregator.init();
+        aggregator.aggregate(new Object[]{freqMap1});
+        aggregator.aggregate(new Object[]{freqMap2});
+        final byte[] expected = SERIALISER.serialise(aggregator.state()[0]);
+
+        final byte[] first = SERIALISER.serialise(freqMap1);
+        final byte[] second = SERIALISER.serialise(freqMap2);
+        final byte[] padded = new byte[second.length + 4];
+        System.arraycopy(second, 0, padded, 2, second.length);
+
+        // When
+        final byte[] merged = SERIALISER.merge(first, 0, first.length, padded, 2, second.length);
+
+        // Then
+        assertArrayEquals(expected, merged);
+    }
+
+    @Test
+    public void shouldMergeWithEmptySerialisedFreqMap() throws SerialisationException {
+        // Given
+        final LongFreqMap freqMap = new LongFreqMap();
+        freqMap.upsert("x", 2L);
+        final byte[] serialised = SERIALISER.serialise(freqMap);
+
+        // When
+        final byte[] merged = SERIALISER.merge(new byte[0], 0, 0, serialised, 0, serialised.length);
+
+        // Then
+        assertArrayEquals(serialised, merged);
+        assertTrue(Arrays.equals(serialised, SERIALISER.merge(serialised, 0, serialised.length, new byte[0], 0, 0)));
+    }
+
+    @Test
+    public void shouldOnlyMergeForLongFreqMapAggregator() {
+        // When / Then
+        assertTrue(SERIALISER.canMerge(LongFreqMapAggregator.class));
+        assertFalse(SERIALISER.canMerge(FreqMapAggregator.class));
+    }
+
+    @Test
+    public void canSerialiseLongFreqMapOnly() {
+        // When / Then
+        assertTrue(SERIALISER.canHandle(LongFreqMap.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+}
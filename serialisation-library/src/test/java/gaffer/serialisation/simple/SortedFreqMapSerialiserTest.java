@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.exception.SerialisationException;
+import gaffer.types.simple.FreqMap;
+import org.junit.Test;
+
+public class SortedFreqMapSerialiserTest {
+
+    private static final SortedFreqMapSerialiser SERIALISER = new SortedFreqMapSerialiser();
+
+    @Test
+    public void canSerialiseEmptyFreqMap() throws SerialisationException {
+        // When
+        final byte[] serialised = SERIALISER.serialise(new FreqMap());
+        final Object deserialised = SERIALISER.deserialise(serialised);
+
+        // Then
+        assertEquals(0, serialised.length);
+        assertEquals(FreqMap.class, deserialised.getClass());
+        assertEquals(0, ((FreqMap) deserialised).size());
+    }
+
+    @Test
+    public void shouldSerialiseDeserialiseFreqMapWithValues() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("", 5L);
+        freqMap.put("z", 20000000000L);
+        freqMap.put("é", -3L);
+
+        // When
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(SERIALISER.serialise(freqMap));
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void shouldSkipEntriesWithNullKeysOrValues() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put(null, 10L);
+        freqMap.put("x", null);
+        freqMap.put("y", 5L);
+
+        // When
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(SERIALISER.serialise(freqMap));
+
+        // Then
+        assertEquals(1, deserialised.size());
+        assertFalse(deserialised.containsKey("x"));
+        assertEquals((Long) 5L, deserialised.get("y"));
+    }
+
+    @Test
+    public void shouldSerialiseToSameBytesRegardlessOfInsertionOrder() throws SerialisationException {
+        // Given
+        final FreqMap freqMap1 = new FreqMap();
+        final FreqMap freqMap2 = new FreqMap();
+        for (int i = 0; i < 100; i++) {
+            freqMap1.upsert("key" + i, i);
+            freqMap2.upsert("key" + (99 - i), 99 - i);
+        }
+
+        // When / Then
+        assertArrayEquals(SERIALISER.serialise(freqMap1), SERIALISER.serialise(freqMap2));
+    }
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10L);
+        final byte[] serialised = SERIALISER.serialise(freqMap);
+        final byte[] bytes = new byte[serialised.length + 2];
+        System.arraycopy(serialised, 0, bytes, 1, serialised.length);
+
+        // When
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(bytes, 1, serialised.length);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void canSerialiseFreqMap() {
+        assertTrue(SERIALISER.canHandle(FreqMap.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+}
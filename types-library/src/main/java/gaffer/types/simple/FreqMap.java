@@ -19,7 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * <code>FreqMap</code> extends {@link HashMap} with String keys and Long values, adding an upsert operation.
+ * <code>FreqMap</code> extends {@link HashMap} with String keys and Long values, adding upsert operations.
  */
 public class FreqMap extends HashMap<String, Long> {
     private static final long serialVersionUID = -851105369975081220L;
@@ -55,6 +55,17 @@ public class FreqMap extends HashMap<String, Long> {
         }
     }
 
+    /**
+     * Adds a new key and value to the map if the key is not already there.
+     * If the key is already there, the value supplied is added to the existing value for the key and the result is inserted into the map.
+     *
+     * @param key   The key in the map to increment or insert.
+     * @param value The value to increment by or initialise to.
+     */
+    public void upsert(final String key, final long value) {
+        upsert(key, Long.valueOf(value));
+    }
+
     /**
      * Increments the value of an existing key by 1.
      * If the key doesn't exist, initialises the value to 1.
@@ -64,4 +75,18 @@ public class FreqMap extends HashMap<String, Long> {
     public void upsert(final String key) {
         upsert(key, 1L);
     }
+
+    /**
+     * Upserts all the keys and values from another map into this map.
+     * Any keys with null values in the other map are skipped.
+     *
+     * @param other The map to merge into this map.
+     */
+    public void upsertAll(final Map<String, Long> other) {
+        for (final Entry<String, Long> entry : other.entrySet()) {
+            if (null != entry.getValue()) {
+                upsert(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
@@ -19,7 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * <code>FreqMap</code> extends {@link HashMap} with String keys and Integer values, adding an upsert operation.
+ * <code>FreqMap</code> extends {@link HashMap} with String keys and Integer values, adding upsert operations.
  *
  * @deprecated Use {@link FreqMap} instead.
  */
@@ -68,4 +68,18 @@ public class IntegerFreqMap extends HashMap<String, Integer> {
     public void upsert(final String key) {
         upsert(key, 1);
     }
+
+    /**
+     * Upserts all the keys and values from another map into this map.
+     * Any keys with null values in the other map are skipped.
+     *
+     * @param other The map to merge into this map.
+     */
+    public void upsertAll(final Map<String, Integer> other) {
+        for (final Entry<String, Integer> entry : other.entrySet()) {
+            if (null != entry.getValue()) {
+                upsert(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.types.simple;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A <code>LongFreqMap</code> is a {@link Map} from String keys to long frequencies. Unlike {@link FreqMap}, which is a
+ * {@link java.util.HashMap} of boxed Longs, the frequencies are held as primitive longs in an open addressing hash
+ * table, so upserting a frequency or merging another map updates the counts in place without boxing.
+ * <p>
+ * Null keys and null values are not supported.
+ */
+public class LongFreqMap extends AbstractMap<String, Long> implements Serializable {
+    private static final long serialVersionUID = 2818446372539146627L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Object REMOVED = new Object();
+
+    private transient Object[] keys;
+    private transient long[] values;
+    private transient int size;
+    private transient int usedSlots;
+    private transient int modCount;
+    private transient Set<Entry<String, Long>> entrySet;
+
+    public LongFreqMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongFreqMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    public LongFreqMap(final Map<? extends String, ? extends Long> map) {
+        this(map.size());
+        upsertAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != key && findSlot(key) >= 0;
+    }
+
+    @Override
+    public Long get(final Object key) {
+        if (null == key) {
+            return null;
+        }
+        final int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    /**
+     * @param key the key
+     * @return the frequency of the key, or 0 if the key is not in the map
+     */
+    public long getFrequency(final String key) {
+        if (null == key) {
+            return 0;
+        }
+        final int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    @Override
+    public Long put(final String key, final Long value) {
+        checkNotNull(key, value);
+        final int slot = findSlot(key);
+        if (slot >= 0) {
+            final long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        // insertSlot may resize the table, so the slot must be found before the values array is read
+        final int newSlot = insertSlot(key);
+        values[newSlot] = value;
+        return null;
+    }
+
+    @Override
+    public Long remove(final Object key) {
+        if (null == key) {
+            return null;
+        }
+        final int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        final long previous = values[slot];
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+        size = 0;
+        usedSlots = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, Long>> entrySet() {
+        if (null == entrySet) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Adds the value to the frequency of the key in place, or inserts the key with the value if it is not already
+     * in the map.
+     *
+     * @param key   the key in the map to increment or insert
+     * @param value the value to increment by or initialise to
+     */
+    public void upsert(final String key, final long value) {
+        checkNotNull(key, value);
+        final int slot = insertSlot(key);
+        values[slot] += value;
+    }
+
+    /**
+     * Increments the frequency of the key by 1, or inserts the key with a frequency of 1 if it is not already in the
+     * map.
+     *
+     * @param key the key to increment or insert
+     */
+    public void upsert(final String key) {
+        upsert(key, 1L);
+    }
+
+    /**
+     * Upserts all the frequencies from another map into this map. If the other map is a <code>LongFreqMap</code>
+     * its frequencies are read straight from its table without boxing.
+     *
+     * @param map the map to upsert
+     */
+    public void upsertAll(final Map<? extends String, ? extends Long> map) {
+        if (map instanceof LongFreqMap) {
+            final LongFreqMap other = (LongFreqMap) map;
+            final Object[] otherKeys = other.keys;
+            for (int i = 0; i < otherKeys.length; i++) {
+                final Object key = otherKeys[i];
+                if (null != key && REMOVED != key) {
+                    final int slot = insertSlot((String) key);
+                    values[slot] += other.values[i];
+                }
+            }
+        } else {
+            for (final Entry<? extends String, ? extends Long> entry : map.entrySet()) {
+                upsert(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private int findSlot(final Object key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        Object current = keys[slot];
+        while (null != current) {
+            if (REMOVED != current && key.equals(current)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return -1;
+    }
+
+    // Finds the slot for the key, inserting the key with a frequency of 0 if it is not already in the map
+    private int insertSlot(final String key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        int firstRemoved = -1;
+        Object current = keys[slot];
+        while (null != current) {
+            if (REMOVED == current) {
+                if (firstRemoved < 0) {
+                    firstRemoved = slot;
+                }
+            } else if (key.equals(current)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+
+        if (firstRemoved >= 0) {
+            slot = firstRemoved;
+        } else if ((usedSlots + 1) * 4 > keys.length * 3) {
+            resize(tableSizeFor(size + 1));
+            return insertSlot(key);
+        } else {
+            usedSlots++;
+        }
+
+        keys[slot] = key;
+        values[slot] = 0;
+        size++;
+        modCount++;
+        return slot;
+    }
+
+    private void removeSlot(final int slot) {
+        keys[slot] = REMOVED;
+        values[slot] = 0;
+        size--;
+        modCount++;
+    }
+
+    private void resize(final int capacity) {
+        final Object[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(capacity);
+        usedSlots = 0;
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object key = oldKeys[i];
+            if (null != key && REMOVED != key) {
+                int slot = hash(key) & mask;
+                while (null != keys[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+                usedSlots++;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = new long[capacity];
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // The smallest power of 2 table size that can hold one more than the number of entries within the load factor
+    private static int tableSizeFor(final int entries) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 3 < (entries + 1) * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void checkNotNull(final String key, final Long value) {
+        if (null == key || null == value) {
+            throw new NullPointerException("A " + LongFreqMap.class.getSimpleName()
+                    + " does not support null keys or values");
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            final Object key = keys[i];
+            if (null != key && REMOVED != key) {
+                out.writeObject(key);
+                out.writeLong(values[i]);
+            }
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int numEntries = in.readInt();
+        allocate(tableSizeFor(numEntries));
+        for (int i = 0; i < numEntries; i++) {
+            upsert((String) in.readObject(), in.readLong());
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Long>> {
+        @Override
+        public Iterator<Entry<String, Long>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LongFreqMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Long>> {
+        private int expectedModCount = modCount;
+        private int nextSlot = -1;
+        private int currentSlot = -1;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < keys.length;
+        }
+
+        @Override
+        public Entry<String, Long> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            currentSlot = nextSlot;
+            advance();
+            return new SlotEntry(currentSlot);
+        }
+
+        @Override
+        public void remove() {
+            if (currentSlot < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(currentSlot);
+            expectedModCount = modCount;
+            currentSlot = -1;
+        }
+
+        private void advance() {
+            nextSlot++;
+            while (nextSlot < keys.length && (null == keys[nextSlot] || REMOVED == keys[nextSlot])) {
+                nextSlot++;
+            }
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Long> {
+        private final int slot;
+        private final String key;
+
+        private SlotEntry(final int slot) {
+            this.slot = slot;
+            this.key = (String) keys[slot];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Long getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public Long setValue(final Long value) {
+            checkNotNull(key, value);
+            final long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            return key.equals(entry.getKey()) && getValue().equals(entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}